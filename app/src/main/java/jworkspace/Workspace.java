@@ -31,7 +31,9 @@ import org.kohsuke.args4j.Option;
 import com.hyperrealm.kiwi.plugin.PluginException;
 
 import jworkspace.config.ServiceLocator;
+import jworkspace.runtime.AbstractTask;
 import jworkspace.runtime.RuntimeManager;
+import jworkspace.runtime.plugin.PluginUpdateChecker;
 import jworkspace.runtime.plugin.WorkspacePluginLocator;
 import jworkspace.users.Profile;
 import jworkspace.users.ProfileOperationException;
@@ -53,6 +55,8 @@ public class Workspace {
 
     public static final String DEFAULT_HOME = System.getProperty("user.home");
 
+    public static final String LOGS_DIRECTORY = "logs";
+
     @Option(name = "--name", usage = "user profile name")
     private String name;
 
@@ -105,6 +109,11 @@ public class Workspace {
     @SuppressWarnings("checkstyle:ParameterAssignment")
     public static void start(String name, String password, @NonNull Path root)
         throws ProfileOperationException, IOException, PluginException {
+        /*
+         * Keep the index of system plugins in the workspace directory, the plugins directory may be read-only
+         */
+        ServiceLocator.getInstance().getPluginLocator()
+            .setIndexDirectory(root.resolve(WorkspacePluginLocator.PLUGIN_INDEX_DIRECTORY));
         /*
          * Create system plugins
          */
@@ -142,6 +151,19 @@ public class Workspace {
          * Set the workspace user directory inside the workspace base directory to plugins context
          */
         ServiceLocator.getInstance().getPluginLocator().getContext().setUserDir(profilePath);
+        /*
+         * Keep the plugin indexes in the user directory
+         */
+        ServiceLocator.getInstance().getPluginLocator()
+            .setIndexDirectory(profilePath.resolve(WorkspacePluginLocator.PLUGIN_INDEX_DIRECTORY));
+        /*
+         * Spill long task logs to the user directory instead of keeping them in memory
+         */
+        AbstractTask.setLogSpillDirectory(profilePath.resolve(LOGS_DIRECTORY));
+        /*
+         * Keep the plugin update metadata between sessions to revalidate it with conditional requests
+         */
+        PluginUpdateChecker.setCacheDirectory(profilePath.resolve(PluginUpdateChecker.CACHE_DIRECTORY));
         /*
          * Initialize system plugins from the user directory
          */
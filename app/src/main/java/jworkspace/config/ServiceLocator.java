@@ -29,14 +29,16 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import com.hyperrealm.kiwi.plugin.Plugin;
-import com.hyperrealm.kiwi.plugin.PluginException;
 
 import jworkspace.api.EventsDispatcher;
 import jworkspace.api.IWorkspaceComponent;
 import jworkspace.runtime.RuntimeManager;
+import jworkspace.runtime.plugin.PluginBootstrap;
+import jworkspace.runtime.plugin.PluginLoadReport;
 import jworkspace.runtime.plugin.WorkspacePluginLocator;
 import jworkspace.users.ProfilesManager;
 import lombok.Getter;
@@ -63,6 +65,11 @@ import lombok.extern.java.Log;
 public class ServiceLocator {
 
     public static final String PLUGINS_DIRECTORY = "plugins";
+
+    /**
+     * System property to switch on the lazy plugins activation
+     */
+    public static final String LAZY_PLUGINS_PROPERTY = "jworkspace.plugins.lazy";
     /**
      * Manages user profiles.
      */
@@ -101,10 +108,23 @@ public class ServiceLocator {
      */
     private final EventsDispatcher eventsDispatcher = new EventsDispatcher();
 
+    /**
+     * Loads plugins on startup and activates the deferred ones on their first use.
+     */
+    private final PluginBootstrap pluginBootstrap;
+
     /**
      * Private constructor prevents external instantiation.
      */
-    private ServiceLocator() {}
+    private ServiceLocator() {
+        pluginLocator.setLazyActivation(Boolean.getBoolean(LAZY_PLUGINS_PROPERTY));
+        pluginBootstrap = new PluginBootstrap(PluginBootstrap.DEFAULT_PARALLELISM,
+            PluginBootstrap.DEFAULT_TIMEOUT_SECONDS,
+            // If the plugin is Runnable, schedule it in the runtime manager
+            runtimeManager::take,
+            pluginLocator.isLazyActivation()
+        );
+    }
 
     public void loadSystemPlugins(Path root) {
         getSystemPlugins().addAll(
@@ -135,33 +155,79 @@ public class ServiceLocator {
 
     /**
      * Initializes a list of plugin objects by creating instances and
-     * performing setup.
+     * performing setup. Independent plugins are loaded concurrently,
+     * plugins with declared dependencies wait for them to load first.
+     * With the lazy activation, only startup plugins are initialized.
      *
      * @param plugins the list of plugins to initialize
+     * @return load reports for each plugin in the list
      */
-    public static void loadPlugins(List<Plugin> plugins) {
+    public static List<PluginLoadReport> loadPlugins(List<Plugin> plugins) {
+        return getInstance().getPluginBootstrap().load(plugins);
+    }
 
-        // Iterate all plugins and initialize
-        for (Plugin plugin : plugins) {
-            try {
-                // Create a new plugin instance
-                Object pluginObject = plugin.newInstance();
+    /**
+     * Finds a registered system or user plugin by its name.
+     *
+     * @param name of the plugin
+     * @return the plugin or null if there is no plugin with this name
+     */
+    public Plugin findPlugin(String name) {
+        List<Plugin> registered = getRegisteredPlugins();
+        for (Plugin plugin : registered) {
+            if (plugin.getName() != null && plugin.getName().equals(name)) {
+                return plugin;
+            }
+        }
+        return null;
+    }
 
-                // If the plugin implements IWorkspaceComponent, load it
-                if (pluginObject instanceof IWorkspaceComponent component) {
-                    component.load();
-                }
+    /**
+     * Returns the object of a plugin found by its name, see {@link #getPluginObject(Plugin)}.
+     *
+     * @param name of the plugin
+     * @return the plugin object, or null if the plugin is not found or cannot be activated
+     */
+    public static Object getPluginObject(String name) {
+        Plugin plugin = getInstance().findPlugin(name);
+        return plugin != null ? getPluginObject(plugin) : null;
+    }
 
-                // If the plugin is Runnable, schedule it in the runtime manager
-                if (pluginObject instanceof Runnable runnable) {
-                    ServiceLocator.getInstance().getRuntimeManager().take(runnable);
-                }
+    /**
+     * Returns the plugin object for use. A plugin deferred by the lazy activation
+     * is activated on this first use, its dependencies are looked up in system and
+     * user plugins and are activated first. Blocks while the plugin is activated,
+     * so the event dispatch thread should use {@link #activatePlugin(Plugin)}.
+     *
+     * @param plugin to use
+     * @return the plugin object, or null if the plugin cannot be activated
+     */
+    public static Object getPluginObject(Plugin plugin) {
+        ServiceLocator instance = getInstance();
+        return instance.getPluginBootstrap().getPluginObject(plugin, instance.getRegisteredPlugins());
+    }
 
-            } catch (PluginException | IOException e) {
-                // Log errors during plugin initialization
-                log.severe(e.getMessage());
-            }
+    /**
+     * Returns the plugin object for use, activating a deferred plugin in background,
+     * see {@link #getPluginObject(Plugin)}.
+     *
+     * @param plugin to use
+     * @return the future plugin object, null if the plugin cannot be activated
+     */
+    public static CompletableFuture<Object> activatePlugin(Plugin plugin) {
+        ServiceLocator instance = getInstance();
+        return instance.getPluginBootstrap().getPluginObjectAsync(plugin, instance.getRegisteredPlugins());
+    }
+
+    private List<Plugin> getRegisteredPlugins() {
+        List<Plugin> registered;
+        synchronized (systemPlugins) {
+            registered = new ArrayList<>(systemPlugins);
+        }
+        synchronized (userPlugins) {
+            registered.addAll(userPlugins);
         }
+        return registered;
     }
 
     /**
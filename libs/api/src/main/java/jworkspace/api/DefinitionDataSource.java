@@ -30,15 +30,26 @@ package jworkspace.api;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 import javax.swing.Icon;
 
 import com.hyperrealm.kiwi.ui.model.datasource.TreeDataSource;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.java.Log;
@@ -48,6 +59,14 @@ import lombok.extern.java.Log;
  * a "smart" {@link DefinitionDataSource}, since it can traverse itself
  * looking for a node that matches a given link path. It is an instance of {@link TreeDataSource}, therefore
  * can be used as a source of hierarchical data for other components.
+ * <p>
+ * The children of every directory are listed once and kept, with the name of every child mapped to
+ * its node, so finding a node is a map lookup per level of the link path. The directories listed are
+ * watched by {@link DefinitionWatcher}: a change on disk makes the listing stale, and the next call
+ * lists the directory again, keeping the nodes of the children which are still there and reloading
+ * the ones whose files have changed. A link path not found in a listing lists the directory again
+ * at once, so nodes just saved are found before the change is reported.
+ * </p>
  *
  * @author Anton Troshin
  * @author Mark Lindner
@@ -64,6 +83,10 @@ public class DefinitionDataSource implements TreeDataSource<DefinitionNode> {
 
     private static final DefinitionNode[] EMPTY_ARRAY = new DefinitionNode[0];
 
+    private static final long DIRECTORY = Long.MIN_VALUE;
+
+    private static final Listing EMPTY_LISTING = new Listing(EMPTY_ARRAY, Map.of(), Map.of());
+
     /**
      * Name for the data source
      */
@@ -75,6 +98,12 @@ public class DefinitionDataSource implements TreeDataSource<DefinitionNode> {
      */
     private final DefinitionNode root;
 
+    /**
+     * Children of the directories listed, by the absolute directory path
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Path, Listing> listings = new ConcurrentHashMap<>();
+
     /**
      * Definition data source is based on file structure. Each object of this class should encapsulate separate file.
      *
@@ -97,33 +126,29 @@ public class DefinitionDataSource implements TreeDataSource<DefinitionNode> {
 
         if (linkPath != null) {
             StringTokenizer st = new StringTokenizer(linkPath, "/");
-            if (st.hasMoreElements() && root.getNodeName().equals(st.nextToken())) {
-                return doFindNode(st, root);
+            if (st.hasMoreElements() && root.getNodeName().equals(st.nextToken()) && st.hasMoreTokens()) {
+                DefinitionNode node = root;
+                while (node != null && st.hasMoreTokens()) {
+                    node = findChild(node, st.nextToken());
+                }
+                return node;
             }
         }
         return null;
     }
 
     /**
-     * Iterates through the children until find first branch with given link path.
+     * Finds the child in the kept listing, and lists the directory again if it is not there.
+     * Deleted children are dropped when the watcher marks the listing stale.
      */
-    private DefinitionNode doFindNode(StringTokenizer st, DefinitionNode currentNode) {
-        DefinitionNode ret = null;
-
-        if (st.hasMoreTokens()) {
-            String link = st.nextToken();
-            Object[] children = getChildNodes(currentNode);
-
-            for (Object child : children) {
-                DefinitionNode node = (DefinitionNode) child;
-                if (node.getNodeName().equals(link)) {
-                    ret = !st.hasMoreTokens() ? node : doFindNode(st, node);
-                    break;
-                }
-            }
+    private DefinitionNode findChild(DefinitionNode parent, String name) {
+        Listing listing = getListing(parent);
+        DefinitionNode child = listing.byName.get(name);
+        if (child == null && listing != EMPTY_LISTING) {
+            listing.stale = true;
+            child = getListing(parent).byName.get(name);
         }
-
-        return ret;
+        return child;
     }
 
     /**
@@ -139,53 +164,159 @@ public class DefinitionDataSource implements TreeDataSource<DefinitionNode> {
      * Returns ordered list of child nodes.
      */
     private DefinitionNode[] getChildNodes(DefinitionNode parent) {
+        return getListing(parent).nodes.clone();
+    }
 
-        File[] files;
-        ArrayList<DefinitionNode> nodes = new ArrayList<>();
+    private Listing getListing(DefinitionNode parent) {
+        if (parent == null || parent.getFile() == null) {
+            return EMPTY_LISTING;
+        }
+        Path directory = parent.getFile().toPath().toAbsolutePath().normalize();
+        Listing listing = listings.get(directory);
+        return listing != null && !listing.stale ? listing : list(parent, directory);
+    }
 
-        if (parent == null
-            || !parent.isExpandable()
-            || !parent.getFile().exists()
-            || parent.getFile().listFiles() == null
-        ) {
-            return EMPTY_ARRAY;
+    /**
+     * Lists the directory, reusing the nodes of the previous listing for the children still there.
+     * Directories that can't be watched are listed on every call.
+     */
+    private synchronized Listing list(DefinitionNode parent, Path directory) {
+        Listing previous = listings.get(directory);
+        if (previous != null && !previous.stale) {
+            return previous;
+        }
+        if (!parent.isExpandable()) {
+            listings.remove(directory);
+            return EMPTY_LISTING;
         }
 
-        files = parent.getFile().listFiles();
+        // watch before listing, so no change after the listing is missed
+        boolean watched = DefinitionWatcher.getInstance().register(directory, this);
+
+        List<Path> dirs = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                attributes.put(path, attrs);
+                (attrs.isDirectory() ? dirs : files).add(path);
+            }
+        } catch (IOException ex) {
+            log.log(Level.FINE, "Cannot list " + directory, ex);
+            return EMPTY_LISTING;
+        }
+        Collections.sort(dirs);
+        Collections.sort(files);
+        dirs.addAll(files);
+
+        // the children of the parent are the nodes of the previous listing and the nodes just saved
+        Map<String, DefinitionNode> reusable = new HashMap<>();
+        for (DefinitionNode node : parent.getChildren()) {
+            reusable.putIfAbsent(node.getFile().getName(), node);
+        }
+        DefinitionNode[] nodes = new DefinitionNode[dirs.size()];
+        Map<String, DefinitionNode> byName = new HashMap<>();
+        Map<String, Long> stamps = new HashMap<>();
+        for (int i = 0; i < nodes.length; i++) {
+            Path path = dirs.get(i);
+            String name = path.getFileName().toString();
+            BasicFileAttributes attrs = attributes.get(path);
+            long stamp = stamp(attrs);
+            DefinitionNode node = reuse(reusable.remove(name), previous != null ? previous.stamps.get(name) : null,
+                stamp);
+            if (node == null) {
+                node = makeChild(parent, path.toFile(), attrs.isDirectory());
+            }
+            nodes[i] = node;
+            // the first node with the name is found, as "name" and "name.cfg" have the same one
+            byName.putIfAbsent(node.getNodeName(), node);
+            stamps.put(name, stamp);
+        }
+        // the nodes of removed files are no more children of the parent
+        parent.getChildren().removeIf(child -> reusable.get(child.getFile().getName()) == child);
+
+        Listing listing = new Listing(nodes, byName, stamps);
+        if (watched) {
+            listings.put(directory, listing);
+        }
+        return listing;
+    }
+
+    /**
+     * Reuses the node of the same file, reloading it if the file has changed since the previous listing.
+     * A node saved after the previous listing is up to date.
+     *
+     * @return the node, or null if the file is now a directory or vice versa
+     */
+    private static DefinitionNode reuse(DefinitionNode node, Long previous, long stamp) {
+        if (node == null || (node instanceof FolderNode) != (stamp == DIRECTORY)) {
+            return null;
+        }
+        if (previous != null && previous != stamp) {
+            try {
+                node.load();
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return node;
+    }
 
-        if (files != null) {
+    private DefinitionNode makeChild(DefinitionNode parent, File file, boolean directory) {
+        if (directory) {
+            return DefinitionNode.makeFolderNode(parent, file);
+        }
+        try {
+            var node = makeNode(parent, file);
+            node.load();
+            return node;
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
 
-            ArrayList<File> dirs = new ArrayList<>();
-            ArrayList<File> sfiles = new ArrayList<>();
+    /**
+     * A changed file has another modification time or size, the size is mixed in the low bits.
+     * The nodes of directories are not reloaded.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static long stamp(BasicFileAttributes attrs) {
+        return attrs.isDirectory() ? DIRECTORY : attrs.lastModifiedTime().toMillis() * 31 + attrs.size();
+    }
 
-            Arrays.stream(files).forEach((file) -> {
-                if (file.isDirectory()) {
-                    dirs.add(file);
-                } else {
-                    sfiles.add(file);
-                }
-            });
-
-            Collections.sort(dirs);
-            Collections.sort(sfiles);
-            dirs.addAll(sfiles);
-
-            for (File file : dirs) {
-                if (file.isDirectory()) {
-                    nodes.add(DefinitionNode.makeFolderNode(parent, file));
-                } else {
-                    try {
-                        var node = makeNode(parent, file);
-                        node.load();
-                        nodes.add(node);
-                    } catch (IOException ex) {
-                        throw new RuntimeException(ex);
-                    }
-                }
+    /**
+     * Marks the listings changed on disk as stale, called by {@link DefinitionWatcher}.
+     *
+     * @param directory the directory watched
+     * @param events    the changes in the directory
+     * @param valid     false if the directory can't be watched anymore, as it has been deleted
+     */
+    void changed(Path directory, List<WatchEvent<?>> events, boolean valid) {
+        if (!valid) {
+            forget(directory);
+            return;
+        }
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                listings.values().forEach(listing -> listing.stale = true);
+                return;
+            }
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && event.context() instanceof Path name) {
+                forget(directory.resolve(name));
             }
         }
+        Listing listing = listings.get(directory);
+        if (listing != null) {
+            listing.stale = true;
+        }
+    }
 
-        return nodes.toArray(DefinitionNode[]::new);
+    /**
+     * Drops the listings of the deleted directory and of the directories in it.
+     */
+    private void forget(Path directory) {
+        listings.keySet().removeIf(path -> path.startsWith(directory));
     }
 
     protected DefinitionNode makeNode(DefinitionNode parent, File file) {
@@ -241,4 +372,30 @@ public class DefinitionDataSource implements TreeDataSource<DefinitionNode> {
             default -> null;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Children of a directory, in the order of {@link #getChildren(DefinitionNode)} and by their names.
+     */
+    private static final class Listing {
+
+        private final DefinitionNode[] nodes;
+
+        private final Map<String, DefinitionNode> byName;
+
+        /**
+         * Modification time and size of the files, by their names
+         */
+        private final Map<String, Long> stamps;
+
+        /**
+         * Set when the directory has changed, so it is listed again
+         */
+        private volatile boolean stale;
+
+        private Listing(DefinitionNode[] nodes, Map<String, DefinitionNode> byName, Map<String, Long> stamps) {
+            this.nodes = nodes;
+            this.byName = byName;
+            this.stamps = stamps;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package jworkspace.api;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import lombok.extern.java.Log;
+
+/**
+ * Watches the directories listed by {@link DefinitionDataSource} instances with one
+ * {@link WatchService} and one daemon thread, and tells the data sources which directories have changed.
+ * The data sources are referenced weakly, a directory is not watched anymore once they are collected.
+ *
+ * @author Anton Troshin
+ */
+@Log
+final class DefinitionWatcher {
+
+    private static final DefinitionWatcher INSTANCE = new DefinitionWatcher();
+
+    private final Map<WatchKey, List<WeakReference<DefinitionDataSource>>> sources = new HashMap<>();
+
+    private WatchService service;
+
+    private DefinitionWatcher() {}
+
+    static DefinitionWatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Watch the directory for the data source.
+     *
+     * @param directory the absolute path of the directory
+     * @param source    the data source listing the directory
+     * @return false if the directory can't be watched
+     */
+    synchronized boolean register(Path directory, DefinitionDataSource source) {
+        try {
+            if (service == null) {
+                service = FileSystems.getDefault().newWatchService();
+                Thread.ofPlatform().name("definition-watcher").daemon().start(this::run);
+            }
+            WatchKey key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            List<WeakReference<DefinitionDataSource>> list = sources.computeIfAbsent(key, k -> new ArrayList<>());
+            list.removeIf(reference -> reference.get() == null);
+            if (list.stream().noneMatch(reference -> reference.get() == source)) {
+                list.add(new WeakReference<>(source));
+            }
+            return true;
+        } catch (IOException | UnsupportedOperationException ex) {
+            // other file systems, or too many directories watched
+            log.log(Level.FINE, "Cannot watch " + directory, ex);
+            return false;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            List<WatchEvent<?>> events = key.pollEvents();
+            boolean valid = key.reset();
+            for (DefinitionDataSource source : getSources(key, valid)) {
+                source.changed((Path) key.watchable(), events, valid);
+            }
+        }
+    }
+
+    /**
+     * Get the data sources watching the directory, and forget the key if it is not watched anymore.
+     */
+    private synchronized List<DefinitionDataSource> getSources(WatchKey key, boolean valid) {
+        List<DefinitionDataSource> result = new ArrayList<>();
+        List<WeakReference<DefinitionDataSource>> list = sources.getOrDefault(key, List.of());
+        for (WeakReference<DefinitionDataSource> reference : list) {
+            DefinitionDataSource source = reference.get();
+            if (source != null) {
+                result.add(source);
+            }
+        }
+        if (!valid || result.isEmpty()) {
+            key.cancel();
+            sources.remove(key);
+        }
+        return result;
+    }
+}
@@ -2,6 +2,8 @@ package jworkspace.api;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -128,4 +130,50 @@ public class DefinitionDataSourceTest {
         Assertions.assertNotNull(nested4found);
         Assertions.assertEquals(nested4, nested4found);
     }
+
+    @Test
+    public void testDataSourceKeepsNodes() {
+        DefinitionDataSource definitionDataSource = new DefinitionDataSource(testFolder.getRoot());
+        String link = testFolder.getRoot().getName() + "/Applications/Nested 1/Nested 2/Nested 3/Test file 1";
+
+        DefinitionNode file = definitionDataSource.findNode(link);
+        Assertions.assertSame(file, definitionDataSource.findNode(link));
+
+        DefinitionNode nested3 = file.getParent();
+        Assertions.assertEquals(1, definitionDataSource.getChildren(nested3).length);
+        Assertions.assertEquals(1, definitionDataSource.getChildren(nested3).length);
+        Assertions.assertEquals(1, nested3.getChildren().size());
+    }
+
+    @Test
+    public void testDataSourceFindsNewFile() throws IOException {
+        DefinitionDataSource definitionDataSource = new DefinitionDataSource(testFolder.getRoot());
+        String link = testFolder.getRoot().getName() + "/Applications/Nested 1/Nested 2/Nested 3";
+        DefinitionNode nested3 = definitionDataSource.findNode(link);
+
+        Files.createFile(nested3.getFile().toPath().resolve("Test file 2"));
+
+        // found at once, without waiting for the change to be reported
+        Assertions.assertNotNull(definitionDataSource.findNode(link + "/Test file 2"));
+        Assertions.assertNotNull(definitionDataSource.findNode(link + "/Test file 1"));
+        Assertions.assertEquals(2, definitionDataSource.getChildren(nested3).length);
+    }
+
+    @Test
+    public void testDataSourceForgetsDeletedFile() throws IOException, InterruptedException {
+        DefinitionDataSource definitionDataSource = new DefinitionDataSource(testFolder.getRoot());
+        String link = testFolder.getRoot().getName() + "/Applications/Nested 1/Nested 2/Nested 3";
+        DefinitionNode nested3 = definitionDataSource.findNode(link);
+        Assertions.assertNotNull(definitionDataSource.findNode(link + "/Test file 1"));
+
+        Files.delete(nested3.getFile().toPath().resolve("Test file 1"));
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (definitionDataSource.getChildren(nested3).length > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(0, definitionDataSource.getChildren(nested3).length);
+        Assertions.assertNull(definitionDataSource.findNode(link + "/Test file 1"));
+        Assertions.assertTrue(nested3.getChildren().isEmpty());
+    }
 }
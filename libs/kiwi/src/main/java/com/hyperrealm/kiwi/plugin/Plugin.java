@@ -27,12 +27,15 @@ import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.logging.Level;
 
 import javax.swing.ImageIcon;
 import javax.swing.event.EventListenerList;
@@ -42,6 +45,7 @@ import com.hyperrealm.kiwi.event.plugin.PluginReloadListener;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.java.Log;
 
 /**
  * A class that represents a plugin. A <code>Plugin</code> object encapsulates
@@ -53,6 +57,7 @@ import lombok.Getter;
  * @since Kiwi 1.3
  */
 @EqualsAndHashCode(callSuper = true)
+@Log
 public final class Plugin extends PluginDTO {
 
     private static final String FAILED_TO_INSTANTIATE_PLUGIN = "failed to instantiate plugin ";
@@ -74,6 +79,8 @@ public final class Plugin extends PluginDTO {
 
     private PluginClassLoader loader;
 
+    private String manifestLevel;
+
     /**
      * Construct a new plugin. A plugin is uniquely identified by a jar file
      * and a class name. It's initially created by the PluginLocator, which scans
@@ -117,6 +124,27 @@ public final class Plugin extends PluginDTO {
         return (T) locator.getContext();
     }
 
+    /**
+     * Construct a plugin from the data previously stored in a {@link PluginIndex}, without
+     * reading the plugin archive. The archive is opened only if the plugin is to be
+     * instantiated, to load the plugin classes.
+     *
+     * @param <T> type of the plugin context.
+     * @param entry index entry with the plugin manifest data.
+     * @param level plugin level (it is up to other systems to define the meaning of the level).
+     * @param instantiate if true, the plugin is loaded immediately.
+     */
+    <T extends PluginContext> Plugin(PluginLocator<T> locator, PluginIndex.Entry entry, String level,
+                                     boolean instantiate) throws PluginException {
+        super(level, entry.path());
+
+        this.locator = locator;
+        entry.restore(this);
+        if (instantiate) {
+            instantiate();
+        }
+    }
+
     /**
      * Load the plugin. This method attempts to load the plugin entry-point
      * class and create an instance of it. The entry-point class must have a
@@ -125,7 +153,6 @@ public final class Plugin extends PluginDTO {
      * @throws PluginException If the plugin
      *                                                         could not be loaded.
      */
-    @SuppressWarnings({"CyclomaticComplexity", "NestedIfDepth"})
     private void load(boolean instantiate) throws PluginException {
 
         Manifest mf;
@@ -140,6 +167,7 @@ public final class Plugin extends PluginDTO {
 
             PluginManifest pluginManifest = getPluginManifest(mf);
             className = PluginClassLoader.pathToClassName(pluginManifest.classFile());
+            manifestLevel = pluginManifest.attrs().getValue(PluginDTO.PLUGIN_LEVEL);
 
             // read in the attributes
 
@@ -149,38 +177,81 @@ public final class Plugin extends PluginDTO {
 
             loadIcon(jar);
 
-            // create the classloader
+        } catch (IOException ex) {
+            throw new PluginException("Unable to read archive", ex);
+        }
 
-            if (instantiate) {
+        // create the classloader
 
-                String level = pluginManifest.attrs().getValue(PluginDTO.PLUGIN_LEVEL);
-                // ANY plugin level can be used anywhere, the others' have to match
-                if (!(PluginDTO.PLUGIN_LEVEL_ANY.equalsIgnoreCase(level)
-                    || (getLevel() != null && !getLevel().isEmpty() && getLevel().equalsIgnoreCase(level)))
-                ) {
-                    throw new PluginException(
-                        String.format("Plugin level mismatch: %s loaded as %s", level, getLevel())
-                    );
-                }
+        if (instantiate) {
+            instantiate();
+        }
+    }
 
-                loader = locator.createClassLoader();
-                loader.addJarFile(jarFile);
+    /**
+     * Create the class loader and load the plugin entry-point class.
+     *
+     * @throws PluginException If the plugin level doesn't match or the class could not be loaded.
+     */
+    void instantiate() throws PluginException {
 
-                // load the plugin class
+        checkLevel();
 
-                try {
-                    pluginClass = loader.loadClass(className);
-                } catch (Exception ex) {
-                    throw new PluginException("Failed to load plugin class " + className, ex);
-                }
+        loader = locator.createClassLoader();
+        loader.addJarFile(jarFile);
 
-                loaded = true;
-            }
-        } catch (IOException ex) {
-            throw new PluginException("Unable to read archive", ex);
+        // load the plugin class
+
+        try {
+            pluginClass = loader.loadClass(className);
+        } catch (Exception ex) {
+            throw new PluginException("Failed to load plugin class " + className, ex);
+        }
+
+        loaded = true;
+    }
+
+    /**
+     * Check the plugin level declared in the manifest against the level the plugin is loaded as.
+     *
+     * @throws PluginException If the plugin level doesn't match.
+     */
+    void checkLevel() throws PluginException {
+        // ANY plugin level can be used anywhere, the others' have to match
+        if (!(PluginDTO.PLUGIN_LEVEL_ANY.equalsIgnoreCase(manifestLevel)
+            || (getLevel() != null && !getLevel().isEmpty() && getLevel().equalsIgnoreCase(manifestLevel)))
+        ) {
+            throw new PluginException(
+                String.format("Plugin level mismatch: %s loaded as %s", manifestLevel, getLevel())
+            );
+        }
+    }
+
+    /**
+     * Activate the plugin, if it is not loaded yet. This creates the class loader and
+     * loads the plugin entry-point class, but doesn't create an instance of the plugin.
+     *
+     * @throws PluginException If the plugin could not be loaded.
+     */
+    public synchronized void activate() throws PluginException {
+        if (!loaded) {
+            instantiate();
         }
     }
 
+    /**
+     * Get the plugin level as it is declared in the plugin manifest.
+     *
+     * @return The declared level or <code>null</code>.
+     */
+    String getManifestLevel() {
+        return manifestLevel;
+    }
+
+    void setManifestLevel(String manifestLevel) {
+        this.manifestLevel = manifestLevel;
+    }
+
     @SuppressWarnings("checkstyle:NestedIfDepth")
     private void loadIcon(JarFile jar) {
         if (getIconFile() != null && !GraphicsEnvironment.isHeadless()) {
@@ -281,7 +352,14 @@ public final class Plugin extends PluginDTO {
     /* Unload the plugin.
      */
 
-    public void reset() {
+    public synchronized void reset() {
+        if (loader != null) {
+            try {
+                loader.close();
+            } catch (IOException ex) {
+                log.log(Level.WARNING, ex.getMessage(), ex);
+            }
+        }
         loader = null;
         pluginClass = null;
         pluginObject = null;
@@ -305,18 +383,17 @@ public final class Plugin extends PluginDTO {
      * instantiate the plugin object by calling a constructor that takes an
      * object that implements <code>PluginContext</code> (or a subinterface
      * thereof) as its only argument. If no such constructor exists, the method
-     * tries to instantiate the object using the default constructor.
+     * tries to instantiate the object using the default constructor. A plugin
+     * which is not loaded yet is activated first.
      *
      * @throws PluginException If a problem
      *                                                         occurs during class instantiation.
      * @since Kiwi 2.0
      */
 
-    public Object newInstance() throws PluginException {
+    public synchronized Object newInstance() throws PluginException {
 
-        if (!loaded) {
-            throw (new PluginException("Plugin is not loaded!"));
-        }
+        activate();
 
         if (pluginObject != null) {
             return pluginObject;
@@ -449,5 +526,50 @@ public final class Plugin extends PluginDTO {
         return properties.getProperty(name, defaultValue);
     }
 
+    /**
+     * Get names of plugins, declared with <code>PluginDepends</code> manifest attribute, which
+     * this plugin requires to be loaded first.
+     *
+     * @return The list of plugin names, possibly empty.
+     */
+
+    public List<String> getDependencies() {
+        return splitNames(getProperty(PLUGIN_DEPENDS));
+    }
+
+    /**
+     * Get names of plugins, declared with <code>PluginLoadAfter</code> manifest attribute, which
+     * should be loaded before this plugin if they are present.
+     *
+     * @return The list of plugin names, possibly empty.
+     */
+
+    public List<String> getLoadAfter() {
+        return splitNames(getProperty(PLUGIN_LOAD_AFTER));
+    }
+
+    /**
+     * Tell whether the plugin declares to be activated when the workspace starts, with
+     * <code>PluginActivation: startup</code> manifest attribute.
+     *
+     * @return <code>true</code> if the plugin is to be activated at startup.
+     */
+
+    public boolean isStartup() {
+        return PLUGIN_ACTIVATION_STARTUP.equalsIgnoreCase(getProperty(PLUGIN_ACTIVATION, "").trim());
+    }
+
+    private static List<String> splitNames(String value) {
+        List<String> names = new ArrayList<>();
+        if (value != null) {
+            for (String name : value.split(",")) {
+                if (!name.isBlank()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+        return names;
+    }
+
     private record PluginManifest(String classFile, Attributes attrs) {}
 }
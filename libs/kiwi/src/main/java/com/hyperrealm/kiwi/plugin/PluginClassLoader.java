@@ -19,13 +19,22 @@
 
 package com.hyperrealm.kiwi.plugin;
 
-import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
@@ -52,15 +61,43 @@ import lombok.extern.java.Log;
  * - If asked to load any other class other than those listed above, the class
  * loader attempts to load the class by searching for it in the registered JAR
  * files.
+ * <p>
+ * Registered JAR files are kept open and their entry names are indexed once,
+ * so class and resource lookups don't scan or reopen the archives. If several
+ * JAR files contain the same entry, the first registered one wins. The loader
+ * is parallel capable and locks per class name rather than the whole loader.
+ * Closing the loader closes the registered JAR files and forgets the index.
+ * <p>
+ * Resource URLs keep the <code>jar:</code> form, but they are read from the JAR
+ * files opened by this loader rather than through the JAR URL connection and its
+ * global cache of JAR files. Once the loader is closed, the resources are gone.
  *
  * @author Mark Lindner
  */
 @Log
-public class PluginClassLoader extends ClassLoader {
+public class PluginClassLoader extends ClassLoader implements Closeable {
+
+    static {
+        registerAsParallelCapable();
+    }
 
     private static final int PATH_EXTRA_LENGTH = 6;
 
-    private final ArrayList<String> jars;
+    private static final String JAR_URL_PREFIX = "jar:";
+
+    private static final String JAR_URL_SEPARATOR = "!/";
+
+    private final Set<String> jarPaths = new HashSet<>();
+
+    /**
+     * JAR files opened by this loader, to close them with it
+     */
+    private final List<JarFile> jars = new ArrayList<>();
+
+    /**
+     * Entry name to the first registered JAR file containing it
+     */
+    private final Map<String, JarFile> entries = new ConcurrentHashMap<>();
 
     private final ArrayList<String> forbiddenPackages;
 
@@ -83,8 +120,6 @@ public class PluginClassLoader extends ClassLoader {
         super(parent);
         this.forbiddenPackages = forbiddenPackages;
         this.restrictedPackages = restrictedPackages;
-
-        jars = new ArrayList<>();
     }
 
 
@@ -100,21 +135,61 @@ public class PluginClassLoader extends ClassLoader {
     }
 
     /*
+     * Open the JAR file and index its entries.
      */
 
     void addJarFile(String file) {
-        synchronized (jars) {
-            if ((file != null) && !jars.contains(file)) {
-                jars.add(file);
+        synchronized (jarPaths) {
+            if ((file != null) && jarPaths.add(file)) {
+                try {
+                    JarFile jar = new JarFile(new File(file));
+                    jars.add(jar);
+                    Enumeration<JarEntry> jarEntries = jar.entries();
+                    while (jarEntries.hasMoreElements()) {
+                        entries.putIfAbsent(jarEntries.nextElement().getName(), jar);
+                    }
+                } catch (IOException ex) {
+                    log.log(Level.SEVERE, ex.getMessage(), ex);
+                }
             }
         }
     }
 
+    /**
+     * Close all registered JAR files. Classes already loaded stay usable,
+     * but no more classes or resources can be loaded from the JAR files.
+     *
+     * @throws IOException if any of the JAR files fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        synchronized (jarPaths) {
+            entries.clear();
+            jarPaths.clear();
+            for (JarFile jar : jars) {
+                try {
+                    jar.close();
+                } catch (IOException ex) {
+                    if (failure == null) {
+                        failure = ex;
+                    } else {
+                        failure.addSuppressed(ex);
+                    }
+                }
+            }
+            jars.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      *
      */
     @SuppressWarnings({"NestedIfDepth", "ReturnCount", "checkstyle:CyclomaticComplexity"})
-    public synchronized Class<?> loadClass(String className, boolean resolve)
+    public Class<?> loadClass(String className, boolean resolve)
         throws ClassNotFoundException {
 
         Class<?> result;
@@ -128,87 +203,81 @@ public class PluginClassLoader extends ClassLoader {
 
         String classPackage = className.substring(0, ind);
 
-        // first check our cache
+        synchronized (getClassLoadingLock(className)) {
 
-        result = findLoadedClass(className);
+            // first check our cache
 
-        // not in cache...
+            result = findLoadedClass(className);
 
-        if (result == null) {
+            // not in cache...
 
-            // try to load it from the system class loader first, but only if it's
-            // not from a forbidden package
+            if (result == null) {
 
-            if (!isForbiddenPackage(classPackage)) {
+                // try to load it from the system class loader first, but only if it's
+                // not from a forbidden package
 
-                try {
-                    return findSystemClass(className);
-                } catch (ClassNotFoundException ex) {
-                    /* ignore & continue */
-                }
+                if (!isForbiddenPackage(classPackage)) {
 
-                try {
-                    if (getParent() != null) {
-                        return getParent().loadClass(className);
+                    try {
+                        return findSystemClass(className);
+                    } catch (ClassNotFoundException ex) {
+                        /* ignore & continue */
                     }
-                } catch (ClassNotFoundException ex) {
-                    /* ignore & continue */
-                }
-
-                // no luck, so scan through JAR files looking for the class, but only
-                // if it's not a restricted class (or a forbidden class)
-
-                if (!isRestrictedPackage(classPackage)) {
-                    String path = classNameToPath(className);
 
-                    for (String jarPath : jars) {
-
-                        try (JarFile jar = new JarFile(new File(jarPath))) {
-
-                            JarEntry entry = (JarEntry) jar.getEntry(path);
-                            if (entry == null) {
-                                continue; // move on to next JAR file
-                            }
+                    try {
+                        if (getParent() != null) {
+                            return getParent().loadClass(className);
+                        }
+                    } catch (ClassNotFoundException ex) {
+                        /* ignore & continue */
+                    }
 
-                            // found it! so let's load it...
+                    // no luck, so look the class up in JAR files, but only
+                    // if it's not a restricted class (or a forbidden class)
 
-                            int r, size = 0;
-                            byte[] b = null;
+                    if (!isRestrictedPackage(classPackage)) {
+                        result = defineJarClass(className);
+                    }
+                }
+            }
 
-                            try (BufferedInputStream ins = new BufferedInputStream(jar.getInputStream(entry))){
+            if (result == null) {
+                throw new ClassNotFoundException(className);
+            }
 
-                                size = (int) entry.getSize();
+            if (resolve) {
+                resolveClass(result);
+            }
+        }
 
-                                b = new byte[size];
-                                r = ins.read(b, 0, size);
-                            } catch (IOException ex) {
-                                r = -1;
-                            }
+        return (result);
+    }
 
-                            if (r != size) {
-                                throw (new ClassFormatError(className));
-                            }
+    /**
+     * Read the class bytes from the indexed JAR file and define the class.
+     */
+    private Class<?> defineJarClass(String className) {
 
-                            result = defineClass(className, b, 0, size);
-                            break;
-                        } catch (IOException ex) {
-                            /* ignore error, & continue */
-                            log.log(Level.SEVERE, ex.getMessage(), ex);
-                        }
-                    }
-                }
-            }
+        JarFile jar = entries.get(classNameToPath(className));
+        if (jar == null) {
+            return null;
         }
 
-        if (result == null) {
-            throw new ClassNotFoundException(className);
+        JarEntry entry = jar.getJarEntry(classNameToPath(className));
+        byte[] b;
+        try (InputStream ins = jar.getInputStream(entry)) {
+            b = ins.readAllBytes();
+        } catch (IOException ex) {
+            /* ignore error, & continue */
+            log.log(Level.SEVERE, ex.getMessage(), ex);
+            return null;
         }
 
-        if (resolve) {
-            resolveClass(result);
+        if (entry.getSize() >= 0 && b.length != entry.getSize()) {
+            throw (new ClassFormatError(className));
         }
 
-        return (result);
+        return defineClass(className, b, 0, b.length);
     }
 
     private boolean isForbiddenPackage(String packageName) {
@@ -222,20 +291,22 @@ public class PluginClassLoader extends ClassLoader {
     /**
      * Convert a class name to its corresponding JAR entry name
      */
-    private synchronized boolean findPackage(String packageName,
-                                             ArrayList<String> packageList) {
+    private boolean findPackage(String packageName,
+                                ArrayList<String> packageList) {
         boolean ret = false;
 
-        for (String pkg : packageList) {
+        synchronized (packageList) {
+            for (String pkg : packageList) {
 
-            if (pkg.endsWith(".*")) {
-                if (packageName.startsWith(pkg.substring(0, pkg.length() - 1))) {
+                if (pkg.endsWith(".*")) {
+                    if (packageName.startsWith(pkg.substring(0, pkg.length() - 1))) {
+                        ret = true;
+                        break;
+                    }
+                } else if (pkg.equals(packageName)) {
                     ret = true;
                     break;
                 }
-            } else if (pkg.equals(packageName)) {
-                ret = true;
-                break;
             }
         }
 
@@ -245,12 +316,16 @@ public class PluginClassLoader extends ClassLoader {
     @SuppressWarnings("checkstyle:ReturnCount")
     @Override
     public InputStream getResourceAsStream(String name) {
-        URL url = getResource(name);
-        if (url == null) {
-            return null;
-        }
+        // First: delegate to parent
+        URL url = getParent() != null ? getParent().getResource(name) : null;
         try {
-            return url.openStream();
+            if (url != null) {
+                return url.openStream();
+            }
+
+            // Then: read from the indexed plugin JAR
+            JarFile jar = entries.get(name);
+            return jar != null ? openEntry(jar, name) : null;
         } catch (IOException e) {
             return null;
         }
@@ -265,23 +340,73 @@ public class PluginClassLoader extends ClassLoader {
             return url;
         }
 
-        // Then: search plugin JARs
-        for (String jarPath : jars) {
-            try {
-                File file = new File(jarPath);
-                URL jarUrl = new URL(
-                    "jar:file:" + file.getAbsolutePath() + "!/" + name
-                );
-                try (InputStream ignored = jarUrl.openStream()) {
-                    return jarUrl;
-                } catch (IOException ignored) {
-                    // not found in this jar
-                }
-            } catch (MalformedURLException ignored) {
+        // Then: search the index of plugin JARs
+        JarFile jar = entries.get(name);
+        if (jar == null) {
+            return null;
+        }
+
+        try {
+            return URL.of(URI.create(JAR_URL_PREFIX + new File(jar.getName()).toURI() + JAR_URL_SEPARATOR + name),
+                new EntryHandler(jar, name));
+        } catch (MalformedURLException | IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Open an entry of a registered JAR file, which fails if the loader is closed meanwhile.
+     */
+    private static InputStream openEntry(JarFile jar, String name) throws IOException {
+        try {
+            JarEntry entry = jar.getJarEntry(name);
+            if (entry == null) {
+                throw new IOException("No entry " + name + " in " + jar.getName());
             }
+            return jar.getInputStream(entry);
+        } catch (IllegalStateException ex) {
+            throw new IOException("Plugin class loader is closed", ex);
+        }
+    }
+
+    /**
+     * Handler of a resource URL, reading the entry from the JAR file opened by the loader.
+     */
+    private static final class EntryHandler extends URLStreamHandler {
+
+        private final JarFile jar;
+
+        private final String name;
+
+        private EntryHandler(JarFile jar, String name) {
+            this.jar = jar;
+            this.name = name;
+        }
+
+        /**
+         * Keep the whole specification as the path, it is never resolved against another URL.
+         */
+        @Override
+        protected void parseURL(URL u, String spec, int start, int limit) {
+            setURL(u, u.getProtocol(), null, -1, null, null, spec.substring(start, limit), null, null);
         }
 
-        return null;
+        @Override
+        protected URLConnection openConnection(URL u) {
+            return new URLConnection(u) {
+
+                @Override
+                public void connect() {
+                    connected = true;
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    connect();
+                    return openEntry(jar, name);
+                }
+            };
+        }
     }
 
 }
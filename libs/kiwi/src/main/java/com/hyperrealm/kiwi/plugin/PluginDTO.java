@@ -67,6 +67,33 @@ public class PluginDTO {
 
     public static final String BUILD_NUMBER = "Build-Number";
 
+    /**
+     * Comma separated names of plugins which have to be loaded before this one. The plugin
+     * is not loaded if any of them is missing or fails.
+     */
+    public static final String PLUGIN_DEPENDS = "PluginDepends";
+
+    /**
+     * Comma separated names of plugins which should be loaded before this one, if present.
+     */
+    public static final String PLUGIN_LOAD_AFTER = "PluginLoadAfter";
+
+    /**
+     * Plugin activation trigger, either {@link #PLUGIN_ACTIVATION_STARTUP} or
+     * {@link #PLUGIN_ACTIVATION_LAZY}. Taken into account only if the lazy activation is enabled.
+     */
+    public static final String PLUGIN_ACTIVATION = "PluginActivation";
+
+    /**
+     * The plugin is activated when the workspace starts
+     */
+    public static final String PLUGIN_ACTIVATION_STARTUP = "startup";
+
+    /**
+     * The plugin is activated on the first use
+     */
+    public static final String PLUGIN_ACTIVATION_LAZY = "lazy";
+
     protected String className;
 
     protected String name;
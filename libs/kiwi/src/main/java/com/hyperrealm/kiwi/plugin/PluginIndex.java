@@ -0,0 +1,470 @@
+/* ----------------------------------------------------------------------------
+   The Kiwi Toolkit - A Java Class Library
+   Copyright (C) 2026 Anton Troshin
+
+   This library is free software; you can redistribute it and/or
+   modify it under the terms of the GNU General Public License as
+   published by the Free Software Foundation; either version 2 of the
+   License, or (at your option) any later version.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   General Public License for more details.
+
+   You should have received a copy of the GNU General Public License
+   along with this library; if not, see <http://www.gnu.org/licenses/>.
+   ----------------------------------------------------------------------------
+*/
+
+package com.hyperrealm.kiwi.plugin;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import java.awt.GraphicsEnvironment;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * A persistent index of plugin manifest data. Each entry holds everything a {@link Plugin}
+ * reads from its archive manifest, together with a pre-scaled plugin icon, and is keyed by
+ * the archive path. An entry is valid as long as the archive size and modification time are
+ * unchanged; if they differ, the content hash of the archive is compared before the entry
+ * is discarded, so copying the same archive over doesn't invalidate it.
+ * <p>
+ * The index is stored in a compact binary file, a corrupted or outdated file is ignored
+ * and rebuilt on the next save.
+ *
+ * @author Anton Troshin
+ */
+@Log
+public class PluginIndex {
+
+    /**
+     * Maximum width or height of icons stored in the index
+     */
+    public static final int ICON_SIZE = 128;
+
+    private static final int MAGIC = 0x4B504958;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final String ICON_FORMAT = "png";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Getter
+    private final Path file;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty = false;
+
+    /**
+     * Create an empty index, bound to the given file.
+     *
+     * @param file the index file.
+     */
+    public PluginIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the index stored in the given file. If the file doesn't exist or can't be read,
+     * an empty index is returned.
+     *
+     * @param file the index file.
+     * @return The index.
+     */
+    public static PluginIndex open(Path file) {
+        PluginIndex index = new PluginIndex(file);
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                index.read(in);
+            } catch (IOException ex) {
+                log.warning("Plugin index " + file + " is ignored: " + ex.getMessage());
+                index.entries.clear();
+                index.dirty = true;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Get the number of entries in the index.
+     *
+     * @return The number of indexed archives.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Whether the index has unsaved changes.
+     *
+     * @return <code>true</code> if the index has to be saved.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Find a valid entry for the given plugin archive.
+     *
+     * @param jarFile the plugin archive.
+     * @return The entry or <code>null</code> if the archive is not indexed or has changed.
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    Entry lookup(File jarFile) {
+
+        Entry entry = entries.get(jarFile.getAbsolutePath());
+        if (entry == null) {
+            return null;
+        }
+
+        long size = jarFile.length();
+        long modified = jarFile.lastModified();
+        if (entry.size() == size && entry.modified() == modified) {
+            return entry;
+        }
+
+        try {
+            if (entry.size() == size && entry.hash().equals(hash(jarFile))) {
+                Entry refreshed = entry.withStat(size, modified);
+                entries.put(refreshed.path(), refreshed);
+                dirty = true;
+                return refreshed;
+            }
+        } catch (IOException ex) {
+            log.warning("Cannot read " + jarFile + ": " + ex.getMessage());
+        }
+
+        entries.remove(entry.path());
+        dirty = true;
+        return null;
+    }
+
+    /**
+     * Store the manifest data of a plugin read from the given archive.
+     *
+     * @param jarFile the plugin archive.
+     * @param plugin the plugin, created from this archive.
+     */
+    void put(File jarFile, Plugin plugin) {
+        try {
+            Entry entry = Entry.of(jarFile, hash(jarFile), plugin);
+            entries.put(entry.path(), entry);
+            dirty = true;
+        } catch (IOException ex) {
+            log.warning("Cannot index " + jarFile + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Remove entries for all archives, except the given ones.
+     *
+     * @param paths absolute paths of the archives to keep.
+     */
+    public void retain(Collection<String> paths) {
+        Set<String> keep = new HashSet<>(paths);
+        if (entries.keySet().removeIf(path -> !keep.contains(path))) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Save the index to its file, if it has been changed.
+     *
+     * @throws IOException If the file can't be written.
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out);
+            }
+            try {
+                Files.move(temp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, REPLACE_EXISTING);
+            }
+            dirty = false;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported index format");
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Entry entry = Entry.read(in);
+            entries.put(entry.path(), entry);
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        List<Entry> snapshot = new ArrayList<>(entries.values());
+        out.writeInt(snapshot.size());
+        for (Entry entry : snapshot) {
+            entry.write(out);
+        }
+    }
+
+    static String hash(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Indexed manifest data of a single plugin archive.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    record Entry(String path,
+                 long size,
+                 long modified,
+                 String hash,
+                 String className,
+                 String name,
+                 String title,
+                 String description,
+                 String manifestLevel,
+                 String type,
+                 String iconFile,
+                 String version,
+                 String helpUrl,
+                 long buildDate,
+                 String buildNumber,
+                 Map<String, String> properties,
+                 byte[] icon) {
+
+        static Entry of(File jarFile, String hash, Plugin plugin) {
+
+            Map<String, String> properties = new HashMap<>();
+            plugin.getProperties().forEach((key, value) -> properties.put(key.toString(), value.toString()));
+
+            return new Entry(jarFile.getAbsolutePath(),
+                jarFile.length(),
+                jarFile.lastModified(),
+                hash,
+                plugin.getClassName(),
+                plugin.getName(),
+                plugin.getTitle(),
+                plugin.getDescription(),
+                plugin.getManifestLevel(),
+                plugin.getType(),
+                plugin.getIconFile(),
+                plugin.getVersion(),
+                plugin.getHelpURL() != null ? plugin.getHelpURL().toString() : null,
+                plugin.getBuildDate() != null ? plugin.getBuildDate().getTime() : -1,
+                plugin.getBuildNumber(),
+                properties,
+                encodeIcon(plugin.getIcon())
+            );
+        }
+
+        Entry withStat(long newSize, long newModified) {
+            return new Entry(path, newSize, newModified, hash, className, name, title, description,
+                manifestLevel, type, iconFile, version, helpUrl, buildDate, buildNumber, properties, icon);
+        }
+
+        /**
+         * Copy the indexed data to the plugin
+         */
+        void restore(Plugin plugin) {
+            plugin.setClassName(className);
+            plugin.setName(name);
+            plugin.setTitle(title);
+            plugin.setDescription(description);
+            plugin.setManifestLevel(manifestLevel);
+            plugin.setType(type);
+            plugin.setIconFile(iconFile);
+            plugin.setVersion(version);
+            if (helpUrl != null) {
+                plugin.setHelpUrl(helpUrl);
+            }
+            if (buildDate >= 0) {
+                plugin.setBuildDate(new Date(buildDate));
+            }
+            plugin.setBuildNumber(buildNumber);
+            plugin.getProperties().putAll(properties);
+            plugin.setIcon(decodeIcon(icon));
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            String path = in.readUTF();
+            long size = in.readLong();
+            long modified = in.readLong();
+            String hash = in.readUTF();
+            String className = readString(in);
+            String name = readString(in);
+            String title = readString(in);
+            String description = readString(in);
+            String manifestLevel = readString(in);
+            String type = readString(in);
+            String iconFile = readString(in);
+            String version = readString(in);
+            String helpUrl = readString(in);
+            long buildDate = in.readLong();
+            String buildNumber = readString(in);
+
+            int count = in.readInt();
+            Map<String, String> properties = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                properties.put(in.readUTF(), readString(in));
+            }
+
+            byte[] icon = null;
+            int length = in.readInt();
+            if (length >= 0) {
+                icon = new byte[length];
+                in.readFully(icon);
+            }
+
+            return new Entry(path, size, modified, hash, className, name, title, description, manifestLevel,
+                type, iconFile, version, helpUrl, buildDate, buildNumber, properties, icon);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(path);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.writeUTF(hash);
+            writeString(out, className);
+            writeString(out, name);
+            writeString(out, title);
+            writeString(out, description);
+            writeString(out, manifestLevel);
+            writeString(out, type);
+            writeString(out, iconFile);
+            writeString(out, version);
+            writeString(out, helpUrl);
+            out.writeLong(buildDate);
+            writeString(out, buildNumber);
+
+            out.writeInt(properties.size());
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                out.writeUTF(property.getKey());
+                writeString(out, property.getValue());
+            }
+
+            if (icon == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(icon.length);
+                out.write(icon);
+            }
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        /**
+         * Scale the icon down to {@link #ICON_SIZE} and encode it as PNG
+         */
+        @SuppressWarnings("checkstyle:ReturnCount")
+        private static byte[] encodeIcon(Icon icon) {
+            if (!(icon instanceof ImageIcon imageIcon) || imageIcon.getIconWidth() <= 0
+                || imageIcon.getIconHeight() <= 0) {
+                return null;
+            }
+
+            int width = imageIcon.getIconWidth();
+            int height = imageIcon.getIconHeight();
+            double scale = Math.min(1.0, (double) ICON_SIZE / Math.max(width, height));
+            int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+            int scaledHeight = Math.max(1, (int) Math.round(height * scale));
+
+            BufferedImage image = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g.drawImage(imageIcon.getImage(), 0, 0, scaledWidth, scaledHeight, null);
+            } finally {
+                g.dispose();
+            }
+
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                return ImageIO.write(image, ICON_FORMAT, out) ? out.toByteArray() : null;
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:ReturnCount")
+        private static Icon decodeIcon(byte[] data) {
+            if (data == null || GraphicsEnvironment.isHeadless()) {
+                return null;
+            }
+            try {
+                Image image = ImageIO.read(new ByteArrayInputStream(data));
+                return image != null ? new ImageIcon(image) : null;
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -83,6 +83,14 @@ public class PluginLocator<T extends PluginContext> {
     @Setter
     private ClassLoader parentPluginClassLoader;
 
+    /**
+     * If set, plugins are registered from the manifest data only, their classes
+     * are loaded on the first use
+     */
+    @Getter
+    @Setter
+    private boolean lazyActivation = false;
+
     /**
      * Construct a new <code>PluginLocator</code> with the specified plugin
      * context.
@@ -134,7 +142,8 @@ public class PluginLocator<T extends PluginContext> {
     }
 
     /**
-     * Create and load a Plugin object for the given plugin archive.
+     * Create and load a Plugin object for the given plugin archive. If the lazy activation
+     * is on, the plugin classes are not loaded until the plugin is activated.
      *
      * @param jarFile The plugin archive.
      * @param level of the plugin.
@@ -142,9 +151,46 @@ public class PluginLocator<T extends PluginContext> {
      * <code>null</code> otherwise.
      */
     public Plugin loadPlugin(File jarFile, String level) throws PluginException {
+        if (lazyActivation) {
+            Plugin plugin = createPlugin(jarFile, level);
+            plugin.checkLevel();
+            return plugin;
+        }
         return new Plugin(this, jarFile.getAbsolutePath(), level);
     }
 
+    /**
+     * Create and load a Plugin object for the given plugin archive. The manifest data
+     * is taken from the index if the archive is not changed since it was indexed,
+     * otherwise the archive is read and the index is updated.
+     *
+     * @param jarFile The plugin archive.
+     * @param level of the plugin.
+     * @param index The plugin index, may be <code>null</code>.
+     * @return The <code>Plugin</code>, if successfully created.
+     */
+    public Plugin loadPlugin(File jarFile, String level, PluginIndex index) throws PluginException {
+        if (index == null) {
+            return loadPlugin(jarFile, level);
+        }
+
+        Plugin plugin;
+        PluginIndex.Entry entry = index.lookup(jarFile);
+        if (entry != null) {
+            plugin = new Plugin(this, entry, level, false);
+        } else {
+            plugin = createPlugin(jarFile, level);
+            index.put(jarFile, plugin);
+        }
+
+        if (lazyActivation) {
+            plugin.checkLevel();
+        } else {
+            plugin.instantiate();
+        }
+        return plugin;
+    }
+
     /**
      * Create a Plugin object for the given plugin archive, do not instantiate the plugin file
      *
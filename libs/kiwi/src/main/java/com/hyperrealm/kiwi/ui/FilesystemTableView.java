@@ -29,14 +29,14 @@ import javax.swing.SwingConstants;
 import javax.swing.table.DefaultTableCellRenderer;
 
 import com.hyperrealm.kiwi.ui.dialog.ComponentDialog;
-import com.hyperrealm.kiwi.ui.model.datasource.FilesystemDataSource;
+import com.hyperrealm.kiwi.ui.model.datasource.AsyncFilesystemDataSource;
 import com.hyperrealm.kiwi.ui.model.tree.ExternalKTreeModel;
 import com.hyperrealm.kiwi.ui.model.tree.KTreeModel;
 
 /**
  * This class represents a filesystem table component. It displays
- * hierarchical data (ultimately obtained from a
- * <code>FilesystemDataSource</code>) in a <code>KTreeTable</code> component.
+ * hierarchical data (ultimately obtained from an
+ * <code>AsyncFilesystemDataSource</code>) in a <code>KTreeTable</code> component.
  * The filesystem (or portion thereof) being displayed by the component can
  * be changed at any time.
  *
@@ -46,7 +46,7 @@ import com.hyperrealm.kiwi.ui.model.tree.KTreeModel;
  * </center>
  *
  * @author Mark Lindner
- * @see FilesystemDataSource
+ * @see AsyncFilesystemDataSource
  * @see com.hyperrealm.kiwi.ui.KTreeTable
  */
 @SuppressWarnings({"MagicNumber"})
@@ -56,6 +56,8 @@ public class FilesystemTableView extends KPanel {
 
     private boolean ignoreFiles;
 
+    private AsyncFilesystemDataSource dataSource;
+
     /**
      * Construct a new <code>FilesystemTableView</code>. The table initially has
      * no data model; use <code>setRoot()</code> to initialize the component.
@@ -108,18 +110,24 @@ public class FilesystemTableView extends KPanel {
 
     /**
      * Set the root of the filesystem to be displayed by this component. This
-     * causes the component to be reset and repainted.
+     * causes the component to be reset and repainted, and the data source of
+     * the previous root to be disposed.
      *
      * @param root The root directory of the filesystem to display. May be
      *             <code>null</code>, indicating that all available filesystems should be
      *             displayed.
      */
     public void setRoot(File root) {
-        FilesystemDataSource fds = new FilesystemDataSource(root, ignoreFiles);
+        AsyncFilesystemDataSource fds = new AsyncFilesystemDataSource(root, ignoreFiles);
         KTreeModel model = new ExternalKTreeModel(fds);
 
         table.setTreeModel(model);
 
+        if (dataSource != null) {
+            dataSource.dispose();
+        }
+        dataSource = fds;
+
         DefaultTableCellRenderer rightRenderer = new DefaultTableCellRenderer();
         rightRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
 
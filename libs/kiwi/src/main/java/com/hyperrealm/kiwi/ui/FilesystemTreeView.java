@@ -31,14 +31,14 @@ import javax.swing.tree.TreeSelectionModel;
 
 import static com.hyperrealm.kiwi.ui.dialog.ComponentDialog.CENTER_POSITION;
 import static com.hyperrealm.kiwi.ui.dialog.ComponentDialog.DEFAULT_ROW_HEIGHT;
-import com.hyperrealm.kiwi.ui.model.datasource.FilesystemDataSource;
+import com.hyperrealm.kiwi.ui.model.datasource.AsyncFilesystemDataSource;
 import com.hyperrealm.kiwi.ui.model.tree.DefaultKTreeModel;
 import com.hyperrealm.kiwi.ui.model.tree.ExternalKTreeModel;
 import com.hyperrealm.kiwi.ui.model.tree.KTreeModelTreeAdapter;
 
 /**
  * This class represents a filesystem tree component. It displays hierarchical
- * data (ultimately obtained from a <code>FilesystemDataSource</code>) in a
+ * data (ultimately obtained from an <code>AsyncFilesystemDataSource</code>) in a
  * <code>JTree</code> component. The filesystem (or portion thereof) being
  * displayed by the component can be changed at any time.
  *
@@ -48,7 +48,7 @@ import com.hyperrealm.kiwi.ui.model.tree.KTreeModelTreeAdapter;
  * </center>
  *
  * @author Mark Lindner
- * @see FilesystemDataSource
+ * @see AsyncFilesystemDataSource
  * @see javax.swing.JTree
  */
 
@@ -60,6 +60,8 @@ public class FilesystemTreeView extends KPanel {
 
     private final boolean ignoreFiles;
 
+    private AsyncFilesystemDataSource dataSource;
+
     /**
      * Construct a new <code>FilesystemTreeView</code>. The tree initially has
      * no data model; use <code>setRoot()</code> to initialize the component.
@@ -112,18 +114,24 @@ public class FilesystemTreeView extends KPanel {
 
     /**
      * Set the root of the filesystem to be displayed by this component. This
-     * causes the component to be reset and repainted.
+     * causes the component to be reset and repainted, and the data source of
+     * the previous root to be disposed.
      *
      * @param root The root directory of the filesystem to display; may be
      *             <code>null</code> to display all available filesystems.
      */
 
     public void setRoot(File root) {
-        FilesystemDataSource fds = new FilesystemDataSource(root, ignoreFiles);
+        AsyncFilesystemDataSource fds = new AsyncFilesystemDataSource(root, ignoreFiles);
         DefaultKTreeModel model = new ExternalKTreeModel(fds);
         adapter.setTreeModel(model);
         tree.setCellRenderer(new KTreeModelTreeCellRenderer(model));
         tree.setRootVisible(false);
+
+        if (dataSource != null) {
+            dataSource.dispose();
+        }
+        dataSource = fds;
         repaint();
     }
 
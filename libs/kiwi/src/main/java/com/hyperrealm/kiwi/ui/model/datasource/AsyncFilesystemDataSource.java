@@ -0,0 +1,698 @@
+/* ----------------------------------------------------------------------------
+   The Kiwi Toolkit - A Java Class Library
+   Copyright (C) 2026 Anton Troshin
+
+   This library is free software; you can redistribute it and/or
+   modify it under the terms of the GNU General Public License as
+   published by the Free Software Foundation; either version 2 of the
+   License, or (at your option) any later version.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   General Public License for more details.
+
+   You should have received a copy of the GNU General Public License
+   along with this library; if not, see <http://www.gnu.org/licenses/>.
+   ----------------------------------------------------------------------------
+*/
+
+package com.hyperrealm.kiwi.ui.model.datasource;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import javax.swing.Icon;
+import javax.swing.SwingUtilities;
+
+import com.hyperrealm.kiwi.ui.model.ModelProperties;
+import com.hyperrealm.kiwi.util.KiwiUtils;
+import com.hyperrealm.kiwi.util.LocaleData;
+import com.hyperrealm.kiwi.util.LocaleManager;
+
+import lombok.extern.java.Log;
+
+/**
+ * A variant of {@link FilesystemDataSource FilesystemDataSource} for views
+ * which query it on the event dispatch thread. The nodes are the same
+ * <code>File</code> objects, but the file attributes are read once per
+ * directory with a directory stream and kept, so the icons, the expandable
+ * flags and the formatted sizes and dates don't touch the file system.
+ * <p>
+ * If the data source has listeners, only the first {@link #BATCH_SIZE}
+ * entries of a directory are returned by {@link #getChildren getChildren()};
+ * the rest are read in the background and added in order, with a
+ * <i>node added</i> event for each. The directories listed are watched, and
+ * the changes on disk are reported to the listeners as they happen. Without
+ * listeners, a changed directory is read again on the next call. A data
+ * source which is not used anymore should be disposed, to stop watching.
+ *
+ * @author Anton Troshin
+ * @see FilesystemDataSource
+ */
+@Log
+public class AsyncFilesystemDataSource implements ObservableTreeDataSource<Object> {
+
+    /**
+     * The number of entries of a directory read before the rest is read in
+     * the background.
+     */
+    public static final int BATCH_SIZE = 256;
+
+    private static final Icon FOLDER_OPEN_ICON = KiwiUtils.getResourceManager()
+        .getIcon("folder_page.png");
+
+    private static final Icon FOLDER_CLOSED_ICON = KiwiUtils.getResourceManager()
+        .getIcon("folder.png");
+
+    private static final Icon FOLDER_LOCKED_ICON = KiwiUtils.getResourceManager()
+        .getIcon("folder_locked.png");
+
+    private static final Icon DOCUMENT_ICON = KiwiUtils.getResourceManager()
+        .getIcon("document_blank.png");
+
+    private static final Icon COMPUTER_ICON = KiwiUtils.getResourceManager()
+        .getIcon("computer.png");
+
+    private static final String[] COLUMNS;
+
+    private static final File[] EMPTY_LIST = new File[0];
+
+    private static final String FILE_COLUMN, SIZE_COLUMN, DATE_COLUMN, TIME_COLUMN;
+
+    private static final Class[] TYPES = new Class[]{
+        String.class,
+        String.class,
+        String.class,
+        String.class
+    };
+
+    private static final String ALL_FILESYSTEMS;
+
+    private static final int KILOBYTE = 1024;
+
+    /**
+     * Seconds between the checks of the watcher thread whether the data source is still used
+     */
+    private static final long WATCH_TIMEOUT = 5;
+
+    static {
+        LocaleManager lm = LocaleManager.getDefault();
+        LocaleData loc = lm.getLocaleData("KiwiMisc");
+
+        FILE_COLUMN = loc.getMessage("kiwi.column.file");
+        SIZE_COLUMN = loc.getMessage("kiwi.column.size");
+        DATE_COLUMN = loc.getMessage("kiwi.column.date");
+        TIME_COLUMN = loc.getMessage("kiwi.column.time");
+        ALL_FILESYSTEMS = loc.getMessage("kiwi.label.all_filesystems");
+
+        COLUMNS = new String[]{FILE_COLUMN, SIZE_COLUMN, DATE_COLUMN, TIME_COLUMN};
+    }
+
+    private final FilesystemDataSource.FileRoot root;
+
+    private final boolean ignoreFiles;
+
+    private final LocaleManager lm = LocaleManager.getDefault();
+
+    /**
+     * Children of the directories listed
+     */
+    private final Map<File, Listing> listings = new ConcurrentHashMap<>();
+
+    /**
+     * Attributes of the files read
+     */
+    private final Map<File, Entry> entries = new ConcurrentHashMap<>();
+
+    private final List<TreeDataSourceListener<Object>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Keys of the directories watched
+     */
+    private final Map<File, WatchKey> keys = new ConcurrentHashMap<>();
+
+    private WatchService watcher;
+
+    /**
+     * Construct a new <code>AsyncFilesystemDataSource</code> with roots
+     * for all available filesystems.
+     */
+    public AsyncFilesystemDataSource() {
+        this(new FilesystemDataSource.FileRoot(), false);
+    }
+
+    /**
+     * Construct a new <code>AsyncFilesystemDataSource</code>.
+     *
+     * @param root        The root directory.
+     * @param ignoreFiles A flag specifying whether ordinary files
+     *                    (non-directories) should be ignored or displayed.
+     * @throws IllegalArgumentException if <code>root</code> is not
+     *                                  a directory.
+     */
+    public AsyncFilesystemDataSource(File root, boolean ignoreFiles) {
+        this(new FilesystemDataSource.FileRoot(root), ignoreFiles);
+        if (root != null && !root.isDirectory()) {
+            throw (new IllegalArgumentException("Root must be a directory!"));
+        }
+    }
+
+    private AsyncFilesystemDataSource(FilesystemDataSource.FileRoot root, boolean ignoreFiles) {
+        this.root = root;
+        this.ignoreFiles = ignoreFiles;
+    }
+
+    /**
+     * Get the root object.
+     *
+     * @return The <code>FileRoot</code> "virtual root" object which is
+     * the parent of the root files with which this data source was
+     * created.
+     */
+    public Object getRoot() {
+        return (root);
+    }
+
+    /*
+     */
+
+    public void addTreeDataSourceListener(TreeDataSourceListener<Object> listener) {
+        listeners.add(listener);
+    }
+
+    /*
+     */
+
+    public void removeTreeDataSourceListener(TreeDataSourceListener<Object> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Get the children of a given node, sorted by name. The children of a
+     * large directory which are still being read are added later.
+     */
+    public Object[] getChildren(Object node) {
+
+        if (node.getClass() == FilesystemDataSource.FileRoot.class) {
+            return (((FilesystemDataSource.FileRoot) node).getRoots());
+        }
+
+        File dir = (File) node;
+        Listing listing = listings.get(dir);
+        if (listing == null) {
+            listing = list(dir);
+        }
+
+        synchronized (listing) {
+            return (listing.children.toArray(EMPTY_LIST));
+        }
+    }
+
+    /**
+     * Read the directory, or its first entries if there are listeners to
+     * report the rest to. Directories that can't be watched are read in full
+     * and not kept.
+     */
+    private Listing list(File dir) {
+
+        Listing listing = new Listing();
+        boolean keep = watch(dir);
+
+        DirectoryStream<Path> stream;
+        try {
+            stream = Files.newDirectoryStream(dir.toPath());
+        } catch (IOException | SecurityException ex) {
+            unwatch(dir);
+            return (listing);
+        }
+
+        Iterator<Path> iterator = stream.iterator();
+        listing.children.addAll(read(iterator, keep && !listeners.isEmpty() ? BATCH_SIZE : Integer.MAX_VALUE, null));
+        Collections.sort(listing.children);
+
+        listing.loading = hasNext(iterator);
+        if (keep) {
+            listings.put(dir, listing);
+        }
+
+        if (listing.loading) {
+            Thread.ofVirtual().name("filesystem-loader").start(() -> loadRest(dir, listing, stream, iterator));
+        } else {
+            close(stream);
+        }
+
+        return (listing);
+    }
+
+    /**
+     * Read the rest of a large directory, and add it to the listing in
+     * batches on the event dispatch thread.
+     */
+    private void loadRest(File dir, Listing listing, DirectoryStream<Path> stream, Iterator<Path> iterator) {
+        try {
+            while (hasNext(iterator)) {
+                List<File> batch = read(iterator, BATCH_SIZE, null);
+                SwingUtilities.invokeLater(() -> merge(dir, listing, null, batch, List.of()));
+            }
+        } finally {
+            close(stream);
+            SwingUtilities.invokeLater(() -> {
+                listing.loading = false;
+                if (listing.dirty) {
+                    listing.dirty = false;
+                    Thread.ofVirtual().name("filesystem-loader").start(() -> refresh(dir));
+                }
+            });
+        }
+    }
+
+    /**
+     * Read at most <code>count</code> entries, and keep their attributes.
+     *
+     * @param changed if not null, collects the files whose attributes have
+     *                changed since they were read last
+     */
+    private List<File> read(Iterator<Path> iterator, int count, Set<File> changed) {
+
+        List<File> files = new ArrayList<>();
+
+        while (files.size() < count && hasNext(iterator)) {
+            Path path = iterator.next();
+            Entry entry = readEntry(path);
+            if (entry == null || (ignoreFiles && !entry.directory)) {
+                continue;
+            }
+
+            File file = path.toFile();
+            Entry previous = entries.put(file, entry);
+            if (changed != null && previous != null && !previous.isSame(entry)) {
+                changed.add(file);
+            }
+            files.add(file);
+        }
+
+        return (files);
+    }
+
+    private static Entry readEntry(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return (new Entry(attrs.isDirectory(), !attrs.isDirectory() || Files.isReadable(path),
+                attrs.size(), attrs.lastModifiedTime().toMillis()));
+        } catch (IOException | SecurityException ex) {
+            // deleted meanwhile
+            return (null);
+        }
+    }
+
+    /**
+     * Get the attributes of a file, reading them if the file is not in a
+     * listing, like the roots.
+     */
+    private Entry getEntry(File file) {
+        Entry entry = entries.get(file);
+        if (entry == null) {
+            entry = readEntry(file.toPath());
+            if (entry == null) {
+                return (Entry.MISSING);
+            }
+            entries.put(file, entry);
+        }
+        return (entry);
+    }
+
+    private static boolean hasNext(Iterator<Path> iterator) {
+        try {
+            return (iterator.hasNext());
+        } catch (DirectoryIteratorException ex) {
+            return (false);
+        }
+    }
+
+    private static void close(DirectoryStream<Path> stream) {
+        try {
+            stream.close();
+        } catch (IOException ex) {
+            log.log(Level.FINE, "Cannot close directory stream", ex);
+        }
+    }
+
+    /**
+     * Update the listing and report the changes to the listeners. Runs on
+     * the event dispatch thread.
+     *
+     * @param present the files in the directory, or null if the files are
+     *                only added
+     * @param added   the files to add, if not in the listing yet
+     * @param changed the files whose attributes have changed
+     */
+    private void merge(File dir, Listing listing, Set<File> present, List<File> added, List<File> changed) {
+
+        if (listings.get(dir) != listing) {
+            return;
+        }
+
+        if (present != null) {
+            for (int i = listing.children.size() - 1; i >= 0; i--) {
+                File child = listing.children.get(i);
+                if (!present.contains(child)) {
+                    synchronized (listing) {
+                        listing.children.remove(i);
+                    }
+                    forget(child);
+                    for (TreeDataSourceListener<Object> l : listeners) {
+                        l.nodeRemoved(dir, i);
+                    }
+                }
+            }
+        }
+
+        for (File child : added) {
+            int index = Collections.binarySearch(listing.children, child);
+            if (index >= 0) {
+                continue;
+            }
+            index = -index - 1;
+            synchronized (listing) {
+                listing.children.add(index, child);
+            }
+            for (TreeDataSourceListener<Object> l : listeners) {
+                l.nodeAdded(dir, child, index);
+            }
+        }
+
+        for (File child : changed) {
+            int index = Collections.binarySearch(listing.children, child);
+            if (index >= 0) {
+                for (TreeDataSourceListener<Object> l : listeners) {
+                    l.nodeChanged(dir, index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a changed directory again, in full, and merge it on the event
+     * dispatch thread. Without listeners the listing is dropped instead.
+     */
+    private void refresh(File dir) {
+
+        Listing listing = listings.get(dir);
+        if (listing == null) {
+            return;
+        }
+        if (listeners.isEmpty()) {
+            listings.remove(dir);
+            unwatch(dir);
+            return;
+        }
+        if (listing.loading) {
+            listing.dirty = true;
+            return;
+        }
+
+        Set<File> changed = new HashSet<>();
+        List<File> present;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir.toPath())) {
+            present = read(stream.iterator(), Integer.MAX_VALUE, changed);
+        } catch (IOException | SecurityException ex) {
+            // deleted, the parent listing reports it
+            return;
+        }
+        Collections.sort(present);
+
+        SwingUtilities.invokeLater(() -> merge(dir, listing, new HashSet<>(present), present,
+            new ArrayList<>(changed)));
+    }
+
+    /**
+     * Drop the attributes of a removed file, and the listings of a removed
+     * directory and of the directories in it.
+     */
+    private void forget(File file) {
+        Path path = file.toPath();
+        entries.remove(file);
+        listings.keySet().removeIf(dir -> dir.toPath().startsWith(path));
+        for (File dir : keys.keySet()) {
+            if (dir.toPath().startsWith(path)) {
+                unwatch(dir);
+            }
+        }
+    }
+
+    /**
+     * Watch the directory for changes.
+     *
+     * @return false if the directory can't be watched
+     */
+    private synchronized boolean watch(File dir) {
+        try {
+            if (watcher == null) {
+                watcher = FileSystems.getDefault().newWatchService();
+                WatchService service = watcher;
+                WeakReference<AsyncFilesystemDataSource> reference = new WeakReference<>(this);
+                Thread.ofPlatform().name("filesystem-watcher").daemon().start(() -> watch(service, reference));
+            }
+            WatchKey key = dir.toPath().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            keys.put(dir, key);
+            return (true);
+        } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+            log.log(Level.FINE, "Cannot watch " + dir, ex);
+            return (false);
+        }
+    }
+
+    /**
+     * Stop watching the directory, when its listing is dropped.
+     */
+    private synchronized void unwatch(File dir) {
+        WatchKey key = keys.remove(dir);
+        if (key != null) {
+            key.cancel();
+        }
+    }
+
+    /**
+     * Stop watching the directories, and remove the listeners. The watcher
+     * thread stops, and the directories are read again if the data source is
+     * still queried.
+     */
+    public synchronized void dispose() {
+        listeners.clear();
+        listings.clear();
+        keys.clear();
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException ex) {
+                log.log(Level.FINE, "Cannot close filesystem watcher", ex);
+            }
+            watcher = null;
+        }
+    }
+
+    /**
+     * Take the changes until the watcher is closed or the data source is not
+     * used anymore. The thread holds the data source weakly, so a data source
+     * which has not been disposed is still collected.
+     */
+    private static void watch(WatchService service, WeakReference<AsyncFilesystemDataSource> reference) {
+        try (service) {
+            while (true) {
+                WatchKey key = service.poll(WATCH_TIMEOUT, TimeUnit.SECONDS);
+                AsyncFilesystemDataSource source = reference.get();
+                if (source == null) {
+                    return;
+                }
+                if (key != null) {
+                    source.changed(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException | IOException ex) {
+            log.log(Level.FINE, "Filesystem watcher stopped", ex);
+        }
+    }
+
+    private void changed(WatchKey key) {
+        File dir = ((Path) key.watchable()).toFile();
+        key.pollEvents();
+        if (keys.get(dir) != key) {
+            // not watched anymore
+            return;
+        }
+        if (!key.reset()) {
+            keys.remove(dir, key);
+            listings.remove(dir);
+        } else {
+            refresh(dir);
+        }
+    }
+
+    /*
+     */
+
+    public String getLabel(Object node) {
+
+        if (node.getClass() == FilesystemDataSource.FileRoot.class) {
+            return (ALL_FILESYSTEMS);
+        }
+
+        File f = (File) node;
+        return root.isRoot(f) ? f.getPath() : f.getName();
+    }
+
+    /*
+     */
+
+    public Icon getIcon(Object node, boolean isExpanded) {
+
+        if (node.getClass() == FilesystemDataSource.FileRoot.class) {
+            return (COMPUTER_ICON);
+        }
+
+        Entry entry = getEntry((File) node);
+        if (entry.directory) {
+            return !entry.readable ? FOLDER_LOCKED_ICON : (isExpanded ? FOLDER_OPEN_ICON : FOLDER_CLOSED_ICON);
+        }
+        return (DOCUMENT_ICON);
+    }
+
+    /*
+     */
+
+    public boolean isExpandable(Object node) {
+        if (node.getClass() == FilesystemDataSource.FileRoot.class) {
+            return (true);
+        }
+
+        Entry entry = getEntry((File) node);
+        return (entry.directory && entry.readable);
+    }
+
+    /**
+     * Get the value for a given property. The formatted values are kept
+     * with the attributes of the file.
+     */
+    public Object getValueForProperty(Object node, String property) {
+
+        Object ret;
+
+        if (node == null) {
+
+            if (property.equals(ModelProperties.COLUMN_NAMES_PROPERTY)) {
+                ret = COLUMNS;
+            } else if (property.equals(ModelProperties.COLUMN_TYPES_PROPERTY)) {
+                ret = TYPES;
+            } else {
+                ret = null;
+            }
+
+        } else if (!(node instanceof File f)) {
+            ret = null;
+        } else if (property.equals(FILE_COLUMN)) {
+            ret = f;
+        } else if (property.equals(SIZE_COLUMN)) {
+            Entry entry = getEntry(f);
+            if (entry.sizeText == null) {
+                long len = (entry.size + KILOBYTE - 1) / KILOBYTE;
+                entry.sizeText = len < KILOBYTE
+                    ? (lm.formatInteger(len, true) + " Kb")
+                    : (lm.formatInteger((len + KILOBYTE - 1) / KILOBYTE, true) + " Mb");
+            }
+            ret = entry.sizeText;
+        } else if (property.equals(DATE_COLUMN)) {
+            Entry entry = getEntry(f);
+            if (entry.dateText == null) {
+                entry.dateText = lm.formatDate(new Date(entry.modified), LocaleManager.MEDIUM);
+            }
+            ret = entry.dateText;
+        } else if (property.equals(TIME_COLUMN)) {
+            Entry entry = getEntry(f);
+            if (entry.timeText == null) {
+                entry.timeText = lm.formatTime(new Date(entry.modified), LocaleManager.SHORT);
+            }
+            ret = entry.timeText;
+        } else {
+            ret = null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * The children of a directory, sorted by name.
+     */
+    private static final class Listing {
+
+        private final List<File> children = new ArrayList<>();
+
+        /**
+         * Set while the rest of the directory is read in the background
+         */
+        private volatile boolean loading;
+
+        /**
+         * Set if the directory has changed while it was being read
+         */
+        private volatile boolean dirty;
+    }
+
+    /**
+     * The attributes of a file, with their formatted values once requested.
+     */
+    private static final class Entry {
+
+        private static final Entry MISSING = new Entry(false, false, 0, 0);
+
+        private final boolean directory;
+
+        private final boolean readable;
+
+        private final long size;
+
+        private final long modified;
+
+        private String sizeText;
+
+        private String dateText;
+
+        private String timeText;
+
+        private Entry(boolean directory, boolean readable, long size, long modified) {
+            this.directory = directory;
+            this.readable = readable;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        private boolean isSame(Entry other) {
+            return directory == other.directory && readable == other.readable
+                && size == other.size && modified == other.modified;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/* ----------------------------------------------------------------------------
+   The Kiwi Toolkit - A Java Class Library
+   Copyright (C) 2026 Anton Troshin
+
+   This library is free software; you can redistribute it and/or
+   modify it under the terms of the GNU General Public License as
+   published by the Free Software Foundation; either version 2 of the
+   License, or (at your option) any later version.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   General Public License for more details.
+
+   You should have received a copy of the GNU General Public License
+   along with this library; if not, see <http://www.gnu.org/licenses/>.
+   ----------------------------------------------------------------------------
+*/
+
+package com.hyperrealm.kiwi.ui.model.datasource;
+
+/**
+ * A {@link TreeDataSource} whose children change after they have been
+ * requested, either as they are loaded in the background or as the data
+ * they represent changes. Models built on it keep their loaded children up
+ * to date through a {@link TreeDataSourceListener}.
+ *
+ * @param <T>
+ * @author Anton Troshin
+ */
+
+public interface ObservableTreeDataSource<T> extends TreeDataSource<T> {
+
+    /**
+     * Add a listener for changes in the children of the nodes.
+     *
+     * @param listener The listener to add.
+     */
+    void addTreeDataSourceListener(TreeDataSourceListener<T> listener);
+
+    /**
+     * Remove a listener for changes in the children of the nodes.
+     *
+     * @param listener The listener to remove.
+     */
+    void removeTreeDataSourceListener(TreeDataSourceListener<T> listener);
+
+}
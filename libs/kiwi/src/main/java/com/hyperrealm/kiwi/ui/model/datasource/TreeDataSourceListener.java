@@ -0,0 +1,59 @@
+/* ----------------------------------------------------------------------------
+   The Kiwi Toolkit - A Java Class Library
+   Copyright (C) 2026 Anton Troshin
+
+   This library is free software; you can redistribute it and/or
+   modify it under the terms of the GNU General Public License as
+   published by the Free Software Foundation; either version 2 of the
+   License, or (at your option) any later version.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   General Public License for more details.
+
+   You should have received a copy of the GNU General Public License
+   along with this library; if not, see <http://www.gnu.org/licenses/>.
+   ----------------------------------------------------------------------------
+*/
+
+package com.hyperrealm.kiwi.ui.model.datasource;
+
+/**
+ * A listener for changes in the children of the nodes of an
+ * {@link ObservableTreeDataSource}. The indices are those of the array
+ * which {@link TreeDataSource#getChildren getChildren()} returns once the
+ * change is made. The methods are called on the event dispatch thread.
+ *
+ * @param <T>
+ * @author Anton Troshin
+ */
+
+public interface TreeDataSourceListener<T> {
+
+    /**
+     * Invoked when a child has been added to a node.
+     *
+     * @param parent The parent node.
+     * @param node   The new child.
+     * @param index  The offset of the new child within the parent's children.
+     */
+    void nodeAdded(T parent, T node, int index);
+
+    /**
+     * Invoked when a child has been removed from a node.
+     *
+     * @param parent The parent node.
+     * @param index  The offset the child had within the parent's children.
+     */
+    void nodeRemoved(T parent, int index);
+
+    /**
+     * Invoked when the properties of a child have changed.
+     *
+     * @param parent The parent node.
+     * @param index  The offset of the child within the parent's children.
+     */
+    void nodeChanged(T parent, int index);
+
+}
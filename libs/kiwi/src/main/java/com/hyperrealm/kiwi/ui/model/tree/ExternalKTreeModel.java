@@ -24,11 +24,15 @@ import java.util.ArrayList;
 import javax.swing.Icon;
 
 import com.hyperrealm.kiwi.ui.model.ImmutableModelException;
+import com.hyperrealm.kiwi.ui.model.datasource.ObservableTreeDataSource;
 import com.hyperrealm.kiwi.ui.model.datasource.TreeDataSource;
+import com.hyperrealm.kiwi.ui.model.datasource.TreeDataSourceListener;
 
 /**
  * An implementation of <code>KTreeModel</code> that obtains its data from
- * an external data source.
+ * an external data source. If the source is an
+ * <code>ObservableTreeDataSource</code>, the children already loaded are
+ * kept up to date with its changes.
  *
  * @param <T>
  * @author Mark Lindner
@@ -58,6 +62,10 @@ public class ExternalKTreeModel<T> extends DefaultKTreeModel<T> {
 
         this.source = source;
 
+        if (source instanceof ObservableTreeDataSource<T> observable) {
+            observable.addTreeDataSourceListener(new SourceListener());
+        }
+
         reload(null);
     }
 
@@ -221,4 +229,39 @@ public class ExternalKTreeModel<T> extends DefaultKTreeModel<T> {
         node.setChildren(list);
     }
 
+    /*
+     * Applies the changes of an observable data source to the children
+     * already loaded; the others get them when they are loaded.
+     */
+
+    private class SourceListener implements TreeDataSourceListener<T> {
+
+        public void nodeAdded(T parent, T node, int index) {
+            synchronized (ExternalKTreeModel.this) {
+                TreeNode p = nodeForObject(parent);
+                if (p != null && p.hasChildrenLoaded()) {
+                    p.addChild(makeNode(node, p), index);
+                }
+            }
+        }
+
+        public void nodeRemoved(T parent, int index) {
+            synchronized (ExternalKTreeModel.this) {
+                TreeNode p = nodeForObject(parent);
+                if (p != null && p.hasChildrenLoaded() && index < p.getChildCount()) {
+                    p.removeChild(index);
+                }
+            }
+        }
+
+        public void nodeChanged(T parent, int index) {
+            synchronized (ExternalKTreeModel.this) {
+                TreeNode p = nodeForObject(parent);
+                if (p != null && p.hasChildrenLoaded() && index < p.getChildCount()) {
+                    support.fireNodeChanged(parent, index);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,83 @@
+package com.hyperrealm.kiwi.plugin;
+/* ----------------------------------------------------------------------------
+   The Kiwi Toolkit - A Java Class Library
+   Copyright (C) 1998-2008 Mark A. Lindner
+
+   This library is free software; you can redistribute it and/or
+   modify it under the terms of the GNU General Public License as
+   published by the Free Software Foundation; either version 2 of the
+   License, or (at your option) any later version.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   General Public License for more details.
+
+   You should have received a copy of the GNU General Public License
+   along with this library; if not, see <http://www.gnu.org/licenses/>.
+   ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Anton Troshin
+ */
+public class PluginClassLoaderTest {
+
+    private static final String RESOURCE = "com/example/plugin/message.txt";
+
+    private static final String CONTENT = "Hello from the plugin";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testResources() throws IOException {
+
+        PluginClassLoader loader = new PluginClassLoader(new ArrayList<>(), new ArrayList<>());
+        loader.addJarFile(writeJar().toString());
+
+        URL url = loader.getResource(RESOURCE);
+        Assertions.assertNotNull(url);
+        Assertions.assertEquals("jar", url.getProtocol());
+        Assertions.assertTrue(url.toExternalForm().endsWith("!/" + RESOURCE));
+        Assertions.assertEquals(CONTENT, read(url.openStream()));
+        Assertions.assertEquals(CONTENT, read(loader.getResourceAsStream(RESOURCE)));
+        Assertions.assertNull(loader.getResource("com/example/plugin/missing.txt"));
+
+        loader.close();
+
+        Assertions.assertNull(loader.getResource(RESOURCE));
+        Assertions.assertNull(loader.getResourceAsStream(RESOURCE));
+        Assertions.assertThrows(IOException.class, url::openStream);
+    }
+
+    private Path writeJar() throws IOException {
+        Path jar = folder.resolve("plugin.jar");
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(new JarEntry(RESOURCE));
+            jarOut.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+            jarOut.closeEntry();
+        }
+        return jar;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/* ----------------------------------------------------------------------------
+   The Kiwi Toolkit - A Java Class Library
+   Copyright (C) 2026 Anton Troshin
+
+   This library is free software; you can redistribute it and/or
+   modify it under the terms of the GNU General Public License as
+   published by the Free Software Foundation; either version 2 of the
+   License, or (at your option) any later version.
+
+   This library is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   General Public License for more details.
+
+   You should have received a copy of the GNU General Public License
+   along with this library; if not, see <http://www.gnu.org/licenses/>.
+   ----------------------------------------------------------------------------
+*/
+
+package com.hyperrealm.kiwi.ui.model.datasource;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.hyperrealm.kiwi.ui.model.ModelProperties;
+import com.hyperrealm.kiwi.ui.model.tree.ExternalKTreeModel;
+
+/**
+ * @author Anton Troshin
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+class AsyncFilesystemDataSourceTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void testChildrenAndAttributes() throws IOException {
+        Files.write(folder.resolve("c"), new byte[2000]);
+        Files.createDirectory(folder.resolve("b"));
+        Files.createFile(folder.resolve("a"));
+
+        AsyncFilesystemDataSource source = new AsyncFilesystemDataSource(folder.toFile(), false);
+        Object[] children = source.getChildren(folder.toFile());
+        Assertions.assertArrayEquals(new Object[]{folder.resolve("a").toFile(), folder.resolve("b").toFile(),
+            folder.resolve("c").toFile()}, children);
+        Assertions.assertTrue(source.isExpandable(children[1]));
+        Assertions.assertFalse(source.isExpandable(children[2]));
+        String[] columns = (String[]) source.getValueForProperty(null, ModelProperties.COLUMN_NAMES_PROPERTY);
+        Assertions.assertEquals("2 Kb", source.getValueForProperty(children[2], columns[1]));
+
+        AsyncFilesystemDataSource directories = new AsyncFilesystemDataSource(folder.toFile(), true);
+        Assertions.assertArrayEquals(new Object[]{folder.resolve("b").toFile()},
+            directories.getChildren(folder.toFile()));
+    }
+
+    @Test
+    void testLoadsLargeDirectoryInBackground() throws Exception {
+        int count = AsyncFilesystemDataSource.BATCH_SIZE * 3 + 1;
+        for (int i = 0; i < count; i++) {
+            Files.createFile(folder.resolve(String.format("file %04d", i)));
+        }
+
+        File dir = folder.toFile();
+        AsyncFilesystemDataSource source = new AsyncFilesystemDataSource(dir, false);
+        ExternalKTreeModel<Object> model = onEdt(() -> new ExternalKTreeModel<>(source));
+        AtomicInteger loaded = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> {
+            model.preloadChildren(dir);
+            loaded.set(model.getChildCount(dir));
+        });
+        Assertions.assertTrue(loaded.get() <= AsyncFilesystemDataSource.BATCH_SIZE);
+
+        await(() -> onEdt(() -> model.getChildCount(dir)), count);
+        File[] expected = onEdt(() -> {
+            File[] files = new File[count];
+            for (int i = 0; i < count; i++) {
+                files[i] = (File) model.getChild(dir, i);
+            }
+            return files;
+        });
+        File[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        Assertions.assertArrayEquals(sorted, expected);
+    }
+
+    @Test
+    void testReportsChanges() throws Exception {
+        Files.createFile(folder.resolve("a"));
+
+        File dir = folder.toFile();
+        AsyncFilesystemDataSource source = new AsyncFilesystemDataSource(dir, false);
+        ExternalKTreeModel<Object> model = onEdt(() -> new ExternalKTreeModel<>(source));
+        SwingUtilities.invokeAndWait(() -> model.preloadChildren(dir));
+        Assertions.assertEquals(1, (int) onEdt(() -> model.getChildCount(dir)));
+
+        Files.createFile(folder.resolve("b"));
+        await(() -> onEdt(() -> model.getChildCount(dir)), 2);
+        Assertions.assertEquals(folder.resolve("b").toFile(), onEdt(() -> model.getChild(dir, 1)));
+
+        Files.delete(folder.resolve("a"));
+        await(() -> onEdt(() -> model.getChildCount(dir)), 1);
+        Assertions.assertEquals(folder.resolve("b").toFile(), onEdt(() -> model.getChild(dir, 0)));
+    }
+
+    @Test
+    void testDispose() throws Exception {
+        Files.createFile(folder.resolve("a"));
+
+        File dir = folder.toFile();
+        AsyncFilesystemDataSource source = new AsyncFilesystemDataSource(dir, false);
+        ExternalKTreeModel<Object> model = onEdt(() -> new ExternalKTreeModel<>(source));
+        SwingUtilities.invokeAndWait(() -> model.preloadChildren(dir));
+        SwingUtilities.invokeAndWait(source::dispose);
+
+        // the listing is dropped with the watcher, so the directory is read again
+        Files.createFile(folder.resolve("b"));
+        Assertions.assertArrayEquals(new Object[]{folder.resolve("a").toFile(), folder.resolve("b").toFile()},
+            source.getChildren(dir));
+        source.dispose();
+    }
+
+    private static void await(Callable<Integer> value, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (value.call() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(expected, (int) value.call());
+    }
+
+    private static <T> T onEdt(Callable<T> callable)
+        throws InterruptedException, InvocationTargetException {
+        Object[] result = new Object[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result[0] = callable.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+}
@@ -0,0 +1,124 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import jworkspace.runtime.logging.SegmentedLogStore;
+
+/**
+ * Throughput of the bulk log framing of {@link AbstractTask} against the former per-byte framing.
+ * Both write the same chunks through a buffered stream into an in-memory log store, notify
+ * a listener of every line and take the elapsed time from the same constant clock.
+ * <p>
+ * Run with {@code ./gradlew :runtime:benchmark}, it is not a part of the build.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public final class LogFramingBenchmark {
+
+    private static final long ELAPSED_TIME = 42;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int CHUNKS_PER_ROUND = 1000;
+
+    private static final Consumer<String> LISTENER = _ -> { };
+
+    private LogFramingBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+
+        byte[] chunk = "INFO: a typical line of a process output with some payload\n"
+            .repeat(64).getBytes(StandardCharsets.UTF_8);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            bulk(chunk);
+            perByte(chunk);
+        }
+
+        long bulkNanos = Long.MAX_VALUE;
+        long perByteNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            bulkNanos = Math.min(bulkNanos, bulk(chunk));
+            perByteNanos = Math.min(perByteNanos, perByte(chunk));
+        }
+
+        long megabytes = (long) chunk.length * CHUNKS_PER_ROUND >> 20;
+        System.out.printf("%d MB per round, best of %d rounds%n", megabytes, ROUNDS);
+        System.out.printf("bulk framing:     %8.2f ms%n", bulkNanos / 1e6);
+        System.out.printf("per-byte framing: %8.2f ms%n", perByteNanos / 1e6);
+    }
+
+    private static long bulk(byte[] chunk) throws IOException {
+        BenchmarkTask task = new BenchmarkTask();
+        task.setLogStreamListener(LISTENER);
+        return write(task.getLogsOutputStream(), chunk);
+    }
+
+    private static long perByte(byte[] chunk) throws IOException {
+        return write(new BufferedOutputStream(new PerByteLogFraming(new SegmentedLogStore(null),
+            () -> ELAPSED_TIME, LISTENER)), chunk);
+    }
+
+    private static long write(OutputStream out, byte[] chunk) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < CHUNKS_PER_ROUND; i++) {
+            out.write(chunk, 0, chunk.length);
+        }
+        out.flush();
+        return System.nanoTime() - start;
+    }
+
+    private static final class BenchmarkTask extends AbstractTask {
+
+        BenchmarkTask() {
+            super("Log framing benchmark");
+        }
+
+        @Override
+        public long getElapsedTime() {
+            return ELAPSED_TIME;
+        }
+
+        @Override
+        public void run() {
+            // nothing to run
+        }
+
+        @Override
+        public boolean isAlive() {
+            return false;
+        }
+
+        @Override
+        public void stop() {
+            // nothing to stop
+        }
+    }
+}
@@ -25,37 +25,53 @@ package jworkspace.runtime;
   ----------------------------------------------------------------------------
 */
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.logging.Level;
 
 import static com.hyperrealm.kiwi.util.KiwiUtils.MILLISEC_IN_SECOND;
 import com.hyperrealm.kiwi.runtime.Task;
 
+import jworkspace.runtime.logging.LogLine;
+import jworkspace.runtime.logging.LogQuery;
+import jworkspace.runtime.logging.SegmentedLogStore;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.java.Log;
 
+@Log
 @Getter
 @Setter
 public abstract class AbstractTask extends Task {
 
     public static final char EOL = '\n';
 
+    /**
+     * Directory to spill old log segments of new tasks to, if null only the recent logs are kept in memory
+     */
+    private static volatile Path logSpillDirectory;
+
     private String name;
     private Date startTime;
 
-    private final ByteArrayOutputStream logBuffer = new ByteArrayOutputStream();
+    private final SegmentedLogStore logStore = new SegmentedLogStore(logSpillDirectory);
 
     // Explicit internal synchronization lock to separate state locking from method scopes
     private final Object logLock = new Object();
 
     // The stream target directly delegates to the class lock via constructor pass-through
     private LiveLogOutputStream liveStream = new LiveLogOutputStream(
-        logBuffer,
+        logStore,
         () -> logLock,
         this::getElapsedTime
     );
@@ -88,14 +104,89 @@ public abstract class AbstractTask extends Task {
         return startTime;
     }
 
+    /**
+     * Sets the directory where tasks created afterward spill their old log segments,
+     * usually a folder in the user profile.
+     *
+     * @param directory the spill directory, or null to keep only the recent logs in memory
+     */
+    public static void setLogSpillDirectory(Path directory) {
+        logSpillDirectory = directory;
+    }
+
+    public static Path getLogSpillDirectory() {
+        return logSpillDirectory;
+    }
+
     public String getLogs() {
         synchronized (logLock) {
+            flushLogs();
             try {
-                logsOutputStream.flush();
-            } catch (IOException ignored) {
-                // Ignore flush issues
+                return logStore.readAll();
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Cannot read logs of " + name, e);
+                return "";
             }
-            return logBuffer.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Get the number of log lines.
+     *
+     * @return the number of lines written so far
+     */
+    public long getLogLineCount() {
+        synchronized (logLock) {
+            flushLogs();
+            return logStore.getLineCount();
+        }
+    }
+
+    /**
+     * Reads a page of log lines, so viewers don't have to copy the whole history.
+     *
+     * @param firstLine the first line to read, starting from zero
+     * @param maxLines  the maximum number of lines to read
+     * @return the lines without line breaks
+     */
+    public List<String> getLogLines(long firstLine, int maxLines) {
+        synchronized (logLock) {
+            flushLogs();
+            try {
+                return logStore.readLines(firstLine, maxLines);
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Cannot read logs of " + name, e);
+                return List.of();
+            }
+        }
+    }
+
+    /**
+     * Finds the log lines matching the query. The logs are indexed as they are written, including
+     * the logs restored with {@link #setLogs(String)}, so only the candidate lines are read. The search
+     * runs outside the log lock and is repeated if the logs are cleared meanwhile.
+     *
+     * @param query the text, pattern or severity to look for
+     * @param limit the maximum number of lines to find
+     * @return the matching lines in the log order
+     */
+    public List<LogLine> searchLogs(LogQuery query, int limit) {
+        synchronized (logLock) {
+            flushLogs();
+        }
+        try {
+            return logStore.search(query, limit);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Cannot search logs of " + name, e);
+            return List.of();
+        }
+    }
+
+    private void flushLogs() {
+        try {
+            logsOutputStream.flush();
+        } catch (IOException ignored) {
+            // Ignore flush issues
         }
     }
 
@@ -110,17 +201,26 @@ public abstract class AbstractTask extends Task {
             // Ensure any currently active buffered stream data is committed before appending
             try {
                 this.logsOutputStream.flush();
-                this.logBuffer.write(logs.getBytes(StandardCharsets.UTF_8));
+                this.logStore.write(logs.getBytes(StandardCharsets.UTF_8));
             } catch (IOException ignored) {}
         }
     }
 
+    /**
+     * Discards the logs and deletes their spill file, when the task is no longer tracked.
+     */
+    public void releaseLogs() {
+        synchronized (logLock) {
+            logStore.reset();
+        }
+    }
+
     public synchronized void clearLogs() {
         synchronized (logLock) {
-            logBuffer.reset();
+            logStore.reset();
             // Re-initialize the pipeline layers if the stream was previously closed
             this.liveStream = new LiveLogOutputStream(
-                logBuffer,
+                logStore,
                 () -> logLock,
                 this::getElapsedTime
             );
@@ -130,49 +230,89 @@ public abstract class AbstractTask extends Task {
 
     /**
      * Helper method to route a text line directly into the AbstractTask logging framework.
+     * Every line of the message is terminated with exactly one newline character, so the
+     * live stream frames it right away; trailing line breaks are dropped.
      */
-    @SuppressWarnings("checkstyle:MultipleStringLiterals")
     public void log(String message) {
         if (message == null || message.isEmpty()) {
             return;
         }
-        try {
-            // Split by system line breaks to handle multi-line messages safely
-            String[] lines = message.split("\\r?\\n");
 
-            for (String line : lines) {
-                // Append exactly one newline character so processByte() triggers flushCurrentLine()
-                String terminatedLine = line + "\n";
-                this.getLogsOutputStream().write(terminatedLine.getBytes(StandardCharsets.UTF_8));
-            }
+        // Normalize Windows line breaks, then trim the trailing ones
+        String text = message.indexOf('\r') >= 0 ? message.replace("\r\n", "\n") : message;
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == EOL) {
+            end--;
+        }
+        if (end == 0) {
+            return;
+        }
 
-            // Flush once at the end of the message batch
+        byte[] bytes = (end == text.length() ? text + EOL : text.substring(0, end + 1))
+            .getBytes(StandardCharsets.UTF_8);
+        try {
+            // Write and flush the whole message batch at once
+            this.getLogsOutputStream().write(bytes);
             this.getLogsOutputStream().flush();
         } catch (Exception ignored) {
             // Suppress streaming write failures to prevent task interruption
         }
     }
 
+    /**
+     * Tells how the {@link RuntimeManager} should run tasks of this type. Tasks blocking for
+     * their whole life, like waiting for a child process, should run on virtual threads.
+     *
+     * @return the execution mode, pooled by default
+     */
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.POOLED;
+    }
+
+    /**
+     * Get the operating system process run by the task, to account the resources it uses.
+     *
+     * @return the child process, empty if the task runs in the workspace JVM
+     */
+    public Optional<ProcessHandle> getProcessHandle() {
+        return Optional.empty();
+    }
+
     public abstract boolean isAlive();
 
     public abstract void stop();
 
     /**
      * Stream interceptor that decouples locks to guarantee thread-safe operations.
+     * <p>
+     * Incoming chunks are scanned for line breaks in bulk. Every complete line is framed with
+     * the elapsed time prefix in a reusable buffer and written to the target with a single call,
+     * only an unterminated tail of a chunk is copied to the pending line buffer.
      */
     private static final class LiveLogOutputStream extends OutputStream {
+
+        private static final byte[] PREFIX_SEPARATOR = {':', ' '};
+        private static final int RADIX = 10;
+        private static final int MAX_PREFIX_LENGTH = 22;
+        private static final int INITIAL_BUFFER_SIZE = 256;
+        private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
         private final OutputStream target;
         private final Supplier<Object> lockProvider;
-        private final Supplier<Long> elapsedTimeProvider;
+        private final LongSupplier elapsedTimeProvider;
         private Consumer<String> listener;
 
-        // Accumulates incoming bytes until a complete line delimiter (\n) is found
-        private final ByteArrayOutputStream lineAccumulator = new ByteArrayOutputStream();
+        // Accumulates the bytes of a line which is not terminated yet
+        private byte[] pending = new byte[INITIAL_BUFFER_SIZE];
+        private int pendingLength;
+
+        // Reusable buffer holding the prefix and the line being written out
+        private byte[] frame = new byte[INITIAL_BUFFER_SIZE];
 
         LiveLogOutputStream(
             OutputStream target,
             Supplier<Object> lockProvider,
-            Supplier<Long> elapsedTimeProvider
+            LongSupplier elapsedTimeProvider
         ) {
             this.target = target;
             this.lockProvider = lockProvider;
@@ -188,53 +328,121 @@ public abstract class AbstractTask extends Task {
         @Override
         public void write(int b) throws IOException {
             synchronized (lockProvider.get()) {
-                processByte((byte) b);
+                if (pendingLength == pending.length) {
+                    pending = Arrays.copyOf(pending, pending.length * 2);
+                }
+                pending[pendingLength++] = (byte) b;
+                if (b == EOL) {
+                    flushPending(elapsedTimeProvider.getAsLong());
+                }
             }
         }
 
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
             synchronized (lockProvider.get()) {
-                for (int i = 0; i < len; i++) {
-                    processByte(b[off + i]);
+                long elapsed = -1;
+                int start = off;
+                int end = off + len;
+
+                for (int i = off; i < end; i++) {
+                    if (b[i] != EOL) {
+                        continue;
+                    }
+                    // lines of the same chunk share the elapsed time
+                    if (elapsed < 0) {
+                        elapsed = elapsedTimeProvider.getAsLong();
+                    }
+                    if (pendingLength > 0) {
+                        appendPending(b, start, i + 1 - start);
+                        flushPending(elapsed);
+                    } else {
+                        writeLine(elapsed, b, start, i + 1 - start);
+                    }
+                    start = i + 1;
+                }
+
+                if (start < end) {
+                    appendPending(b, start, end - start);
                 }
             }
         }
 
-        /**
-         * Scans incoming bytes for line breaks. When a line breaks, it formats the line,
-         * writes it to the historical target stream, and broadcasts it to the UI.
-         */
-        private void processByte(byte sign) throws IOException {
-            lineAccumulator.write(sign);
-
-            // Look for a newline marker character to finalize a complete line
-            if (sign == EOL) {
-                flushCurrentLine();
+        private void appendPending(byte[] b, int off, int len) {
+            if (pending.length - pendingLength < len) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + len));
             }
+            System.arraycopy(b, off, pending, pendingLength, len);
+            pendingLength += len;
         }
 
-        private void flushCurrentLine() throws IOException {
-            if (lineAccumulator.size() == 0) {
+        private void flushPending(long elapsed) throws IOException {
+            if (pendingLength == 0) {
                 return;
             }
+            writeLine(elapsed, pending, 0, pendingLength);
+            pendingLength = 0;
+            if (pending.length > MAX_RETAINED_BUFFER_SIZE) {
+                pending = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
 
-            // Extract the raw line text (omitting the trailing newline for formatting)
-            String rawLine = lineAccumulator.toString(StandardCharsets.UTF_8);
+        /**
+         * Frames a complete line with the elapsed time prefix, writes it to the historical
+         * target stream and broadcasts it to the UI.
+         */
+        private void writeLine(long elapsed, byte[] line, int off, int len) throws IOException {
+            if (frame.length < MAX_PREFIX_LENGTH + len) {
+                frame = new byte[Math.max(frame.length * 2, MAX_PREFIX_LENGTH + len)];
+            }
 
-            long elapsed = elapsedTimeProvider.get();
-            String formattedLine = String.format("%s: %s", elapsed, rawLine);
-            byte[] formattedBytes = formattedLine.getBytes(StandardCharsets.UTF_8);
+            int length = writePrefix(elapsed);
+            System.arraycopy(line, off, frame, length, len);
+            length += len;
 
             // Commit the formatted line bytes to the persistent log history buffer
-            target.write(formattedBytes);
+            target.write(frame, 0, length);
 
             // Broadcast the formatted text line out to your live UI log viewers
             if (listener != null) {
-                listener.accept(formattedLine);
+                listener.accept(new String(frame, 0, length, StandardCharsets.UTF_8));
             }
 
-            lineAccumulator.reset();
+            if (frame.length > MAX_RETAINED_BUFFER_SIZE) {
+                frame = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+
+        /**
+         * Writes the decimal elapsed time followed by the separator to the frame buffer.
+         *
+         * @return the prefix length
+         */
+        private int writePrefix(long elapsed) {
+            int length = 0;
+            long value = elapsed;
+            if (value < 0) {
+                frame[length++] = '-';
+                value = -value;
+            }
+
+            int digitsStart = length;
+            do {
+                frame[length++] = (byte) ('0' + Math.abs(value % RADIX));
+                value /= RADIX;
+            } while (value != 0);
+
+            // digits were written from the lowest one
+            for (int i = digitsStart, j = length - 1; i < j; i++, j--) {
+                byte digit = frame[i];
+                frame[i] = frame[j];
+                frame[j] = digit;
+            }
+
+            frame[length++] = PREFIX_SEPARATOR[0];
+            frame[length++] = PREFIX_SEPARATOR[1];
+            return length;
         }
 
         @Override
@@ -248,14 +456,12 @@ public abstract class AbstractTask extends Task {
         public void close() throws IOException {
             synchronized (lockProvider.get()) {
                 // If the stream closes but the last line didn't end with a newline, flush it anyway
-                if (lineAccumulator.size() > 0) {
-                    lineAccumulator.write(EOL);
-                    flushCurrentLine();
+                if (pendingLength > 0) {
+                    appendPending(new byte[] {EOL}, 0, 1);
+                    flushPending(elapsedTimeProvider.getAsLong());
                 }
                 target.close();
-                lineAccumulator.close();
             }
         }
     }
 }
-
@@ -1,4 +1,4 @@
-package jworkspace.ui.logging;
+package jworkspace.runtime;
 /* ----------------------------------------------------------------------------
    Java Workspace
    Copyright (C) 2026 Anton Troshin
@@ -24,33 +24,20 @@ package jworkspace.ui.logging;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
-final class LogSeverityDetector {
 
-    private LogSeverityDetector() {}
-
-    @SuppressWarnings("checkstyle:ReturnCount")
-    static LogSeverity detect(String line) {
-        String s = line.toLowerCase();
-
-        if (containsAny(s,
-            "error", "exception", "failed", "fatal")) {
-            return LogSeverity.ERROR;
-        }
-
-        if (containsAny(s,
-            "warn", "deprecated", "retry", "timeout")) {
-            return LogSeverity.WARNING;
-        }
-
-        return LogSeverity.INFO;
-    }
-
-    private static boolean containsAny(String s, String... keys) {
-        for (String k : keys) {
-            if (s.contains(k)) {
-                return true;
-            }
-        }
-        return false;
-    }
+/**
+ * Defines how {@link RuntimeManager} runs a task.
+ *
+ * @author Anton Troshin
+ */
+public enum ExecutionMode {
+    /**
+     * The task runs on a platform thread of the bounded runtime pool
+     */
+    POOLED,
+    /**
+     * The task runs on its own virtual thread, blocking waits for child processes
+     * or network transfers don't hold a pool thread
+     */
+    VIRTUAL
 }
@@ -30,17 +30,26 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jworkspace.api.EventsDispatcher;
 import jworkspace.api.IRuntime;
 import jworkspace.api.IWorkspaceListener;
 import jworkspace.runtime.jshell.JShellProcess;
+import jworkspace.runtime.logging.LogLine;
+import jworkspace.runtime.logging.LogQuery;
 import jworkspace.runtime.process.JavaProcess;
+import jworkspace.runtime.process.ProcessResourceSampler;
 import lombok.Getter;
 
 /**
@@ -53,6 +62,12 @@ import lombok.Getter;
  * It also maintains an active registry of tasks to support global runtime actions like
  * terminating all executing tasks simultaneously.
  * </p>
+ * <p>
+ * Tasks which block for their whole life, like child processes or downloads, are run on a
+ * virtual thread per task instead of the pool, see {@link ExecutionMode}. The mode is chosen by
+ * the task type and can be overridden with {@link #setExecutionMode(Class, ExecutionMode)}.
+ * Both modes fire the same lifecycle notifications.
+ * </p>
  */
 @Getter
 @SuppressWarnings("checkstyle:MultipleStringLiterals")
@@ -64,6 +79,23 @@ public class RuntimeManager {
      */
     private final ThreadPoolExecutor poolExecutor;
 
+    /**
+     * Unbounded executor starting a virtual thread for each task run in {@link ExecutionMode#VIRTUAL}.
+     */
+    private final ExecutorService virtualExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("runtime-task-", 0).factory()
+    );
+
+    /**
+     * Number of tasks currently submitted to or running on virtual threads.
+     */
+    private final AtomicInteger virtualActiveCount = new AtomicInteger();
+
+    /**
+     * Execution modes overriding the ones declared by the task types.
+     */
+    private final Map<Class<? extends AbstractTask>, ExecutionMode> executionModes = new ConcurrentHashMap<>();
+
     /**
      * Internal event dispatcher responsible for broadcasting task lifecycle events
      * (such as pre-execution setups or post-execution cleanups) to registered workspace listeners.
@@ -76,6 +108,11 @@ public class RuntimeManager {
      */
     private final List<AbstractTask> tasks = Collections.synchronizedList(new ArrayList<>());
 
+    /**
+     * Sampler of the CPU time, memory and threads used by the child processes of registered tasks.
+     */
+    private final ProcessResourceSampler resourceSampler = new ProcessResourceSampler();
+
     /**
      * Constructs a new {@code RuntimeManager} with a fully customized internal thread pool pool.
      * Overrides standard execution lifecycle interceptors to trigger global events natively.
@@ -130,9 +167,10 @@ public class RuntimeManager {
      */
     public void take(Runnable runnable) {
         if (runnable instanceof AbstractTask task) {
-            register(task);
+            take(task);
+        } else {
+            poolExecutor.execute(runnable);
         }
-        poolExecutor.execute(runnable);
     }
 
     /**
@@ -144,6 +182,7 @@ public class RuntimeManager {
      */
     public void register(AbstractTask task) {
         tasks.add(task);
+        resourceSampler.track(task);
     }
 
     /**
@@ -154,7 +193,69 @@ public class RuntimeManager {
      */
     public void take(AbstractTask task) {
         register(task);
-        poolExecutor.execute(task);
+        if (getExecutionMode(task) == ExecutionMode.VIRTUAL) {
+            executeVirtual(task);
+        } else {
+            poolExecutor.execute(task);
+        }
+    }
+
+    /**
+     * Overrides the execution mode declared by a type of tasks, including its subtypes.
+     *
+     * @param type the task type
+     * @param mode the mode to run tasks of this type, or {@code null} to use the declared one
+     */
+    public void setExecutionMode(Class<? extends AbstractTask> type, ExecutionMode mode) {
+        if (mode == null) {
+            executionModes.remove(type);
+        } else {
+            executionModes.put(type, mode);
+        }
+    }
+
+    /**
+     * Resolves the mode to run the task with, the closest overridden type wins over the mode
+     * declared by the task itself.
+     *
+     * @param task the task to run
+     * @return the execution mode
+     */
+    public ExecutionMode getExecutionMode(AbstractTask task) {
+        for (Class<?> type = task.getClass(); AbstractTask.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            ExecutionMode mode = executionModes.get(type);
+            if (mode != null) {
+                return mode;
+            }
+        }
+        return task.getExecutionMode();
+    }
+
+    /**
+     * Runs the task on a new virtual thread, firing the same lifecycle events
+     * as the pool interceptors do.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void executeVirtual(AbstractTask task) {
+        virtualActiveCount.incrementAndGet();
+        try {
+            virtualExecutor.execute(() -> {
+                Throwable thrown = null;
+                try {
+                    eventsDispatcher.fireEvent(IRuntime.BEFORE_EXECUTE_EVENT, Thread.currentThread(), task);
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    thrown = e;
+                    throw e;
+                } finally {
+                    virtualActiveCount.decrementAndGet();
+                    eventsDispatcher.fireEvent(IRuntime.AFTER_EXECUTE_EVENT, task, thrown);
+                }
+            });
+        } catch (RuntimeException e) {
+            virtualActiveCount.decrementAndGet();
+            throw e;
+        }
     }
 
     /**
@@ -294,13 +395,34 @@ public class RuntimeManager {
         }
     }
 
+    /**
+     * Searches the logs of all registered tasks by their incremental indexes.
+     *
+     * @param query        the text, pattern or severity to look for
+     * @param limitPerTask the maximum number of lines to find in the logs of a task
+     * @return the matching lines of the tasks that have any, in the registration order
+     */
+    public Map<AbstractTask, List<LogLine>> searchLogs(LogQuery query, int limitPerTask) {
+        Map<AbstractTask, List<LogLine>> found = new LinkedHashMap<>();
+        for (AbstractTask task : getAllTasks()) {
+            List<LogLine> lines = task.searchLogs(query, limitPerTask);
+            if (!lines.isEmpty()) {
+                found.put(task, lines);
+            }
+        }
+        return found;
+    }
+
     /**
      * Manually deletes an assigned task from the active monitoring system registry.
      *
      * @param task the specific objective container allocation to remove
      */
     public void remove(AbstractTask task) {
-        tasks.remove(task);
+        if (tasks.remove(task)) {
+            resourceSampler.untrack(task);
+            task.releaseLogs();
+        }
     }
 
     /**
@@ -308,7 +430,14 @@ public class RuntimeManager {
      * that have already completed, crashed, or terminated.
      */
     public void removeTerminated() {
-        tasks.removeIf(task -> !task.isAlive());
+        tasks.removeIf(task -> {
+            if (task.isAlive()) {
+                return false;
+            }
+            resourceSampler.untrack(task);
+            task.releaseLogs();
+            return true;
+        });
     }
 
     /**
@@ -356,10 +485,10 @@ public class RuntimeManager {
      * Checks the internal executor pool engine state to read out the exact number
      * of threads actively running operations.
      *
-     * @return the total number of actively processing threads inside the pool right now
+     * @return the total number of actively processing pool threads and virtual task threads right now
      */
     public int getActiveCount() {
-        return poolExecutor.getActiveCount();
+        return poolExecutor.getActiveCount() + virtualActiveCount.get();
     }
 
     /**
@@ -369,5 +498,7 @@ public class RuntimeManager {
     public void yield() {
         stopAll();
         poolExecutor.shutdown();
+        virtualExecutor.shutdown();
+        resourceSampler.shutdown();
     }
 }
\ No newline at end of file
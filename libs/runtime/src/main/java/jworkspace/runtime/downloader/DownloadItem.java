@@ -27,9 +27,13 @@ package jworkspace.runtime.downloader;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -107,6 +111,12 @@ public class DownloadItem implements Comparable<DownloadItem> {
     /** Actual checksum calculated after download completion */
     private String actualChecksum;
 
+    /** Byte ranges of a resumable download, empty if the download cannot be resumed */
+    private final List<DownloadSegment> segments = new CopyOnWriteArrayList<>();
+
+    /** ETag or Last-Modified of the remote file, used to resume only if the file is unchanged */
+    private volatile String validator;
+
     /**
      * Creates a new download item and initializes its log.
      */
@@ -203,6 +213,48 @@ public class DownloadItem implements Comparable<DownloadItem> {
         }
     }
 
+    /**
+     * Creates a temporary file for storing downloaded binary data in the given directory.
+     *
+     * <p>Unlike {@link #createTempFile()} the file name is derived from the target file name,
+     * so the partially downloaded data is kept next to the destination and can be reused
+     * to resume the download after a restart.</p>
+     *
+     * @param directory directory for the temporary file
+     * @throws IOException if the directory cannot be created
+     */
+    public synchronized void createTempFile(Path directory) throws IOException {
+        if (tempFile == null) {
+            tempFile = Files.createDirectories(directory)
+                .resolve(fileName + "." + id.toString().substring(0, 8) + ".part");
+            log("Temporary file created: " + tempFile);
+        }
+    }
+
+    /**
+     * Opens a channel to the temporary download file for positional reads and writes.
+     *
+     * @return file channel, the file is created if it does not exist
+     * @throws IOException if the file cannot be opened
+     */
+    public FileChannel openTempChannel() throws IOException {
+        if (tempFile == null) {
+            throw new IllegalStateException("Temporary file not created");
+        }
+        return FileChannel.open(tempFile,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Indicates whether the download can continue from the data already in the temporary file.
+     *
+     * @return {@code true} if segment state, a validator of the remote file and the temporary file are present
+     */
+    public boolean isResumable() {
+        Path file = tempFile;
+        return !segments.isEmpty() && validator != null && file != null && Files.exists(file);
+    }
+
     /**
      * Opens an output stream to the temporary download file.
      *
@@ -234,6 +286,8 @@ public class DownloadItem implements Comparable<DownloadItem> {
 
         Files.move(tempFile, targetFile, REPLACE_EXISTING);
         tempFile = null;
+        segments.clear();
+        validator = null;
 
         log("Download finalized: " + completedFile);
     }
@@ -251,6 +305,8 @@ public class DownloadItem implements Comparable<DownloadItem> {
             // Best-effort cleanup
         } finally {
             tempFile = null;
+            segments.clear();
+            validator = null;
         }
     }
     /**
@@ -271,6 +327,11 @@ public class DownloadItem implements Comparable<DownloadItem> {
         dto.setExpectedChecksum(this.expectedChecksum);
         dto.setActualChecksum(this.actualChecksum);
         dto.setLogs(this.getTask().getLogs());
+        if (isResumable()) {
+            dto.setTempFile(this.tempFile.toString());
+            dto.setValidator(this.validator);
+            dto.setSegments(new ArrayList<>(this.segments));
+        }
         return dto;
     }
 
@@ -290,6 +351,17 @@ public class DownloadItem implements Comparable<DownloadItem> {
         item.setExpectedChecksum(dto.getExpectedChecksum());
         item.setActualChecksum(dto.getActualChecksum());
 
+        // Restore the state of a partial download, unless its data is gone
+        if (dto.getTempFile() != null && dto.getSegments() != null && Files.exists(Path.of(dto.getTempFile()))) {
+            item.setTempFile(Path.of(dto.getTempFile()));
+            item.setValidator(dto.getValidator());
+            item.getSegments().addAll(dto.getSegments());
+        }
+        // A download interrupted by the workspace shutdown is treated as failed and can be resumed
+        if (item.getStatus() == DownloadStatus.DOWNLOADING || item.getStatus() == DownloadStatus.VERIFYING) {
+            item.setStatus(DownloadStatus.FAILED);
+        }
+
         // Restore logs if they exist
         if (dto.getLogs() != null) {
             item.getTask().clearLogs(); // Clear default "Task created" log
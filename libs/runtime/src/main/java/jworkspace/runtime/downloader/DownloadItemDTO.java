@@ -1,5 +1,7 @@
 package jworkspace.runtime.downloader;
 
+import java.util.List;
+
 import lombok.Data;
 
 /**
@@ -19,4 +21,7 @@ public class DownloadItemDTO {
     private String actualChecksum;
     private String logs;
     private String completedFile;
+    private String tempFile;
+    private String validator;
+    private List<DownloadSegment> segments;
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package jworkspace.runtime.downloader;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Byte range of a segmented download and the number of bytes of this range already
+ * written to the temporary file.
+ *
+ * <p>Segments are persisted with {@link DownloadItemDTO} so that an interrupted download
+ * can be resumed from where each segment stopped. This class contains only simple types
+ * to remain serializable with GSON.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DownloadSegment {
+
+    /** Offset of the first byte of the segment */
+    private long start;
+
+    /** Offset of the last byte of the segment, inclusive */
+    private long end;
+
+    /** Bytes of the segment already written to the temporary file */
+    private volatile long downloaded;
+
+    /**
+     * @return segment length in bytes
+     */
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * @return file offset where the download of this segment continues
+     */
+    public long position() {
+        return start + downloaded;
+    }
+
+    /**
+     * @return {@code true} if all bytes of the segment are written
+     */
+    public boolean isComplete() {
+        return downloaded >= length();
+    }
+
+    /**
+     * Splits a file of the given length into contiguous segments of nearly equal size.
+     *
+     * @param total file length in bytes, must be positive
+     * @param count number of segments
+     * @return list of segments covering the whole file
+     */
+    public static List<DownloadSegment> split(long total, int count) {
+        int segments = (int) Math.max(1, Math.min(count, total));
+        long size = total / segments;
+        List<DownloadSegment> result = new ArrayList<>(segments);
+        for (int i = 0; i < segments; i++) {
+            long start = i * size;
+            long end = i == segments - 1 ? total - 1 : start + size - 1;
+            result.add(new DownloadSegment(start, end, 0));
+        }
+        return result;
+    }
+}
@@ -24,15 +24,34 @@ package jworkspace.runtime.downloader;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
-import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jworkspace.runtime.AbstractTask;
+import jworkspace.runtime.ExecutionMode;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -44,6 +63,16 @@ import lombok.EqualsAndHashCode;
  * UI updates are delegated to {@link IDownloadListener} and executed on each
  * meaningful state change.</p>
  *
+ * <p>If an HTTP server accepts range requests and reports the file length, the file is
+ * preallocated and split into up to {@link #getMaxSegments()} segments, which are fetched
+ * concurrently on virtual threads and written to the temporary file with positional writes.
+ * The segment state is kept in the {@link DownloadItem}, so a failed or interrupted download
+ * continues from the written bytes, as long as the ETag or Last-Modified of the remote file
+ * is unchanged. Other downloads are streamed sequentially and restart from the beginning.</p>
+ *
+ * <p>The {@link StreamingChecksum} of the file is computed while the bytes arrive and is
+ * compared with the expected checksum of the item, if there is one.</p>
+ *
  * <p>Designed to be executed by a background thread or executor.</p>
  */
 @EqualsAndHashCode(callSuper = true)
@@ -52,8 +81,31 @@ public final class DownloadTask extends AbstractTask {
 
     public static final String DEFAULT_PATH = ".downloads";
 
-    /** Buffer size (8 KB) used for streaming data from the network */
-    private static final int BUFFER_SIZE = 8192;
+    /** Default number of segments downloaded concurrently */
+    public static final int DEFAULT_SEGMENTS = 4;
+
+    /** Files are split into segments not smaller than 1 MB */
+    public static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    /** Buffer size (64 KB) used for streaming data from the network */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Interval of progress updates while segments are downloaded */
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int HTTP_OK = 200;
+
+    private static final int HTTP_PARTIAL_CONTENT = 206;
+
+    private static final int HTTP_BAD_REQUEST = 400;
+
+    /** Shared client keeps connections alive between segments and downloads */
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(CONNECT_TIMEOUT)
+        .build();
     /**
      * Download model holding runtime state
      */
@@ -68,6 +120,10 @@ public final class DownloadTask extends AbstractTask {
      * Path to store the downloaded file
      */
     private Path path = Path.of(DEFAULT_PATH);
+    /**
+     * Maximum number of segments downloaded concurrently
+     */
+    private int maxSegments = DEFAULT_SEGMENTS;
 
     public DownloadTask(DownloadItem item) {
         this.item = item;
@@ -79,10 +135,11 @@ public final class DownloadTask extends AbstractTask {
      * <p>The method performs the following steps:</p>
      * <ol>
      *   <li>Marks the item as downloading</li>
-     *   <li>Opens a connection to the target URL</li>
-     *   <li>Reads data in chunks while updating progress and speed</li>
+     *   <li>Resolves the file length and range support of the target URL</li>
+     *   <li>Reads data in segments or in a single stream while updating progress, speed and checksum</li>
+     *   <li>Verifies the checksum</li>
      *   <li>Handles cancellation requests</li>
-     *   <li>Updates final status on completion or failure</li>
+     *   <li>Updates final status on completion or failure, keeping resumable data on failure</li>
      * </ol>
      */
     @SuppressWarnings({"checkstyle:MagicNumber", "checkstyle:MultipleStringLiterals"})
@@ -93,107 +150,351 @@ public final class DownloadTask extends AbstractTask {
         try {
             // Transition the item into the active downloading state
             item.setStatus(DownloadStatus.DOWNLOADING);
+            report("Starting download: " + item.getUrl());
+            notifyDownloadListener();
+
+            URI uri = URI.create(item.getUrl());
+            StreamingChecksum checksum = new StreamingChecksum();
+            if ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme())) {
+                downloadHttp(uri, checksum);
+            } else {
+                downloadStream(uri, checksum);
+            }
 
-            String message = "Starting download: " + item.getUrl();
-            log(message);
-            notifyObservers(message);
+            item.setStatus(DownloadStatus.VERIFYING);
             notifyDownloadListener();
+            verifyChecksum(checksum.finish());
 
-            // Create URL connection from the item URL
-            URL url = URI.create(item.getUrl()).toURL();
-            URLConnection conn = url.openConnection();
+            // Download completed successfully
+            item.completeDownload(path);
+            item.setStatus(DownloadStatus.COMPLETED);
 
-            // Retrieve the expected content length (it may be -1 if unknown)
-            long total = conn.getContentLengthLong();
-            log(String.format("Content length resolved: %d bytes", total));
-            notifyObservers("Content length resolved: " + total);
-            item.createTempFile();
+            report("Download pipeline closed successfully. File saved to destination: " + path.toAbsolutePath());
+            notifyObservers(100);
+            notifyDownloadListener();
+            notifyFinishedDownloadListener();
 
-            // Tracks the progress percentage intervals to avoid spamming the log files
-            int lastLoggedPercent = -1;
+        } catch (CancellationException e) {
+            item.cleanupTempFile();
+            item.setStatus(DownloadStatus.CANCELED);
+            report("Download task was canceled by user request.");
+            notifyDownloadListener();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // Any other exception is treated as a download failure
+            item.setStatus(DownloadStatus.FAILED);
+            if (item.isResumable()) {
+                report(String.format("Download failed, error: %s. Downloaded %d bytes are kept to resume",
+                    e.getMessage(), item.getDownloadedBytes()));
+            } else {
+                item.cleanupTempFile();
+                report("Download failed, error: " + e.getMessage());
+            }
+            notifyObservers(100);
+            notifyDownloadListener();
+        } finally {
+            // Cleanly close out the stream buffers to flush any trailing lines out to listeners
+            try {
+                this.getLogsOutputStream().close();
+            } catch (Exception ignored) {}
+        }
+    }
 
-            try (InputStream in = conn.getInputStream();
-                 OutputStream out = item.openTempOutputStream()) {
+    /**
+     * Downloads from an HTTP server, in segments if the server accepts range requests.
+     */
+    private void downloadHttp(URI uri, StreamingChecksum checksum) throws IOException, InterruptedException {
+
+        RemoteFile remote = probe(uri);
+        item.setTotalBytes(remote.length());
+        report(String.format("Content length resolved: %d bytes", remote.length()));
+        item.createTempFile(path);
+
+        if (!remote.acceptsRanges() || remote.length() <= 0) {
+            HttpResponse<InputStream> response = HTTP_CLIENT.send(
+                HttpRequest.newBuilder(uri).timeout(CONNECT_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != HTTP_OK) {
+                    throw new IOException("Server responded with HTTP " + response.statusCode());
+                }
+                item.setTotalBytes(response.headers().firstValueAsLong("Content-Length").orElse(remote.length()));
+                downloadWhole(in, checksum);
+            }
+            return;
+        }
 
-                long downloaded = 0;
+        if (canResume(remote)) {
+            report(String.format("Resuming download from %d bytes", downloadedBytes()));
+        } else {
+            item.getSegments().clear();
+            item.getSegments().addAll(DownloadSegment.split(remote.length(), segmentCount(remote.length())));
+            item.setValidator(remote.validator());
+            report(String.format("Downloading in %d segments", item.getSegments().size()));
+        }
 
-                // Used for calculating average download speed
-                long start = System.currentTimeMillis();
+        try (FileChannel channel = item.openTempChannel()) {
+            preallocate(channel, remote.length());
+            fetchSegments(uri, channel, remote.validator(), checksum);
+            checksum.advance(channel, remote.length());
+        }
+    }
 
-                byte[] buffer = new byte[BUFFER_SIZE];
-                int read;
+    /**
+     * Streams the file from any other URL supported by {@link URLConnection}.
+     */
+    private void downloadStream(URI uri, StreamingChecksum checksum) throws IOException {
 
-                while ((read = in.read(buffer)) != -1) {
+        URLConnection connection = uri.toURL().openConnection();
+        item.setTotalBytes(connection.getContentLengthLong());
+        report(String.format("Content length resolved: %d bytes", item.getTotalBytes()));
+        item.createTempFile(path);
 
-                    // Check for cancellation request
-                    if (item.getCancelled().get()) {
-                        item.cleanupTempFile();
-                        item.setStatus(DownloadStatus.CANCELED);
-                        log("Download task was canceled by user request.");
-                        notifyObservers("Download task was canceled by user request.");
-                        notifyDownloadListener();
-                        return;
-                    }
+        try (InputStream in = connection.getInputStream()) {
+            downloadWhole(in, checksum);
+        }
+    }
 
-                    out.write(buffer, 0, read);
-                    // Update downloaded byte count
-                    downloaded += read;
-                    item.setDownloadedBytes(downloaded);
-                    item.setTotalBytes(total);
+    /**
+     * Copies the whole stream to the beginning of the temporary file, such a download cannot be resumed.
+     * The checksum is updated from the same buffer the bytes are written from.
+     */
+    private void downloadWhole(InputStream in, StreamingChecksum checksum) throws IOException {
+        item.getSegments().clear();
+        item.setValidator(null);
+
+        Progress progress = new Progress(0);
+        try (FileChannel channel = item.openTempChannel()) {
+            channel.truncate(0);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                checkCancelled();
+                write(channel, buffer, read, position);
+                checksum.update(buffer, 0, read);
+                position += read;
+                progress.update(position, false);
+            }
+            progress.update(position, true);
+        }
+    }
 
-                    // Calculate the average speed in bytes per second
-                    long elapsed = System.currentTimeMillis() - start;
-                    if (elapsed > 0) {
-                        item.setSpeedBytesPerSec(downloaded * 1000 / elapsed);
-                    }
+    /**
+     * Sends a HEAD request to learn the file length, range support and validator of the remote file.
+     */
+    private RemoteFile probe(URI uri) throws IOException, InterruptedException {
+
+        HttpResponse<Void> response = HTTP_CLIENT.send(HttpRequest.newBuilder(uri)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(CONNECT_TIMEOUT)
+                .build(),
+            HttpResponse.BodyHandlers.discarding()
+        );
+        if (response.statusCode() >= HTTP_BAD_REQUEST) {
+            // Some servers reject HEAD requests, a plain GET reports the real error if there is one
+            return new RemoteFile(-1, false, null);
+        }
+
+        HttpHeaders headers = response.headers();
+        return new RemoteFile(
+            headers.firstValueAsLong("Content-Length").orElse(-1),
+            headers.firstValue("Accept-Ranges").filter("bytes"::equalsIgnoreCase).isPresent(),
+            // Only a strong entity tag or a date can be used in If-Range
+            headers.firstValue("ETag").filter(tag -> !tag.startsWith("W/"))
+                .or(() -> headers.firstValue("Last-Modified"))
+                .orElse(null)
+        );
+    }
+
+    /**
+     * Resume only the same remote file, as recorded in the segment state of the item.
+     */
+    private boolean canResume(RemoteFile remote) {
+        List<DownloadSegment> segments = item.getSegments();
+        return item.isResumable()
+            && remote.validator() != null
+            && remote.validator().equals(item.getValidator())
+            && segments.get(segments.size() - 1).getEnd() == remote.length() - 1;
+    }
+
+    private int segmentCount(long length) {
+        return (int) Math.clamp(length / MIN_SEGMENT_SIZE, 1, Math.max(1, maxSegments));
+    }
+
+    private long downloadedBytes() {
+        return item.getSegments().stream().mapToLong(DownloadSegment::getDownloaded).sum();
+    }
+
+    /**
+     * @return length of the file prefix written without gaps, segments are ordered by their start
+     */
+    private long contiguousBytes() {
+        long frontier = 0;
+        for (DownloadSegment segment : item.getSegments()) {
+            frontier = segment.position();
+            if (!segment.isComplete()) {
+                break;
+            }
+        }
+        return frontier;
+    }
+
+    /**
+     * Stores the actual checksum and fails the download if it differs from the expected one.
+     * The data of a corrupted download is discarded, so it is not resumed.
+     */
+    private void verifyChecksum(String actual) throws IOException {
+        item.setActualChecksum(actual);
+        String expected = item.getExpectedChecksum();
+        if (expected != null && !expected.isBlank() && !expected.trim().equalsIgnoreCase(actual)) {
+            item.cleanupTempFile();
+            throw new IOException(String.format("%s checksum mismatch, expected %s, actual %s",
+                StreamingChecksum.ALGORITHM, expected.trim(), actual));
+        }
+        report(String.format("%s checksum: %s", StreamingChecksum.ALGORITHM, actual));
+    }
+
+    /**
+     * Fetches incomplete segments concurrently and reports the progress until all of them finish.
+     * Meanwhile, the checksum follows the contiguous prefix of the file. The first failure aborts
+     * the remaining segments and is rethrown.
+     */
+    private void fetchSegments(URI uri, FileChannel channel, String validator, StreamingChecksum checksum)
+        throws IOException, InterruptedException {
+
+        AtomicLong downloaded = new AtomicLong(downloadedBytes());
+        AtomicBoolean abort = new AtomicBoolean();
+        Progress progress = new Progress(downloaded.get());
+        Throwable failure = null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (DownloadSegment segment : item.getSegments()) {
+                if (!segment.isComplete()) {
+                    futures.add(executor.submit(() -> {
+                        fetchSegment(uri, channel, segment, validator, downloaded, abort);
+                        return null;
+                    }));
+                }
+            }
 
-                    if (total > 0) {
-                        int currentPercent = (int) ((downloaded * 100) / total);
-                        if (currentPercent % 10 == 0 && currentPercent != lastLoggedPercent) {
-                            log(String.format(
-                                "Download progress: %d%% (%d/%d bytes)", currentPercent, downloaded, total)
-                            );
-                            notifyObservers(
-                                String.format(
-                                    "Download progress: %d%% (%d/%d bytes)", currentPercent, downloaded, total)
-                            );
-                            notifyObservers(currentPercent == 100 ? 99 : currentPercent);
-                            lastLoggedPercent = currentPercent;
+            try {
+                for (Future<?> future : futures) {
+                    boolean done = false;
+                    while (!done) {
+                        try {
+                            future.get(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                            done = true;
+                        } catch (TimeoutException e) {
+                            progress.update(downloaded.get(), false);
+                            checksum.advance(channel, contiguousBytes());
+                        } catch (ExecutionException e) {
+                            abort.set(true);
+                            failure = failure == null ? e.getCause() : failure;
+                            done = true;
                         }
                     }
-                    notifyDownloadListener();
                 }
+            } catch (InterruptedException | IOException e) {
+                abort.set(true);
+                throw e;
             }
+        }
+        progress.update(downloaded.get(), true);
+
+        if (failure instanceof CancellationException cancellation) {
+            throw cancellation;
+        } else if (failure instanceof IOException io) {
+            throw io;
+        } else if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+    }
 
-            // Download completed successfully
-            item.completeDownload(path);
-            item.setStatus(DownloadStatus.COMPLETED);
+    /**
+     * Requests the remaining bytes of the segment and writes them at the segment position.
+     * The segment quietly stops if another segment has failed.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void fetchSegment(URI uri,
+                              FileChannel channel,
+                              DownloadSegment segment,
+                              String validator,
+                              AtomicLong downloaded,
+                              AtomicBoolean abort) throws IOException, InterruptedException {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .header("Range", "bytes=" + segment.position() + "-" + segment.getEnd())
+            .timeout(CONNECT_TIMEOUT);
+        if (validator != null) {
+            request.header("If-Range", validator);
+        }
 
-            log("Download pipeline closed successfully. File saved to destination: " + path.toAbsolutePath());
-            notifyObservers("Download pipeline closed successfully. File saved to destination: "
-                + path.toAbsolutePath()
-            );
-            notifyObservers(100);
-            notifyDownloadListener();
-            notifyFinishedDownloadListener();
+        HttpResponse<InputStream> response = HTTP_CLIENT.send(request.build(),
+            HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream in = response.body()) {
+            if (response.statusCode() == HTTP_OK) {
+                // If-Range did not match and the server sends the whole file, the written segments are stale
+                item.setValidator(null);
+                throw new IOException("Remote file has changed, the download must be restarted");
+            } else if (response.statusCode() != HTTP_PARTIAL_CONTENT) {
+                throw new IOException("Server responded with HTTP " + response.statusCode());
+            }
 
-        } catch (Exception e) {
-            // Any exception is treated as a download failure
-            item.cleanupTempFile();
-            item.setStatus(DownloadStatus.FAILED);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = segment.position();
+            long remaining = segment.getEnd() - position + 1;
+            while (remaining > 0 && !abort.get()) {
+                checkCancelled();
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException(String.format("Segment %d-%d ended at %d",
+                        segment.getStart(), segment.getEnd(), position));
+                }
+                write(channel, buffer, read, position);
+                position += read;
+                remaining -= read;
+                segment.setDownloaded(segment.getDownloaded() + read);
+                downloaded.addAndGet(read);
+            }
+        }
+    }
 
-            log("Download failed, error: " + e.getMessage());
-            notifyObservers("Download failed, error: " + e.getMessage());
-            notifyObservers(100);
-            notifyDownloadListener();
-        } finally {
-            // Cleanly close out the stream buffers to flush any trailing lines out to listeners
-            try {
-                this.getLogsOutputStream().close();
-            } catch (Exception ignored) {}
+    /**
+     * Extends the temporary file to its final length up front, so that segments can be written
+     * at their positions without growing the file on every write.
+     */
+    private static void preallocate(FileChannel channel, long length) throws IOException {
+        if (channel.size() > length) {
+            channel.truncate(length);
+        } else if (channel.size() < length) {
+            channel.write(ByteBuffer.allocate(1), length - 1);
+        }
+    }
+
+    private static void write(FileChannel channel, byte[] buffer, int length, long position) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(buffer, 0, length);
+        long offset = position;
+        while (data.hasRemaining()) {
+            offset += channel.write(data, offset);
         }
     }
 
+    private void checkCancelled() {
+        if (item.getCancelled().get()) {
+            throw new CancellationException("Download canceled");
+        }
+    }
+
+    private void report(String message) {
+        log(message);
+        notifyObservers(message);
+    }
+
     private void notifyDownloadListener() {
         if (listener != null) {
             listener.update(this.getItem());
@@ -206,6 +507,11 @@ public final class DownloadTask extends AbstractTask {
         }
     }
 
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.VIRTUAL;
+    }
+
     @Override
     public boolean isAlive() {
         return item != null && item.isFinished();
@@ -219,5 +525,59 @@ public final class DownloadTask extends AbstractTask {
             log("Stop command issued to active task processor.");
         }
     }
-}
 
+    /**
+     * Properties of the remote file resolved before the download
+     *
+     * @param length        file length in bytes, or -1 if unknown
+     * @param acceptsRanges whether the server accepts byte range requests
+     * @param validator     strong ETag or Last-Modified date, or {@code null}
+     */
+    private record RemoteFile(long length, boolean acceptsRanges, String validator) {}
+
+    /**
+     * Updates speed and progress of the item, logs every 10% and throttles listener notifications.
+     */
+    private final class Progress {
+
+        private final long start = System.currentTimeMillis();
+
+        /** Bytes downloaded before this run, excluded from the speed */
+        private final long resumed;
+
+        private int lastLoggedPercent = -1;
+
+        private long lastNotified;
+
+        Progress(long resumed) {
+            this.resumed = resumed;
+            item.setDownloadedBytes(resumed);
+        }
+
+        @SuppressWarnings("checkstyle:MagicNumber")
+        void update(long downloaded, boolean force) {
+            item.setDownloadedBytes(downloaded);
+
+            // Calculate the average speed in bytes per second
+            long now = System.currentTimeMillis();
+            if (now > start) {
+                item.setSpeedBytesPerSec((downloaded - resumed) * 1000 / (now - start));
+            }
+
+            long total = item.getTotalBytes();
+            if (total > 0) {
+                int currentPercent = (int) (downloaded * 100 / total) / 10 * 10;
+                if (currentPercent > lastLoggedPercent) {
+                    report(String.format("Download progress: %d%% (%d/%d bytes)", currentPercent, downloaded, total));
+                    notifyObservers(currentPercent == 100 ? 99 : currentPercent);
+                    lastLoggedPercent = currentPercent;
+                }
+            }
+
+            if (force || now - lastNotified >= PROGRESS_INTERVAL_MILLIS) {
+                lastNotified = now;
+                notifyDownloadListener();
+            }
+        }
+    }
+}
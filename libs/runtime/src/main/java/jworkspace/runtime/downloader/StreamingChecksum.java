@@ -0,0 +1,140 @@
+package jworkspace.runtime.downloader;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Incremental SHA-256 digest of a file that is being written.
+ *
+ * <p>Bytes that arrive in order are digested right from the network buffer with
+ * {@link #update(byte[], int, int)}. Files written out of order, like segmented downloads,
+ * are digested with {@link #advance(FileChannel, long)} as soon as a contiguous prefix of
+ * the file is written, so the data is still in the page cache and the digest is ready
+ * when the last byte arrives.</p>
+ */
+public final class StreamingChecksum {
+
+    /** Digest algorithm of download checksums and plugin signatures */
+    public static final String ALGORITHM = "SHA-256";
+
+    /** Size of the chunks read back from a file channel (256 KB) */
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    private final MessageDigest digest;
+
+    /** Number of bytes from the start of the file already digested */
+    private long position;
+
+    /** Direct buffer for channel reads, allocated on the first use */
+    private ByteBuffer buffer;
+
+    public StreamingChecksum() {
+        try {
+            this.digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /**
+     * Digests the next bytes of the file.
+     *
+     * @param data   buffer with the bytes
+     * @param offset offset of the first byte in the buffer
+     * @param length number of bytes
+     */
+    public void update(byte[] data, int offset, int length) {
+        digest.update(data, offset, length);
+        position += length;
+    }
+
+    /**
+     * Digests the bytes of the file from the current position up to the limit.
+     *
+     * @param channel file channel to read from with positional reads
+     * @param limit   offset of the first byte that is not written yet
+     * @throws IOException if the file cannot be read or is shorter than the limit
+     */
+    public void advance(FileChannel channel, long limit) throws IOException {
+        if (buffer == null && position < limit) {
+            buffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        }
+        while (position < limit) {
+            buffer.clear().limit((int) Math.min(CHUNK_SIZE, limit - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("File ended at " + position + " before " + limit);
+            }
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+    }
+
+    /**
+     * @return number of bytes from the start of the file already digested
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Completes the digest, this instance cannot be used afterward.
+     *
+     * @return digest bytes
+     */
+    public byte[] digest() {
+        return digest.digest();
+    }
+
+    /**
+     * Completes the digest, this instance cannot be used afterward.
+     *
+     * @return lowercase hex string of the digest
+     */
+    public String finish() {
+        return HexFormat.of().formatHex(digest());
+    }
+
+    /**
+     * Digests the whole file in chunks.
+     *
+     * @param channel file channel to read
+     * @return digest bytes
+     * @throws IOException if the file cannot be read
+     */
+    public static byte[] digest(FileChannel channel) throws IOException {
+        StreamingChecksum checksum = new StreamingChecksum();
+        checksum.advance(channel, channel.size());
+        return checksum.digest();
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Date;
 
 import jdk.jshell.JShell;
 import jworkspace.runtime.AbstractTask;
+import jworkspace.runtime.ExecutionMode;
 import jworkspace.runtime.logging.LogReaderThread;
 import lombok.NonNull;
 import lombok.Setter;
@@ -135,6 +136,11 @@ public final class JShellProcess extends AbstractTask {
         }
     }
 
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.VIRTUAL;
+    }
+
     @Override
     public boolean isAlive() {
         return jshell != null && isRunning;
@@ -0,0 +1,182 @@
+package jworkspace.runtime.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Delivery stage between a task log stream and its consumers.
+ * <p>
+ * Lines are accepted on the producer thread by putting them to a bounded queue only, so the
+ * producer is never throttled by consumers. A dispatcher thread collects the lines into chunks,
+ * bounded by the number of lines and by the delay after the first line of the chunk, and delivers
+ * them to the target in one call. If the target falls behind and the queue is full, new lines are
+ * dropped and the next chunk reports how many were skipped. Skipped lines are still in the task log
+ * history.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+@Log
+public class BatchingLogDispatcher implements Consumer<String>, AutoCloseable {
+
+    /**
+     * Default maximum delay of a line delivery
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 50;
+
+    /**
+     * Default maximum number of lines in a chunk
+     */
+    public static final int DEFAULT_MAX_BATCH_LINES = 500;
+
+    /**
+     * Default number of lines waiting for delivery, before new lines are dropped
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final long IDLE_POLL_MILLIS = 1000;
+
+    private static final String SKIPPED_LINES = "... %d lines skipped ...\n";
+
+    @Getter
+    private final Consumer<String> target;
+
+    @Getter
+    private final long maxDelayMillis;
+
+    @Getter
+    private final int maxBatchLines;
+
+    private final BlockingQueue<String> queue;
+
+    /**
+     * Number of lines dropped since the last delivered chunk
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public BatchingLogDispatcher(Consumer<String> target) {
+        this(target, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_BATCH_LINES, DEFAULT_CAPACITY);
+    }
+
+    public BatchingLogDispatcher(Consumer<String> target, long maxDelayMillis, int maxBatchLines, int capacity) {
+        this.target = target;
+        this.maxDelayMillis = Math.max(0, maxDelayMillis);
+        this.maxBatchLines = Math.max(1, maxBatchLines);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, capacity));
+
+        Thread.ofVirtual().name("log-dispatcher").start(this::dispatch);
+    }
+
+    /**
+     * Queues a line for the delivery, never blocks.
+     *
+     * @param line the log line
+     */
+    @Override
+    public void accept(String line) {
+        if (closed || line == null) {
+            return;
+        }
+        if (!queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the dispatcher after the queued lines are delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void dispatch() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                String first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    collect(batch);
+                    deliver(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds lines to the batch until it is full or the delay since the first line is over.
+     */
+    private void collect(List<String> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        while (batch.size() < maxBatchLines) {
+            queue.drainTo(batch, maxBatchLines - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchLines || remaining <= 0 || closed) {
+                break;
+            }
+            String next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void deliver(List<String> batch) {
+        StringBuilder chunk = new StringBuilder();
+        batch.forEach(chunk::append);
+
+        long skipped = dropped.getAndSet(0);
+        if (skipped > 0) {
+            chunk.append(String.format(SKIPPED_LINES, skipped));
+        }
+
+        try {
+            target.accept(chunk.toString());
+        } catch (RuntimeException e) {
+            // a failing consumer must not stop the delivery to the others
+            log.log(Level.WARNING, "Log consumer failed", e);
+        }
+    }
+}
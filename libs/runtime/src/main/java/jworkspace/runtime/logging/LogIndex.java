@@ -0,0 +1,347 @@
+package jworkspace.runtime.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Incremental search index of log lines, fed with the same bytes as the log store.
+ * <p>
+ * Lines are grouped into blocks of {@link #BLOCK_LINES} lines. For every block the index keeps
+ * a signature, a bitmap of hashed byte trigrams of its lines with ASCII letters in lower case,
+ * and for every line its severity. A query is answered by the blocks whose signatures contain all
+ * trigrams of the literals required by the query, only the lines of these blocks are read back
+ * and matched, so the log text is not scanned for every search. The last block is always read,
+ * as it may contain a line which is not terminated and not indexed yet.
+ * </p>
+ * <p>
+ * The signature of a block takes {@value #SIGNATURE_BITS} bits, which is well below the size
+ * of the block text for typical log lines.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+public class LogIndex {
+
+    /**
+     * Number of lines in a block
+     */
+    public static final int BLOCK_LINES = 128;
+
+    /**
+     * Number of bits in a block signature
+     */
+    static final int SIGNATURE_BITS = 8192;
+
+    private static final int SIGNATURE_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SIGNATURE_BITS);
+
+    private static final int HASH_MULTIPLIER = 0x9E3779B1;
+
+    private static final int INITIAL_LINE_CAPACITY = 256;
+
+    private static final int MAX_RETAINED_LINE_CAPACITY = 64 * 1024;
+
+    private static final int WORD_SHIFT = Integer.numberOfTrailingZeros(Long.SIZE);
+
+    private static final int TRIGRAM_MASK = 0xFFFFFF;
+
+    private static final byte EOL = '\n';
+
+    private static final int BYTE_BITS = 8;
+
+    private static final int TRIGRAM = 3;
+
+    private final List<long[]> signatures = new ArrayList<>();
+
+    private final BitSet warnings = new BitSet();
+
+    private final BitSet errors = new BitSet();
+
+    /**
+     * Number of complete lines indexed
+     */
+    private long lineCount;
+
+    /**
+     * Bytes of the line which is not terminated yet
+     */
+    private byte[] pending = new byte[INITIAL_LINE_CAPACITY];
+
+    private int pendingLength;
+
+    /**
+     * Index the bytes written to the log.
+     *
+     * @param b   the buffer
+     * @param off the first byte to index
+     * @param len the number of bytes
+     */
+    public synchronized void append(byte[] b, int off, int len) {
+        int start = off;
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            if (b[i] != EOL) {
+                continue;
+            }
+            if (pendingLength > 0) {
+                appendPending(b, start, i - start);
+                addLine(pending, 0, pendingLength);
+                clearPending();
+            } else {
+                addLine(b, start, i - start);
+            }
+            start = i + 1;
+        }
+        if (start < end) {
+            appendPending(b, start, end - start);
+        }
+    }
+
+    /**
+     * Index a single byte written to the log.
+     *
+     * @param b the byte
+     */
+    public synchronized void append(int b) {
+        if (b == EOL) {
+            addLine(pending, 0, pendingLength);
+            clearPending();
+        } else {
+            appendPending(new byte[] {(byte) b}, 0, 1);
+        }
+    }
+
+    /**
+     * Get the number of complete lines indexed.
+     *
+     * @return the number of lines
+     */
+    public synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Discard the index.
+     */
+    public synchronized void reset() {
+        signatures.clear();
+        warnings.clear();
+        errors.clear();
+        lineCount = 0;
+        pending = new byte[INITIAL_LINE_CAPACITY];
+        pendingLength = 0;
+    }
+
+    /**
+     * Find the lines matching the query, in the log order.
+     *
+     * @param query  the query
+     * @param source the reader of the log lines
+     * @param limit  the maximum number of lines to find
+     * @return the matching lines
+     * @throws IOException if the lines cannot be read
+     */
+    public List<LogLine> search(LogQuery query, LineSource source, int limit) throws IOException {
+        return search(query, source, 0, limit);
+    }
+
+    /**
+     * Find the lines matching the query, in the log order, skipping the lines dropped from the log.
+     *
+     * @param query     the query
+     * @param source    the reader of the log lines
+     * @param firstLine the first line which is not dropped
+     * @param limit     the maximum number of lines to find
+     * @return the matching lines
+     * @throws IOException if the lines cannot be read
+     */
+    public List<LogLine> search(LogQuery query, LineSource source, long firstLine, int limit) throws IOException {
+
+        Candidates candidates = candidates(query);
+        List<LogLine> found = new ArrayList<>();
+
+        for (int i = 0; i < candidates.blocks().length && found.size() < limit; i++) {
+            long end = (long) (candidates.blocks()[i] + 1) * BLOCK_LINES;
+            long first = Math.max(end - BLOCK_LINES, firstLine);
+            List<String> lines = first < end ? source.readLines(first, (int) (end - first)) : List.of();
+            for (int n = 0; n < lines.size() && found.size() < limit; n++) {
+                long number = first + n;
+                String text = lines.get(n);
+                if (query.matchesText(text) && hasSeverity(candidates, query, number, text)) {
+                    found.add(new LogLine(number, text));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Select the blocks that may contain matching lines, while holding the index lock.
+     * The lines with the queried severity are copied, if the query has one above INFO.
+     */
+    private synchronized Candidates candidates(LogQuery query) {
+
+        int[] hashes = hashes(query.requiredLiterals());
+        BitSet lines = null;
+        if (query.severity() == LogSeverity.ERROR) {
+            lines = (BitSet) errors.clone();
+        } else if (query.severity() == LogSeverity.WARNING) {
+            lines = (BitSet) errors.clone();
+            lines.or(warnings);
+        }
+
+        int last = (int) (lineCount / BLOCK_LINES);
+        int[] blocks = new int[last + 1];
+        int count = 0;
+        for (int block = 0; block <= last; block++) {
+            if (block == last || containsAll(signatures.get(block), hashes) && containsAny(lines, block)) {
+                blocks[count++] = block;
+            }
+        }
+        return new Candidates(Arrays.copyOf(blocks, count), lines, lineCount);
+    }
+
+    private static boolean containsAll(long[] signature, int[] hashes) {
+        for (int hash : hashes) {
+            if ((signature[hash >>> WORD_SHIFT] & (1L << hash)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAny(BitSet lines, int block) {
+        if (lines == null) {
+            return true;
+        }
+        int next = lines.nextSetBit(block * BLOCK_LINES);
+        return next >= 0 && next < (block + 1) * BLOCK_LINES;
+    }
+
+    /**
+     * Check the severity of a line by the index, or by its text if the line is not indexed.
+     */
+    private static boolean hasSeverity(Candidates candidates, LogQuery query, long number, String text) {
+        if (candidates.lines() == null) {
+            return true;
+        }
+        if (number >= candidates.lineCount() || number > Integer.MAX_VALUE) {
+            return LogSeverity.detect(text).isAtLeast(query.severity());
+        }
+        return candidates.lines().get((int) number);
+    }
+
+    private void addLine(byte[] b, int off, int len) {
+        int block = (int) (lineCount / BLOCK_LINES);
+        if (block == signatures.size()) {
+            signatures.add(new long[SIGNATURE_BITS / Long.SIZE]);
+        }
+        long[] signature = signatures.get(block);
+        if (len >= TRIGRAM) {
+            int trigram = LogSeverity.lower(b[off]) << BYTE_BITS | LogSeverity.lower(b[off + 1]);
+            for (int i = off + 2; i < off + len; i++) {
+                trigram = (trigram << BYTE_BITS | LogSeverity.lower(b[i])) & TRIGRAM_MASK;
+                int hash = hash(trigram);
+                signature[hash >>> WORD_SHIFT] |= 1L << hash;
+            }
+        }
+
+        if (lineCount <= Integer.MAX_VALUE) {
+            LogSeverity severity = LogSeverity.detect(b, off, len);
+            if (severity == LogSeverity.ERROR) {
+                errors.set((int) lineCount);
+            } else if (severity == LogSeverity.WARNING) {
+                warnings.set((int) lineCount);
+            }
+        }
+        lineCount++;
+    }
+
+    /**
+     * Hash the trigrams of the literals which consist of ASCII bytes only, others may differ
+     * in case from the indexed bytes.
+     */
+    private static int[] hashes(List<String> literals) {
+        int[] hashes = new int[0];
+        int count = 0;
+        for (String literal : literals) {
+            byte[] b = literal.getBytes(StandardCharsets.UTF_8);
+            hashes = Arrays.copyOf(hashes, count + Math.max(0, b.length - 2));
+            for (int i = 0; i + 2 < b.length; i++) {
+                if (b[i] >= 0 && b[i + 1] >= 0 && b[i + 2] >= 0) {
+                    hashes[count++] = hash(LogSeverity.lower(b[i]) << (2 * BYTE_BITS)
+                        | LogSeverity.lower(b[i + 1]) << BYTE_BITS | LogSeverity.lower(b[i + 2]));
+                }
+            }
+        }
+        return Arrays.copyOf(hashes, count);
+    }
+
+    private static int hash(int trigram) {
+        return (trigram * HASH_MULTIPLIER) >>> SIGNATURE_SHIFT;
+    }
+
+    private void appendPending(byte[] b, int off, int len) {
+        if (pending.length - pendingLength < len) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + len));
+        }
+        System.arraycopy(b, off, pending, pendingLength, len);
+        pendingLength += len;
+    }
+
+    private void clearPending() {
+        pendingLength = 0;
+        if (pending.length > MAX_RETAINED_LINE_CAPACITY) {
+            pending = new byte[INITIAL_LINE_CAPACITY];
+        }
+    }
+
+    /**
+     * Reader of a page of log lines.
+     */
+    @FunctionalInterface
+    public interface LineSource {
+
+        /**
+         * Read a page of lines, without line breaks.
+         *
+         * @param firstLine the first line to read
+         * @param maxLines  the maximum number of lines to read
+         * @return the lines
+         * @throws IOException if the lines cannot be read
+         */
+        List<String> readLines(long firstLine, int maxLines) throws IOException;
+    }
+
+    /**
+     * Blocks to read, the lines with the queried severity and the number of lines indexed at the time
+     */
+    private record Candidates(int[] blocks, BitSet lines, long lineCount) {}
+}
@@ -1,4 +1,4 @@
-package jworkspace.ui.logging;
+package jworkspace.runtime.logging;
 /* ----------------------------------------------------------------------------
    Java Workspace
    Copyright (C) 2026 Anton Troshin
@@ -24,8 +24,11 @@ package jworkspace.ui.logging;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
-enum LogSeverity {
-    INFO,
-    WARNING,
-    ERROR
-}
\ No newline at end of file
+/**
+ * Log line found by a search.
+ *
+ * @param number the line number, starting from zero
+ * @param text   the line text without the line break
+ * @author Anton Troshin
+ */
+public record LogLine(long number, String text) {}
@@ -0,0 +1,205 @@
+package jworkspace.runtime.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Query for log lines by a text, a regular expression or a minimum severity, or by the text or
+ * the expression and the severity together.
+ *
+ * @param text     text the line should contain ignoring case, or null
+ * @param pattern  expression that should be found in the line, or null
+ * @param severity minimum severity of the line, or null for any
+ * @author Anton Troshin
+ */
+public record LogQuery(String text, Pattern pattern, LogSeverity severity) {
+
+    private static final int MIN_LITERAL_LENGTH = 3;
+
+    private static final String QUANTIFIERS = "?*{";
+
+    private static final String METACHARACTERS = ".^$+]}";
+
+    /**
+     * Query lines containing the text, ignoring case.
+     *
+     * @param text the text to find
+     * @return the query
+     */
+    public static LogQuery contains(String text) {
+        return new LogQuery(Objects.requireNonNull(text), null, null);
+    }
+
+    /**
+     * Query lines where the regular expression is found.
+     *
+     * @param regex the regular expression
+     * @return the query
+     */
+    public static LogQuery matches(String regex) {
+        return matches(Pattern.compile(regex));
+    }
+
+    /**
+     * Query lines where the pattern is found.
+     *
+     * @param pattern the compiled pattern
+     * @return the query
+     */
+    public static LogQuery matches(Pattern pattern) {
+        return new LogQuery(null, Objects.requireNonNull(pattern), null);
+    }
+
+    /**
+     * Query lines with at least the given severity.
+     *
+     * @param severity the minimum severity
+     * @return the query
+     */
+    public static LogQuery atLeast(LogSeverity severity) {
+        return new LogQuery(null, null, Objects.requireNonNull(severity));
+    }
+
+    /**
+     * Narrow this query to lines with at least the given severity.
+     *
+     * @param minimum the minimum severity
+     * @return the new query
+     */
+    public LogQuery withSeverity(LogSeverity minimum) {
+        return new LogQuery(text, pattern, minimum);
+    }
+
+    /**
+     * Test a line against the text or the pattern of the query, the severity is checked by the caller.
+     *
+     * @param line the line text
+     * @return true if the line matches
+     */
+    public boolean matchesText(String line) {
+        if (text != null) {
+            return containsIgnoreCase(line, text);
+        }
+        return pattern == null || pattern.matcher(line).find();
+    }
+
+    /**
+     * Get the literals every matching line contains, ignoring case, to find candidate lines in an index.
+     * For a regular expression only literal runs outside of groups and character classes are taken,
+     * an expression with alternatives has no literals.
+     *
+     * @return the literals of at least three characters, empty if the lines cannot be narrowed
+     */
+    public List<String> requiredLiterals() {
+        List<String> literals = new ArrayList<>();
+        if (text != null) {
+            literals.add(text);
+        } else if (pattern != null) {
+            if ((pattern.flags() & Pattern.LITERAL) != 0) {
+                literals.add(pattern.pattern());
+            } else if ((pattern.flags() & Pattern.COMMENTS) == 0 && pattern.pattern().indexOf('|') < 0) {
+                collectLiterals(pattern.pattern(), literals);
+            }
+        }
+        literals.removeIf(literal -> literal.length() < MIN_LITERAL_LENGTH);
+        return literals;
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NestedIfDepth"})
+    private static void collectLiterals(String regex, List<String> literals) {
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        int classDepth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char escaped = regex.charAt(++i);
+                if (depth == 0 && classDepth == 0 && !Character.isLetterOrDigit(escaped)) {
+                    run.append(escaped);
+                } else {
+                    // character classes like \d, back references and quoting end the run
+                    flush(run, literals);
+                    if (escaped == 'Q') {
+                        return;
+                    }
+                }
+            } else if (classDepth > 0) {
+                // classes may be nested as unions and intersections
+                classDepth += c == '[' ? 1 : c == ']' ? -1 : 0;
+            } else if (c == '[') {
+                flush(run, literals);
+                classDepth = 1;
+                // a bracket right after the opening one or its negation is a member of the class
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == '(') {
+                flush(run, literals);
+                depth++;
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if (depth > 0) {
+                continue;
+            } else if (QUANTIFIERS.indexOf(c) >= 0) {
+                // the quantified character may be absent
+                if (!run.isEmpty()) {
+                    run.setLength(run.length() - 1);
+                }
+                flush(run, literals);
+                if (c == '{') {
+                    i = Math.max(i, regex.indexOf('}', i));
+                }
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                flush(run, literals);
+            } else {
+                run.append(c);
+            }
+        }
+        flush(run, literals);
+    }
+
+    private static void flush(StringBuilder run, List<String> literals) {
+        if (!run.isEmpty()) {
+            literals.add(run.toString());
+            run.setLength(0);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String line, String text) {
+        for (int i = 0; i <= line.length() - text.length(); i++) {
+            if (line.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
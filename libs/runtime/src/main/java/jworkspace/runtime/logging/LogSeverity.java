@@ -0,0 +1,124 @@
+package jworkspace.runtime.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Severity of a log line, detected by keywords in the line ignoring case.
+ * <p>
+ * Lines mentioning an error, exception, failure or fatal condition are errors, lines mentioning
+ * a warning, deprecation, retry or timeout are warnings, all other lines are informational.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+public enum LogSeverity {
+
+    INFO,
+    WARNING,
+    ERROR;
+
+    private static final byte[][] ERROR_KEYWORDS = keywords("error", "exception", "failed", "fatal");
+
+    private static final byte[][] WARNING_KEYWORDS = keywords("warn", "deprecated", "retry", "timeout");
+
+    /**
+     * Detect the severity of a line.
+     *
+     * @param line the line text
+     * @return the severity
+     */
+    public static LogSeverity detect(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return detect(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Detect the severity of a line in UTF-8 without decoding it, in a single pass over the bytes.
+     *
+     * @param line   the buffer with the line
+     * @param offset the line start in the buffer
+     * @param length the line length in bytes
+     * @return the severity
+     */
+    public static LogSeverity detect(byte[] line, int offset, int length) {
+        LogSeverity severity = INFO;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (startsWithAny(line, i, end, ERROR_KEYWORDS)) {
+                return ERROR;
+            }
+            if (severity == INFO && startsWithAny(line, i, end, WARNING_KEYWORDS)) {
+                severity = WARNING;
+            }
+        }
+        return severity;
+    }
+
+    /**
+     * Check whether the severity is at least as high as the given one.
+     *
+     * @param other the severity to compare with, null for any
+     * @return true if this severity is the same or higher
+     */
+    public boolean isAtLeast(LogSeverity other) {
+        return other == null || compareTo(other) >= 0;
+    }
+
+    /**
+     * Lowercase an ASCII letter, other bytes are returned as is.
+     */
+    static int lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b & 0xFF;
+    }
+
+    private static boolean startsWithAny(byte[] line, int start, int end, byte[][] keywords) {
+        int first = lower(line[start]);
+        for (byte[] keyword : keywords) {
+            if (keyword[0] == first && end - start >= keyword.length && startsWith(line, start, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] line, int start, byte[] keyword) {
+        for (int k = 1; k < keyword.length; k++) {
+            if (lower(line[start + k]) != keyword[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[][] keywords(String... words) {
+        byte[][] bytes = new byte[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            bytes[i] = words[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+}
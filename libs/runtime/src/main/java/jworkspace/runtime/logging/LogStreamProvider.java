@@ -24,6 +24,7 @@ package jworkspace.runtime.logging;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -36,6 +37,24 @@ public interface LogStreamProvider {
      */
     String getLogs();
 
+    /**
+     * Retrieves the number of accumulated log lines.
+     */
+    default long getLineCount() {
+        return getLogs().lines().count();
+    }
+
+    /**
+     * Retrieves a page of accumulated log lines, without line breaks, so a viewer
+     * can fetch only the visible window.
+     *
+     * @param firstLine the first line to read, starting from zero
+     * @param maxLines  the maximum number of lines to read
+     */
+    default List<String> getLines(long firstLine, int maxLines) {
+        return getLogs().lines().skip(firstLine).limit(maxLines).toList();
+    }
+
     /**
      * Attaches a listener to capture real-time streaming updates.
      * Pass null to detach the listener.
@@ -0,0 +1,566 @@
+package jworkspace.runtime.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Append-only log storage made of fixed-size segments.
+ * <p>
+ * Only the last {@link #getMemorySegments()} segments are kept in memory. Older segments are
+ * spilled to a temporary file in the spill directory, if one is set, and read back on demand.
+ * The store counts line breaks per segment, so a page of lines is found without scanning the
+ * whole history. Closing the store as a stream keeps its content readable, {@link #reset()}
+ * discards the content and deletes the spill file.
+ * </p>
+ * <p>
+ * The store retains at most {@link #getMaxSegments()} segments. The spill file is used as a ring,
+ * so it never grows beyond the segments it holds, and the oldest segments are dropped when
+ * new ones are spilled over them. Without a spill directory, or if spilling fails, the segments
+ * leaving the memory are dropped. Line numbers and offsets keep counting from the start of the log,
+ * the dropped lines are skipped, see {@link #getFirstLine()}.
+ * </p>
+ * <p>
+ * Written lines are also added to a {@link LogIndex}, which stays in memory, so the store can be
+ * searched by {@link #search(LogQuery, int)} without reading the spilled segments for every query.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+@Log
+public class SegmentedLogStore extends OutputStream {
+
+    /**
+     * Default size of a segment in bytes
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+
+    /**
+     * Default number of segments kept in memory
+     */
+    public static final int DEFAULT_MEMORY_SEGMENTS = 16;
+
+    /**
+     * Default number of segments retained in memory and in the spill file
+     */
+    public static final int DEFAULT_MAX_SEGMENTS = 1024;
+
+    private static final byte EOL = '\n';
+
+    private static final int INITIAL_SEGMENT_CAPACITY = 256;
+
+    private static final int INITIAL_SEGMENTS = 16;
+
+    private static final int MAX_TEXT_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final String SPILL_FILE_PREFIX = "task-";
+
+    private static final String SPILL_FILE_SUFFIX = ".log";
+
+    @Getter
+    private final int segmentSize;
+
+    @Getter
+    private final int memorySegments;
+
+    @Getter
+    private final int maxSegments;
+
+    /**
+     * Directory for spilled segments, if null the segments leaving the memory are dropped
+     */
+    @Getter
+    private final Path spillDirectory;
+
+    /**
+     * Segments kept in memory, the last one is being written and may be shorter than the segment size
+     */
+    private final List<byte[]> tail = new ArrayList<>();
+
+    /**
+     * Number of line breaks written before each segment
+     */
+    private long[] linesBefore = new long[INITIAL_SEGMENTS];
+
+    /**
+     * Segments starting at the start of a line
+     */
+    private final BitSet lineStarts = new BitSet();
+
+    private int segmentCount;
+
+    /**
+     * Number of segments which left the memory, spilled or dropped
+     */
+    private int spilledSegments;
+
+    /**
+     * Number of dropped segments, the segments before this one are no longer readable
+     */
+    private int droppedSegments;
+
+    /**
+     * Number of bytes written to the last segment
+     */
+    private int currentLength;
+
+    private long lineBreaks;
+
+    private Path spillFile;
+
+    private FileChannel spillChannel;
+
+    private boolean spillFailed;
+
+    /**
+     * Number of resets, to detect a reset in the middle of a search
+     */
+    private long generation;
+
+    @Getter
+    private final LogIndex index = new LogIndex();
+
+    public SegmentedLogStore(Path spillDirectory) {
+        this(DEFAULT_SEGMENT_SIZE, DEFAULT_MEMORY_SEGMENTS, DEFAULT_MAX_SEGMENTS, spillDirectory);
+    }
+
+    public SegmentedLogStore(int segmentSize, int memorySegments, Path spillDirectory) {
+        this(segmentSize, memorySegments, DEFAULT_MAX_SEGMENTS, spillDirectory);
+    }
+
+    public SegmentedLogStore(int segmentSize, int memorySegments, int maxSegments, Path spillDirectory) {
+        this.segmentSize = Math.max(1, segmentSize);
+        this.memorySegments = Math.max(1, memorySegments);
+        this.maxSegments = Math.max(this.memorySegments, maxSegments);
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        index.append(b);
+        byte[] current = reserve(1);
+        current[currentLength++] = (byte) b;
+        if (b == EOL) {
+            lineBreaks++;
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        index.append(b, off, len);
+
+        while (len > 0) {
+            byte[] current = reserve(len);
+            int n = Math.min(len, segmentSize - currentLength);
+            System.arraycopy(b, off, current, currentLength, n);
+            for (int i = off; i < off + n; i++) {
+                if (b[i] == EOL) {
+                    lineBreaks++;
+                }
+            }
+            currentLength += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * The store keeps its content after the stream is closed, use {@link #reset()} to release it.
+     */
+    @Override
+    public void close() {
+        // content remains readable
+    }
+
+    /**
+     * Get the number of bytes written to the store.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long size() {
+        return segmentCount == 0 ? 0 : (long) (segmentCount - 1) * segmentSize + currentLength;
+    }
+
+    /**
+     * Get the number of lines, including the last line if it is not terminated yet.
+     *
+     * @return the number of lines
+     */
+    public synchronized long getLineCount() {
+        return lineBreaks + (currentLength > 0 && lastSegment()[currentLength - 1] != EOL ? 1 : 0);
+    }
+
+    /**
+     * Get the number of the first line which is not dropped. The line partly dropped along
+     * with a segment is skipped too.
+     *
+     * @return the first readable line
+     */
+    public synchronized long getFirstLine() {
+        return droppedSegments == 0 || lineStarts.get(droppedSegments)
+            ? linesBefore[droppedSegments] : linesBefore[droppedSegments] + 1;
+    }
+
+    /**
+     * Get the number of resets of the store, it changes when the content is discarded.
+     *
+     * @return the generation of the content
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Read a range of bytes. The dropped bytes are skipped, the range starts from the first byte
+     * retained if the offset is before it.
+     *
+     * @param offset the first byte to read
+     * @param length the maximum number of bytes to read
+     * @return the bytes, fewer than requested if the store ends earlier
+     * @throws IOException if a spilled segment cannot be read
+     */
+    public synchronized byte[] read(long offset, int length) throws IOException {
+
+        long size = size();
+        if (offset < 0 || offset >= size || length <= 0) {
+            return new byte[0];
+        }
+        long start = Math.max(offset, (long) droppedSegments * segmentSize);
+
+        byte[] data = new byte[(int) Math.min(length, size - start)];
+        int copied = 0;
+        int index = (int) (start / segmentSize);
+        int from = (int) (start % segmentSize);
+
+        while (copied < data.length) {
+            int n = Math.min(data.length - copied, segmentLength(index) - from);
+            copy(index, from, data, copied, n);
+            copied += n;
+            index++;
+            from = 0;
+        }
+        return data;
+    }
+
+    /**
+     * Read a range of bytes as UTF-8 text. The range may split a multibyte character at its ends.
+     *
+     * @param offset the first byte to read
+     * @param length the maximum number of bytes to read
+     * @return the text
+     * @throws IOException if a spilled segment cannot be read
+     */
+    public String readString(long offset, int length) throws IOException {
+        return new String(read(offset, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the whole content as UTF-8 text, starting from the first line which is not dropped.
+     *
+     * @return the text
+     * @throws IOException if a spilled segment cannot be read
+     */
+    public synchronized String readAll() throws IOException {
+        long offset = lineOffset(getFirstLine());
+        return readString(offset, (int) Math.min(size() - offset, MAX_TEXT_SIZE));
+    }
+
+    /**
+     * Read a page of lines, without line breaks. The dropped lines are skipped, the page starts
+     * from {@link #getFirstLine()} if the first line requested is before it.
+     *
+     * @param firstLine the number of the first line to read, starting from zero
+     * @param maxLines  the maximum number of lines to read
+     * @return the lines, fewer than requested if the store ends earlier
+     * @throws IOException if a spilled segment cannot be read
+     */
+    public synchronized List<String> readLines(long firstLine, int maxLines) throws IOException {
+
+        List<String> lines = new ArrayList<>();
+        if (firstLine < 0 || maxLines <= 0 || firstLine >= getLineCount()) {
+            return lines;
+        }
+
+        long offset = lineOffset(Math.max(firstLine, getFirstLine()));
+        int index = (int) (offset / segmentSize);
+        int from = (int) (offset % segmentSize);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        while (index < segmentCount && lines.size() < maxLines) {
+            byte[] data = segment(index);
+            int length = segmentLength(index);
+            int start = from;
+            for (int p = from; p < length && lines.size() < maxLines; p++) {
+                if (data[p] == EOL) {
+                    line.write(data, start, p - start);
+                    lines.add(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    start = p + 1;
+                }
+            }
+            if (lines.size() < maxLines) {
+                line.write(data, start, length - start);
+            }
+            index++;
+            from = 0;
+        }
+
+        if (lines.size() < maxLines && line.size() > 0) {
+            lines.add(line.toString(StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    /**
+     * Find the lines matching the query, reading only the blocks of lines the index selects.
+     * The search doesn't block writes, if the store is reset meanwhile, the search is repeated
+     * on the new content.
+     *
+     * @param query the query
+     * @param limit the maximum number of lines to find
+     * @return the matching lines in the log order
+     * @throws IOException if a spilled segment cannot be read
+     */
+    public List<LogLine> search(LogQuery query, int limit) throws IOException {
+        List<LogLine> lines = null;
+        while (lines == null) {
+            long started = getGeneration();
+            try {
+                lines = index.search(query, this::readBlock, getFirstLine(), limit);
+            } catch (IOException e) {
+                // the spill file of the discarded content may be closed already
+                if (getGeneration() == started) {
+                    throw e;
+                }
+            }
+            if (getGeneration() != started) {
+                lines = null;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Discard the content and delete the spill file.
+     */
+    public synchronized void reset() {
+        generation++;
+        index.reset();
+        tail.clear();
+        linesBefore = new long[INITIAL_SEGMENTS];
+        lineStarts.clear();
+        segmentCount = 0;
+        spilledSegments = 0;
+        droppedSegments = 0;
+        currentLength = 0;
+        lineBreaks = 0;
+        spillFailed = false;
+        closeSpillFile();
+    }
+
+    /**
+     * Read the lines of an index block. If lines of the block are dropped during a search,
+     * the block is skipped, so the lines found keep their numbers.
+     */
+    private synchronized List<String> readBlock(long firstLine, int maxLines) throws IOException {
+        return firstLine < getFirstLine() ? List.of() : readLines(firstLine, maxLines);
+    }
+
+    /**
+     * Get the byte offset of the line start, the line must not be dropped
+     */
+    private long lineOffset(long line) throws IOException {
+        if (line <= linesBefore[droppedSegments]) {
+            return (long) droppedSegments * segmentSize;
+        }
+
+        // the last segment with fewer line breaks before it than the line number holds the break
+        int low = droppedSegments;
+        int high = segmentCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (linesBefore[mid] < line) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        byte[] data = segment(low);
+        long breaks = linesBefore[low];
+        int length = segmentLength(low);
+        for (int p = 0; p < length; p++) {
+            if (data[p] == EOL && ++breaks == line) {
+                return (long) low * segmentSize + p + 1;
+            }
+        }
+        return size();
+    }
+
+    /**
+     * Get the last segment with enough room for at least one byte, growing it towards
+     * the segment size to fit the requested number of bytes if possible.
+     */
+    private byte[] reserve(int wanted) {
+        if (segmentCount == 0 || currentLength == segmentSize) {
+            startSegment();
+        }
+
+        byte[] current = lastSegment();
+        if (current.length - currentLength < wanted && current.length < segmentSize) {
+            long capacity = Math.max((long) current.length * 2, (long) currentLength + wanted);
+            current = Arrays.copyOf(current, (int) Math.min(capacity, segmentSize));
+            tail.set(tail.size() - 1, current);
+        }
+        return current;
+    }
+
+    private void startSegment() {
+        if (segmentCount == linesBefore.length) {
+            linesBefore = Arrays.copyOf(linesBefore, segmentCount * 2);
+        }
+        linesBefore[segmentCount] = lineBreaks;
+        if (segmentCount == 0 || lastSegment()[currentLength - 1] == EOL) {
+            lineStarts.set(segmentCount);
+        }
+        tail.add(new byte[Math.min(segmentSize, INITIAL_SEGMENT_CAPACITY)]);
+        segmentCount++;
+        currentLength = 0;
+
+        while (tail.size() > memorySegments) {
+            // the ring slot of the segment holds the oldest spilled one, which is dropped
+            droppedSegments = Math.max(droppedSegments, spilledSegments - spillSegments() + 1);
+            if (!spill(tail.getFirst())) {
+                droppedSegments = spilledSegments + 1;
+            }
+            tail.removeFirst();
+            spilledSegments++;
+        }
+    }
+
+    /**
+     * Get the number of segments the spill file holds
+     */
+    private int spillSegments() {
+        return maxSegments - memorySegments;
+    }
+
+    private boolean spill(byte[] segment) {
+        if (spillDirectory == null || spillFailed || spillSegments() == 0) {
+            return false;
+        }
+
+        try {
+            if (spillChannel == null) {
+                Files.createDirectories(spillDirectory);
+                spillFile = Files.createTempFile(spillDirectory, SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX);
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(segment);
+            long position = spillPosition(spilledSegments);
+            while (buffer.hasRemaining()) {
+                position += spillChannel.write(buffer, position);
+            }
+            return true;
+        } catch (IOException e) {
+            // drop the segments leaving the memory from now on
+            spillFailed = true;
+            log.log(Level.WARNING, "Cannot spill log segments to " + spillDirectory, e);
+            return false;
+        }
+    }
+
+    private void closeSpillFile() {
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Cannot delete log spill file " + spillFile, e);
+            }
+            spillChannel = null;
+            spillFile = null;
+        }
+    }
+
+    private long spillPosition(int index) {
+        return (long) (index % spillSegments()) * segmentSize;
+    }
+
+    private byte[] lastSegment() {
+        return tail.getLast();
+    }
+
+    private int segmentLength(int index) {
+        return index == segmentCount - 1 ? currentLength : segmentSize;
+    }
+
+    private byte[] segment(int index) throws IOException {
+        if (index >= spilledSegments) {
+            return tail.get(index - spilledSegments);
+        }
+        byte[] data = new byte[segmentSize];
+        copy(index, 0, data, 0, segmentSize);
+        return data;
+    }
+
+    private void copy(int index, int from, byte[] dest, int destOffset, int length) throws IOException {
+        if (index >= spilledSegments) {
+            System.arraycopy(tail.get(index - spilledSegments), from, dest, destOffset, length);
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(dest, destOffset, length);
+        long position = spillPosition(index) + from;
+        while (buffer.hasRemaining()) {
+            int n = spillChannel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("Log spill file " + spillFile + " is truncated");
+            }
+            position += n;
+        }
+    }
+}
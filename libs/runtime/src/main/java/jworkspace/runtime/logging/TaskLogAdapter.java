@@ -24,6 +24,7 @@ package jworkspace.runtime.logging;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
@@ -32,8 +33,8 @@ import jworkspace.runtime.AbstractTask;
 
 public final class TaskLogAdapter implements LogStreamProvider {
 
-    // Keep a shared map of broadcasters per task instance to prevent split pipelines
-    private static final Map<AbstractTask, BroadcastLogListener> BROADCASTERS = new ConcurrentHashMap<>();
+    // Keep a shared map of pipelines per task instance to prevent split pipelines
+    private static final Map<AbstractTask, LogPipeline> PIPELINES = new ConcurrentHashMap<>();
 
     private final AbstractTask task;
 
@@ -46,6 +47,16 @@ public final class TaskLogAdapter implements LogStreamProvider {
         return task != null ? task.getLogs() : "";
     }
 
+    @Override
+    public long getLineCount() {
+        return task != null ? task.getLogLineCount() : 0;
+    }
+
+    @Override
+    public List<String> getLines(long firstLine, int maxLines) {
+        return task != null ? task.getLogLines(firstLine, maxLines) : List.of();
+    }
+
     @Override
     public void setStreamListener(Consumer<String> listener) {
         if (task == null) {
@@ -53,11 +64,13 @@ public final class TaskLogAdapter implements LogStreamProvider {
         }
 
         // Fetch or create a shared multiplexer for this task instance
-        BroadcastLogListener broadcaster = BROADCASTERS.computeIfAbsent(task, t -> {
+        BroadcastLogListener broadcaster = PIPELINES.computeIfAbsent(task, t -> {
             BroadcastLogListener b = new BroadcastLogListener();
-            t.setLogStreamListener(b); // Register the multiplexer once directly onto the task
-            return b;
-        });
+            // Register the multiplexer once, behind a batching stage releasing the task's lock
+            BatchingLogDispatcher d = new BatchingLogDispatcher(b);
+            t.setLogStreamListener(d);
+            return new LogPipeline(b, d);
+        }).broadcaster();
 
         if (listener != null) {
             broadcaster.addTarget(listener);
@@ -75,8 +88,9 @@ public final class TaskLogAdapter implements LogStreamProvider {
             return;
         }
 
-        BroadcastLogListener broadcaster = BROADCASTERS.get(task);
-        if (broadcaster != null) {
+        LogPipeline pipeline = PIPELINES.get(task);
+        if (pipeline != null) {
+            BroadcastLogListener broadcaster = pipeline.broadcaster();
             broadcaster.removeTarget(listener);
 
             // Atomically clean up the task mapping only if no other views are actively listening
@@ -85,11 +99,16 @@ public final class TaskLogAdapter implements LogStreamProvider {
                 synchronized (broadcaster) {
                     if (broadcaster.isEmpty()) {
                         task.setLogStreamListener(null);
-                        BROADCASTERS.remove(task, broadcaster); // Safe atomic map removal verification
+                        PIPELINES.remove(task, pipeline); // Safe atomic map removal verification
+                        pipeline.dispatcher().close();
                     }
                 }
             }
         }
     }
-}
 
+    /**
+     * Multiplexer of a task log and the batching stage feeding it
+     */
+    private record LogPipeline(BroadcastLogListener broadcaster, BatchingLogDispatcher dispatcher) {}
+}
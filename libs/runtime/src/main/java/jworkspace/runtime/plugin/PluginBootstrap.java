@@ -0,0 +1,413 @@
+package jworkspace.runtime.plugin;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import com.hyperrealm.kiwi.plugin.Plugin;
+import com.hyperrealm.kiwi.plugin.PluginException;
+
+import jworkspace.api.IWorkspaceComponent;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Loads a list of plugins concurrently on a bounded pool of threads.
+ * <p>
+ * Each plugin is instantiated and, if it is an {@link IWorkspaceComponent}, loaded. Plugins may
+ * declare ordering constraints in their manifest entries:
+ * <ul>
+ *     <li><code>PluginDepends</code> - names of plugins which must be loaded first; if any of them is
+ *     missing or fails, the dependent plugin is skipped</li>
+ *     <li><code>PluginLoadAfter</code> - names of plugins which, if present, are loaded first</li>
+ * </ul>
+ * Independent plugins are loaded in parallel. A failure of one plugin doesn't prevent others from
+ * loading, every plugin gets a {@link PluginLoadReport} with its status and load time.
+ * <p>
+ * Plugins not loaded in time are reported as failed: the loads not started yet are cancelled and the
+ * loading threads are interrupted. A plugin which ignores the interrupt may still finish loading later.
+ * <p>
+ * If the lazy activation is on, only plugins declaring <code>PluginActivation: startup</code> and
+ * plugins they depend on are loaded, the others are reported as deferred and have to be loaded
+ * with {@link #activate(Plugin, List)} on the first use, which {@link #getPluginObject(Plugin, List)} does.
+ * User interface code activates them with {@link #getPluginObjectAsync(Plugin, List)}, on a thread of
+ * the bootstrap, so one instance of the bootstrap should be shared by all the first use paths.
+ *
+ * @author Anton Troshin
+ */
+@Log
+@Getter
+public class PluginBootstrap {
+
+    /**
+     * Default number of loading threads, bounded by the number of processors
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static final int DEFAULT_PARALLELISM =
+        Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Default time to wait for all plugins to load
+     */
+    public static final long DEFAULT_TIMEOUT_SECONDS = 120;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final int parallelism;
+
+    private final long timeoutSeconds;
+
+    /**
+     * Receives plugin objects which are {@link Runnable}, to be scheduled for execution
+     */
+    private final Consumer<Runnable> runnableConsumer;
+
+    /**
+     * Whether to defer plugins which are not declared to start with the workspace
+     */
+    private final boolean lazyActivation;
+
+    /**
+     * Activates deferred plugins off the calling thread, the threads are started on demand
+     */
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService activationExecutor = Executors.newCachedThreadPool(newThreadFactory());
+
+    public PluginBootstrap(Consumer<Runnable> runnableConsumer) {
+        this(DEFAULT_PARALLELISM, DEFAULT_TIMEOUT_SECONDS, runnableConsumer);
+    }
+
+    public PluginBootstrap(int parallelism, long timeoutSeconds, Consumer<Runnable> runnableConsumer) {
+        this(parallelism, timeoutSeconds, runnableConsumer, false);
+    }
+
+    public PluginBootstrap(int parallelism,
+                           long timeoutSeconds,
+                           Consumer<Runnable> runnableConsumer,
+                           boolean lazyActivation) {
+        this.parallelism = Math.max(1, parallelism);
+        this.timeoutSeconds = timeoutSeconds;
+        this.runnableConsumer = runnableConsumer;
+        this.lazyActivation = lazyActivation;
+    }
+
+    /**
+     * Instantiate and load the plugins, respecting declared dependencies.
+     *
+     * @param plugins to load
+     * @return reports in the same order as the plugins in the list
+     */
+    public List<PluginLoadReport> load(List<Plugin> plugins) {
+
+        List<Plugin> snapshot;
+        synchronized (plugins) {
+            snapshot = new ArrayList<>(plugins);
+        }
+
+        List<PluginLoadReport> reports = new ArrayList<>();
+        if (snapshot.isEmpty()) {
+            return reports;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(parallelism, snapshot.size()), newThreadFactory()
+        );
+
+        boolean finished = false;
+        try {
+            Map<String, Plugin> byName = indexByName(snapshot, true);
+
+            Map<Plugin, CompletableFuture<PluginLoadReport>> futures = new IdentityHashMap<>();
+            for (Plugin plugin : snapshot) {
+                if (lazyActivation && !plugin.isStartup()) {
+                    continue;
+                }
+                schedule(plugin, byName, futures, Collections.newSetFromMap(new IdentityHashMap<>()), executor);
+            }
+
+            finished = awaitAll(futures);
+
+            for (Plugin plugin : snapshot) {
+                reports.add(futures.containsKey(plugin) ? getReport(plugin, futures.get(plugin))
+                    : PluginLoadReport.deferred(plugin));
+            }
+        } finally {
+            if (finished) {
+                executor.shutdown();
+            } else {
+                executor.shutdownNow();
+            }
+        }
+
+        reports.forEach(report -> log.log(report.isLoaded() || report.status() == PluginLoadReport.Status.DEFERRED
+            ? Level.INFO : Level.SEVERE, report.toString()));
+        return reports;
+    }
+
+    /**
+     * Activate a deferred plugin on the calling thread, loading its declared dependencies
+     * first. A plugin which is already active is not loaded again.
+     *
+     * @param plugin     to activate
+     * @param registered all plugins known to the workspace, to look the dependencies up
+     * @return report for the plugin
+     */
+    public PluginLoadReport activate(Plugin plugin, List<Plugin> registered) {
+
+        List<Plugin> snapshot;
+        synchronized (registered) {
+            snapshot = new ArrayList<>(registered);
+        }
+
+        PluginLoadReport report = activate(plugin, indexByName(snapshot, false),
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+        log.log(report.isLoaded() ? Level.INFO : Level.SEVERE, report.toString());
+        return report;
+    }
+
+    /**
+     * Get the plugin object for use. A plugin deferred by the lazy activation is activated
+     * on the calling thread with its declared dependencies.
+     *
+     * @param plugin     to use
+     * @param registered all plugins known to the workspace, to look the dependencies up
+     * @return the plugin object or null if the plugin cannot be activated
+     */
+    public Object getPluginObject(Plugin plugin, List<Plugin> registered) {
+        Object pluginObject = plugin.getPluginObject();
+        if (pluginObject == null && activate(plugin, registered).isLoaded()) {
+            pluginObject = plugin.getPluginObject();
+        }
+        return pluginObject;
+    }
+
+    /**
+     * Get the plugin object for use, activating a deferred plugin on a thread of the bootstrap.
+     *
+     * @param plugin     to use
+     * @param registered all plugins known to the workspace, to look the dependencies up
+     * @return the future plugin object, null if the plugin cannot be activated
+     */
+    public CompletableFuture<Object> getPluginObjectAsync(Plugin plugin, List<Plugin> registered) {
+        Object pluginObject = plugin.getPluginObject();
+        return pluginObject != null ? CompletableFuture.completedFuture(pluginObject)
+            : CompletableFuture.supplyAsync(() -> getPluginObject(plugin, registered), activationExecutor);
+    }
+
+    private PluginLoadReport activate(Plugin plugin, Map<String, Plugin> byName, Set<Plugin> visiting) {
+
+        synchronized (plugin) {
+            if (plugin.getPluginObject() != null) {
+                return PluginLoadReport.loaded(plugin, 0);
+            }
+
+            if (!visiting.add(plugin)) {
+                return PluginLoadReport.skipped(plugin,
+                    new PluginException("Circular dependency on plugin " + plugin.getName()));
+            }
+
+            try {
+                for (String name : plugin.getDependencies()) {
+                    Plugin dependency = byName.get(name);
+                    if (dependency == null) {
+                        return PluginLoadReport.skipped(plugin,
+                            new PluginException("Required plugin " + name + " is not found"));
+                    }
+                    if (!activate(dependency, byName, visiting).isLoaded()) {
+                        return PluginLoadReport.skipped(plugin,
+                            new PluginException("Required plugin " + name + " is not loaded"));
+                    }
+                }
+                return loadPlugin(plugin);
+            } finally {
+                visiting.remove(plugin);
+            }
+        }
+    }
+
+    private static Map<String, Plugin> indexByName(List<Plugin> plugins, boolean warnDuplicates) {
+        Map<String, Plugin> byName = new HashMap<>();
+        for (Plugin plugin : plugins) {
+            if (plugin.getName() != null && byName.putIfAbsent(plugin.getName(), plugin) != null
+                && warnDuplicates) {
+                log.warning("Duplicate plugin name " + plugin.getName() + ", dependencies use the first one");
+            }
+        }
+        return byName;
+    }
+
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private CompletableFuture<PluginLoadReport> schedule(Plugin plugin,
+                                                         Map<String, Plugin> byName,
+                                                         Map<Plugin, CompletableFuture<PluginLoadReport>> futures,
+                                                         Set<Plugin> visiting,
+                                                         ExecutorService executor) {
+
+        CompletableFuture<PluginLoadReport> scheduled = futures.get(plugin);
+        if (scheduled != null) {
+            return scheduled;
+        }
+
+        if (!visiting.add(plugin)) {
+            return CompletableFuture.completedFuture(PluginLoadReport.skipped(plugin,
+                new PluginException("Circular dependency on plugin " + plugin.getName()))
+            );
+        }
+
+        List<CompletableFuture<PluginLoadReport>> required = new ArrayList<>();
+        for (String name : plugin.getDependencies()) {
+            Plugin dependency = byName.get(name);
+            if (dependency == null) {
+                CompletableFuture<PluginLoadReport> missing = CompletableFuture.completedFuture(
+                    PluginLoadReport.skipped(plugin, new PluginException("Required plugin " + name + " is not found"))
+                );
+                futures.put(plugin, missing);
+                visiting.remove(plugin);
+                return missing;
+            }
+            required.add(schedule(dependency, byName, futures, visiting, executor));
+        }
+
+        List<CompletableFuture<PluginLoadReport>> preceding = new ArrayList<>(required);
+        for (String name : plugin.getLoadAfter()) {
+            Plugin predecessor = byName.get(name);
+            if (predecessor != null && predecessor != plugin && (!lazyActivation || predecessor.isStartup())) {
+                preceding.add(schedule(predecessor, byName, futures, visiting, executor));
+            }
+        }
+
+        CompletableFuture<PluginLoadReport> future = CompletableFuture
+            .allOf(preceding.toArray(new CompletableFuture[0]))
+            .thenApplyAsync(ignored -> {
+                for (CompletableFuture<PluginLoadReport> dependency : required) {
+                    PluginLoadReport report = dependency.join();
+                    if (!report.isLoaded()) {
+                        return PluginLoadReport.skipped(plugin,
+                            new PluginException("Required plugin " + report.plugin().getName() + " is not loaded")
+                        );
+                    }
+                }
+                return loadPlugin(plugin);
+            }, executor);
+
+        visiting.remove(plugin);
+        futures.put(plugin, future);
+        return future;
+    }
+
+    /**
+     * Create a plugin object and load it if it is a workspace component. Runnable plugins
+     * are handed over to the runnable consumer.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private PluginLoadReport loadPlugin(Plugin plugin) {
+
+        long start = System.nanoTime();
+        synchronized (plugin) {
+            try {
+                Object pluginObject = plugin.newInstance();
+
+                if (pluginObject instanceof IWorkspaceComponent component) {
+                    component.load();
+                }
+
+                if (pluginObject instanceof Runnable runnable && runnableConsumer != null) {
+                    runnableConsumer.accept(runnable);
+                }
+                return PluginLoadReport.loaded(plugin, elapsedMillis(start));
+
+            } catch (Exception | LinkageError e) {
+                return PluginLoadReport.failed(plugin, elapsedMillis(start), e);
+            }
+        }
+    }
+
+    /**
+     * Wait for the plugins to load.
+     *
+     * @return false if some plugins are still loading
+     */
+    private boolean awaitAll(Map<Plugin, CompletableFuture<PluginLoadReport>> futures) {
+        boolean finished = false;
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .get(timeoutSeconds, TimeUnit.SECONDS);
+            finished = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // all plugins are done, the failed ones get their own reports
+            finished = true;
+        } catch (TimeoutException e) {
+            log.warning("Plugins bootstrap is not finished in " + timeoutSeconds + " seconds");
+        }
+        return finished;
+    }
+
+    /**
+     * Get the report of a plugin, a load which is not finished is cancelled unless it has started.
+     */
+    private PluginLoadReport getReport(Plugin plugin, CompletableFuture<PluginLoadReport> future) {
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        if (future != null) {
+            future.cancel(true);
+        }
+        return PluginLoadReport.failed(plugin, TimeUnit.SECONDS.toMillis(timeoutSeconds),
+            new PluginException("Plugin " + plugin.getName() + " did not load in time")
+        );
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "plugin-bootstrap-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
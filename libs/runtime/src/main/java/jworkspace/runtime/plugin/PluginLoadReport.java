@@ -0,0 +1,81 @@
+package jworkspace.runtime.plugin;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import com.hyperrealm.kiwi.plugin.Plugin;
+
+/**
+ * Outcome of a single plugin bootstrap produced by {@link PluginBootstrap}.
+ *
+ * @param plugin         the plugin this report is about
+ * @param status         the final bootstrap status
+ * @param durationMillis time spent instantiating and loading the plugin, zero if it was skipped or deferred
+ * @param error          the failure cause or {@code null} if the plugin is loaded or deferred
+ *
+ * @author Anton Troshin
+ */
+public record PluginLoadReport(Plugin plugin, Status status, long durationMillis, Throwable error) {
+
+    /**
+     * Final state of the plugin bootstrap
+     */
+    public enum Status {
+        /** Plugin is instantiated and loaded */
+        LOADED,
+        /** Plugin instantiation or loading threw an error */
+        FAILED,
+        /** Plugin is not loaded because one of its dependencies is missing or failed */
+        SKIPPED,
+        /** Plugin is registered and will be activated on the first use */
+        DEFERRED
+    }
+
+    public boolean isLoaded() {
+        return status == Status.LOADED;
+    }
+
+    static PluginLoadReport loaded(Plugin plugin, long durationMillis) {
+        return new PluginLoadReport(plugin, Status.LOADED, durationMillis, null);
+    }
+
+    static PluginLoadReport failed(Plugin plugin, long durationMillis, Throwable error) {
+        return new PluginLoadReport(plugin, Status.FAILED, durationMillis, error);
+    }
+
+    static PluginLoadReport skipped(Plugin plugin, Throwable error) {
+        return new PluginLoadReport(plugin, Status.SKIPPED, 0, error);
+    }
+
+    static PluginLoadReport deferred(Plugin plugin) {
+        return new PluginLoadReport(plugin, Status.DEFERRED, 0, null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s in %d ms%s", plugin, status, durationMillis,
+            error != null ? " (" + error.getMessage() + ")" : "");
+    }
+}
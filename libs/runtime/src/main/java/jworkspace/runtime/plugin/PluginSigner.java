@@ -24,35 +24,48 @@ package jworkspace.runtime.plugin;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.Base64;
 
+import jworkspace.runtime.downloader.StreamingChecksum;
+
 public class PluginSigner {
 
     public static final String ED_25519 = "Ed25519";
 
     private PluginSigner() {}
 
+    /**
+     * Signs the SHA-256 digest of the JAR, which is computed in chunks, so the JAR is not read into
+     * the heap. The signature is saved with the {@link PluginVerifier#DIGEST_PREFIX}.
+     */
     public static void signJar(String jarPath, byte[] privateKeyBytes, String outputPath) throws Exception {
-        byte[] jarBytes = Files.readAllBytes(Paths.get(jarPath));
+        byte[] digest;
+        try (FileChannel channel = FileChannel.open(Path.of(jarPath), StandardOpenOption.READ)) {
+            digest = StreamingChecksum.digest(channel);
+        }
 
         // Load the Ed25519 Private Key
         PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(privateKeyBytes);
         KeyFactory kf = KeyFactory.getInstance(ED_25519);
         PrivateKey privateKey = kf.generatePrivate(spec);
 
-        // Sign the JAR
+        // Sign the JAR digest
         Signature sig = Signature.getInstance(ED_25519);
         sig.initSign(privateKey);
-        sig.update(jarBytes);
+        sig.update(digest);
         byte[] signatureBytes = sig.sign();
 
         // Save signature as a Base64 string
-        Files.writeString(Paths.get(outputPath), Base64.getEncoder().encodeToString(signatureBytes));
+        Files.writeString(Paths.get(outputPath),
+            PluginVerifier.DIGEST_PREFIX + Base64.getEncoder().encodeToString(signatureBytes));
     }
 }
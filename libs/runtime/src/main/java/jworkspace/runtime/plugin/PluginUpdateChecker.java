@@ -29,6 +29,7 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.jar.Attributes;
@@ -49,28 +50,54 @@ public class PluginUpdateChecker {
 
     public static final String PLUGIN_HAS_UPDATE = "HasUpdate";
 
+    /** Folder in the user profile to cache the update metadata in */
+    public static final String CACHE_DIRECTORY = "updates";
+
     static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private static volatile PluginUpdateService service = new PluginUpdateService(null);
+
     private PluginUpdateChecker() {}
 
-    @SuppressWarnings({"checkstyle:MultipleStringLiterals", "checkstyle:NestedIfDepth", "checkstyle:ReturnCount"})
-    public static boolean checkUpdateAvailable(PluginDTO plugin) throws Exception {
+    /**
+     * Sets the directory to keep the release metadata and remote plugin versions between sessions.
+     *
+     * @param directory the cache directory, or null to keep the cache in memory
+     */
+    public static synchronized void setCacheDirectory(Path directory) {
+        PluginUpdateService previous = service;
+        service = new PluginUpdateService(directory);
+        previous.close();
+    }
+
+    public static boolean checkUpdateAvailable(PluginDTO plugin) {
         if (plugin == null) {
             return false;
         }
+        return Boolean.TRUE.equals(service.findUpdates(List.of(plugin)).get(plugin));
+    }
 
-        String localVersion = plugin.getVersion();
-        String localBuildNum = plugin.getBuildNumber();
+    /**
+     * Builds the version information of the local plugin instance.
+     */
+    static VersionInfo localVersion(PluginDTO plugin) {
         String localBuildDateStr = "";
-
         if (plugin.getBuildDate() != null) {
             localBuildDateStr = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(plugin.getBuildDate());
         }
+        try {
+            return new VersionInfo(plugin.getVersion(), plugin.getBuildNumber(), localBuildDateStr,
+                URI.create("file:" + plugin.getJarFile()).toURL());
+        } catch (IOException | IllegalArgumentException e) {
+            return new VersionInfo(plugin.getVersion(), plugin.getBuildNumber(), localBuildDateStr);
+        }
+    }
 
-        VersionInfo localInfo = new VersionInfo(
-            localVersion, localBuildNum, localBuildDateStr, URI.create("file:" + plugin.getJarFile()).toURL()
-        );
-
+    /**
+     * Extracts the GitHub repository, for example grauds/clematis.desktop, from the plugin help URL.
+     */
+    @SuppressWarnings("checkstyle:NestedIfDepth")
+    static String repositoryOf(PluginDTO plugin) {
         // Fallback or dynamic repository extraction logic parsing
         String repoPath = "grauds/clematis.desktop";
         if (plugin.getHelpURL() != null) {
@@ -83,21 +110,7 @@ public class PluginUpdateChecker {
                 }
             }
         }
-
-        // Resolve dynamic metadata from GitHub API
-        VersionInfo remoteInfo = getLatestReleaseAsset(repoPath, plugin.getName());
-        if (remoteInfo == null) {
-            log.warning("Could not resolve asset metadata from the GitHub API release pipeline.");
-            return false;
-        }
-
-        // Process update evaluation algorithm
-        if (isUpdateAvailable(localInfo, remoteInfo)) {
-            plugin.setUpdateVersion(remoteInfo);
-            return true;
-        } else {
-            return false;
-        }
+        return repoPath;
     }
 
     /**
@@ -122,7 +135,7 @@ public class PluginUpdateChecker {
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
             conn.setRequestMethod("GET");
             conn.setRequestProperty("Accept", "application/vnd.github.v3+json");
-            conn.setRequestProperty("User-Agent", "Java-Plugin-Updater");
+            conn.setRequestProperty("User-Agent", PluginUpdateService.USER_AGENT);
 
             if (conn.getResponseCode() != 200) {
                 return null;
@@ -142,9 +155,17 @@ public class PluginUpdateChecker {
     /**
      * Shared extraction logic made package-private so it can be thoroughly unit tested.
      */
-    @SuppressWarnings("checkstyle:ReturnCount")
     static VersionInfo extractAsset(GitHubReleaseDTO release, String pluginName, String extension)
         throws Exception {
+        GitHubAssetDTO asset = findAsset(release, pluginName, extension);
+        return asset != null ? fetchRemoteVersion(asset.browserDownloadUrl()) : null;
+    }
+
+    /**
+     * Finds the asset named after the plugin with the given extension.
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    static GitHubAssetDTO findAsset(GitHubReleaseDTO release, String pluginName, String extension) {
         if (release == null || release.assets() == null || pluginName == null) {
             return null;
         }
@@ -159,7 +180,7 @@ public class PluginUpdateChecker {
             String assetName = asset.name().toLowerCase();
 
             if (assetName.startsWith(assetPrefix) && assetName.endsWith(extension)) {
-                return fetchRemoteVersion(asset.browserDownloadUrl());
+                return asset;
             }
         }
         return null;
@@ -174,25 +195,30 @@ public class PluginUpdateChecker {
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         conn.setConnectTimeout(10000);
         conn.setReadTimeout(10000);
-        conn.setRequestProperty("User-Agent", "Java-Plugin-Updater");
+        conn.setRequestProperty("User-Agent", PluginUpdateService.USER_AGENT);
 
         // Handle GitHub redirect logic cleanly via stream processing
         try (InputStream is = conn.getInputStream();
              JarInputStream jis = new JarInputStream(is)) {
+            return readVersion(jis.getManifest(), url);
+        }
+    }
 
-            Manifest manifest = jis.getManifest();
-            if (manifest == null) {
-                throw new IOException("No manifest file could be resolved within the target remote Jar stream.");
-            }
+    /**
+     * Reads the version attributes of a remote plugin manifest.
+     */
+    static VersionInfo readVersion(Manifest manifest, URL url) throws IOException {
+        if (manifest == null) {
+            throw new IOException("No manifest file could be resolved within the target remote Jar stream.");
+        }
 
-            Attributes attr = manifest.getMainAttributes();
-            // Matching the Custom Keys defined inside your PluginDTO manifest builder
-            String version = attr.getValue("Implementation-Version");
-            String buildNumber = attr.getValue("Build-Number");
-            String buildDate = attr.getValue("Build-Date");
+        Attributes attr = manifest.getMainAttributes();
+        // Matching the Custom Keys defined inside your PluginDTO manifest builder
+        String version = attr.getValue("Implementation-Version");
+        String buildNumber = attr.getValue("Build-Number");
+        String buildDate = attr.getValue("Build-Date");
 
-            return new VersionInfo(version, buildNumber, buildDate, url);
-        }
+        return new VersionInfo(version, buildNumber, buildDate, url);
     }
 
     @SuppressWarnings({
@@ -260,18 +286,10 @@ public class PluginUpdateChecker {
         SwingWorker<Void, Void> worker = new SwingWorker<>() {
             @Override
             protected Void doInBackground() {
-                for (Plugin plugin : plugins) {
-                    try {
-                        plugin.getProperties().put(
-                            PLUGIN_HAS_UPDATE,
-                            checkUpdateAvailable(plugin)
-                        );
-                    } catch (Exception e) {
-                        log.warning(
-                            String.format("Can't find an update for %s, %s ", plugin.toString(), e.getMessage())
-                        );
-                    }
-                }
+                // Plugins failed to check are logged by the service and keep their previous state
+                service.findUpdates(plugins).forEach((plugin, update) ->
+                    plugin.getProperties().put(PLUGIN_HAS_UPDATE, update)
+                );
                 return null;
             }
         };
@@ -0,0 +1,315 @@
+package jworkspace.runtime.plugin;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.jar.JarInputStream;
+
+import com.hyperrealm.kiwi.plugin.PluginDTO;
+import com.hyperrealm.kiwi.plugin.VersionInfo;
+
+import static jworkspace.runtime.plugin.PluginUpdateChecker.MAPPER;
+import lombok.extern.java.Log;
+
+/**
+ * Checks plugins for updates published as GitHub release assets.
+ *
+ * <p>Plugins from the same repository share a single request for the latest release, and plugins
+ * packed into the same asset share a single read of its manifest. Distinct requests run concurrently
+ * on virtual threads, at most {@code parallelism} at once, and each of them is bounded by the timeout.</p>
+ *
+ * <p>Release payloads and remote manifest versions are cached in a directory with their ETag and
+ * Last-Modified headers and revalidated with conditional requests. If a release has not changed,
+ * the manifests of its assets are taken from the cache without any request. If the server cannot
+ * be reached, the cached data is used as is.</p>
+ *
+ * <p>The service owns its HTTP client and the client threads, close it once it is not needed.</p>
+ */
+@Log
+public class PluginUpdateService implements AutoCloseable {
+
+    public static final String GITHUB_API = "https://api.github.com";
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    static final String USER_AGENT = "Java-Plugin-Updater";
+
+    private static final String JAR_EXTENSION = ".jar";
+
+    private static final int HTTP_OK = 200;
+
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private final HttpClient client;
+
+    private final ExecutorService clientExecutor;
+
+    private final UpdateMetadataCache cache;
+
+    private final String apiUrl;
+
+    private final Duration timeout;
+
+    private final Semaphore permits;
+
+    /**
+     * Creates a service for the GitHub API with the default timeout and parallelism.
+     *
+     * @param cacheDirectory directory for the metadata cache, or {@code null} to cache in memory only
+     */
+    public PluginUpdateService(Path cacheDirectory) {
+        this(cacheDirectory, GITHUB_API, DEFAULT_TIMEOUT, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param cacheDirectory directory for the metadata cache, or {@code null} to cache in memory only
+     * @param apiUrl         base URL of the GitHub API
+     * @param timeout        timeout of every request, including reading the response
+     * @param parallelism    maximum number of concurrent requests
+     */
+    public PluginUpdateService(Path cacheDirectory, String apiUrl, Duration timeout, int parallelism) {
+        this.cache = new UpdateMetadataCache(cacheDirectory);
+        this.apiUrl = apiUrl;
+        this.timeout = timeout;
+        this.permits = new Semaphore(Math.max(1, parallelism));
+        // Manifests are parsed right in the body subscriber, which may block its thread
+        this.clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(timeout)
+            .executor(clientExecutor)
+            .build();
+    }
+
+    /**
+     * Closes the HTTP client and its executor. Requests in flight are aborted.
+     */
+    @Override
+    public void close() {
+        client.shutdownNow();
+        clientExecutor.close();
+    }
+
+    /**
+     * Checks the plugins for updates and sets the update version of the plugins that have one.
+     * Plugins failed to check are logged and left out of the result.
+     *
+     * @param plugins plugins to check
+     * @param <T>     plugin type
+     * @return whether an update is available, by plugin identity
+     */
+    public <T extends PluginDTO> Map<T, Boolean> findUpdates(List<T> plugins) {
+
+        Map<String, CompletableFuture<Cached>> releases = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<VersionInfo>> versions = new ConcurrentHashMap<>();
+        Map<T, CompletableFuture<Boolean>> checks = new IdentityHashMap<>();
+        Map<T, Boolean> result = new IdentityHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T plugin : plugins) {
+                if (plugin == null || plugin.getName() == null) {
+                    continue;
+                }
+                checks.put(plugin, releases
+                    .computeIfAbsent(PluginUpdateChecker.repositoryOf(plugin),
+                        repository -> supply(executor, () -> fetchRelease(repository)))
+                    .thenCompose(release -> {
+                        GitHubAssetDTO asset = PluginUpdateChecker.findAsset(
+                            release.body() == null ? null : MAPPER.readValue(release.body(), GitHubReleaseDTO.class),
+                            plugin.getName(),
+                            JAR_EXTENSION
+                        );
+                        return asset == null
+                            ? CompletableFuture.completedFuture(null)
+                            : versions.computeIfAbsent(asset.browserDownloadUrl(),
+                                url -> supply(executor, () -> fetchVersion(url, release.unchanged())));
+                    })
+                    .thenApply(remote -> isUpdate(plugin, remote))
+                );
+            }
+
+            checks.forEach((plugin, check) -> {
+                try {
+                    result.put(plugin, check.join());
+                } catch (CompletionException e) {
+                    log.warning(String.format("Can't find an update for %s, %s", plugin,
+                        e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static boolean isUpdate(PluginDTO plugin, VersionInfo remote) {
+        if (remote != null && PluginUpdateChecker.isUpdateAvailable(PluginUpdateChecker.localVersion(plugin), remote)) {
+            plugin.setUpdateVersion(remote);
+            return true;
+        }
+        return false;
+    }
+
+    private static <R> CompletableFuture<R> supply(ExecutorService executor, Callable<R> call) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(call.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private Cached fetchRelease(String repository) throws IOException, InterruptedException {
+        return fetch(String.format("%s/repos/%s/releases/latest", apiUrl, repository),
+            "application/vnd.github.v3+json",
+            HttpResponse.BodyHandlers.ofString()
+        );
+    }
+
+    /**
+     * Resolves the version from the manifest of a remote JAR, reading only the beginning of the JAR.
+     * The manifest of an asset of an unchanged release is not requested again.
+     */
+    private VersionInfo fetchVersion(String url, boolean releaseUnchanged) throws IOException, InterruptedException {
+        UpdateMetadataCache.Entry cached = cache.get(url);
+        String body = releaseUnchanged && cached != null
+            ? cached.body()
+            : fetch(url, "application/java-archive", info -> HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofInputStream(), in -> readVersion(in, url))).body();
+        return body == null ? null : MAPPER.readValue(body, VersionInfo.class);
+    }
+
+    private static String readVersion(InputStream in, String url) {
+        try (JarInputStream jar = new JarInputStream(in)) {
+            URL source = URI.create(url).toURL();
+            return MAPPER.writeValueAsString(PluginUpdateChecker.readVersion(jar.getManifest(), source));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends a conditional GET request if the URL is cached and stores a new response in the cache.
+     * A cached body is returned if the server responds with 304 or cannot be reached.
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private Cached fetch(String url, String accept, HttpResponse.BodyHandler<String> handler)
+        throws IOException, InterruptedException {
+
+        UpdateMetadataCache.Entry cached = cache.get(url);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(timeout)
+            .header("Accept", accept)
+            .header("User-Agent", USER_AGENT);
+        if (cached != null && cached.etag() != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            request.header("If-Modified-Since", cached.lastModified());
+        }
+
+        permits.acquire();
+        try {
+            HttpResponse<String> response = send(request.build(), info -> info.statusCode() == HTTP_OK
+                ? handler.apply(info)
+                : HttpResponse.BodySubscribers.replacing(null));
+
+            if (response.statusCode() == HTTP_NOT_MODIFIED && cached != null) {
+                return new Cached(cached.body(), true);
+            }
+            if (response.statusCode() == HTTP_OK && response.body() != null) {
+                cache.put(new UpdateMetadataCache.Entry(url,
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null),
+                    response.body()
+                ));
+                return new Cached(response.body(), false);
+            }
+            log.warning(String.format("%s responded with HTTP %d", url, response.statusCode()));
+        } catch (IOException e) {
+            if (cached == null) {
+                throw e;
+            }
+            log.warning(String.format("Using cached %s, %s", url, e.getMessage()));
+        } finally {
+            permits.release();
+        }
+        return new Cached(cached != null ? cached.body() : null, false);
+    }
+
+    /**
+     * Sends a request and waits for the whole response, including the body, not longer than the timeout.
+     */
+    private <B> HttpResponse<B> send(HttpRequest request, HttpResponse.BodyHandler<B> handler)
+        throws IOException, InterruptedException {
+
+        CompletableFuture<HttpResponse<B>> response = client.sendAsync(request, handler);
+        try {
+            return response.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new HttpTimeoutException("Request timed out: " + request.uri());
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException unchecked
+                ? unchecked.getCause()
+                : e.getCause();
+            throw cause instanceof IOException io ? io : new IOException(cause);
+        }
+    }
+
+    /**
+     * Response body and whether it is confirmed unchanged by the server
+     */
+    private record Cached(String body, boolean unchanged) {}
+}
@@ -24,27 +24,62 @@ package jworkspace.runtime.plugin;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.HexFormat;
+
+import jworkspace.runtime.downloader.StreamingChecksum;
 
 public class PluginVerifier {
 
     public static final String ED_25519 = "Ed25519";
 
+    /**
+     * Prefix of signatures made over the SHA-256 digest of the JAR by {@link PluginSigner},
+     * signatures without it are made over the whole JAR
+     */
+    public static final String DIGEST_PREFIX = StreamingChecksum.ALGORITHM + ":";
+
     private PluginVerifier() {}
+
     /**
      * Verifies if a downloaded JAR matches the pinned public key of the author.
+     *
+     * @see #verifyPlugin(String, String, String, byte[])
      */
     public static boolean verifyPlugin(String jarPath, String signaturePath, byte[] pinnedPublicKeyBytes) {
+        return verifyPlugin(jarPath, null, signaturePath, pinnedPublicKeyBytes);
+    }
+
+    /**
+     * Verifies if a downloaded JAR matches the pinned public key of the author.
+     *
+     * <p>Digest signatures are checked against the SHA-256 digest of the JAR. The digest computed
+     * while the JAR was downloaded, see {@link jworkspace.runtime.downloader.DownloadItem#getActualChecksum()},
+     * saves another read of the file, otherwise the JAR is hashed in chunks. Legacy signatures are made
+     * over the whole JAR, and since Ed25519 buffers the whole message, the JAR is read into memory for them.</p>
+     *
+     * @param jarPath              path to the JAR
+     * @param jarDigest            hex SHA-256 digest of the JAR, or null to compute it from the file
+     * @param signaturePath        path to the signature file
+     * @param pinnedPublicKeyBytes X.509 encoded public key of the author
+     * @return true if the signature is valid
+     */
+    public static boolean verifyPlugin(String jarPath,
+                                       String jarDigest,
+                                       String signaturePath,
+                                       byte[] pinnedPublicKeyBytes) {
         try {
-            byte[] jarBytes = Files.readAllBytes(Paths.get(jarPath));
             String sigString = Files.readString(Paths.get(signaturePath)).trim();
-            byte[] signatureBytes = Base64.getDecoder().decode(sigString);
 
             // Load the pinned Ed25519 Public Key
             X509EncodedKeySpec spec = new X509EncodedKeySpec(pinnedPublicKeyBytes);
@@ -54,12 +89,23 @@ public class PluginVerifier {
             // Verify the signature
             Signature sig = Signature.getInstance(ED_25519);
             sig.initVerify(publicKey);
-            sig.update(jarBytes);
+            if (sigString.startsWith(DIGEST_PREFIX)) {
+                sigString = sigString.substring(DIGEST_PREFIX.length());
+                sig.update(jarDigest != null ? HexFormat.of().parseHex(jarDigest) : digest(jarPath));
+            } else {
+                sig.update(Files.readAllBytes(Path.of(jarPath)));
+            }
 
-            return sig.verify(signatureBytes);
+            return sig.verify(Base64.getDecoder().decode(sigString));
         } catch (Exception e) {
             // Log security exception, do not load the JAR
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static byte[] digest(String jarPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(jarPath), StandardOpenOption.READ)) {
+            return StreamingChecksum.digest(channel);
+        }
+    }
+}
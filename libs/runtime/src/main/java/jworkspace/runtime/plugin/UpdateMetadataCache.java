@@ -0,0 +1,125 @@
+package jworkspace.runtime.plugin;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static jworkspace.runtime.plugin.PluginUpdateChecker.MAPPER;
+import lombok.extern.java.Log;
+import tools.jackson.core.JacksonException;
+
+/**
+ * Cache of the update metadata fetched over HTTP, such as GitHub release payloads and versions
+ * read from remote plugin manifests, together with the validators needed to revalidate them
+ * with conditional requests.
+ *
+ * <p>Every URL is stored in its own JSON file named after the hash of the URL, so the cache
+ * survives workspace restarts. Without a directory the entries are kept in memory only.</p>
+ */
+@Log
+final class UpdateMetadataCache {
+
+    private static final String FILE_EXTENSION = ".json";
+
+    /** Cached response body and its validators */
+    record Entry(String url, String etag, String lastModified, String body) {}
+
+    private final Path directory;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    UpdateMetadataCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param url request URL
+     * @return cached entry or {@code null}
+     */
+    Entry get(String url) {
+        Entry entry = entries.get(url);
+        if (entry == null && directory != null) {
+            Path file = file(url);
+            if (Files.exists(file)) {
+                try {
+                    entry = MAPPER.readValue(Files.readString(file), Entry.class);
+                    if (url.equals(entry.url())) {
+                        entries.put(url, entry);
+                    } else {
+                        entry = null;
+                    }
+                } catch (IOException | JacksonException e) {
+                    log.warning(String.format("Cannot read the update cache %s: %s", file, e.getMessage()));
+                    entry = null;
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the entry in memory and writes it to the cache directory.
+     *
+     * @param entry new entry for its URL
+     */
+    void put(Entry entry) {
+        entries.put(entry.url(), entry);
+        if (directory == null) {
+            return;
+        }
+        Path file = file(entry.url());
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, MAPPER.writeValueAsString(entry));
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | JacksonException e) {
+            log.warning(String.format("Cannot write the update cache %s: %s", file, e.getMessage()));
+        }
+    }
+
+    private Path file(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash) + FILE_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
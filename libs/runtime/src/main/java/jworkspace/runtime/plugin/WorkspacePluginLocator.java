@@ -29,6 +29,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -37,6 +38,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
@@ -51,9 +53,12 @@ import com.hyperrealm.kiwi.io.StreamUtils;
 import com.hyperrealm.kiwi.plugin.Plugin;
 import com.hyperrealm.kiwi.plugin.PluginDTO;
 import com.hyperrealm.kiwi.plugin.PluginException;
+import com.hyperrealm.kiwi.plugin.PluginIndex;
 import com.hyperrealm.kiwi.plugin.PluginLocator;
 
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.java.Log;
 
 /**
@@ -66,6 +71,28 @@ public class WorkspacePluginLocator extends PluginLocator<WorkspacePluginContext
     public static final String PLUGIN_LEVEL_USER = "USER";
     public static final String PLUGIN_LEVEL_SYSTEM = "SYSTEM";
     public static final String PLUGIN_TYPE_PLUGIN = "PLUGIN";
+    /**
+     * Name of the directory for plugin index files, kept in the user profile
+     */
+    public static final String PLUGIN_INDEX_DIRECTORY = "plugin-index";
+
+    private static final String PLUGIN_INDEX_SUFFIX = ".idx";
+
+    /**
+     * Whether to use plugin indexes to avoid parsing manifests and decoding icons of unchanged plugin archives
+     */
+    @Getter
+    @Setter
+    private boolean indexEnabled = true;
+
+    /**
+     * Directory to keep the plugin index files in, one file per scanned plugins directory.
+     * The plugins directories may be read-only or shared, so they are not written to.
+     * If null, the plugins directories are not indexed.
+     */
+    @Getter
+    @Setter
+    private Path indexDirectory;
 
     /**
      * Construct a new <code>PluginLocator</code> with Workspace plugin context.
@@ -79,6 +106,21 @@ public class WorkspacePluginLocator extends PluginLocator<WorkspacePluginContext
         return new File(folder, file);
     }
 
+    /**
+     * Get the index file of a plugins directory, named after the absolute path of the directory.
+     *
+     * @param directory the plugins directory
+     * @return the index file in the index directory, or null if there is no index directory
+     */
+    public Path getIndexFile(@NonNull Path directory) {
+        if (indexDirectory == null) {
+            return null;
+        }
+        String key = directory.toAbsolutePath().normalize().toString();
+        return indexDirectory.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8))
+            + PLUGIN_INDEX_SUFFIX);
+    }
+
     /**
      * Compiles input files and stores the output class files in the destination folder
      * @param input files including all dependencies
@@ -113,7 +155,21 @@ public class WorkspacePluginLocator extends PluginLocator<WorkspacePluginContext
         if (directory != null) {
 
             log.log(Level.INFO, "Loading plugins from " + directory);
-            return scanPluginsDir(directory.toFile(), level);
+
+            Path indexFile = indexEnabled ? getIndexFile(directory) : null;
+            PluginIndex index = indexFile != null ? PluginIndex.open(indexFile) : null;
+            List<String> archives = new ArrayList<>();
+            List<Plugin> plugins = scanPluginsDir(directory.toFile(), level, index, archives);
+
+            if (index != null && Files.isDirectory(directory)) {
+                index.retain(archives);
+                try {
+                    index.save();
+                } catch (IOException ex) {
+                    log.log(Level.WARNING, "Cannot save plugin index " + indexFile + " - " + ex.getMessage());
+                }
+            }
+            return plugins;
         } else {
 
             return Collections.emptyList();
@@ -157,7 +213,7 @@ public class WorkspacePluginLocator extends PluginLocator<WorkspacePluginContext
         }
     }
 
-    private List<Plugin> scanPluginsDir(@NonNull File dir, String level) {
+    private List<Plugin> scanPluginsDir(@NonNull File dir, String level, PluginIndex index, List<String> archives) {
 
         List<Plugin> plugins = new ArrayList<>();
         try {
@@ -167,11 +223,12 @@ public class WorkspacePluginLocator extends PluginLocator<WorkspacePluginContext
                 if (files != null) {
                     Arrays.sort(files, Comparator.comparing(File::getName));
                     for (File file : files) {
-                        plugins.addAll(scanPluginsDir(file, level));
+                        plugins.addAll(scanPluginsDir(file, level, index, archives));
                     }
                 }
             } else if (dir.getName().endsWith("jar")) {
-                Plugin plugin = loadPlugin(dir, level);
+                archives.add(dir.getAbsolutePath());
+                Plugin plugin = loadPlugin(dir, level, index);
                 plugins.add(plugin);
             }
         } catch (PluginException ex) {
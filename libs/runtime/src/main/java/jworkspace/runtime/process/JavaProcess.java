@@ -27,8 +27,10 @@ package jworkspace.runtime.process;
 */
 import java.io.IOException;
 import java.util.Date;
+import java.util.Optional;
 
 import jworkspace.runtime.AbstractTask;
+import jworkspace.runtime.ExecutionMode;
 import jworkspace.runtime.logging.LogReaderThread;
 import lombok.Getter;
 import lombok.NonNull;
@@ -107,6 +109,26 @@ public final class JavaProcess extends AbstractTask {
         }
     }
 
+    /**
+     * The task waits for the child process for its whole life, so it runs on a virtual thread.
+     *
+     * @return {@link ExecutionMode#VIRTUAL}
+     */
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.VIRTUAL;
+    }
+
+    /**
+     * Gets the handle of the underlying process, to sample the resources it uses.
+     *
+     * @return the process handle, empty if there is no process
+     */
+    @Override
+    public Optional<ProcessHandle> getProcessHandle() {
+        return process == null ? Optional.empty() : Optional.of(process.toHandle());
+    }
+
     /**
      * Checks whether the underlying process is still running.
      *
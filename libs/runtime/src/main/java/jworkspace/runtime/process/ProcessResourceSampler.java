@@ -0,0 +1,218 @@
+package jworkspace.runtime.process;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+import jworkspace.runtime.AbstractTask;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Samples the resources used by the child processes of tasks, with their descendants, into
+ * a {@link ProcessUsageSeries} per task.
+ * <p>
+ * Commands are started through a shell, so the work is mostly done by the descendants of the child
+ * process. CPU time comes from {@link ProcessHandle.Info}. The resident set size and the threads
+ * are read from {@code /proc/<pid>/status} on Linux and are unknown on other platforms. The CPU
+ * time of descendants is counted while they run.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+@Log
+public class ProcessResourceSampler {
+
+    /**
+     * Default sampling interval in milliseconds
+     */
+    public static final long DEFAULT_INTERVAL = 1000;
+
+    private static final Path PROC = Path.of("/proc");
+
+    private static final String RSS_FIELD = "VmRSS:";
+
+    private static final String THREADS_FIELD = "Threads:";
+
+    private static final long BYTES_IN_KB = 1024;
+
+    /**
+     * Sampling interval in milliseconds
+     */
+    @Getter
+    private final long interval;
+
+    private final boolean procAvailable = Files.isDirectory(PROC.resolve("self"));
+
+    private final Map<AbstractTask, ProcessUsageSeries> usages = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public ProcessResourceSampler() {
+        this(DEFAULT_INTERVAL);
+    }
+
+    public ProcessResourceSampler(long interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Start sampling the task, if it has a child process.
+     *
+     * @param task the task
+     */
+    public void track(AbstractTask task) {
+        if (task.getProcessHandle().isPresent()) {
+            usages.putIfAbsent(task, new ProcessUsageSeries());
+            start();
+        }
+    }
+
+    /**
+     * Stop sampling the task and drop its samples.
+     *
+     * @param task the task
+     */
+    public void untrack(AbstractTask task) {
+        usages.remove(task);
+    }
+
+    /**
+     * Get the samples of the task.
+     *
+     * @param task the task
+     * @return the samples, or null if the task has no child process
+     */
+    public ProcessUsageSeries getUsage(AbstractTask task) {
+        return usages.get(task);
+    }
+
+    private synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("process-sampler").daemon().factory()
+            );
+            executor.scheduleWithFixedDelay(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Sample all the running child processes. The samples of exited ones are kept as they are.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    void sample() {
+        for (Map.Entry<AbstractTask, ProcessUsageSeries> entry : usages.entrySet()) {
+            Optional<ProcessHandle> handle = entry.getKey().getProcessHandle();
+            if (handle.isEmpty() || !handle.get().isAlive()) {
+                continue;
+            }
+            try {
+                entry.getValue().add(measure(handle.get()));
+            } catch (RuntimeException e) {
+                // an exception would cancel the following samples
+                log.log(Level.FINE, "Cannot sample " + entry.getKey().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Measure the process and its running descendants.
+     *
+     * @param root the child process
+     * @return the usage
+     */
+    public ProcessUsage measure(ProcessHandle root) {
+        long cpuTime = 0;
+        long residentSize = procAvailable ? 0 : -1;
+        int threads = procAvailable ? 0 : -1;
+        int processes = 0;
+
+        try (Stream<ProcessHandle> tree = Stream.concat(Stream.of(root), root.descendants())) {
+            for (ProcessHandle process : (Iterable<ProcessHandle>) tree::iterator) {
+                if (!process.isAlive()) {
+                    continue;
+                }
+                processes++;
+                cpuTime += process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+                if (procAvailable) {
+                    long[] status = readStatus(process.pid());
+                    residentSize += status[0];
+                    threads += (int) status[1];
+                }
+            }
+        }
+        return new ProcessUsage(System.currentTimeMillis(), cpuTime, residentSize, threads, processes);
+    }
+
+    /**
+     * Read the resident set size in bytes and the number of threads of a process, zeros if it has exited.
+     */
+    private static long[] readStatus(long pid) {
+        long[] status = new long[2];
+        try (BufferedReader reader = Files.newBufferedReader(
+            PROC.resolve(Long.toString(pid)).resolve("status"), StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RSS_FIELD)) {
+                    // the size is in kB, as "VmRSS:     1234 kB"
+                    status[0] = parseNumber(line, RSS_FIELD.length()) * BYTES_IN_KB;
+                } else if (line.startsWith(THREADS_FIELD)) {
+                    status[1] = parseNumber(line, THREADS_FIELD.length());
+                    break;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // the process has exited meanwhile, or has no status
+            return new long[2];
+        }
+        return status;
+    }
+
+    private static long parseNumber(String line, int start) {
+        String value = line.substring(start).strip();
+        int space = value.indexOf(' ');
+        return Long.parseLong(space < 0 ? value : value.substring(0, space));
+    }
+}
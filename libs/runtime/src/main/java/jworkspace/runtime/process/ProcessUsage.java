@@ -0,0 +1,37 @@
+package jworkspace.runtime.process;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+/**
+ * Resources used by a child process and its descendants at a moment.
+ *
+ * @param time         the time of the sample in milliseconds since the epoch
+ * @param cpuTime      the CPU time of the running processes in milliseconds
+ * @param residentSize the resident set size in bytes, or -1 if unknown on the platform
+ * @param threads      the number of threads, or -1 if unknown on the platform
+ * @param processes    the number of running processes, the child included
+ * @author Anton Troshin
+ */
+public record ProcessUsage(long time, long cpuTime, long residentSize, int threads, int processes) {}
@@ -0,0 +1,125 @@
+package jworkspace.runtime.process;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+/**
+ * Time series of the resources used by a child process, kept in a fixed size ring of primitive
+ * arrays. The oldest samples are overwritten.
+ *
+ * @author Anton Troshin
+ */
+public class ProcessUsageSeries {
+
+    /**
+     * One hour of samples taken every second
+     */
+    public static final int DEFAULT_CAPACITY = 3600;
+
+    private static final double PERCENT = 100.0;
+
+    private final long[] times;
+
+    private final long[] cpuTimes;
+
+    private final long[] residentSizes;
+
+    private final int[] threads;
+
+    private final int[] processes;
+
+    private long count;
+
+    public ProcessUsageSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProcessUsageSeries(int capacity) {
+        this.times = new long[capacity];
+        this.cpuTimes = new long[capacity];
+        this.residentSizes = new long[capacity];
+        this.threads = new int[capacity];
+        this.processes = new int[capacity];
+    }
+
+    public synchronized void add(ProcessUsage usage) {
+        int index = (int) (count++ % times.length);
+        times[index] = usage.time();
+        cpuTimes[index] = usage.cpuTime();
+        residentSizes[index] = usage.residentSize();
+        threads[index] = usage.threads();
+        processes[index] = usage.processes();
+    }
+
+    /**
+     * Get the number of samples kept.
+     *
+     * @return the number of samples
+     */
+    public synchronized int size() {
+        return (int) Math.min(count, times.length);
+    }
+
+    /**
+     * Get a sample.
+     *
+     * @param index the index of the sample, 0 is the oldest one kept
+     * @return the sample
+     */
+    public synchronized ProcessUsage get(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int i = (int) ((count - size + index) % times.length);
+        return new ProcessUsage(times[i], cpuTimes[i], residentSizes[i], threads[i], processes[i]);
+    }
+
+    /**
+     * Get the last sample.
+     *
+     * @return the last sample, or null if there are no samples
+     */
+    public synchronized ProcessUsage latest() {
+        return count == 0 ? null : get(size() - 1);
+    }
+
+    /**
+     * Get the CPU load between the last two samples.
+     *
+     * @return the load in percent of one core, may be over 100 for several cores, or 0 if unknown
+     */
+    public synchronized double getCpuLoad() {
+        int size = size();
+        if (size < 2) {
+            return 0;
+        }
+        ProcessUsage last = get(size - 1);
+        ProcessUsage previous = get(size - 2);
+        long elapsed = last.time() - previous.time();
+        // descendants which exited take their CPU time with them
+        long cpu = last.cpuTime() - previous.cpuTime();
+        return elapsed <= 0 || cpu < 0 ? 0 : cpu * PERCENT / elapsed;
+    }
+}
@@ -0,0 +1,284 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jworkspace.runtime.downloader.DownloadItem;
+import jworkspace.runtime.downloader.DownloadItemDTO;
+import jworkspace.runtime.downloader.DownloadSegment;
+import jworkspace.runtime.downloader.DownloadStatus;
+import jworkspace.runtime.downloader.DownloadTask;
+
+/**
+ * Downloads files from a local HTTP server that serves byte ranges like a real file host.
+ */
+public class DownloadTaskTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private final TemporaryFolder testFolder = new TemporaryFolder();
+
+    /** Starting offsets of the requested ranges, or -1 for full GET requests */
+    private final List<Long> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private byte[] content;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private Path downloads;
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @BeforeEach
+    public void before() throws IOException {
+        testFolder.create();
+        downloads = testFolder.getRoot().toPath().resolve("downloads");
+
+        content = new byte[(int) (3 * DownloadTask.MIN_SEGMENT_SIZE) + 123];
+        new Random(42).nextBytes(content);
+
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ranges.bin", exchange -> serve(exchange, true));
+        server.createContext("/plain.bin", exchange -> serve(exchange, false));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testSegmentedDownload() throws IOException {
+
+        DownloadItem item = new DownloadItem(url("/ranges.bin"), "ranges.bin");
+        DownloadTask task = item.getTask();
+        task.setPath(downloads);
+        task.run();
+
+        Assertions.assertEquals(DownloadStatus.COMPLETED, item.getStatus(), task.getLogs());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(item.getCompletedFile()));
+        Assertions.assertEquals(content.length, item.getDownloadedBytes());
+
+        // Three full segments of the file are fetched in parallel
+        Assertions.assertEquals(3, requests.size());
+        Assertions.assertTrue(requests.contains(0L));
+        Assertions.assertFalse(item.isResumable());
+        Assertions.assertTrue(item.getSegments().isEmpty());
+        try (var files = Files.list(downloads)) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testResumeDownload() throws IOException {
+
+        // Simulate a download that failed after writing the first half of every segment
+        DownloadItem failed = new DownloadItem(url("/ranges.bin"), "ranges.bin");
+        failed.setTotalBytes(content.length);
+        failed.setStatus(DownloadStatus.DOWNLOADING);
+        failed.setValidator(ETAG);
+        failed.createTempFile(downloads);
+
+        List<Long> expected = new ArrayList<>();
+        try (FileChannel channel = failed.openTempChannel()) {
+            for (DownloadSegment segment : DownloadSegment.split(content.length, 3)) {
+                segment.setDownloaded(segment.length() / 2);
+                channel.write(ByteBuffer.wrap(content, (int) segment.getStart(), (int) segment.getDownloaded()),
+                    segment.getStart());
+                failed.getSegments().add(segment);
+                expected.add(segment.position());
+            }
+        }
+
+        // The workspace is restarted and restores the item from its persisted state
+        DownloadItemDTO dto = failed.toDTO();
+        Assertions.assertNotNull(dto.getTempFile());
+        Assertions.assertEquals(3, dto.getSegments().size());
+
+        DownloadItem item = DownloadItem.fromDTO(dto);
+        Assertions.assertEquals(DownloadStatus.FAILED, item.getStatus());
+        Assertions.assertTrue(item.isResumable());
+
+        DownloadTask task = item.getTask();
+        task.setPath(downloads);
+        task.run();
+
+        Assertions.assertEquals(DownloadStatus.COMPLETED, item.getStatus(), task.getLogs());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(item.getCompletedFile()));
+
+        // Only the remaining halves are requested
+        Collections.sort(expected);
+        List<Long> actual = new ArrayList<>(requests);
+        Collections.sort(actual);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testChangedFileRestarts() throws IOException {
+
+        DownloadItem item = new DownloadItem(url("/ranges.bin"), "ranges.bin");
+        item.setValidator("\"v0\"");
+        item.createTempFile(downloads);
+        try (FileChannel channel = item.openTempChannel()) {
+            channel.write(ByteBuffer.wrap(new byte[1000]), 0);
+        }
+        item.getSegments().add(new DownloadSegment(0, content.length - 1, 1000));
+
+        DownloadTask task = item.getTask();
+        task.setPath(downloads);
+        task.run();
+
+        Assertions.assertEquals(DownloadStatus.COMPLETED, item.getStatus(), task.getLogs());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(item.getCompletedFile()));
+        Assertions.assertEquals(3, requests.size());
+        Assertions.assertFalse(requests.contains(1000L));
+    }
+
+    @Test
+    public void testChecksum() throws Exception {
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        DownloadItem segmented = new DownloadItem(url("/ranges.bin"), "ranges.bin");
+        segmented.setExpectedChecksum(expected.toUpperCase());
+        segmented.getTask().setPath(downloads);
+        segmented.getTask().run();
+
+        Assertions.assertEquals(DownloadStatus.COMPLETED, segmented.getStatus(), segmented.getTask().getLogs());
+        Assertions.assertEquals(expected, segmented.getActualChecksum());
+
+        DownloadItem plain = new DownloadItem(url("/plain.bin"), "plain.bin");
+        plain.getTask().setPath(downloads);
+        plain.getTask().run();
+
+        Assertions.assertEquals(DownloadStatus.COMPLETED, plain.getStatus(), plain.getTask().getLogs());
+        Assertions.assertEquals(expected, plain.getActualChecksum());
+    }
+
+    @Test
+    public void testChecksumMismatch() throws IOException {
+
+        DownloadItem item = new DownloadItem(url("/ranges.bin"), "ranges.bin");
+        item.setExpectedChecksum("0000");
+        item.getTask().setPath(downloads);
+        item.getTask().run();
+
+        Assertions.assertEquals(DownloadStatus.FAILED, item.getStatus());
+        Assertions.assertNull(item.getCompletedFile());
+        Assertions.assertFalse(item.isResumable());
+        try (var files = Files.list(downloads)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testDownloadWithoutRanges() throws IOException {
+
+        DownloadItem item = new DownloadItem(url("/plain.bin"), "plain.bin");
+        DownloadTask task = item.getTask();
+        task.setPath(downloads);
+        task.run();
+
+        Assertions.assertEquals(DownloadStatus.COMPLETED, item.getStatus(), task.getLogs());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(item.getCompletedFile()));
+        Assertions.assertEquals(List.of(-1L), requests);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Serves the content, honoring single byte ranges and If-Range if ranges are enabled.
+     */
+    private void serve(HttpExchange exchange, boolean ranges) throws IOException {
+
+        if (ranges) {
+            exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+            exchange.getResponseHeaders().set("ETag", ETAG);
+        }
+
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        int start = 0;
+        int end = content.length - 1;
+        int status = 200;
+        if (ranges && range != null && (ifRange == null || ifRange.equals(ETAG))) {
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            start = Integer.parseInt(bounds[0]);
+            end = Integer.parseInt(bounds[1]);
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range",
+                "bytes " + start + "-" + end + "/" + content.length);
+        }
+        requests.add(status == 206 ? (long) start : -1L);
+
+        exchange.sendResponseHeaders(status, end - start + 1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(Arrays.copyOfRange(content, start, end + 1));
+        }
+    }
+
+    @AfterEach
+    public void after() {
+        server.stop(0);
+        executor.shutdownNow();
+        testFolder.delete();
+    }
+}
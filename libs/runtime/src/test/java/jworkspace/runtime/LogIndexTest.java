@@ -0,0 +1,176 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jworkspace.runtime.downloader.DownloadItem;
+import jworkspace.runtime.downloader.DownloadItemDTO;
+import jworkspace.runtime.downloader.DownloadStatus;
+import jworkspace.runtime.logging.LogIndex;
+import jworkspace.runtime.logging.LogLine;
+import jworkspace.runtime.logging.LogQuery;
+import jworkspace.runtime.logging.LogSeverity;
+import jworkspace.runtime.logging.SegmentedLogStore;
+
+public class LogIndexTest {
+
+    private static final int LINES = 5000;
+
+    private final TemporaryFolder testFolder = new TemporaryFolder();
+
+    private SegmentedLogStore store;
+
+    /** First lines of the pages read back from the store by searches */
+    private final List<Long> reads = new ArrayList<>();
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @BeforeEach
+    public void before() throws IOException {
+        testFolder.create();
+        Path spillDirectory = testFolder.getRoot().toPath().resolve("logs");
+
+        store = new SegmentedLogStore(4096, 2, spillDirectory);
+        for (int i = 0; i < LINES; i++) {
+            String line;
+            if (i == 1234 || i == 4321) {
+                line = i + ": ERROR Connection refused by host-" + i;
+            } else if (i % 1000 == 999) {
+                line = i + ": request timeout after " + i + " ms";
+            } else {
+                line = i + ": processed item " + i;
+            }
+            // write in odd chunks, so lines are split between writes
+            byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+            store.write(bytes, 0, 7);
+            store.write(bytes, 7, bytes.length - 7);
+        }
+        store.write("tail without a line break".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testSubstringSearch() throws IOException {
+
+        List<LogLine> found = search(LogQuery.contains("connection REFUSED"), 10);
+
+        Assertions.assertEquals(List.of(
+            new LogLine(1234, "1234: ERROR Connection refused by host-1234"),
+            new LogLine(4321, "4321: ERROR Connection refused by host-4321")
+        ), found);
+        // The two blocks with the lines and the last block, not the whole log
+        Assertions.assertEquals(3, reads.size());
+        Assertions.assertEquals(LINES, store.getIndex().getLineCount());
+
+        Assertions.assertEquals(1, search(LogQuery.contains("connection refused"), 1).size());
+        Assertions.assertEquals(List.of(new LogLine(LINES, "tail without a line break")),
+            store.search(LogQuery.contains("a line break"), 10));
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testRegexSearch() throws IOException {
+
+        List<LogLine> found = search(LogQuery.matches("timeout after \\d{4} ms"), 10);
+
+        Assertions.assertEquals(List.of(1999L, 2999L, 3999L, 4999L), found.stream().map(LogLine::number).toList());
+        Assertions.assertTrue(reads.size() < 10, "Blocks read: " + reads.size());
+
+        // No literals to narrow the search, all blocks are read
+        reads.clear();
+        Assertions.assertEquals(2, search(LogQuery.matches("host-\\d+|nothing"), 10).size());
+        Assertions.assertEquals(LINES / LogIndex.BLOCK_LINES + 1, reads.size());
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testSeveritySearch() throws IOException {
+
+        Assertions.assertEquals(List.of(1234L, 4321L), numbers(search(LogQuery.atLeast(LogSeverity.ERROR), 10)));
+        Assertions.assertEquals(List.of(999L, 1234L, 1999L, 2999L, 3999L, 4321L, 4999L),
+            numbers(search(LogQuery.atLeast(LogSeverity.WARNING), 10)));
+        Assertions.assertEquals(List.of(4321L),
+            numbers(search(LogQuery.contains("host-4").withSeverity(LogSeverity.ERROR), 10)));
+        Assertions.assertTrue(search(LogQuery.contains("processed").withSeverity(LogSeverity.WARNING), 10).isEmpty());
+    }
+
+    @Test
+    public void testRequiredLiterals() {
+        Assertions.assertEquals(List.of("timeout after ", " ms"),
+            LogQuery.matches("timeout after \\d{4} ms").requiredLiterals());
+        Assertions.assertEquals(List.of("ERROR", "refused"),
+            LogQuery.matches("^ERRORS?: (\\w+ )?refused[.!]").requiredLiterals());
+        Assertions.assertEquals(List.of("a.b"), LogQuery.matches("a\\.b").requiredLiterals());
+        Assertions.assertEquals(List.of("a.b"), LogQuery.matches(Pattern.compile("a.b", Pattern.LITERAL))
+            .requiredLiterals());
+        Assertions.assertEquals(List.of("def"), LogQuery.matches("[^]a[bc]xyz]def").requiredLiterals());
+        Assertions.assertTrue(LogQuery.matches("error|warning").requiredLiterals().isEmpty());
+    }
+
+    @Test
+    public void testRestoredTaskLogs() {
+
+        DownloadItemDTO dto = new DownloadItemDTO();
+        dto.setUrl("https://example.com/plugin.jar");
+        dto.setFileName("plugin.jar");
+        dto.setStatus(DownloadStatus.FAILED.name());
+        dto.setLogs("0: Task created.\n1: Starting download\n3: Download failed: Connection reset\n");
+
+        DownloadItem item = DownloadItem.fromDTO(dto);
+        item.log("Retry scheduled");
+
+        Assertions.assertEquals(List.of(new LogLine(2, "3: Download failed: Connection reset")),
+            item.getTask().searchLogs(LogQuery.contains("connection"), 10));
+        Assertions.assertEquals(2, item.getTask().searchLogs(LogQuery.atLeast(LogSeverity.WARNING), 10).size());
+    }
+
+    private List<LogLine> search(LogQuery query, int limit) throws IOException {
+        return store.getIndex().search(query, (firstLine, maxLines) -> {
+            reads.add(firstLine);
+            return store.readLines(firstLine, maxLines);
+        }, limit);
+    }
+
+    private static List<Long> numbers(List<LogLine> lines) {
+        return lines.stream().map(LogLine::number).toList();
+    }
+
+    @AfterEach
+    public void after() {
+        store.reset();
+        testFolder.delete();
+    }
+}
@@ -0,0 +1,74 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The line framing as it was before the bulk framing: every byte is accumulated
+ * one by one, and a complete line is formatted to a String first.
+ */
+final class PerByteLogFraming extends OutputStream {
+
+    private final OutputStream target;
+    private final LongSupplier elapsedTimeProvider;
+    private final Consumer<String> listener;
+    private final ByteArrayOutputStream lineAccumulator = new ByteArrayOutputStream();
+
+    PerByteLogFraming(OutputStream target, LongSupplier elapsedTimeProvider, Consumer<String> listener) {
+        this.target = target;
+        this.elapsedTimeProvider = elapsedTimeProvider;
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        processByte((byte) b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        for (int i = 0; i < len; i++) {
+            processByte(b[off + i]);
+        }
+    }
+
+    private void processByte(byte sign) throws IOException {
+        lineAccumulator.write(sign);
+        if (sign == AbstractTask.EOL) {
+            String formattedLine = String.format("%s: %s", elapsedTimeProvider.getAsLong(),
+                lineAccumulator.toString(StandardCharsets.UTF_8));
+            target.write(formattedLine.getBytes(StandardCharsets.UTF_8));
+            listener.accept(formattedLine);
+            lineAccumulator.reset();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.hyperrealm.kiwi.plugin.Plugin;
+import com.hyperrealm.kiwi.plugin.PluginDTO;
+
+import jworkspace.runtime.plugin.PluginBootstrap;
+import jworkspace.runtime.plugin.PluginLoadReport;
+import jworkspace.runtime.plugin.WorkspacePluginLocator;
+
+public class PluginBootstrapTest {
+
+    private static final String RUNNABLE_PLUGIN_CLASS = "jworkspace/runtime/TestRunnablePlugin.class";
+
+    private final TemporaryFolder testFolder = new TemporaryFolder();
+
+    private File classesFolder;
+
+    private File pluginsFolder;
+
+    @BeforeEach
+    public void before() throws IOException, URISyntaxException {
+        testFolder.create();
+        classesFolder = testFolder.newFolder("classes");
+        PluginHelper.preparePlugins(classesFolder);
+        pluginsFolder = testFolder.newFolder("plugins");
+
+        writePlugin("base.jar", PluginHelper.TEST_PLUGIN_CLASS_2, "Base", null, null);
+        writePlugin("dependent.jar", PluginHelper.TEST_PLUGIN_CLASS, "Dependent", "Base", null,
+            PluginDTO.PLUGIN_ACTIVATION_STARTUP);
+        writePlugin("late.jar", PluginHelper.TEST_PLUGIN_CLASS, "Late", null, "Dependent, Absent");
+        writePlugin("orphan.jar", PluginHelper.TEST_PLUGIN_CLASS, "Orphan", "Missing", null);
+        writePlugin("chained.jar", PluginHelper.TEST_PLUGIN_CLASS, "Chained", "Orphan", null);
+        writePlugin("cycle1.jar", PluginHelper.TEST_PLUGIN_CLASS, "Cycle 1", "Cycle 2", null);
+        writePlugin("cycle2.jar", PluginHelper.TEST_PLUGIN_CLASS, "Cycle 2", "Cycle 1", null);
+    }
+
+    @Test
+    public void testDependencies() {
+
+        List<Plugin> plugins = new WorkspacePluginLocator().loadPlugins(pluginsFolder.toPath());
+        Assertions.assertEquals(7, plugins.size());
+
+        List<PluginLoadReport> reports = new PluginBootstrap(2, 30, null).load(plugins);
+        Assertions.assertEquals(plugins.size(), reports.size());
+
+        Map<String, PluginLoadReport> byName = new HashMap<>();
+        for (int i = 0; i < reports.size(); i++) {
+            Assertions.assertSame(plugins.get(i), reports.get(i).plugin());
+            byName.put(reports.get(i).plugin().getName(), reports.get(i));
+        }
+
+        Assertions.assertEquals(PluginLoadReport.Status.LOADED, byName.get("Base").status());
+        Assertions.assertEquals(PluginLoadReport.Status.LOADED, byName.get("Dependent").status());
+        Assertions.assertEquals(PluginLoadReport.Status.LOADED, byName.get("Late").status());
+        Assertions.assertEquals(PluginLoadReport.Status.SKIPPED, byName.get("Orphan").status());
+        Assertions.assertEquals(PluginLoadReport.Status.SKIPPED, byName.get("Chained").status());
+        Assertions.assertEquals(PluginLoadReport.Status.SKIPPED, byName.get("Cycle 1").status());
+        Assertions.assertEquals(PluginLoadReport.Status.SKIPPED, byName.get("Cycle 2").status());
+
+        Assertions.assertNotNull(byName.get("Dependent").plugin().getPluginObject());
+        Assertions.assertNull(byName.get("Orphan").plugin().getPluginObject());
+    }
+
+    @Test
+    public void testRunnableConsumer() throws URISyntaxException, IOException {
+
+        WorkspacePluginLocator.compile(new File[] {
+            new File(Objects.requireNonNull(PluginTests.class.getResource("TestRunnablePlugin.java")).toURI())
+        }, classesFolder);
+        writePlugin("runnable.jar", RUNNABLE_PLUGIN_CLASS, "Runnable", "Dependent", null);
+
+        List<Plugin> plugins = new WorkspacePluginLocator().loadPlugins(pluginsFolder.toPath());
+        Plugin base = find(plugins, "Base");
+        Plugin dependent = find(plugins, "Dependent");
+        Plugin runnable = find(plugins, "Runnable");
+
+        // the runnable plugin is handed over when the plugins it depends on are loaded
+        List<Runnable> runnables = new CopyOnWriteArrayList<>();
+        List<Boolean> dependenciesLoaded = new CopyOnWriteArrayList<>();
+        new PluginBootstrap(2, 30, object -> {
+            dependenciesLoaded.add(base.getPluginObject() != null && dependent.getPluginObject() != null);
+            runnables.add(object);
+        }).load(plugins);
+
+        Assertions.assertTrue(runnable.isLoaded());
+        Assertions.assertEquals(List.of(runnable.getPluginObject()), runnables);
+        Assertions.assertEquals(List.of(true), dependenciesLoaded);
+    }
+
+    @Test
+    public void testLazyActivation() {
+
+        WorkspacePluginLocator locator = new WorkspacePluginLocator();
+        locator.setLazyActivation(true);
+
+        List<Plugin> plugins = locator.loadPlugins(pluginsFolder.toPath());
+        Assertions.assertEquals(7, plugins.size());
+        Assertions.assertTrue(plugins.stream().noneMatch(Plugin::isLoaded));
+
+        PluginBootstrap bootstrap = new PluginBootstrap(2, 30, null, true);
+        Map<String, PluginLoadReport> byName = new HashMap<>();
+        for (PluginLoadReport report : bootstrap.load(plugins)) {
+            byName.put(report.plugin().getName(), report);
+        }
+
+        Assertions.assertEquals(PluginLoadReport.Status.LOADED, byName.get("Dependent").status());
+        Assertions.assertEquals(PluginLoadReport.Status.LOADED, byName.get("Base").status());
+        Assertions.assertEquals(PluginLoadReport.Status.DEFERRED, byName.get("Late").status());
+        Assertions.assertEquals(PluginLoadReport.Status.DEFERRED, byName.get("Orphan").status());
+        Assertions.assertFalse(byName.get("Late").plugin().isLoaded());
+
+        Plugin late = byName.get("Late").plugin();
+        Assertions.assertTrue(bootstrap.activate(late, plugins).isLoaded());
+        Assertions.assertNotNull(late.getPluginObject());
+
+        Assertions.assertEquals(PluginLoadReport.Status.SKIPPED,
+            bootstrap.activate(byName.get("Chained").plugin(), plugins).status());
+        Assertions.assertEquals(PluginLoadReport.Status.SKIPPED,
+            bootstrap.activate(byName.get("Cycle 1").plugin(), plugins).status());
+    }
+
+    @Test
+    public void testActivationOnFirstUse() throws Exception {
+
+        WorkspacePluginLocator locator = new WorkspacePluginLocator();
+        locator.setLazyActivation(true);
+
+        List<Plugin> plugins = locator.loadPlugins(pluginsFolder.toPath());
+        PluginBootstrap bootstrap = new PluginBootstrap(2, 30, null, true);
+        bootstrap.load(plugins);
+
+        Plugin late = find(plugins, "Late");
+        Assertions.assertNull(late.getPluginObject());
+
+        Object pluginObject = bootstrap.getPluginObjectAsync(late, plugins).get(30, TimeUnit.SECONDS);
+        Assertions.assertNotNull(pluginObject);
+        Assertions.assertTrue(late.isLoaded());
+        Assertions.assertSame(pluginObject, bootstrap.getPluginObject(late, plugins));
+
+        Plugin chained = find(plugins, "Chained");
+        Assertions.assertNull(bootstrap.getPluginObject(chained, plugins));
+        Assertions.assertNull(bootstrap.getPluginObjectAsync(chained, plugins).get(30, TimeUnit.SECONDS));
+    }
+
+    private static Plugin find(List<Plugin> plugins, String name) {
+        return plugins.stream().filter(p -> name.equals(p.getName())).findFirst().orElseThrow();
+    }
+
+    private void writePlugin(String jar, String classFile, String name, String depends, String loadAfter)
+        throws IOException {
+        writePlugin(jar, classFile, name, depends, loadAfter, null);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void writePlugin(String jar,
+                             String classFile,
+                             String name,
+                             String depends,
+                             String loadAfter,
+                             String activation) throws IOException {
+
+        Manifest manifest = PluginDTO.getManifest(new PluginDTO(classFile,
+            name,
+            name,
+            WorkspacePluginLocator.PLUGIN_TYPE_PLUGIN,
+            PluginDTO.PLUGIN_LEVEL_ANY,
+            name,
+            null,
+            "1.0.0",
+            "http://test.com"
+        ));
+
+        if (depends != null) {
+            manifest.getAttributes(classFile).putValue(PluginDTO.PLUGIN_DEPENDS, depends);
+        }
+        if (loadAfter != null) {
+            manifest.getAttributes(classFile).putValue(PluginDTO.PLUGIN_LOAD_AFTER, loadAfter);
+        }
+        if (activation != null) {
+            manifest.getAttributes(classFile).putValue(PluginDTO.PLUGIN_ACTIVATION, activation);
+        }
+
+        WorkspacePluginLocator.writePluginJarFile(classesFolder,
+            new String[] {classFile},
+            manifest,
+            pluginsFolder,
+            jar
+        );
+    }
+
+    @AfterEach
+    public void after() {
+        testFolder.delete();
+    }
+}
@@ -26,10 +26,14 @@ package jworkspace.runtime;
   ----------------------------------------------------------------------------
 */
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.jar.Manifest;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -40,6 +44,7 @@ import org.junit.rules.TemporaryFolder;
 import com.hyperrealm.kiwi.plugin.Plugin;
 import com.hyperrealm.kiwi.plugin.PluginDTO;
 import com.hyperrealm.kiwi.plugin.PluginException;
+import com.hyperrealm.kiwi.plugin.PluginIndex;
 import com.hyperrealm.kiwi.plugin.PluginLocator;
 
 import jworkspace.runtime.plugin.WorkspacePluginContext;
@@ -159,6 +164,60 @@ public class  PluginTests {
         assert ((ITestPlugin) obj2).doPluginWork() == 8;
     }
 
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testPluginIndex() throws IOException, PluginException {
+
+        final WorkspacePluginLocator pluginLocator = new WorkspacePluginLocator();
+        Path root = testFolder.getRoot().toPath();
+        Path indexDirectory = testFolder.newFolder("profile").toPath().resolve(
+            WorkspacePluginLocator.PLUGIN_INDEX_DIRECTORY
+        );
+        pluginLocator.setIndexDirectory(indexDirectory);
+        Path indexFile = pluginLocator.getIndexFile(root);
+
+        List<Plugin> plugins = pluginLocator.loadPlugins(root);
+        Assertions.assertEquals(3, plugins.size());
+        // the index is kept in the index directory, not in the plugins directory
+        Assertions.assertEquals(indexDirectory, indexFile.getParent());
+        Assertions.assertTrue(Files.exists(indexFile));
+        try (Stream<Path> files = Files.list(root)) {
+            Assertions.assertTrue(files.noneMatch(file -> file.toString().endsWith(".idx")));
+        }
+        Assertions.assertEquals(3, PluginIndex.open(indexFile).size());
+
+        // the second load takes manifest data from the index
+        List<Plugin> indexed = pluginLocator.loadPlugins(root);
+        Assertions.assertEquals(3, indexed.size());
+        for (int i = 0; i < plugins.size(); i++) {
+            Assertions.assertEquals(plugins.get(i).getName(), indexed.get(i).getName());
+            Assertions.assertEquals(plugins.get(i).getClassName(), indexed.get(i).getClassName());
+            Assertions.assertEquals(plugins.get(i).getHelpURL(), indexed.get(i).getHelpURL());
+            Assertions.assertInstanceOf(ITestPlugin.class, indexed.get(i).newInstance());
+        }
+
+        // the same content with a new timestamp is still valid
+        File pluginJar = WorkspacePluginLocator.getPluginFile(testFolder.getRoot(), PluginHelper.PLUGIN_JAR);
+        Assertions.assertTrue(pluginJar.setLastModified(pluginJar.lastModified() - 10000));
+        PluginHelper.assertPluginEqualsManifest(
+            pluginLocator.loadPlugin(pluginJar, PluginDTO.PLUGIN_LEVEL_ANY, PluginIndex.open(indexFile))
+        );
+
+        // the updated archive is read again
+        PluginHelper.writePluginJarFile(testFolder.getRoot(),
+            new String[] {PluginHelper.TEST_PLUGIN_CLASS_2},
+            PluginHelper.getManifest2(),
+            PluginHelper.PLUGIN_JAR);
+        Assertions.assertTrue(pluginLocator.loadPlugins(root).stream()
+            .filter(plugin -> plugin.getJarFile().equals(pluginJar.getAbsolutePath()))
+            .allMatch(plugin -> plugin.getVersion().equals("2.0.0")));
+
+        // removed archives are dropped from the index
+        Assertions.assertTrue(pluginJar.delete());
+        pluginLocator.loadPlugins(root);
+        Assertions.assertEquals(2, PluginIndex.open(indexFile).size());
+    }
+
     @AfterEach
     public void after() {
         testFolder.delete();
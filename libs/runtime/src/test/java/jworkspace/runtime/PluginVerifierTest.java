@@ -0,0 +1,131 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jworkspace.runtime.downloader.StreamingChecksum;
+import jworkspace.runtime.plugin.PluginSigner;
+import jworkspace.runtime.plugin.PluginVerifier;
+
+public class PluginVerifierTest {
+
+    private final TemporaryFolder testFolder = new TemporaryFolder();
+
+    private KeyPair keys;
+
+    private Path jar;
+
+    private Path signature;
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @BeforeEach
+    public void before() throws Exception {
+        testFolder.create();
+        keys = KeyPairGenerator.getInstance(PluginVerifier.ED_25519).generateKeyPair();
+
+        byte[] content = new byte[1024 * 1024 + 7];
+        new Random(7).nextBytes(content);
+        jar = Files.write(testFolder.getRoot().toPath().resolve("plugin.jar"), content);
+        signature = testFolder.getRoot().toPath().resolve("plugin.jar.sig");
+    }
+
+    @Test
+    public void testDigestSignature() throws Exception {
+
+        PluginSigner.signJar(jar.toString(), keys.getPrivate().getEncoded(), signature.toString());
+        Assertions.assertTrue(Files.readString(signature).startsWith(PluginVerifier.DIGEST_PREFIX));
+
+        Assertions.assertTrue(verify(keys));
+        Assertions.assertFalse(verify(KeyPairGenerator.getInstance(PluginVerifier.ED_25519).generateKeyPair()));
+
+        tamper();
+        Assertions.assertFalse(verify(keys));
+    }
+
+    @Test
+    public void testDownloadDigest() throws Exception {
+
+        PluginSigner.signJar(jar.toString(), keys.getPrivate().getEncoded(), signature.toString());
+        String digest;
+        try (FileChannel channel = FileChannel.open(jar)) {
+            digest = HexFormat.of().formatHex(StreamingChecksum.digest(channel));
+        }
+
+        Assertions.assertTrue(PluginVerifier.verifyPlugin(jar.toString(), digest, signature.toString(),
+            keys.getPublic().getEncoded()));
+
+        // The digest of the download is trusted, the file is not read again
+        tamper();
+        Assertions.assertTrue(PluginVerifier.verifyPlugin(jar.toString(), digest, signature.toString(),
+            keys.getPublic().getEncoded()));
+        Assertions.assertFalse(verify(keys));
+    }
+
+    @Test
+    public void testLegacySignature() throws Exception {
+
+        // Signatures made over the whole archive are still accepted
+        Signature sig = Signature.getInstance(PluginVerifier.ED_25519);
+        sig.initSign(keys.getPrivate());
+        sig.update(Files.readAllBytes(jar));
+        Files.writeString(signature, Base64.getEncoder().encodeToString(sig.sign()));
+
+        Assertions.assertTrue(verify(keys));
+
+        tamper();
+        Assertions.assertFalse(verify(keys));
+    }
+
+    private boolean verify(KeyPair pair) {
+        return PluginVerifier.verifyPlugin(jar.toString(), signature.toString(), pair.getPublic().getEncoded());
+    }
+
+    private void tamper() throws IOException {
+        byte[] content = Files.readAllBytes(jar);
+        content[content.length / 2] ^= 1;
+        Files.write(jar, content);
+    }
+
+    @AfterEach
+    public void after() {
+        testFolder.delete();
+    }
+}
@@ -0,0 +1,84 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import jworkspace.runtime.process.ProcessResourceSampler;
+import jworkspace.runtime.process.ProcessUsage;
+import jworkspace.runtime.process.ProcessUsageSeries;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class ProcessResourceSamplerTest {
+
+    @Test
+    public void testSeriesKeepsLastSamples() {
+        ProcessUsageSeries series = new ProcessUsageSeries(3);
+        Assertions.assertNull(series.latest());
+        Assertions.assertEquals(0, series.getCpuLoad());
+
+        for (int i = 0; i < 5; i++) {
+            series.add(new ProcessUsage(i * 1000L, i * 250L, i, i, 1));
+        }
+
+        Assertions.assertEquals(3, series.size());
+        Assertions.assertEquals(2000L, series.get(0).time());
+        Assertions.assertEquals(4000L, series.latest().time());
+        Assertions.assertEquals(25.0, series.getCpuLoad(), 0.001);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> series.get(3));
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void testMeasureCountsDescendants() throws IOException, InterruptedException {
+        Process shell = new ProcessBuilder("/bin/bash", "-c", "sleep 30 & sleep 30; wait").start();
+        try {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (shell.toHandle().descendants().count() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            ProcessUsage usage = new ProcessResourceSampler().measure(shell.toHandle());
+            Assertions.assertEquals(3, usage.processes());
+            if (Files.isDirectory(Path.of("/proc/self"))) {
+                Assertions.assertTrue(usage.residentSize() > 0);
+                Assertions.assertEquals(3, usage.threads());
+            } else {
+                Assertions.assertEquals(-1, usage.residentSize());
+            }
+        } finally {
+            shell.descendants().forEach(ProcessHandle::destroy);
+            shell.destroy();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
@@ -99,6 +100,57 @@ public class RuntimeManagerTest {
         testFolder.delete();
     }
 
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testVirtualThreadTasks() throws InterruptedException {
+
+        RuntimeManager smallRuntime = new RuntimeManager(1, 1, 1, TimeUnit.MINUTES);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(5);
+        CountDownLatch finished = new CountDownLatch(5);
+
+        smallRuntime.addListener(new IWorkspaceListener() {
+            @Override
+            public int getCode() {
+                return BEFORE_EXECUTE_EVENT;
+            }
+
+            @Override
+            public void processEvent(Integer event, Object lparam, Object rparam) {
+                Assertions.assertTrue(((Thread) lparam).isVirtual());
+                started.countDown();
+            }
+        });
+        smallRuntime.addListener(new IWorkspaceListener() {
+            @Override
+            public int getCode() {
+                return AFTER_EXECUTE_EVENT;
+            }
+
+            @Override
+            public void processEvent(Integer event, Object lparam, Object rparam) {
+                Assertions.assertInstanceOf(BlockingTask.class, lparam);
+                finished.countDown();
+            }
+        });
+
+        // more blocking tasks than the pool and its queue can hold
+        smallRuntime.setExecutionMode(BlockingTask.class, ExecutionMode.VIRTUAL);
+        for (int i = 0; i < 5; i++) {
+            smallRuntime.take(new BlockingTask(release));
+        }
+
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(5, smallRuntime.getActiveCount());
+
+        release.countDown();
+        Assertions.assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        smallRuntime.setExecutionMode(BlockingTask.class, null);
+        Assertions.assertEquals(ExecutionMode.POOLED, smallRuntime.getExecutionMode(new BlockingTask(release)));
+        smallRuntime.yield();
+    }
+
     @SuppressWarnings("checkstyle:MagicNumber")
     @Test
     public void testPluginsLoadingForExecution() throws IOException, PluginException, URISyntaxException {
@@ -121,4 +173,33 @@ public class RuntimeManagerTest {
 
         testFolder.delete();
     }
+
+    private static final class BlockingTask extends AbstractTask {
+
+        private final CountDownLatch release;
+
+        BlockingTask(CountDownLatch release) {
+            super("Blocking task");
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean isAlive() {
+            return release.getCount() > 0;
+        }
+
+        @Override
+        public void stop() {
+            release.countDown();
+        }
+    }
 }
@@ -0,0 +1,172 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jworkspace.runtime.logging.LogLine;
+import jworkspace.runtime.logging.LogQuery;
+import jworkspace.runtime.logging.SegmentedLogStore;
+
+public class SegmentedLogStoreTest {
+
+    private final TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path spillDirectory;
+
+    @BeforeEach
+    public void before() throws IOException {
+        testFolder.create();
+        spillDirectory = testFolder.getRoot().toPath().resolve("logs");
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testSpillAndRead() throws IOException {
+
+        SegmentedLogStore store = new SegmentedLogStore(16, 2, spillDirectory);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String line = "line " + i + "\n";
+            store.write(line.getBytes(StandardCharsets.UTF_8));
+            expected.append(line);
+        }
+        store.close();
+
+        Assertions.assertEquals(expected.length(), store.size());
+        Assertions.assertEquals(100, store.getLineCount());
+        // The spill file is unlinked right after opening on some platforms, but is still written
+        Assertions.assertTrue(Files.isDirectory(spillDirectory));
+        Assertions.assertTrue(countFiles() <= 1);
+
+        Assertions.assertEquals(expected.toString(), store.readAll());
+        Assertions.assertEquals(expected.substring(5, 45), store.readString(5, 40));
+        Assertions.assertEquals(List.of("line 0", "line 1"), store.readLines(0, 2));
+        Assertions.assertEquals(List.of("line 41", "line 42", "line 43"), store.readLines(41, 3));
+        Assertions.assertEquals(List.of("line 99"), store.readLines(99, 10));
+        Assertions.assertTrue(store.readLines(100, 10).isEmpty());
+
+        store.write("tail".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(101, store.getLineCount());
+        Assertions.assertEquals(List.of("line 99", "tail"), store.readLines(99, 10));
+
+        store.reset();
+        Assertions.assertEquals(0, store.size());
+        Assertions.assertEquals(0, countFiles());
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testInMemory() throws IOException {
+
+        SegmentedLogStore store = new SegmentedLogStore(8, 3, null);
+        store.write("first\nsecond line\nthird".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(3, store.getLineCount());
+        Assertions.assertEquals(List.of("second line", "third"), store.readLines(1, 5));
+        Assertions.assertFalse(Files.exists(spillDirectory));
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testDropWithoutSpillDirectory() throws IOException {
+
+        SegmentedLogStore store = new SegmentedLogStore(8, 2, null);
+        writeLines(store);
+
+        Assertions.assertEquals(20, store.getLineCount());
+        Assertions.assertEquals(18, store.getFirstLine());
+        Assertions.assertEquals(List.of("line 28", "line 29"), store.readLines(0, 10));
+        Assertions.assertEquals("line 28\nline 29\n", store.readAll());
+        Assertions.assertTrue(store.search(LogQuery.contains("line 1"), 10).isEmpty());
+        Assertions.assertEquals(List.of(new LogLine(19, "line 29")), store.search(LogQuery.contains("line 29"), 10));
+        Assertions.assertFalse(Files.exists(spillDirectory));
+
+        // the line partly dropped with the first segment is skipped
+        SegmentedLogStore single = new SegmentedLogStore(8, 1, null);
+        single.write("abcdefghij\nxyz\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, single.getFirstLine());
+        Assertions.assertEquals(List.of("xyz"), single.readLines(0, 10));
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testSpillRing() throws IOException {
+
+        SegmentedLogStore store = new SegmentedLogStore(8, 2, 4, spillDirectory);
+        writeLines(store);
+
+        Assertions.assertEquals(20, store.getLineCount());
+        Assertions.assertEquals(16, store.getFirstLine());
+        Assertions.assertEquals(List.of("line 26", "line 27", "line 28", "line 29"), store.readLines(0, 10));
+        Assertions.assertEquals(List.of("line 27", "line 28"), store.readLines(17, 2));
+        Assertions.assertEquals(List.of(new LogLine(16, "line 26")), store.search(LogQuery.contains("line 26"), 10));
+        // the spill file holds two segments only
+        Assertions.assertTrue(spilledBytes() <= 16);
+    }
+
+    /**
+     * Write twenty lines of eight bytes, each line takes a segment of eight bytes
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static void writeLines(SegmentedLogStore store) throws IOException {
+        for (int i = 10; i < 30; i++) {
+            store.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private long spilledBytes() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+        }
+    }
+
+    private long countFiles() throws IOException {
+        if (!Files.isDirectory(spillDirectory)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.map(Path::toFile).filter(File::isFile).count();
+        }
+    }
+
+    @AfterEach
+    public void after() {
+        testFolder.delete();
+    }
+}
@@ -0,0 +1,204 @@
+package jworkspace.runtime;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import jworkspace.runtime.logging.BatchingLogDispatcher;
+
+public class TaskLogsTest {
+
+    private static final String PREFIX = "(?m)^\\d+: ";
+
+    @Test
+    public void testLineFraming() throws IOException {
+
+        LogTask task = new LogTask();
+        List<String> received = new ArrayList<>();
+        task.setLogStreamListener(received::add);
+
+        byte[] bytes = "first line\nsecondü line\nthird".getBytes(StandardCharsets.UTF_8);
+        OutputStream out = task.getLogsOutputStream();
+        // split the input in the middle of lines and of a multibyte character
+        out.write(bytes, 0, 4);
+        out.write(bytes, 4, 14);
+        out.write(bytes[18]);
+        out.write(bytes, 19, bytes.length - 19);
+        out.close();
+
+        Assertions.assertEquals("first line\nsecondü line\nthird\n", task.getLogs().replaceAll(PREFIX, ""));
+        Assertions.assertEquals(3, received.size());
+        Assertions.assertTrue(received.get(1).matches("\\d+: secondü line\n"));
+        Assertions.assertEquals(List.of("secondü line", "third"),
+            task.getLogLines(1, 2).stream().map(line -> line.replaceAll(PREFIX, "")).toList());
+    }
+
+    @Test
+    public void testLogMessage() {
+
+        LogTask task = new LogTask();
+        task.log("one\r\n\r\ntwo\n\n");
+        task.log("");
+        task.log("three");
+
+        Assertions.assertEquals("one\n\ntwo\nthree\n", task.getLogs().replaceAll(PREFIX, ""));
+        Assertions.assertEquals(4, task.getLogLineCount());
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testBatchedDelivery() throws InterruptedException {
+
+        List<String> chunks = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        StringBuilder expected = new StringBuilder();
+
+        try (BatchingLogDispatcher dispatcher = new BatchingLogDispatcher(chunk -> {
+            chunks.add(chunk);
+            if (String.join("", chunks).endsWith("line 999\n")) {
+                delivered.countDown();
+            }
+        })) {
+            for (int i = 0; i < 1000; i++) {
+                String line = "line " + i + "\n";
+                dispatcher.accept(line);
+                expected.append(line);
+            }
+            Assertions.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertEquals(expected.toString(), String.join("", chunks));
+        Assertions.assertTrue(chunks.size() < 1000);
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testSlowConsumer() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch skipped = new CountDownLatch(1);
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        try (BatchingLogDispatcher dispatcher = new BatchingLogDispatcher(chunk -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chunks.add(chunk);
+            if (chunk.contains("lines skipped")) {
+                skipped.countDown();
+            }
+        }, 10, 5, 10)) {
+            for (int i = 0; i < 100; i++) {
+                dispatcher.accept("line " + i + "\n");
+            }
+            release.countDown();
+            dispatcher.accept("last\n");
+            Assertions.assertTrue(skipped.await(10, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertTrue(String.join("", chunks).split("\n").length < 100);
+    }
+
+    /**
+     * The bulk framing produces exactly the bytes and lines of the former per-byte framing.
+     * Its throughput is measured by the opt-in benchmark, see {@code LogFramingBenchmark}.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    @Test
+    public void testFramingMatchesPerByteFraming() throws IOException {
+
+        byte[] bytes = "INFO: a typical line of a process output with some payload\nü\n\ntail"
+            .repeat(64).getBytes(StandardCharsets.UTF_8);
+
+        LogTask task = new LogTask();
+        List<String> received = new ArrayList<>();
+        task.setLogStreamListener(received::add);
+
+        ByteArrayOutputStream perByte = new ByteArrayOutputStream();
+        List<String> perByteReceived = new ArrayList<>();
+        PerByteLogFraming framing = new PerByteLogFraming(perByte, task::getElapsedTime, perByteReceived::add);
+
+        // uneven chunks split lines and multibyte characters at different offsets
+        OutputStream out = task.getLogsOutputStream();
+        int off = 0;
+        int len = 1;
+        while (off < bytes.length) {
+            int n = Math.min(len, bytes.length - off);
+            out.write(bytes, off, n);
+            framing.write(bytes, off, n);
+            off += n;
+            len = len * 3 % 97 + 1;
+        }
+        out.write(AbstractTask.EOL);
+        framing.write(AbstractTask.EOL);
+        out.flush();
+
+        Assertions.assertEquals(perByte.toString(StandardCharsets.UTF_8), task.getLogs());
+        Assertions.assertEquals(perByteReceived, received);
+    }
+
+    private static final class LogTask extends AbstractTask {
+
+        private static final long ELAPSED_TIME = 42;
+
+        LogTask() {
+            super("Log task");
+        }
+
+        @Override
+        public long getElapsedTime() {
+            return ELAPSED_TIME;
+        }
+
+        @Override
+        public void run() {
+            // nothing to run
+        }
+
+        @Override
+        public boolean isAlive() {
+            return false;
+        }
+
+        @Override
+        public void stop() {
+            // nothing to stop
+        }
+    }
+}
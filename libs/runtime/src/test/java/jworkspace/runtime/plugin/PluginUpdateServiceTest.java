@@ -0,0 +1,195 @@
+package jworkspace.runtime.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.hyperrealm.kiwi.plugin.PluginDTO;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class PluginUpdateServiceTest {
+
+    private static final String RELEASE_PATH = "/repos/owner/repo/releases/latest";
+
+    private static final String SLOW_RELEASE_PATH = "/repos/owner/slow/releases/latest";
+
+    /** All requests by path */
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    /** Requests answered with 304 Not Modified by path */
+    private final Map<String, AtomicInteger> notModified = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private Path cacheDirectory;
+
+    @BeforeEach
+    void before() throws IOException {
+        cacheDirectory = Files.createTempDirectory("updates");
+
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(RELEASE_PATH, exchange -> serve(exchange, release(), "\"release-1\""));
+        server.createContext("/download/", exchange -> serve(exchange, jar(), "\"jar-1\""));
+        server.createContext(SLOW_RELEASE_PATH, exchange -> {
+            count(requests, exchange);
+            try {
+                Thread.sleep(Duration.ofSeconds(5).toMillis());
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @Test
+    @DisplayName("Should request the release of a repository once for all its plugins")
+    void testDeduplicatedChecks() {
+        PluginDTO alpha = plugin("Alpha", "repo");
+        PluginDTO beta = plugin("Beta", "repo");
+        PluginDTO gamma = plugin("Gamma", "repo");
+
+        Map<PluginDTO, Boolean> result;
+        try (PluginUpdateService service = service()) {
+            result = service.findUpdates(List.of(alpha, beta, gamma));
+        }
+
+        assertEquals(3, result.size());
+        assertTrue(result.get(alpha));
+        assertTrue(result.get(beta));
+        assertFalse(result.get(gamma), "There is no asset for the plugin in the release");
+        assertEquals("2.0.0", alpha.getUpdateVersion().version());
+        assertNull(gamma.getUpdateVersion());
+
+        assertEquals(1, requests.get(RELEASE_PATH).get());
+        assertEquals(1, requests.get("/download/alpha_2.0.0.jar").get());
+        assertEquals(1, requests.get("/download/beta_2.0.0.jar").get());
+    }
+
+    @Test
+    @DisplayName("Should revalidate cached metadata and skip manifests of an unchanged release")
+    void testConditionalRequests() {
+        try (PluginUpdateService service = service()) {
+            service.findUpdates(List.of(plugin("Alpha", "repo")));
+        }
+
+        // A new session with the same cache directory
+        PluginDTO alpha = plugin("Alpha", "repo");
+        Map<PluginDTO, Boolean> result;
+        try (PluginUpdateService service = service()) {
+            result = service.findUpdates(List.of(alpha));
+        }
+
+        assertTrue(result.get(alpha));
+        assertEquals("2.0.0", alpha.getUpdateVersion().version());
+        assertEquals(2, requests.get(RELEASE_PATH).get());
+        assertEquals(1, notModified.get(RELEASE_PATH).get());
+        assertEquals(1, requests.get("/download/alpha_2.0.0.jar").get());
+    }
+
+    @Test
+    @DisplayName("Should leave out plugins which repositories do not respond in time")
+    void testTimeout() {
+        PluginDTO alpha = plugin("Alpha", "repo");
+        PluginDTO slow = plugin("Slow", "slow");
+
+        long start = System.currentTimeMillis();
+        Map<PluginDTO, Boolean> result;
+        try (PluginUpdateService service =
+                 new PluginUpdateService(cacheDirectory, url(""), Duration.ofMillis(500), 4)) {
+            result = service.findUpdates(List.of(alpha, slow));
+        }
+
+        assertTrue(System.currentTimeMillis() - start < Duration.ofSeconds(4).toMillis());
+        assertTrue(result.get(alpha));
+        assertFalse(result.containsKey(slow));
+    }
+
+    private PluginUpdateService service() {
+        return new PluginUpdateService(cacheDirectory, url(""), Duration.ofSeconds(5), 2);
+    }
+
+    private PluginDTO plugin(String name, String repository) {
+        return new PluginDTO("test." + name, name, name, null, null, null, null, "1.0.0",
+            "https://github.com/owner/" + repository);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private String release() {
+        return """
+            {"id": 1, "tag_name": "v2.0.0", "name": "2.0.0", "prerelease": false,
+             "assets": [
+               {"id": 10, "name": "alpha_2.0.0.jar", "browser_download_url": "%s"},
+               {"id": 11, "name": "beta_2.0.0.jar", "browser_download_url": "%s"}
+             ]}
+            """.formatted(url("/download/alpha_2.0.0.jar"), url("/download/beta_2.0.0.jar"));
+    }
+
+    private static byte[] jar() throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Implementation-Version", "2.0.0");
+        manifest.getMainAttributes().putValue("Build-Number", "12");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JarOutputStream(out, manifest).close();
+        return out.toByteArray();
+    }
+
+    private void serve(HttpExchange exchange, Object content, String etag) throws IOException {
+        count(requests, exchange);
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            count(notModified, exchange);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = content instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : (byte[]) content;
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void count(Map<String, AtomicInteger> counters, HttpExchange exchange) {
+        counters.computeIfAbsent(exchange.getRequestURI().getPath(), path -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @AfterEach
+    void after() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package jworkspace.runtime;
+
+/**
+ * @author Anton Troshin
+ */
+public class TestRunnablePlugin implements Runnable {
+
+    @Override
+    public void run() {
+        // the workspace runs the plugin, there is nothing to do
+    }
+}
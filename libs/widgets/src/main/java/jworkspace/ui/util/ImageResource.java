@@ -0,0 +1,92 @@
+package jworkspace.ui.util;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+
+/**
+ * An image found by {@link ResourceScanner}, which can be read again later without scanning.
+ * <p>
+ * The size and the stamp change when the image changes: the stamp is the modification time of a file
+ * or the CRC of an entry in an archive, whose modification time is not reliable.
+ * </p>
+ *
+ * @param name  the plain file name of the image
+ * @param uri   the location of the image, a file or an entry in an archive
+ * @param size  the size of the image data in bytes
+ * @param stamp the modification time of a file, or the CRC of an archive entry
+ */
+public record ImageResource(String name, URI uri, long size, long stamp) {
+
+    private static final String ZIP_ATTRIBUTES = "zip:size,crc";
+
+    /**
+     * Describe an image file.
+     *
+     * @param file the file
+     * @return the image resource
+     * @throws IOException if the file attributes can't be read
+     */
+    public static ImageResource of(File file) throws IOException {
+        return of(file.toPath());
+    }
+
+    /**
+     * Describe an image file or an entry of an archive opened as a file system.
+     *
+     * @param path the file or the entry
+     * @return the image resource
+     * @throws IOException if the attributes can't be read
+     */
+    public static ImageResource of(Path path) throws IOException {
+        Path fileNameNode = path.getFileName();
+        String name = (fileNameNode != null) ? fileNameNode.toString() : "";
+        // the URI of an archive entry stays readable as a jar: URL after its file system is closed
+        if ("jar".equals(path.getFileSystem().provider().getScheme())) {
+            Map<String, Object> attributes = Files.readAttributes(path, ZIP_ATTRIBUTES);
+            return new ImageResource(name, path.toUri(),
+                ((Number) attributes.get("size")).longValue(), ((Number) attributes.get("crc")).longValue());
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new ImageResource(name, path.toUri(), attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Open the image data.
+     *
+     * @return the stream to read the image from, the caller closes it
+     * @throws IOException if the image is gone or can't be read
+     */
+    public InputStream openStream() throws IOException {
+        return uri.toURL().openStream();
+    }
+}
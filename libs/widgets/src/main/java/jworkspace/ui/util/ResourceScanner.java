@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import lombok.extern.java.Log;
@@ -53,8 +54,22 @@ public class ResourceScanner {
     /**
      * Scans a target path inside the Classloader environment recursively.
      */
-    @SuppressWarnings({"checkstyle:MultipleStringLiterals", "checkstyle:ReturnCount"})
     public void scanClasspathFolder(String targetDir, ResourceHandler handler) {
+        visitClasspathFolder(targetDir, file -> processSinglePath(file, handler));
+    }
+
+    /**
+     * Lists the images under a target path inside the Classloader environment recursively,
+     * without reading them.
+     */
+    public List<ImageResource> listClasspathFolder(String targetDir) {
+        List<ImageResource> resources = new ArrayList<>();
+        visitClasspathFolder(targetDir, file -> addResource(resources, file));
+        return resources;
+    }
+
+    @SuppressWarnings({"checkstyle:MultipleStringLiterals", "checkstyle:ReturnCount"})
+    private void visitClasspathFolder(String targetDir, Consumer<Path> visitor) {
         ClassLoader classLoader = ResourceScanner.class.getClassLoader();
         if (classLoader == null) {
             classLoader = Thread.currentThread().getContextClassLoader();
@@ -76,20 +91,20 @@ public class ResourceScanner {
             if (uri.toString().endsWith("_index.txt")) {
                 if ("jar".equals(uri.getScheme())) {
                     try (FileSystem fs = getOrCreateFileSystem(uri)) {
-                        scanPathRecursively(fs.getPath("/" + targetDir), handler);
+                        visitPathRecursively(fs.getPath("/" + targetDir), visitor);
                     }
                 } else {
-                    scanPathRecursively(Paths.get(uri).getParent(), handler);
+                    visitPathRecursively(Paths.get(uri).getParent(), visitor);
                 }
                 return;
             }
 
             if ("jar".equals(uri.getScheme())) {
                 try (FileSystem fs = getOrCreateFileSystem(uri)) {
-                    scanPathRecursively(fs.getPath("/" + targetDir), handler);
+                    visitPathRecursively(fs.getPath("/" + targetDir), visitor);
                 }
             } else if ("file".equals(uri.getScheme())) {
-                scanPathRecursively(Paths.get(uri), handler);
+                visitPathRecursively(Paths.get(uri), visitor);
             }
         } catch (Exception ex) {
             log.warning("Failed processing classpath folder exploration: " + ex.getMessage());
@@ -111,6 +126,26 @@ public class ResourceScanner {
         }
     }
 
+    /**
+     * Lists the images in a directory, recursively, or in a JAR/ZIP archive without reading them.
+     */
+    public List<ImageResource> listFile(File file) {
+        List<ImageResource> resources = new ArrayList<>();
+        if (file.isDirectory()) {
+            visitPathRecursively(file.toPath(), path -> addResource(resources, path));
+        } else {
+            String path = file.getPath().toLowerCase();
+            if (path.endsWith("jar") || path.endsWith("zip")) {
+                try (FileSystem fs = FileSystems.newFileSystem(file.toPath(), (ClassLoader) null)) {
+                    visitPathRecursively(fs.getPath("/"), entry -> addResource(resources, entry));
+                } catch (IOException ex) {
+                    log.warning("Failed to open archive system for scan: " + ex.getMessage());
+                }
+            }
+        }
+        return resources;
+    }
+
     @SuppressWarnings("checkstyle:MagicNumber")
     private void scanDirectory(File directory, BiConsumer<Float, String> progressUpdate, ResourceHandler handler) {
         List<Path> allFiles = collectValidFiles(directory.toPath());
@@ -149,14 +184,11 @@ public class ResourceScanner {
         }
     }
 
-    private void scanPathRecursively(Path folderPath, ResourceHandler handler) {
+    private void visitPathRecursively(Path folderPath, Consumer<Path> visitor) {
         if (!Files.exists(folderPath)) {
             return;
         }
-        List<Path> targetFiles = collectValidFiles(folderPath);
-        for (Path file : targetFiles) {
-            processSinglePath(file, handler);
-        }
+        collectValidFiles(folderPath).forEach(visitor);
     }
 
     private List<Path> collectValidFiles(Path root) {
@@ -181,6 +213,15 @@ public class ResourceScanner {
         }
     }
 
+
+    private static void addResource(List<ImageResource> resources, Path file) {
+        try {
+            resources.add(ImageResource.of(file));
+        } catch (IOException ex) {
+            log.warning("Error reading resource attributes: " + file);
+        }
+    }
+
     private boolean isImageFile(Path file) {
         String name = file.getFileName().toString().toLowerCase();
         return name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".gif");
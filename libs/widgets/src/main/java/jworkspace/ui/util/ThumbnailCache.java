@@ -0,0 +1,396 @@
+package jworkspace.ui.util;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Persistent cache of image previews shared by the image pickers.
+ * <p>
+ * Every preview is kept in its own file named by the SHA-256 hash of the image location, size and stamp
+ * and of the preview size, so a changed image gets a new preview. The file holds a short header with
+ * the size of the source image followed by the preview as a PNG. The least recently used previews are
+ * deleted when the files take more than the maximum size; the use is recorded in the modification time
+ * of the files, so the order survives restarts.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+@Log
+public class ThumbnailCache {
+
+    /**
+     * Directory of the cache in the workspace home
+     */
+    public static final String THUMBNAILS_DIRECTORY = "thumbnails";
+
+    /**
+     * System property with the maximum size of the cache in bytes
+     */
+    public static final String MAX_SIZE_PROPERTY = "jworkspace.thumbnails.size";
+
+    /**
+     * Default maximum size of the cache in bytes
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    private static final String EXTENSION = ".thumb";
+
+    /**
+     * Extension of the files a preview is written to before it is moved in place
+     */
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * "JWTH" at the start of every file
+     */
+    private static final int MAGIC = 0x4A575448;
+
+    private static final int VERSION = 1;
+
+    private static final String FORMAT = "png";
+
+    /**
+     * Reads previews for {@link #load(File, int)}, off the event dispatch thread
+     */
+    private static final Executor LOADER = task -> Thread.ofVirtual().name("thumbnail-loader").start(task);
+
+    private static volatile ThumbnailCache defaultCache;
+
+    @Getter
+    private final Path directory;
+
+    @Getter
+    private final long maxSize;
+
+    /**
+     * Sizes of the files by their names, the least recently used first
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalSize;
+
+    private boolean indexed;
+
+    public ThumbnailCache(Path directory) {
+        this(directory, Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+    }
+
+    public ThumbnailCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the cache shared by the image pickers, in the default workspace home unless another one is set.
+     *
+     * @return the cache
+     */
+    public static ThumbnailCache getDefault() {
+        ThumbnailCache cache = defaultCache;
+        if (cache == null) {
+            synchronized (ThumbnailCache.class) {
+                if (defaultCache == null) {
+                    defaultCache = new ThumbnailCache(
+                        Path.of(System.getProperty("user.home"), ".jworkspace", THUMBNAILS_DIRECTORY)
+                    );
+                }
+                cache = defaultCache;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Set the cache shared by the image pickers.
+     *
+     * @param cache the cache
+     */
+    public static void setDefault(ThumbnailCache cache) {
+        defaultCache = cache;
+    }
+
+    /**
+     * Get the preview of an image, reading the image only if the preview is not cached.
+     *
+     * @param resource the image
+     * @param size     the side of the square the preview fits in
+     * @return the preview, or null if the resource is not a readable image
+     * @throws IOException if the image can't be read
+     */
+    public ImagePreview get(ImageResource resource, int size) throws IOException {
+        String name = name(resource, size);
+        if (use(name)) {
+            ImagePreview cached = read(directory.resolve(name));
+            if (cached != null) {
+                return cached;
+            }
+            remove(name);
+        }
+
+        ImagePreview preview;
+        try (InputStream in = resource.openStream()) {
+            preview = Thumbnails.read(in, size);
+        }
+        if (preview != null) {
+            store(name, preview);
+        }
+        return preview;
+    }
+
+    /**
+     * Get the preview of an image file off the event dispatch thread.
+     *
+     * @param file the image file
+     * @param size the side of the square the preview fits in
+     * @return the future preview, completed exceptionally if the file cannot be read or is not an image
+     */
+    public CompletableFuture<ImagePreview> load(File file, int size) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ImagePreview preview = get(ImageResource.of(file), size);
+                if (preview == null) {
+                    throw new IOException("Unsupported image format: " + file.getAbsolutePath());
+                }
+                return preview;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, LOADER);
+    }
+
+    /**
+     * Get the size of the cached previews.
+     *
+     * @return the size of the files in bytes
+     */
+    public synchronized long getTotalSize() {
+        index();
+        return totalSize;
+    }
+
+    /**
+     * Get the number of the cached previews.
+     *
+     * @return the number of files
+     */
+    public synchronized int getCount() {
+        index();
+        return entries.size();
+    }
+
+    /**
+     * Mark the file as the most recently used one.
+     *
+     * @return false if the file is not in the cache
+     */
+    private synchronized boolean use(String name) {
+        index();
+        if (entries.get(name) == null) {
+            return false;
+        }
+        try {
+            Files.setLastModifiedTime(directory.resolve(name), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.log(Level.FINE, "Cannot touch thumbnail " + name, e);
+        }
+        return true;
+    }
+
+    private synchronized void remove(String name) {
+        Long size = entries.remove(name);
+        if (size != null) {
+            totalSize -= size;
+            delete(name);
+        }
+    }
+
+    private void store(String name, ImagePreview preview) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(preview.width());
+            out.writeInt(preview.height());
+            if (!ImageIO.write(preview.image(), FORMAT, out)) {
+                return;
+            }
+        } catch (IOException e) {
+            return;
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, name, TEMP_EXTENSION);
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the preview is still shown, only not kept
+            log.log(Level.FINE, "Cannot store thumbnail in " + directory, e);
+            return;
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.log(Level.FINE, "Cannot delete " + temp, e);
+                }
+            }
+        }
+        added(name, bytes.size());
+    }
+
+    private synchronized void added(String name, long size) {
+        index();
+        Long previous = entries.put(name, size);
+        totalSize += size - (previous == null ? 0 : previous);
+        evict();
+    }
+
+    /**
+     * Delete the least recently used files over the maximum size, except for the last one added.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalSize > maxSize && entries.size() > 1) {
+            Map.Entry<String, Long> entry = eldest.next();
+            totalSize -= entry.getValue();
+            eldest.remove();
+            delete(entry.getKey());
+        }
+    }
+
+    /**
+     * Read the sizes and the last use of the files the first time the cache is used. Temporary files
+     * left by writes which didn't complete are deleted.
+     */
+    private void index() {
+        if (indexed) {
+            return;
+        }
+        indexed = true;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        record Stored(String name, long size, long used) {}
+        List<Stored> stored = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(EXTENSION)) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    stored.add(new Stored(name, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                } else if (name.endsWith(TEMP_EXTENSION)) {
+                    delete(name);
+                }
+            }
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Cannot read thumbnails in " + directory, e);
+        }
+        stored.sort(Comparator.comparingLong(Stored::used));
+        for (Stored file : stored) {
+            entries.put(file.name(), file.size());
+            totalSize += file.size();
+        }
+        evict();
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            log.log(Level.FINE, "Cannot delete thumbnail " + name, e);
+        }
+    }
+
+    /**
+     * Read a stored preview.
+     *
+     * @return the preview, or null if the file is gone, broken or of another version
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private static ImagePreview read(Path file) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                return null;
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            BufferedImage image = ImageIO.read(in);
+            return image == null ? null : new ImagePreview(image, width, height);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.log(Level.FINE, "Cannot read thumbnail " + file, e);
+            return null;
+        }
+    }
+
+    private static String name(ImageResource resource, int size) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String key = resource.uri() + "\n" + resource.size() + "\n" + resource.stamp() + "\n" + size;
+        return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + EXTENSION;
+    }
+}
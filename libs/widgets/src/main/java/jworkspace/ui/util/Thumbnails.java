@@ -0,0 +1,104 @@
+package jworkspace.ui.util;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+/**
+ * Reads small previews of images. The decoder skips the source pixels the preview doesn't need,
+ * so a preview of a large image costs a fraction of the time and memory of reading it whole.
+ */
+public final class Thumbnails {
+
+    private Thumbnails() {}
+
+    /**
+     * Read a preview of an image fitting in a square.
+     *
+     * @param in   the image data, not closed
+     * @param size the side of the square in pixels
+     * @return the preview, or null if the data is not a readable image
+     * @throws IOException if the data can't be read
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    public static ImagePreview read(InputStream in, int size) throws IOException {
+        // buffered in memory, ImageIO would copy the stream to a temporary file while its cache is on
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                // decode at least the size of the preview and scale down the rest smoothly
+                int step = Math.max(1, Math.max(width, height) / size);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return new ImagePreview(fit(reader.read(0, param), size), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale an image down to fit in a square, keeping its proportions.
+     *
+     * @param image the image
+     * @param size  the side of the square in pixels
+     * @return the scaled image, or the image itself if it already fits
+     */
+    public static BufferedImage fit(BufferedImage image, int size) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        if (w <= size && h <= size) {
+            return image;
+        }
+        double scale = (double) size / Math.max(w, h);
+        int sw = Math.max(1, (int) Math.round(w * scale));
+        int sh = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage scaled = new BufferedImage(sw, sh, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.drawImage(image, 0, 0, sw, sh, null);
+        g2.dispose();
+        return scaled;
+    }
+}
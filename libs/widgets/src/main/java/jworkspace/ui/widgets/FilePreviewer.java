@@ -28,43 +28,50 @@ package jworkspace.ui.widgets;
 
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Image;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 import javax.swing.JFileChooser;
 
+import jworkspace.ui.util.ImagePreview;
+import jworkspace.ui.util.ImageResource;
+import jworkspace.ui.util.ThumbnailCache;
+
 /**
  * File previewer works with graphic files, allowing thumbnails in JFileDialog.
+ * Thumbnails are taken from the {@link ThumbnailCache}.
  * @author Anton Troshin
  */
 @SuppressWarnings("MagicNumber")
 public class FilePreviewer extends JComponent implements PropertyChangeListener {
 
+    private static final int THUMBNAIL_SIZE = 180;
+
     private ImageIcon thumbnail = null;
 
     private File f = null;
 
+    /**
+     * Whether the selected file has been tried, so files which are not images are read only once
+     */
+    private boolean loaded = false;
+
     public FilePreviewer(JFileChooser fc) {
         setPreferredSize(new Dimension(200, 50));
         fc.addPropertyChangeListener(this);
     }
 
     private void loadImage() {
-        if (f != null) {
-            Image image;
+        loaded = true;
+        thumbnail = null;
+        if (f != null && f.isFile()) {
             try {
-                image = ImageIO.read(f);
-                ImageIcon tmpIcon = new ImageIcon(image);
-                if (tmpIcon.getIconWidth() > 90) {
-                    thumbnail = new ImageIcon(tmpIcon.getImage().getScaledInstance(180, -1,
-                        Image.SCALE_DEFAULT));
-                } else {
-                    thumbnail = tmpIcon;
+                ImagePreview preview = ThumbnailCache.getDefault().get(ImageResource.of(f), THUMBNAIL_SIZE);
+                if (preview != null) {
+                    thumbnail = new ImageIcon(preview.image());
                 }
             } catch (Exception e) {
                 thumbnail = null;
@@ -73,7 +80,7 @@ public class FilePreviewer extends JComponent implements PropertyChangeListener
     }
 
     public void paint(Graphics g) {
-        if (thumbnail == null) {
+        if (!loaded) {
             loadImage();
         }
         if (thumbnail != null) {
@@ -93,6 +100,7 @@ public class FilePreviewer extends JComponent implements PropertyChangeListener
         String prop = e.getPropertyName();
         if (prop.equals(JFileChooser.SELECTED_FILE_CHANGED_PROPERTY)) {
             f = (File) e.getNewValue();
+            loaded = false;
             if (isShowing()) {
                 loadImage();
                 repaint();
@@ -103,6 +111,7 @@ public class FilePreviewer extends JComponent implements PropertyChangeListener
     public void reset() {
         f = null;
         thumbnail = null;
+        loaded = false;
         repaint();
     }
 }
\ No newline at end of file
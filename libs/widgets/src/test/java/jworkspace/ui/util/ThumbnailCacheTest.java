@@ -0,0 +1,196 @@
+package jworkspace.ui.util;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.image.BufferedImage;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Anton Troshin
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class ThumbnailCacheTest {
+
+    private static final int SIZE = 16;
+
+    @TempDir
+    Path folder;
+
+    private Path thumbnails;
+
+    @BeforeEach
+    public void setUp() {
+        thumbnails = folder.resolve(ThumbnailCache.THUMBNAILS_DIRECTORY);
+    }
+
+    @Test
+    public void testHitAndMiss() throws IOException {
+        ThumbnailCache cache = new ThumbnailCache(thumbnails);
+        Path image = image("image.png", 64, 32);
+
+        ImagePreview preview = cache.get(ImageResource.of(image), SIZE);
+        Assertions.assertEquals(64, preview.width());
+        Assertions.assertEquals(32, preview.height());
+        Assertions.assertEquals(SIZE, preview.image().getWidth());
+        Assertions.assertEquals(1, cache.getCount());
+
+        // the image is not read again while its size and modification time are the same
+        spoil(image);
+        ImagePreview cached = cache.get(ImageResource.of(image), SIZE);
+        Assertions.assertNotNull(cached);
+        Assertions.assertEquals(64, cached.width());
+
+        // another preview size is a miss
+        Assertions.assertNull(cache.get(ImageResource.of(image), SIZE * 2));
+        Assertions.assertEquals(1, cache.getCount());
+    }
+
+    @Test
+    public void testChangedImage() throws IOException {
+        ThumbnailCache cache = new ThumbnailCache(thumbnails);
+        Path image = image("image.png", 64, 32);
+        FileTime modified = Files.getLastModifiedTime(image);
+        Assertions.assertEquals(64, cache.get(ImageResource.of(image), SIZE).width());
+
+        // the same size, another modification time
+        spoil(image);
+        Files.setLastModifiedTime(image, FileTime.fromMillis(modified.toMillis() + 60_000));
+        Assertions.assertNull(cache.get(ImageResource.of(image), SIZE));
+
+        // another size, the same modification time
+        long size = Files.size(image);
+        image("image.png", 256, 256);
+        Files.setLastModifiedTime(image, modified);
+        Assertions.assertNotEquals(size, Files.size(image));
+        Assertions.assertEquals(256, cache.get(ImageResource.of(image), SIZE).width());
+        Assertions.assertEquals(2, cache.getCount());
+    }
+
+    @Test
+    public void testEvictionOrderAfterRestart() throws IOException {
+        ThumbnailCache cache = new ThumbnailCache(thumbnails);
+        Path first = image("first.png", 20, 20);
+        Path second = image("second.png", 30, 30);
+        Path third = image("third.png", 40, 40);
+        Path firstThumbnail = store(cache, first);
+        Path secondThumbnail = store(cache, second);
+        Path thirdThumbnail = store(cache, third);
+
+        // the first image was used last, the second one before the others
+        Files.setLastModifiedTime(firstThumbnail, FileTime.fromMillis(3_000_000));
+        Files.setLastModifiedTime(secondThumbnail, FileTime.fromMillis(1_000_000));
+        Files.setLastModifiedTime(thirdThumbnail, FileTime.fromMillis(2_000_000));
+
+        ThumbnailCache restarted = new ThumbnailCache(thumbnails,
+            Files.size(firstThumbnail) + Files.size(thirdThumbnail));
+        Assertions.assertEquals(2, restarted.getCount());
+        Assertions.assertTrue(Files.exists(firstThumbnail));
+        Assertions.assertFalse(Files.exists(secondThumbnail));
+        Assertions.assertTrue(Files.exists(thirdThumbnail));
+
+        // the third image is the least recently used one now, a new preview evicts it
+        store(restarted, second);
+        Assertions.assertTrue(Files.exists(firstThumbnail));
+        Assertions.assertFalse(Files.exists(thirdThumbnail));
+    }
+
+    @Test
+    public void testBrokenFiles() throws IOException {
+        ThumbnailCache cache = new ThumbnailCache(thumbnails);
+        Path first = image("first.png", 20, 20);
+        Path second = image("second.png", 30, 30);
+        Path firstThumbnail = store(cache, first);
+        Path secondThumbnail = store(cache, second);
+
+        Files.write(firstThumbnail, new byte[] {1, 2, 3});
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(secondThumbnail))) {
+            // the magic of the cache files with another version
+            out.writeInt(0x4A575448);
+            out.writeByte(99);
+        }
+        Path temp = Files.writeString(thumbnails.resolve("unfinished.thumb.tmp"), "partial");
+
+        ThumbnailCache restarted = new ThumbnailCache(thumbnails);
+        Assertions.assertEquals(20, restarted.get(ImageResource.of(first), SIZE).width());
+        Assertions.assertEquals(30, restarted.get(ImageResource.of(second), SIZE).width());
+        Assertions.assertFalse(Files.exists(temp));
+        Assertions.assertEquals(2, restarted.getCount());
+
+        // the previews are written again
+        ThumbnailCache again = new ThumbnailCache(thumbnails);
+        spoil(first);
+        Assertions.assertEquals(20, again.get(ImageResource.of(first), SIZE).width());
+    }
+
+    /**
+     * Read the preview of the image through the cache.
+     *
+     * @return the file the cache keeps the preview in
+     */
+    private Path store(ThumbnailCache cache, Path image) throws IOException {
+        List<Path> before = thumbnails();
+        Assertions.assertNotNull(cache.get(ImageResource.of(image), SIZE));
+        List<Path> added = thumbnails().stream().filter(file -> !before.contains(file)).toList();
+        Assertions.assertEquals(1, added.size());
+        return added.getFirst();
+    }
+
+    private List<Path> thumbnails() throws IOException {
+        if (!Files.isDirectory(thumbnails)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(thumbnails)) {
+            return files.toList();
+        }
+    }
+
+    private Path image(String name, int width, int height) throws IOException {
+        Path file = folder.resolve(name);
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        return file;
+    }
+
+    /**
+     * Replace the image data with bytes which are not an image, keeping the size and the modification time.
+     */
+    private static void spoil(Path image) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(image);
+        Files.write(image, new byte[(int) Files.size(image)]);
+        Files.setLastModifiedTime(image, modified);
+    }
+}
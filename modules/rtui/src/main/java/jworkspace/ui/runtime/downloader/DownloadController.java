@@ -50,13 +50,19 @@ public abstract class DownloadController implements IDownloadListener {
         this.service = service;
     }
 
+    /**
+     * Adds the item to the table and registers its task with the runtime manager,
+     * so the logs of the download are searched along with the logs of other tasks.
+     */
     public void add(DownloadItem item) {
         this.model.addItem(item);
+        ServiceLocator.getInstance().getRuntimeManager().register(item.getTask());
     }
 
     public void start(int row) {
         DownloadItem item = model.getItem(row);
-        if (item.getStatus() == DownloadStatus.QUEUED) {
+        // Failed downloads are restarted, resumable ones continue from the downloaded segments
+        if (item.getStatus() == DownloadStatus.QUEUED || item.getStatus() == DownloadStatus.FAILED) {
             DownloadTask task = item.getTask();
             task.setListener(this);
             task.setPath(Path.of(
@@ -77,11 +83,15 @@ public abstract class DownloadController implements IDownloadListener {
 
     public void remove(int row) {
         DownloadItem item = model.getItem(row);
+        item.cleanupTempFile();
         try {
-            Files.deleteIfExists(item.getCompletedFile());
+            if (item.getCompletedFile() != null) {
+                Files.deleteIfExists(item.getCompletedFile());
+            }
         } catch (IOException e) {
             WorkspaceError.exception("Cannot delete downloaded file.", e);
         }
+        ServiceLocator.getInstance().getRuntimeManager().remove(item.getTask());
         model.removeRow(row);
     }
 
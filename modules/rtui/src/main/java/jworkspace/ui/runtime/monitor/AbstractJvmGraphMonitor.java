@@ -31,64 +31,74 @@ import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Line2D;
 import java.awt.image.BufferedImage;
-import java.util.List;
-
-import javax.swing.Timer;
+import java.util.function.DoubleSupplier;
 
 import com.hyperrealm.kiwi.ui.KPanel;
 
-
+/**
+ * Graph of a JVM metric. The metric is sampled by the shared {@link MonitorSampler}, the widget only
+ * paints the last points of its series, one point per pixel. A click switches to the next level
+ * of the series, showing a longer window with the minimum and the maximum of each point.
+ */
 public abstract class AbstractJvmGraphMonitor extends KPanel {
 
-    protected static final int UPDATE_MS = 1000;
     protected static final float SMOOTHING = 0.25f;
     protected static final float HEADROOM = 1.10f;
 
-    protected float[] pts;
-    protected int ptNum;
-    protected float last;
+    private static final int MAX_GC_MARKERS = 256;
+
+    private static final Color BAND_COLOR = new Color(128, 128, 0);
+
+    protected MetricSeries series;
+    protected final MetricSeries.Snapshot snapshot = new MetricSeries.Snapshot(0);
+    protected int level;
 
     protected int w, h, ascent, descent;
     protected BufferedImage buffer;
     protected Graphics2D g2;
 
     protected final Font font = new Font("Times New Roman", Font.PLAIN, 11);
-    protected final Timer timer;
+
+    private final long[] gcEvents = new long[MAX_GC_MARKERS];
+    private final Runnable repaintTask = this::repaint;
 
     protected AbstractJvmGraphMonitor() {
         setBackground(Color.black);
         setToolTipText(""); // enable tooltips
 
-        timer = new Timer(UPDATE_MS, e -> {
-            sample();
-            repaint();
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (series != null) {
+                    level = (level + 1) % series.getLevels();
+                    repaint();
+                }
+            }
         });
-        timer.start();
     }
 
     // ===== subclass API =====
-    protected abstract float sampleValue();
+    /**
+     * Create the source of samples of the metric. The source is called on the sampler thread, which keeps
+     * the source of the first widget shown for the life of the JVM, so it must not refer to the widget.
+     */
+    protected abstract DoubleSupplier sampleSource();
     protected abstract String title();
     protected abstract String unit();
 
-    // ===== sampling =====
-    protected void sample() {
-        if (pts == null) {
-            pts = new float[getPreferredSize().width];
-            ptNum = 0;
-        }
-
-        float v = sampleValue();
-        last = (last < 0) ? v : last + SMOOTHING * (v - last);
-        pts[ptNum] = last;
+    /**
+     * Get the name the metric is registered with in the sampler, the widget class by default.
+     */
+    protected String metricName() {
+        return getClass().getName();
+    }
 
-        if (++ptNum == pts.length) {
-            System.arraycopy(pts, 1, pts, 0, pts.length - 1);
-            ptNum--;
-        }
+    protected String format(float value) {
+        return String.format("%.1f %s", value, unit());
     }
 
     // ===== layout =====
@@ -110,6 +120,16 @@ public abstract class AbstractJvmGraphMonitor extends KPanel {
     public void addNotify() {
         super.addNotify();
         resizeBuffer();
+        MonitorSampler sampler = MonitorSampler.getInstance();
+        series = sampler.register(metricName(), sampleSource());
+        // repaint() is thread safe, it only schedules the painting
+        sampler.addListener(repaintTask);
+    }
+
+    @Override
+    public void removeNotify() {
+        MonitorSampler.getInstance().removeListener(repaintTask);
+        super.removeNotify();
     }
 
     @Override
@@ -140,7 +160,7 @@ public abstract class AbstractJvmGraphMonitor extends KPanel {
     @SuppressWarnings("checkstyle:MagicNumber")
     @Override
     public void paint(Graphics g) {
-        if (g2 == null) {
+        if (g2 == null || series == null) {
             return;
         }
 
@@ -153,6 +173,11 @@ public abstract class AbstractJvmGraphMonitor extends KPanel {
         int graphW = w - 10;
         int graphH = h - graphY - 5;
 
+        if (snapshot.capacity() != Math.max(graphW, 0)) {
+            snapshot.resize(Math.max(graphW, 0));
+        }
+        series.snapshot(level, snapshot);
+
         drawLegend(graphX);
         drawGrid(graphX, graphY, graphW, graphH);
         drawGcMarkers(graphX, graphY, graphW, graphH);
@@ -164,10 +189,11 @@ public abstract class AbstractJvmGraphMonitor extends KPanel {
     @SuppressWarnings("checkstyle:MagicNumber")
     protected void drawLegend(int x) {
         g2.setColor(Color.green);
-        g2.drawString(title(), x, ascent + 1);
+        g2.drawString(level == 0 ? title() : title() + " / " + resolution(), x, ascent + 1);
 
-        if (ptNum > 0) {
-            String cur = String.format("%.1f %s", pts[ptNum - 1], unit());
+        float last = series.last();
+        if (!Float.isNaN(last)) {
+            String cur = format(last);
             g2.drawString(cur, w - g2.getFontMetrics().stringWidth(cur) - 5,
                 ascent + 1);
         }
@@ -187,40 +213,46 @@ public abstract class AbstractJvmGraphMonitor extends KPanel {
     }
 
     protected void drawGcMarkers(int x, int y, int w, int h) {
-        List<Long> events =
-            GcEventTracker.recentEvents((long) UPDATE_MS * w);
+        long window = pointMillis() * w;
+        int count = GcEventTracker.recentEvents(window, gcEvents);
 
         long now = System.currentTimeMillis();
         g2.setColor(Color.magenta);
 
-        for (long t : events) {
-            int dx = (int) ((now - t) / (float) (UPDATE_MS * w) * w);
+        for (int i = 0; i < count; i++) {
+            int dx = (int) ((now - gcEvents[i]) / (float) window * w);
             int px = x + w - dx;
             g2.drawLine(px, y, px, y + h);
         }
     }
 
     protected void drawGraph(int x, int y, int w, int h) {
-        if (pts.length < w) {
-            pts = java.util.Arrays.copyOf(pts, w);
-        }
+        int n = snapshot.size();
 
         float max = 1f;
-        int start = Math.max(0, ptNum - w);
-        for (int i = start; i < ptNum; i++) {
-            max = Math.max(max, pts[i]);
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, snapshot.max(i));
         }
         max *= HEADROOM;
 
+        if (level > 0) {
+            // spread of the samples aggregated by each point
+            g2.setColor(BAND_COLOR);
+            for (int i = 0; i < n; i++) {
+                int cx = x + w - (n - i);
+                g2.drawLine(cx, toY(snapshot.min(i), max, y, h), cx, toY(snapshot.max(i), max, y, h));
+            }
+        }
+
         int px = -1, py = -1;
+        float value = Float.NaN;
         g2.setColor(Color.yellow);
 
-        for (int i = start; i < ptNum; i++) {
-            int cx = x + w - (ptNum - i);
-            float r = Math.min(1f, pts[i] / max);
-            int cy = y + (int) (h * (1 - r));
-
-            cy = Math.max(y, Math.min(y + h, cy));
+        for (int i = 0; i < n; i++) {
+            int cx = x + w - (n - i);
+            // raw samples are smoothed, aggregated points are averages already
+            value = Float.isNaN(value) || level > 0 ? snapshot.avg(i) : value + SMOOTHING * (snapshot.avg(i) - value);
+            int cy = toY(value, max, y, h);
 
             if (px >= 0) {
                 g2.drawLine(px, py, cx, cy);
@@ -230,21 +262,43 @@ public abstract class AbstractJvmGraphMonitor extends KPanel {
         }
     }
 
+    private static int toY(float value, float max, int y, int h) {
+        float r = Math.min(1f, value / max);
+        int cy = y + (int) (h * (1 - r));
+        return Math.max(y, Math.min(y + h, cy));
+    }
+
+    /**
+     * Get the time covered by one point of the current level.
+     */
+    protected long pointMillis() {
+        return MonitorSampler.getInstance().getInterval() * series.getFactor(level);
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private String resolution() {
+        long millis = pointMillis();
+        return millis % 60_000 == 0 ? millis / 60_000 + " min" : String.format("%.0f s", millis / 1000f);
+    }
+
     // ===== tooltip =====
     @SuppressWarnings({"checkstyle:ReturnCount", "checkstyle:MagicNumber"})
     @Override
     public String getToolTipText(MouseEvent e) {
-        if (pts == null || ptNum == 0) {
+        int n = snapshot.size();
+        if (series == null || n == 0) {
             return null;
         }
 
-        int graphW = w - 10;
-        int idx = ptNum - (w - e.getX());
-        if (idx < 0 || idx >= ptNum) {
+        int graphRight = w - 5;
+        int idx = n - (graphRight - e.getX());
+        if (idx < 0 || idx >= n) {
             return null;
         }
 
-        return String.format("%.2f %s", pts[idx], unit());
+        if (level == 0) {
+            return format(snapshot.avg(idx));
+        }
+        return format(snapshot.avg(idx)) + " (" + format(snapshot.min(idx)) + " - " + format(snapshot.max(idx)) + ")";
     }
 }
-
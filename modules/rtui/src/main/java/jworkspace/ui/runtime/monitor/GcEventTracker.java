@@ -2,14 +2,22 @@ package jworkspace.ui.runtime.monitor;
 
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import javax.management.NotificationEmitter;
 
+/**
+ * Timestamps of the last garbage collections, in a fixed size ring. Notification threads add
+ * timestamps without locks or copying, readers get the timestamps within a time window.
+ */
 public final class GcEventTracker {
 
-    private static final List<Long> GC_TIMESTAMPS = new CopyOnWriteArrayList<>();
+    private static final int CAPACITY = 256;
+
+    private static final AtomicLongArray GC_TIMESTAMPS = new AtomicLongArray(CAPACITY);
+
+    private static final AtomicLong COUNT = new AtomicLong();
 
     static {
         for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
@@ -17,7 +25,7 @@ public final class GcEventTracker {
             if (bean instanceof NotificationEmitter emitter) {
                 emitter.addNotificationListener((n, hb) -> {
                     if (n.getType().contains("gc")) {
-                        GC_TIMESTAMPS.add(System.currentTimeMillis());
+                        GC_TIMESTAMPS.set((int) (COUNT.getAndIncrement() % CAPACITY), System.currentTimeMillis());
                     }
                 }, null, null);
             }
@@ -26,9 +34,24 @@ public final class GcEventTracker {
 
     private GcEventTracker() {}
 
-    public static List<Long> recentEvents(long windowMs) {
+    /**
+     * Get the timestamps of the garbage collections within the window, the latest first.
+     *
+     * @param windowMs the window in milliseconds before now
+     * @param into     the array to fill
+     * @return the number of timestamps put into the array
+     */
+    public static int recentEvents(long windowMs, long[] into) {
         long now = System.currentTimeMillis();
-        GC_TIMESTAMPS.removeIf(t -> now - t > windowMs);
-        return GC_TIMESTAMPS;
+        long count = COUNT.get();
+        int size = 0;
+        for (long i = count - 1; i >= Math.max(0, count - CAPACITY) && size < into.length; i--) {
+            long t = GC_TIMESTAMPS.get((int) (i % CAPACITY));
+            if (now - t > windowMs) {
+                break;
+            }
+            into[size++] = t;
+        }
+        return size;
     }
 }
@@ -0,0 +1,240 @@
+package jworkspace.ui.runtime.monitor;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.java.Log;
+
+/**
+ * In-process Flight Recorder stream of the workspace JVM, to see why the desktop hitches without
+ * attaching a profiler. It is started only if the {@value #JFR_PROPERTY} system property is true.
+ * <p>
+ * The stream thread adds the events up into accumulators, which the {@link MonitorSampler} drains
+ * on every round as a rate per second, so the events are shown in the same graphs as the management
+ * beans. The overhead is bounded: allocations are sampled at a throttled rate, and blocking events
+ * are recorded only if they last longer than {@link #THRESHOLD}. Threads parked while they wait for work,
+ * like idle pool threads and queue consumers, are left out of the park time.
+ * </p>
+ */
+@Log
+public final class JfrEventSource {
+
+    /**
+     * System property to start the stream
+     */
+    public static final String JFR_PROPERTY = "jworkspace.monitor.jfr";
+
+    /**
+     * Shortest lock wait, thread park or I/O operation which is recorded
+     */
+    public static final Duration THRESHOLD = Duration.ofMillis(10);
+
+    private static final String ALLOCATION_THROTTLE = "100/s";
+
+    private static final String THREAD_PARK = "jdk.ThreadPark";
+
+    /**
+     * Classes of the objects threads park on while they wait for work: pools, hand-off queues and
+     * conditions, which blocking queues and scheduled executors wait for the next task with
+     */
+    private static final List<String> IDLE_PARKED_CLASSES = List.of(
+        "java.util.concurrent.ForkJoinPool",
+        "java.util.concurrent.SynchronousQueue",
+        "java.util.concurrent.LinkedTransferQueue",
+        "java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject",
+        "java.util.concurrent.locks.AbstractQueuedLongSynchronizer$ConditionObject"
+    );
+
+    /**
+     * How long the stream keeps its chunks on the disk
+     */
+    private static final Duration MAX_AGE = Duration.ofMinutes(1);
+
+    private static final double BYTES_IN_MB = 1024 * 1024;
+
+    private static final double MILLIS_IN_SECOND = 1000;
+
+    private static final double NANOS_IN_MILLI = 1_000_000;
+
+    private static JfrEventSource instance;
+
+    /**
+     * Megabytes allocated
+     */
+    private final DoubleAdder allocated = new DoubleAdder();
+
+    /**
+     * Milliseconds to reach safepoints and to run the operations at them
+     */
+    private final DoubleAdder safepoints = new DoubleAdder();
+
+    /**
+     * Milliseconds waited to enter monitors
+     */
+    private final DoubleAdder contention = new DoubleAdder();
+
+    /**
+     * Milliseconds threads were parked on locks and other synchronizers, except for idle waits
+     */
+    private final DoubleAdder parking = new DoubleAdder();
+
+    /**
+     * Milliseconds of file reads and writes
+     */
+    private final DoubleAdder fileIo = new DoubleAdder();
+
+    /**
+     * Milliseconds of socket reads and writes
+     */
+    private final DoubleAdder socketIo = new DoubleAdder();
+
+    private JfrEventSource() {}
+
+    /**
+     * Get the stream, starting it on the first call.
+     *
+     * @return the stream, or null if it is disabled or cannot be started
+     */
+    public static synchronized JfrEventSource getInstance() {
+        if (instance == null && Boolean.getBoolean(JFR_PROPERTY)) {
+            try {
+                JfrEventSource source = new JfrEventSource();
+                source.start();
+                instance = source;
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Cannot start the flight recorder stream", e);
+            }
+        }
+        return instance;
+    }
+
+    @SuppressWarnings("resource")
+    private void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.setMaxAge(MAX_AGE);
+        stream.setOrdered(false);
+
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", ALLOCATION_THROTTLE).withoutStackTrace();
+        stream.onEvent("jdk.ObjectAllocationSample", e -> allocated.add(e.getLong("weight") / BYTES_IN_MB));
+
+        stream.enable("jdk.SafepointBegin");
+        stream.onEvent("jdk.SafepointBegin", e -> safepoints.add(millis(e)));
+        stream.enable("jdk.ExecuteVMOperation");
+        stream.onEvent("jdk.ExecuteVMOperation", e -> {
+            if (e.getBoolean("safepoint")) {
+                safepoints.add(millis(e));
+            }
+        });
+
+        accumulate(stream, contention, "jdk.JavaMonitorEnter");
+        stream.enable(THREAD_PARK).withThreshold(THRESHOLD).withoutStackTrace();
+        stream.onEvent(THREAD_PARK, e -> {
+            if (!isIdle(e.getClass("parkedClass"))) {
+                parking.add(millis(e));
+            }
+        });
+        accumulate(stream, fileIo, "jdk.FileRead", "jdk.FileWrite");
+        accumulate(stream, socketIo, "jdk.SocketRead", "jdk.SocketWrite");
+
+        // startAsync() would run the stream on a thread which keeps the JVM alive
+        Thread.ofPlatform().name("jfr-monitor").daemon().start(stream::start);
+    }
+
+    private static void accumulate(RecordingStream stream, DoubleAdder adder, String... events) {
+        for (String event : events) {
+            stream.enable(event).withThreshold(THRESHOLD).withoutStackTrace();
+            stream.onEvent(event, e -> adder.add(millis(e)));
+        }
+    }
+
+    /**
+     * Whether the thread parked on the object waits for work, or parked without an object.
+     */
+    private static boolean isIdle(RecordedClass parkedClass) {
+        if (parkedClass == null) {
+            return true;
+        }
+        String name = parkedClass.getName();
+        return IDLE_PARKED_CLASSES.stream().anyMatch(idle -> name.equals(idle) || name.startsWith(idle + "$"));
+    }
+
+    private static double millis(RecordedEvent event) {
+        return event.getDuration().toNanos() / NANOS_IN_MILLI;
+    }
+
+    /**
+     * Megabytes allocated per second since the previous call
+     */
+    public DoubleSupplier allocationRate() {
+        return perSecond(allocated);
+    }
+
+    /**
+     * Milliseconds per second spent at safepoints since the previous call
+     */
+    public DoubleSupplier safepointTime() {
+        return perSecond(safepoints);
+    }
+
+    /**
+     * Milliseconds per second waited for contended monitors since the previous call
+     */
+    public DoubleSupplier contentionTime() {
+        return perSecond(contention);
+    }
+
+    /**
+     * Milliseconds per second threads were parked on locks and synchronizers since the previous call
+     */
+    public DoubleSupplier parkTime() {
+        return perSecond(parking);
+    }
+
+    /**
+     * Milliseconds per second of slow file I/O since the previous call
+     */
+    public DoubleSupplier fileIoTime() {
+        return perSecond(fileIo);
+    }
+
+    /**
+     * Milliseconds per second of slow socket I/O since the previous call
+     */
+    public DoubleSupplier socketIoTime() {
+        return perSecond(socketIo);
+    }
+
+    private static DoubleSupplier perSecond(DoubleAdder adder) {
+        return () -> adder.sumThenReset() * MILLIS_IN_SECOND / MonitorSampler.getInstance().getInterval();
+    }
+}
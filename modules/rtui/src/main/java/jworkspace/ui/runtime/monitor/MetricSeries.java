@@ -0,0 +1,268 @@
+package jworkspace.ui.runtime.monitor;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.lang.invoke.VarHandle;
+
+/**
+ * Time series of one metric, kept in fixed size rings of primitive floats.
+ * <p>
+ * Level 0 holds the raw samples. Every other level holds the minimum, the maximum and the average of
+ * a fixed number of consecutive raw samples, so a longer window is drawn from fewer points without
+ * losing the peaks. All levels have the same capacity, older points are overwritten.
+ * </p>
+ * <p>
+ * The series has a single writer, the {@link MonitorSampler} thread, and any number of readers.
+ * Readers never block the writer: they copy the points they need and retry if the writer
+ * has overwritten them meanwhile.
+ * </p>
+ */
+public final class MetricSeries {
+
+    /**
+     * Default number of points of each level
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Default number of raw samples per point of each level: raw, 10 and 60 samples
+     */
+    private static final int[] DEFAULT_FACTORS = {1, 10, 60};
+
+    private final int[] factors;
+
+    private final Ring[] rings;
+
+    /**
+     * Number of raw samples since the current point of each level has been started, the writer only
+     */
+    private final int[] pending;
+
+    private final float[] pendingMin;
+
+    private final float[] pendingMax;
+
+    private final double[] pendingSum;
+
+    public MetricSeries() {
+        this(DEFAULT_CAPACITY, DEFAULT_FACTORS);
+    }
+
+    /**
+     * Create a series.
+     *
+     * @param capacity number of points of each level
+     * @param factors  number of raw samples per point of each level, starting with 1 for the raw level
+     */
+    public MetricSeries(int capacity, int... factors) {
+        if (factors.length == 0 || factors[0] != 1) {
+            throw new IllegalArgumentException("The first level must hold the raw samples");
+        }
+        this.factors = factors.clone();
+        this.rings = new Ring[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            rings[i] = new Ring(capacity, i > 0);
+        }
+        this.pending = new int[factors.length];
+        this.pendingMin = new float[factors.length];
+        this.pendingMax = new float[factors.length];
+        this.pendingSum = new double[factors.length];
+    }
+
+    /**
+     * Add a raw sample. Must be called by one thread only.
+     *
+     * @param value the sample
+     */
+    public void add(float value) {
+        rings[0].add(value, value, value);
+        for (int level = 1; level < factors.length; level++) {
+            if (pending[level] == 0) {
+                pendingMin[level] = value;
+                pendingMax[level] = value;
+                pendingSum[level] = 0;
+            }
+            pendingMin[level] = Math.min(pendingMin[level], value);
+            pendingMax[level] = Math.max(pendingMax[level], value);
+            pendingSum[level] += value;
+            if (++pending[level] == factors[level]) {
+                rings[level].add(pendingMin[level], pendingMax[level],
+                    (float) (pendingSum[level] / factors[level]));
+                pending[level] = 0;
+            }
+        }
+    }
+
+    /**
+     * Get the number of levels.
+     *
+     * @return the number of levels
+     */
+    public int getLevels() {
+        return factors.length;
+    }
+
+    /**
+     * Get the number of raw samples per point of the level.
+     *
+     * @param level the level
+     * @return the number of raw samples
+     */
+    public int getFactor(int level) {
+        return factors[level];
+    }
+
+    /**
+     * Get the last raw sample.
+     *
+     * @return the last sample, or {@link Float#NaN} if there are none yet
+     */
+    public float last() {
+        return rings[0].last();
+    }
+
+    /**
+     * Copy the last points of the level, oldest first. At most a half of the level capacity
+     * can be copied at once.
+     *
+     * @param level    the level
+     * @param snapshot the snapshot to fill
+     */
+    public void snapshot(int level, Snapshot snapshot) {
+        rings[level].copy(snapshot);
+    }
+
+    /**
+     * Points copied from a level of a series. The arrays are reused by the following snapshots,
+     * so a widget can keep one snapshot and paint from it without allocating.
+     */
+    public static final class Snapshot {
+
+        private float[] min;
+
+        private float[] max;
+
+        private float[] avg;
+
+        private int size;
+
+        public Snapshot(int capacity) {
+            resize(capacity);
+        }
+
+        /**
+         * Change the maximum number of points to copy.
+         *
+         * @param capacity the number of points
+         */
+        public void resize(int capacity) {
+            min = new float[capacity];
+            max = new float[capacity];
+            avg = new float[capacity];
+            size = 0;
+        }
+
+        public int capacity() {
+            return avg.length;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public float min(int index) {
+            return min[index];
+        }
+
+        public float max(int index) {
+            return max[index];
+        }
+
+        public float avg(int index) {
+            return avg[index];
+        }
+    }
+
+    /**
+     * Ring of points of one level. The point values are written before the count is published,
+     * so a reader which has read the count sees all the values written before it.
+     */
+    private static final class Ring {
+
+        private final float[] min;
+
+        private final float[] max;
+
+        private final float[] avg;
+
+        private final int capacity;
+
+        private volatile long count;
+
+        Ring(int capacity, boolean aggregated) {
+            this.capacity = capacity;
+            this.avg = new float[capacity];
+            // raw samples have equal min, max and average
+            this.min = aggregated ? new float[capacity] : avg;
+            this.max = aggregated ? new float[capacity] : avg;
+        }
+
+        void add(float minimum, float maximum, float average) {
+            long n = count;
+            int index = (int) (n % capacity);
+            min[index] = minimum;
+            max[index] = maximum;
+            avg[index] = average;
+            count = n + 1;
+        }
+
+        float last() {
+            long n = count;
+            return n == 0 ? Float.NaN : avg[(int) ((n - 1) % capacity)];
+        }
+
+        void copy(Snapshot snapshot) {
+            int size = Math.min(snapshot.capacity(), capacity / 2);
+            for (;;) {
+                long end = count;
+                int n = (int) Math.min(size, end);
+                long start = end - n;
+                for (int i = 0; i < n; i++) {
+                    int index = (int) ((start + i) % capacity);
+                    snapshot.min[i] = min[index];
+                    snapshot.max[i] = max[index];
+                    snapshot.avg[i] = avg[index];
+                }
+                // the copied points are valid unless the writer has reached them, even if not published yet;
+                // the fence keeps the copy from being read after the count
+                VarHandle.acquireFence();
+                if (count - start < capacity) {
+                    snapshot.size = n;
+                    return;
+                }
+            }
+        }
+    }
+}
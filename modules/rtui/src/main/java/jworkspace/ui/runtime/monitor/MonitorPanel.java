@@ -35,6 +35,7 @@ import jworkspace.ui.runtime.monitor.widgets.ClassLoadingMonitor;
 import jworkspace.ui.runtime.monitor.widgets.CpuLoadMonitor;
 import jworkspace.ui.runtime.monitor.widgets.GcTimeMonitor;
 import jworkspace.ui.runtime.monitor.widgets.IPAddressPanel;
+import jworkspace.ui.runtime.monitor.widgets.JfrEventMonitor;
 import jworkspace.ui.runtime.monitor.widgets.MemoryMonitor;
 import jworkspace.ui.runtime.monitor.widgets.ThreadMonitor;
 
@@ -50,6 +51,7 @@ public class MonitorPanel extends KPanel {
         monitors.add(new Monitor(LangResource.getString("message#255"), new CpuLoadMonitor()));
         monitors.add(new Monitor(LangResource.getString("message#256"), new GcTimeMonitor()));
         monitors.add(new Monitor(LangResource.getString("message#257"), new ThreadMonitor()));
+        addJfrMonitors(monitors);
 
         setLayout(new BorderLayout());
         add(new HeaderPanel(), BorderLayout.NORTH);
@@ -60,4 +62,26 @@ public class MonitorPanel extends KPanel {
 
         add(holder, BorderLayout.CENTER);
     }
+
+    /**
+     * Add the graphs of flight recorder events, if the stream is enabled.
+     */
+    private static void addJfrMonitors(List<Monitor> monitors) {
+        JfrEventSource jfr = JfrEventSource.getInstance();
+        if (jfr == null) {
+            return;
+        }
+        monitors.add(new Monitor(LangResource.getString("message#258"),
+            new JfrEventMonitor("allocation", "MB/sec", "MB", jfr.allocationRate())));
+        monitors.add(new Monitor(LangResource.getString("message#259"),
+            new JfrEventMonitor("safepoints", "Safepoint ms/sec", "ms", jfr.safepointTime())));
+        monitors.add(new Monitor(LangResource.getString("message#260"),
+            new JfrEventMonitor("contention", "Monitor wait ms/sec", "ms", jfr.contentionTime())));
+        monitors.add(new Monitor(LangResource.getString("message#261"),
+            new JfrEventMonitor("park", "Lock park ms/sec", "ms", jfr.parkTime())));
+        monitors.add(new Monitor(LangResource.getString("message#262"),
+            new JfrEventMonitor("file", "File I/O ms/sec", "ms", jfr.fileIoTime())));
+        monitors.add(new Monitor(LangResource.getString("message#263"),
+            new JfrEventMonitor("socket", "Socket I/O ms/sec", "ms", jfr.socketIoTime())));
+    }
 }
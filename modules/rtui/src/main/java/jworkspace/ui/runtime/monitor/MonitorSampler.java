@@ -0,0 +1,144 @@
+package jworkspace.ui.runtime.monitor;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+/**
+ * Background sampler shared by all runtime monitor widgets.
+ * <p>
+ * One daemon thread polls every registered metric at a fixed rate into its {@link MetricSeries},
+ * then notifies the listeners, so the widgets only paint the series and the event dispatch thread
+ * never waits for management beans. The rate is set in milliseconds by the
+ * {@value #INTERVAL_PROPERTY} system property, one second by default.
+ * </p>
+ * <p>
+ * Metrics are registered by name, once per JVM: the widgets showing the same metric share its series,
+ * and the history is kept while no widget is shown.
+ * </p>
+ */
+@Log
+public final class MonitorSampler {
+
+    /**
+     * System property with the sampling interval in milliseconds
+     */
+    public static final String INTERVAL_PROPERTY = "jworkspace.monitor.interval";
+
+    private static final int DEFAULT_INTERVAL = 1000;
+
+    private static final MonitorSampler INSTANCE =
+        new MonitorSampler(Math.max(1, Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL)));
+
+    /**
+     * Sampling interval in milliseconds
+     */
+    @Getter
+    private final long interval;
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService executor;
+
+    MonitorSampler(long interval) {
+        this.interval = interval;
+    }
+
+    public static MonitorSampler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the metric unless it is registered already, and start sampling.
+     *
+     * @param name   unique name of the metric
+     * @param source the source of samples, called on the sampler thread only and kept while the JVM runs
+     * @return the series of the metric
+     */
+    public MetricSeries register(String name, DoubleSupplier source) {
+        MetricSeries series = metrics.computeIfAbsent(name, key -> new Metric(source, new MetricSeries())).series();
+        start();
+        return series;
+    }
+
+    /**
+     * Add a listener called on the sampler thread after each round of samples.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("monitor-sampler").daemon().factory()
+            );
+            executor.scheduleAtFixedRate(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Take one sample of every metric. A failing metric or listener is skipped, as an exception
+     * would cancel all the following rounds.
+     */
+    void sample() {
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            Metric metric = entry.getValue();
+            try {
+                metric.series().add((float) metric.source().getAsDouble());
+            } catch (RuntimeException e) {
+                log.log(Level.FINE, "Cannot sample " + entry.getKey(), e);
+            }
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Monitor listener failed", e);
+            }
+        }
+    }
+
+    private record Metric(DoubleSupplier source, MetricSeries series) {}
+}
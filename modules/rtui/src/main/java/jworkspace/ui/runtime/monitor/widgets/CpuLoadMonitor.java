@@ -27,6 +27,7 @@ package jworkspace.ui.runtime.monitor.widgets;
 */
 
 import java.lang.management.ManagementFactory;
+import java.util.function.DoubleSupplier;
 
 import com.sun.management.OperatingSystemMXBean;
 
@@ -39,9 +40,12 @@ public class CpuLoadMonitor extends AbstractJvmGraphMonitor {
 
     @SuppressWarnings("checkstyle:MagicNumber")
     @Override
-    protected float sampleValue() {
-        double load = os.getProcessCpuLoad();
-        return load < 0 ? 0f : (float) (load * 100f);
+    protected DoubleSupplier sampleSource() {
+        OperatingSystemMXBean bean = os;
+        return () -> {
+            double load = bean.getProcessCpuLoad();
+            return load < 0 ? 0 : load * 100;
+        };
     }
 
     @Override
@@ -27,24 +27,19 @@ package jworkspace.ui.runtime.monitor.widgets;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.List;
+import java.util.function.DoubleSupplier;
 
 import jworkspace.ui.runtime.monitor.AbstractJvmGraphMonitor;
+import jworkspace.ui.runtime.monitor.MonitorSampler;
 
 public class GcTimeMonitor extends AbstractJvmGraphMonitor {
 
     private final List<GarbageCollectorMXBean> beans =
         ManagementFactory.getGarbageCollectorMXBeans();
-    private long lastTime;
 
     @Override
-    protected float sampleValue() {
-        long total = 0;
-        for (GarbageCollectorMXBean b : beans) {
-            total += Math.max(0, b.getCollectionTime());
-        }
-        long delta = total - lastTime;
-        lastTime = total;
-        return delta;
+    protected DoubleSupplier sampleSource() {
+        return new CollectionTimeRate(beans);
     }
 
     @Override
@@ -57,4 +52,30 @@ public class GcTimeMonitor extends AbstractJvmGraphMonitor {
         return "ms";
     }
 
+    /**
+     * Collection time of all collectors since the previous sample.
+     */
+    private static final class CollectionTimeRate implements DoubleSupplier {
+
+        private final List<GarbageCollectorMXBean> beans;
+
+        private long lastTime;
+
+        CollectionTimeRate(List<GarbageCollectorMXBean> beans) {
+            this.beans = beans;
+        }
+
+        @SuppressWarnings("checkstyle:MagicNumber")
+        @Override
+        public double getAsDouble() {
+            long total = 0;
+            for (GarbageCollectorMXBean b : beans) {
+                total += Math.max(0, b.getCollectionTime());
+            }
+            long delta = total - lastTime;
+            lastTime = total;
+            // per second, whatever the sampling interval
+            return delta * 1000f / MonitorSampler.getInstance().getInterval();
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package jworkspace.ui.runtime.monitor.widgets;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.util.function.DoubleSupplier;
+
+import jworkspace.ui.runtime.monitor.AbstractJvmGraphMonitor;
+import jworkspace.ui.runtime.monitor.JfrEventSource;
+
+/**
+ * Graph of a rate aggregated from the flight recorder events by {@link JfrEventSource}.
+ */
+public class JfrEventMonitor extends AbstractJvmGraphMonitor {
+
+    private final String name;
+
+    private final String title;
+
+    private final String unit;
+
+    private final DoubleSupplier source;
+
+    /**
+     * Create a graph.
+     *
+     * @param name   unique name of the metric
+     * @param title  the title of the graph
+     * @param unit   the unit of the rate
+     * @param source the rate, drained on every sample
+     */
+    public JfrEventMonitor(String name, String title, String unit, DoubleSupplier source) {
+        this.name = name;
+        this.title = title;
+        this.unit = unit;
+        this.source = source;
+    }
+
+    @Override
+    protected String metricName() {
+        return JfrEventSource.class.getName() + "." + name;
+    }
+
+    @Override
+    protected DoubleSupplier sampleSource() {
+        return source;
+    }
+
+    @Override
+    protected String title() {
+        return title;
+    }
+
+    @Override
+    protected String unit() {
+        return unit;
+    }
+}
@@ -1,5 +1,7 @@
 package jworkspace.ui.runtime.monitor.widgets;
 
+import java.util.function.DoubleSupplier;
+
 import jworkspace.ui.runtime.monitor.AbstractJvmGraphMonitor;
 
 /* ----------------------------------------------------------------------------
@@ -32,8 +34,9 @@ public class MemoryMonitor extends AbstractJvmGraphMonitor {
     private final Runtime rt = Runtime.getRuntime();
 
     @Override
-    protected float sampleValue() {
-        return rt.totalMemory() - rt.freeMemory();
+    protected DoubleSupplier sampleSource() {
+        Runtime runtime = rt;
+        return () -> runtime.totalMemory() - runtime.freeMemory();
     }
 
     @Override
@@ -24,10 +24,9 @@ package jworkspace.ui.runtime.monitor.widgets;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
-import java.awt.Color;
-import java.awt.event.MouseEvent;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
+import java.util.function.DoubleSupplier;
 
 import jworkspace.ui.runtime.monitor.AbstractJvmGraphMonitor;
 
@@ -37,8 +36,8 @@ public class ThreadMonitor extends AbstractJvmGraphMonitor {
         ManagementFactory.getThreadMXBean();
 
     @Override
-    protected float sampleValue() {
-        return bean.getThreadCount();
+    protected DoubleSupplier sampleSource() {
+        return bean::getThreadCount;
     }
 
     @Override
@@ -48,32 +47,11 @@ public class ThreadMonitor extends AbstractJvmGraphMonitor {
 
     @Override
     protected String unit() {
-        return "";
+        return "threads";
     }
 
-    @SuppressWarnings("checkstyle:MagicNumber")
     @Override
-    protected void drawLegend(int x) {
-        g2.setColor(Color.green);
-        g2.drawString(title(), x, ascent + 1);
-
-        if (ptNum > 0) {
-            String cur = String.format("%d %s", (int) pts[ptNum - 1], unit());
-            g2.drawString(cur, w - g2.getFontMetrics().stringWidth(cur) - 5, ascent + 1);
-        }
-    }
-
-    @SuppressWarnings("checkstyle:ReturnCount")
-    @Override
-    public String getToolTipText(MouseEvent e) {
-        if (pts == null || ptNum == 0) {
-            return null;
-        }
-        int idx = ptNum - (getWidth() - e.getX());
-        if (idx < 0 || idx >= ptNum) {
-            return null;
-        }
-
-        return String.format("%d threads", (int) pts[idx]);
+    protected String format(float value) {
+        return String.format("%d %s", (int) value, unit());
     }
 }
@@ -29,6 +29,8 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Insets;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -42,7 +44,9 @@ import java.util.stream.Collectors;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.JTable;
@@ -184,24 +188,64 @@ public class PluginsDownloaderPanel extends KPanel {
                 switchLogs();
                 downloadItemSelected();
             });
+            this.table.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    showRowMenu(e);
+                }
+
+                @Override
+                public void mouseReleased(MouseEvent e) {
+                    showRowMenu(e);
+                }
+            });
         }
         return table;
     }
 
+    /**
+     * Show the menu of the row under the mouse. A failed download which can be resumed
+     * is removed from there, as its button resumes it.
+     */
+    private void showRowMenu(MouseEvent e) {
+        int row = table.rowAtPoint(e.getPoint());
+        if (e.isPopupTrigger() && row >= 0) {
+            table.setRowSelectionInterval(row, row);
+            DownloadStatus status = model.getItem(row).getStatus();
+
+            JMenuItem removeItem = new JMenuItem("Remove");
+            removeItem.setEnabled(status != DownloadStatus.DOWNLOADING && status != DownloadStatus.VERIFYING);
+            removeItem.addActionListener(_ -> {
+                remove(row);
+                table.repaint();
+            });
+
+            JPopupMenu menu = new JPopupMenu();
+            menu.add(removeItem);
+            menu.show(table, e.getX(), e.getY());
+        }
+    }
+
+    private void remove(int row) {
+        try {
+            downloadController.remove(row);
+        } catch (Exception e) {
+            WorkspaceError.exception(ResourceAnchor.getString("Error removing downloaded file"), e);
+        }
+    }
+
     private ButtonColumn getDownloadButtonColumn(PluginDownloadController downloadController) {
 
         return new ButtonColumn("", (row, _) -> {
             DownloadItem item = ((DownloadTableModel) table.getModel()).getItem(row);
 
-            switch (item.getStatus()) {
-                case QUEUED -> downloadController.start(row);
-                case DOWNLOADING, VERIFYING -> downloadController.cancel(row);
-                default -> {
-                    try {
-                        downloadController.remove(row);
-                    } catch (Exception e) {
-                        WorkspaceError.exception(ResourceAnchor.getString("Error removing downloaded file"), e);
-                    }
+            if (isResumable(item)) {
+                downloadController.start(row);
+            } else {
+                switch (item.getStatus()) {
+                    case QUEUED -> downloadController.start(row);
+                    case DOWNLOADING, VERIFYING -> downloadController.cancel(row);
+                    default -> remove(row);
                 }
             }
 
@@ -219,7 +263,7 @@ public class PluginsDownloaderPanel extends KPanel {
                 DownloadItem item = ((DownloadTableModel) table.getModel()).getItem(row);
 
                 // Dynamically set button text based on DownloadStatus
-                renderButton.setText(switch (item.getStatus()) {
+                renderButton.setText(isResumable(item) ? "Resume" : switch (item.getStatus()) {
                     case QUEUED -> "Start";
                     case DOWNLOADING, VERIFYING -> "Cancel";
                     default -> "Remove";
@@ -233,6 +277,10 @@ public class PluginsDownloaderPanel extends KPanel {
         };
     }
 
+    private static boolean isResumable(DownloadItem item) {
+        return item.getStatus() == DownloadStatus.FAILED && item.isResumable();
+    }
+
     private DownloadTableModel getModel() {
         if (model == null) {
             model = new DownloadTableModel(new ArrayList<>());
@@ -259,7 +307,7 @@ public class PluginsDownloaderPanel extends KPanel {
             }
 
             DownloadItem item = new DownloadItem(url, DownloadStatus.QUEUED, 0, -1);
-            model.addItem(item);
+            downloadController.add(item);
             model.fireTableDataChanged();
             urlField.setText("");
         });
@@ -350,8 +398,7 @@ public class PluginsDownloaderPanel extends KPanel {
 
             if (dtos != null) {
                 for (DownloadItemDTO dto : dtos) {
-                    DownloadItem item = DownloadItem.fromDTO(dto);
-                    model.addItem(item);
+                    downloadController.add(DownloadItem.fromDTO(dto));
                 }
                 model.fireTableDataChanged();
             }
@@ -29,6 +29,8 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Insets;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -39,6 +41,7 @@ import javax.swing.JLabel;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.EtchedBorder;
 import javax.swing.table.AbstractTableModel;
@@ -49,6 +52,7 @@ import com.hyperrealm.kiwi.ui.KPanel;
 import com.hyperrealm.kiwi.util.ResourceLoader;
 
 import static jworkspace.ui.WorkspaceGUI.getResourceManager;
+import jworkspace.config.ServiceLocator;
 import jworkspace.runtime.plugin.PluginUpdateChecker;
 import jworkspace.runtime.plugin.WorkspacePluginLocator;
 import jworkspace.ui.runtime.LangResource;
@@ -93,6 +97,17 @@ public class PluginsPanel extends KPanel {
         }
     }
 
+    /**
+     * Use the plugin, activating it in background if it was deferred by the lazy
+     * activation. The selection listeners are notified again once it is active.
+     */
+    private void activatePlugin(Plugin p) {
+        if (p.getPluginObject() == null) {
+            ServiceLocator.activatePlugin(p)
+                .thenAccept(pluginObject -> SwingUtilities.invokeLater(() -> fireSelectionEvent(p)));
+        }
+    }
+
     @SuppressWarnings("checkstyle:MagicNumber")
     private JLabel createPluginsLabel() {
         JLabel l = new JLabel();
@@ -168,6 +183,15 @@ public class PluginsPanel extends KPanel {
                 Plugin pl = ((PluginsTableModel) this.pluginsTable.getModel()).getItem(row);
                 fireSelectionEvent(pl);
             });
+            this.pluginsTable.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int row = pluginsTable.rowAtPoint(e.getPoint());
+                    if (row >= 0 && SwingUtilities.isLeftMouseButton(e) && e.getClickCount() == 2) {
+                        activatePlugin(((PluginsTableModel) pluginsTable.getModel()).getItem(row));
+                    }
+                }
+            });
         }
         return pluginsTable;
     }
@@ -133,7 +133,9 @@ public class PluginReport extends SimplePluginReport implements IPluginSelection
         this.pluginUninstallAction = new PluginUninstallAction(plugin, this);
         this.pluginUpdateAction = new PluginUpdateAction(plugin, this);
 
+        // plugins deferred by the lazy activation have no object yet
         URL dashboardUrl = plugin.getProperties().getProperty(PLUGIN_DASHBOARD_IMAGE_PATH) != null
+            && plugin.getPluginObject() != null
             ? plugin.getPluginObject().getClass().getResource(
                 plugin.getProperties().getProperty(PLUGIN_DASHBOARD_IMAGE_PATH)
         ) : null;
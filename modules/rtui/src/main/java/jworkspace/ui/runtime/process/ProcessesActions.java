@@ -109,6 +109,10 @@ public class ProcessesActions {
         return actions.get(name);
     }
 
+    void search(String text) {
+        controller.search(text);
+    }
+
     void enableActions(boolean flag, String type) {
         for (Action action : actions.values()) {
             String stype = (String) action.getValue(ACTION_TYPE);
@@ -2,6 +2,7 @@ package jworkspace.ui.runtime.process;
 
 import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
+import java.util.ArrayList;
 import java.util.List;
 /* ----------------------------------------------------------------------------
    Java Workspace
@@ -37,6 +38,7 @@ import jworkspace.api.IWorkspaceListener;
 import jworkspace.config.ServiceLocator;
 import jworkspace.runtime.AbstractTask;
 import jworkspace.runtime.RuntimeManager;
+import jworkspace.runtime.logging.LogQuery;
 import jworkspace.ui.config.DesktopServiceLocator;
 import jworkspace.ui.runtime.LangResource;
 
@@ -44,6 +46,11 @@ public class ProcessesController {
 
     private final RuntimeManager runtimeManager;
 
+    /**
+     * Text the logs of the listed tasks must contain, all tasks are listed if null
+     */
+    private LogQuery logFilter;
+
     private final JList<AbstractTask> tasksList;
 
     private final ProcessesActions actions;
@@ -158,10 +165,22 @@ public class ProcessesController {
         }
     }
 
+    /**
+     * Lists only the tasks with the text in their logs.
+     *
+     * @param text text to search, all tasks are listed if the text is blank
+     */
+    public void search(String text) {
+        this.logFilter = text == null || text.isBlank() ? null : LogQuery.contains(text.strip());
+        update();
+    }
+
     public void update() {
 
         SwingUtilities.invokeLater(() -> {
-            List<AbstractTask> tasks = runtimeManager.getAllTasks();
+            List<AbstractTask> tasks = logFilter == null
+                ? runtimeManager.getAllTasks()
+                : new ArrayList<>(runtimeManager.searchLogs(logFilter, 1).keySet());
             tasksList.setListData(
                 tasks.toArray(
                     AbstractTask[]::new
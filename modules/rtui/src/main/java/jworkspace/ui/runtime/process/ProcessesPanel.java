@@ -38,6 +38,7 @@ import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
+import javax.swing.JTextField;
 import javax.swing.JToolBar;
 import javax.swing.ListSelectionModel;
 import javax.swing.border.EmptyBorder;
@@ -224,6 +225,11 @@ public class ProcessesPanel extends KPanel {
             actions.getAction(ProcessesActions.COPY_LOG_ACTION_NAME))
         );
 
+        JTextField searchField = new JTextField();
+        searchField.setToolTipText(LangResource.getString("Search_logs"));
+        searchField.addActionListener(_ -> actions.search(searchField.getText()));
+        toolbar.add(searchField);
+
         return toolbar;
     }
 }
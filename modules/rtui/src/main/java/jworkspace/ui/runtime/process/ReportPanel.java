@@ -25,17 +25,34 @@ package jworkspace.ui.runtime.process;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
+import java.util.Locale;
+
 import javax.swing.ImageIcon;
+import javax.swing.Timer;
 
 import com.hyperrealm.kiwi.util.ResourceLoader;
 
+import jworkspace.config.ServiceLocator;
 import jworkspace.runtime.AbstractTask;
+import jworkspace.runtime.process.ProcessUsage;
+import jworkspace.runtime.process.ProcessUsageSeries;
 import jworkspace.ui.runtime.AbstractReportPanel;
 import jworkspace.ui.runtime.LangResource;
 import jworkspace.ui.runtime.RuntimeManagerWindow;
 
 public class ReportPanel extends AbstractReportPanel implements IProcessSelectionListener {
 
+    /**
+     * Interval to refresh the resources used by a running process
+     */
+    private static final int REFRESH_MS = 2000;
+
+    private static final double BYTES_IN_MB = 1024 * 1024;
+
+    private final Timer refreshTimer = new Timer(REFRESH_MS, _ -> refresh());
+
+    private AbstractTask task;
+
     @SuppressWarnings("checkstyle:MultipleStringLiterals")
     void createReport(AbstractTask task) {
         String props = "<font color=\"black\">"
@@ -47,7 +64,8 @@ public class ReportPanel extends AbstractReportPanel implements IProcessSelectio
             + LangResource.getString("Started_at") + ": "
             + "</b>"
             + (task.getStartTime() != null ? task.getStartTime().toString() : "")
-            + "<br>";
+            + "<br>"
+            + createUsageReport(task);
         String sb = "<body style='" + "text-align:center;" + "font-family:sans-serif;'>"
             + "<div>" + props + "</div>";
         layoutReport(
@@ -58,8 +76,54 @@ public class ReportPanel extends AbstractReportPanel implements IProcessSelectio
         );
     }
 
+    /**
+     * Describe the last resources sampled for the child process of the task, if it has one.
+     */
+    @SuppressWarnings("checkstyle:MultipleStringLiterals")
+    private static String createUsageReport(AbstractTask task) {
+        ProcessUsageSeries series = ServiceLocator.getInstance().getRuntimeManager()
+            .getResourceSampler().getUsage(task);
+        ProcessUsage usage = series != null ? series.latest() : null;
+        if (usage == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder()
+            .append("<b>").append(LangResource.getString("CPU_load")).append(": </b>")
+            .append(String.format(Locale.ROOT, "%.1f %%", series.getCpuLoad())).append("<br>");
+        if (usage.residentSize() >= 0) {
+            sb.append("<b>").append(LangResource.getString("Resident_memory")).append(": </b>")
+                .append(String.format(Locale.ROOT, "%.1f MB", usage.residentSize() / BYTES_IN_MB)).append("<br>");
+        }
+        if (usage.threads() >= 0) {
+            sb.append("<b>").append(LangResource.getString("Thread_count")).append(": </b>")
+                .append(usage.threads()).append("<br>");
+        }
+        sb.append("<b>").append(LangResource.getString("Process_count")).append(": </b>")
+            .append(usage.processes()).append("<br>");
+        return sb.toString();
+    }
+
+    private void refresh() {
+        if (task != null && task.isAlive()) {
+            createReport(task);
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
     @Override
     public void processSelected(AbstractTask process) {
+        this.task = process;
         createReport(process);
     }
 }
@@ -0,0 +1,109 @@
+package jworkspace.ui.runtime.monitor;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Anton Troshin
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class MetricSeriesTest {
+
+    @Test
+    public void testLevels() {
+        MetricSeries series = new MetricSeries(8, 1, 2);
+        Assertions.assertTrue(Float.isNaN(series.last()));
+
+        for (int i = 1; i <= 6; i++) {
+            series.add(i);
+        }
+        Assertions.assertEquals(6f, series.last());
+
+        // at most a half of the ring is copied
+        MetricSeries.Snapshot snapshot = new MetricSeries.Snapshot(8);
+        series.snapshot(0, snapshot);
+        Assertions.assertEquals(4, snapshot.size());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(i + 3f, snapshot.avg(i));
+            Assertions.assertEquals(i + 3f, snapshot.min(i));
+            Assertions.assertEquals(i + 3f, snapshot.max(i));
+        }
+
+        series.snapshot(1, snapshot);
+        Assertions.assertEquals(3, snapshot.size());
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(2 * i + 1f, snapshot.min(i));
+            Assertions.assertEquals(2 * i + 2f, snapshot.max(i));
+            Assertions.assertEquals(2 * i + 1.5f, snapshot.avg(i));
+        }
+    }
+
+    @Test
+    public void testRingOverwritesOldestPoints() {
+        MetricSeries series = new MetricSeries(4, 1);
+        for (int i = 1; i <= 10; i++) {
+            series.add(i);
+        }
+
+        MetricSeries.Snapshot snapshot = new MetricSeries.Snapshot(2);
+        series.snapshot(0, snapshot);
+        Assertions.assertEquals(2, snapshot.size());
+        Assertions.assertEquals(9f, snapshot.avg(0));
+        Assertions.assertEquals(10f, snapshot.avg(1));
+    }
+
+    @Test
+    public void testReaderNeverSeesTornSnapshot() throws InterruptedException {
+        // a small ring is overwritten while the reader copies it
+        MetricSeries series = new MetricSeries(16, 1, 2);
+        Thread writer = Thread.ofPlatform().name("metric-writer").start(() -> {
+            for (int i = 0; i < 1_000_000; i++) {
+                series.add(i);
+            }
+        });
+
+        MetricSeries.Snapshot snapshot = new MetricSeries.Snapshot(8);
+        while (writer.isAlive()) {
+            series.snapshot(0, snapshot);
+            for (int i = 1; i < snapshot.size(); i++) {
+                Assertions.assertEquals(snapshot.avg(i - 1) + 1, snapshot.avg(i));
+            }
+            series.snapshot(1, snapshot);
+            for (int i = 0; i < snapshot.size(); i++) {
+                Assertions.assertEquals(snapshot.min(i) + 1, snapshot.max(i));
+                Assertions.assertEquals(snapshot.min(i) + 0.5f, snapshot.avg(i));
+                if (i > 0) {
+                    Assertions.assertEquals(snapshot.min(i - 1) + 2, snapshot.min(i));
+                }
+            }
+        }
+        writer.join();
+
+        series.snapshot(0, snapshot);
+        Assertions.assertEquals(999_999f, snapshot.avg(snapshot.size() - 1));
+    }
+}
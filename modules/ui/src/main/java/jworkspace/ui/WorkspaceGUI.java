@@ -67,6 +67,7 @@ import jworkspace.ui.desktop.Desktop;
 import jworkspace.ui.dialog.ClematisLogoPanel;
 import jworkspace.ui.plugins.ShellsLoader;
 import jworkspace.ui.resources.TaskTrackerComponent;
+import jworkspace.ui.util.ThumbnailCache;
 import jworkspace.users.LoginValidator;
 import jworkspace.users.ProfileOperationException;
 import jworkspace.users.ProfilesManager;
@@ -247,6 +248,13 @@ public class WorkspaceGUI implements IWorkspaceUI {
             );
 
         DesktopServiceLocator.getInstance().getUiConfig().load();
+        /*
+         * Keep image previews in the workspace home, shared by all profiles
+         */
+        Path home = ServiceLocator.getInstance().getProfilesManager().getBasePath();
+        if (home != null) {
+            ThumbnailCache.setDefault(new ThumbnailCache(home.resolve(ThumbnailCache.THUMBNAILS_DIRECTORY)));
+        }
 
         /*
          * Set undecorated property
@@ -28,27 +28,34 @@ package jworkspace.ui.desktop;
 
 import java.awt.Color;
 import java.awt.Component;
-import java.awt.GradientPaint;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.Point;
-import java.awt.Rectangle;
-import java.awt.RenderingHints;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.ClipboardOwner;
 import java.awt.datatransfer.Transferable;
 import java.beans.PropertyVetoException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JColorChooser;
 import javax.swing.JComponent;
@@ -57,6 +64,7 @@ import javax.swing.JFileChooser;
 import javax.swing.JInternalFrame;
 import javax.swing.JLayeredPane;
 import javax.swing.JMenu;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 import jworkspace.WorkspaceResourceAnchor;
@@ -69,6 +77,7 @@ import jworkspace.ui.desktop.actions.DesktopActions;
 import jworkspace.ui.desktop.actions.DesktopMenu;
 import jworkspace.ui.desktop.dialog.DesktopBackgroundPanel;
 import jworkspace.ui.desktop.dialog.DesktopOptionsPanel;
+import jworkspace.ui.desktop.plaf.DesktopBackgroundCache;
 import jworkspace.ui.desktop.plaf.DesktopOverlayLayout;
 import jworkspace.ui.desktop.plaf.DesktopShortcutSelector;
 import jworkspace.ui.desktop.plaf.DesktopShortcutsLayer;
@@ -106,6 +115,18 @@ public class Desktop extends JDesktopPane implements IView, ClipboardOwner {
      *
      */
     public static final String DESKTOP_NAME_DEFAULT = "Clematis Desktop";
+    /**
+     * Desktop data file signature
+     */
+    public static final int FORMAT_MAGIC = 0x4A574453;
+    /**
+     * Current version of the desktop data format
+     */
+    public static final int FORMAT_VERSION = 1;
+    /**
+     * Depth of the desktop data files under the user profile looked for when unused icons are deleted
+     */
+    private static final int DESKTOPS_DEPTH = 4;
 
     @Setter
     @Getter
@@ -119,6 +140,20 @@ public class Desktop extends JDesktopPane implements IView, ClipboardOwner {
     @Getter
     private final DesktopTheme theme = new DesktopTheme();
 
+    private final DesktopBackgroundCache background = new DesktopBackgroundCache();
+
+    /**
+     * Path to the wallpaper being decoded, the latest requested one wins
+     */
+    private String loadingImage;
+
+    /**
+     * Data last read from or written to the desktop file, null if the file should be written on save
+     */
+    private byte[] savedData;
+
+    private Path savedFile;
+
     public Desktop() {
         super();
 
@@ -169,20 +204,33 @@ public class Desktop extends JDesktopPane implements IView, ClipboardOwner {
         }
         File imf = fch.getSelectedFile();
         if (imf != null) {
-            String testPath = imf.getAbsolutePath();
-            ImageIcon testCover;
-            try {
-                testCover = new ImageIcon(ImageIO.read(imf));
+            loadBackgroundImage(imf.getAbsolutePath());
+        }
+    }
 
-                if (testCover.getIconHeight() != -1 && testCover.getIconWidth() != -1) {
-                    this.theme.setPathToImage(testPath);
-                    this.theme.setCover(testCover);
-                    repaint();
+    /**
+     * Decode the wallpaper off the event dispatch thread and show it, unless another one
+     * has been requested meanwhile. The path is kept in the theme only if the image can be read.
+     *
+     * @param pathToImage path to the image file
+     */
+    public void loadBackgroundImage(String pathToImage) {
+        loadingImage = pathToImage;
+        DesktopBackgroundCache.readImage(new File(pathToImage)).whenComplete((image, error) ->
+            SwingUtilities.invokeLater(() -> {
+                if (!pathToImage.equals(loadingImage)) {
+                    return;
                 }
-            } catch (IOException e1) {
-                log.severe(e1.getMessage());
-            }
-        }
+                loadingImage = null;
+                if (error != null) {
+                    log.severe("Can't load desktop wallpaper: " + error.getMessage());
+                    return;
+                }
+                this.theme.setPathToImage(pathToImage);
+                this.theme.setCover(new ImageIcon(image));
+                repaint();
+            })
+        );
     }
 
     public void changeBackground() {
@@ -354,63 +402,26 @@ public class Desktop extends JDesktopPane implements IView, ClipboardOwner {
     }
 
     /**
-     * Loads desktop data.
+     * Loads desktop data, written in the current format or with Java serialization by previous versions.
+     * The data read in the current format is remembered, so the desktop is not saved again unless changed.
      */
-    @SuppressWarnings("checkstyle:EmptyBlock")
     public void load() throws IOException {
 
-        File file = ServiceLocator
-            .getInstance()
-            .getProfilesManager()
-            .ensureUserHomePath()
-            .resolve(getPath())
-            .resolve(DESKTOP_DAT)
-            .toFile();
-
-        try (FileInputStream inputFile = new FileInputStream(file);
-             ObjectInputStream dataStream = new ObjectInputStream(inputFile)) {
-
-            this.setName(dataStream.readUTF());
-
-            int red = dataStream.readInt();
-            int green = dataStream.readInt();
-            int blue = dataStream.readInt();
-            setBackground(new Color(red, green, blue));
-
-            red = dataStream.readInt();
-            green = dataStream.readInt();
-            blue = dataStream.readInt();
-            this.theme.setSecondaryBackground(new Color(red, green, blue));
-
-            this.theme.setGradientFill(dataStream.readBoolean());
-            this.setOpaque(dataStream.readBoolean());
-            this.theme.setHpos(dataStream.readInt());
-            this.theme.setHstep(dataStream.readInt());
-            this.theme.setRenderMode(dataStream.readInt());
-            this.theme.setVpos(dataStream.readInt());
-            this.theme.setVstep(dataStream.readInt());
-            this.theme.setCoverVisible(dataStream.readBoolean());
-            int size = dataStream.readInt();
-
-            for (int i = 0; i < size; i++) {
-                DesktopShortcut shortcut = new DesktopShortcut(null, "");
-                shortcut.load(dataStream);
-                this.shortcutsLayer.addShortcut(shortcut);
-            }
-
-            String pathToImage = dataStream.readUTF();
-            if (pathToImage.trim().isEmpty() || !new File(pathToImage).exists()) {
-                pathToImage = null;
-            }
-            this.theme.setPathToImage(pathToImage);
-
-            boolean outline = dataStream.readBoolean();
+        Path file = getDataFile(getPath());
+        byte[] data = Files.readAllBytes(file);
 
-            if (outline) {
-                setDragMode(JDesktopPane.OUTLINE_DRAG_MODE);
+        try {
+            if (isSerialized(data)) {
+                try (ObjectInputStream dataStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                    loadSerialized(dataStream);
+                }
+                // to be written in the current format on save
+                savedData = null;
             } else {
-                setDragMode(JDesktopPane.LIVE_DRAG_MODE);
+                loadData(new DataInputStream(new ByteArrayInputStream(data)));
+                savedData = data;
             }
+            savedFile = file;
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception ex) {
@@ -418,105 +429,141 @@ public class Desktop extends JDesktopPane implements IView, ClipboardOwner {
         }
     }
 
+    /**
+     * Read the name of the desktop saved under the path, without loading the desktop.
+     *
+     * @param path the path of the desktop data relative to the user profile
+     * @return the desktop name
+     * @throws IOException if the desktop data cannot be read
+     */
+    public static String readName(String path) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(getDataFile(path)))) {
+            input.mark(2);
+            byte[] signature = input.readNBytes(2);
+            input.reset();
+            if (isSerialized(signature)) {
+                return new ObjectInputStream(input).readUTF();
+            }
+            DataInputStream dataStream = new DataInputStream(input);
+            readHeader(dataStream);
+            return dataStream.readUTF();
+        }
+    }
+
+    private static void readHeader(DataInput dataStream) throws IOException {
+        if (dataStream.readInt() != FORMAT_MAGIC) {
+            throw new IOException("Not a desktop data file");
+        }
+        int version = dataStream.readUnsignedShort();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Unsupported desktop data version: " + version);
+        }
+    }
+
+    private void loadData(DataInput dataStream) throws IOException {
+
+        readHeader(dataStream);
+
+        this.setName(dataStream.readUTF());
+        setBackground(new Color(dataStream.readInt(), true));
+        this.theme.setSecondaryBackground(new Color(dataStream.readInt(), true));
+        this.theme.setGradientFill(dataStream.readBoolean());
+        this.setOpaque(dataStream.readBoolean());
+        this.theme.setHpos(dataStream.readInt());
+        this.theme.setHstep(dataStream.readInt());
+        this.theme.setRenderMode(dataStream.readInt());
+        this.theme.setVpos(dataStream.readInt());
+        this.theme.setVstep(dataStream.readInt());
+        this.theme.setCoverVisible(dataStream.readBoolean());
+        loadImagePath(dataStream.readUTF());
+        setOutlineDragMode(dataStream.readBoolean());
+
+        int size = dataStream.readInt();
+        DesktopIconStore icons = getIconStore();
+        for (int i = 0; i < size; i++) {
+            DesktopShortcut shortcut = new DesktopShortcut(null, "");
+            shortcut.load(dataStream, icons);
+            this.shortcutsLayer.addShortcut(shortcut);
+        }
+    }
+
+    /**
+     * Loads desktop data written by previous versions, with icons serialized into every shortcut.
+     */
+    private void loadSerialized(ObjectInputStream dataStream) throws IOException, ClassNotFoundException {
+
+        this.setName(dataStream.readUTF());
+
+        int red = dataStream.readInt();
+        int green = dataStream.readInt();
+        int blue = dataStream.readInt();
+        setBackground(new Color(red, green, blue));
+
+        red = dataStream.readInt();
+        green = dataStream.readInt();
+        blue = dataStream.readInt();
+        this.theme.setSecondaryBackground(new Color(red, green, blue));
+
+        this.theme.setGradientFill(dataStream.readBoolean());
+        this.setOpaque(dataStream.readBoolean());
+        this.theme.setHpos(dataStream.readInt());
+        this.theme.setHstep(dataStream.readInt());
+        this.theme.setRenderMode(dataStream.readInt());
+        this.theme.setVpos(dataStream.readInt());
+        this.theme.setVstep(dataStream.readInt());
+        this.theme.setCoverVisible(dataStream.readBoolean());
+        int size = dataStream.readInt();
+
+        for (int i = 0; i < size; i++) {
+            DesktopShortcut shortcut = new DesktopShortcut(null, "");
+            shortcut.load(dataStream);
+            this.shortcutsLayer.addShortcut(shortcut);
+        }
+
+        loadImagePath(dataStream.readUTF());
+        setOutlineDragMode(dataStream.readBoolean());
+    }
+
+    private void loadImagePath(String imagePath) {
+        String pathToImage = imagePath;
+        if (pathToImage.trim().isEmpty() || !new File(pathToImage).exists()) {
+            pathToImage = null;
+        }
+        this.theme.setPathToImage(pathToImage);
+        this.theme.setCover(null);
+        if (pathToImage != null) {
+            loadBackgroundImage(pathToImage);
+        }
+    }
+
+    private void setOutlineDragMode(boolean outline) {
+        if (outline) {
+            setDragMode(JDesktopPane.OUTLINE_DRAG_MODE);
+        } else {
+            setDragMode(JDesktopPane.LIVE_DRAG_MODE);
+        }
+    }
+
+    private static boolean isSerialized(byte[] data) {
+        return data.length >= 2 && (short) ((data[0] & 0xFF) << Byte.SIZE | data[1] & 0xFF)
+            == ObjectStreamConstants.STREAM_MAGIC;
+    }
+
     public void lostOwnership(Clipboard clipboard, Transferable contents) {}
 
-    @SuppressWarnings("checkstyle:NestedIfDepth")
+    /**
+     * Paint the gradient fill and the wallpaper, rendered once for the desktop size and the theme
+     */
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (this.theme.isGradientFill() && isOpaque()) {
-            Graphics2D g2 = (Graphics2D) g;
-            int w = getSize().width;
-            int h = getSize().height;
-            g2.setPaint(new GradientPaint(0, 0, getBackground(), 0, h, this.theme.getSecondaryBackground()));
-            g2.fill(new Rectangle(0, 0, w, h));
-        }
-        if (this.theme.getCover() != null && this.theme.isCoverVisible()) {
-            /*
-             * Drawing of a desktop image can occur in several rendering modes.
-             */
-            if (this.theme.getRenderMode() == DesktopTheme.CENTER_IMAGE) {
-                g.drawImage(
-                    this.theme.getCover().getImage(),
-                    (getWidth() - this.theme.getCover().getIconWidth()) / 2,
-                    (getHeight() - this.theme.getCover().getIconHeight()) / 2,
-                    this
-                );
-            } else if (this.theme.getRenderMode() == DesktopTheme.STRETCH_IMAGE) {
-                Graphics2D g2d = (Graphics2D) g.create();
-
-                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                Image img = this.theme.getCover().getImage();
-                int imgW = this.theme.getCover().getIconWidth();
-                int imgH = this.theme.getCover().getIconHeight();
-                int desktopW = getWidth();
-                int desktopH = getHeight();
-
-                if (imgW > 0 && imgH > 0) {
-                    // Calculate scale factors to fill the container entirely while locked to aspect ratio
-                    double scaleX = (double) desktopW / imgW;
-                    double scaleY = (double) desktopH / imgH;
-                    double scale = Math.max(scaleX, scaleY);
-
-                    int targetW = (int) (imgW * scale);
-                    int targetH = (int) (imgH * scale);
-
-                    // Center the proportionally scaled bounding box
-                    int x = (desktopW - targetW) / 2;
-                    int y = (desktopH - targetH) / 2;
-
-                    g2d.drawImage(img, x, y, targetW, targetH, this);
-                }
-                g2d.dispose();
-
-            } else if (this.theme.getRenderMode() == DesktopTheme.TILE_IMAGE) {
-                int x = 0, y = 0;
-                while (x < getWidth()) {
-                    while (y < getHeight()) {
-                        g.drawImage(
-                            this.theme.getCover().getImage(),
-                            x,
-                            y,
-                            this
-                        );
-                        y += this.theme.getCover().getIconHeight();
-                    }
-                    x += this.theme.getCover().getIconWidth();
-                    y = 0;
-                }
-            } else if (this.theme.getRenderMode() == DesktopTheme.TOP_LEFT_CORNER_IMAGE) {
-                g.drawImage(
-                    this.theme.getCover().getImage(),
-                    0,
-                    0,
-                    this
-                );
-            } else if (this.theme.getRenderMode() == DesktopTheme.BOTTOM_LEFT_CORNER_IMAGE) {
-                g.drawImage(
-                    this.theme.getCover().getImage(),
-                    0,
-                    this.getHeight() - this.theme.getCover().getIconHeight(),
-                    this
-                );
-            } else if (this.theme.getRenderMode() == DesktopTheme.TOP_RIGHT_CORNER_IMAGE) {
-                g.drawImage(
-                    this.theme.getCover().getImage(),
-                    this.getWidth() - this.theme.getCover().getIconWidth(),
-                    0,
-                    this
-                );
-            } else if (this.theme.getRenderMode() == DesktopTheme.BOTTOM_RIGHT_CORNER_IMAGE) {
-                g.drawImage(
-                    this.theme.getCover().getImage(),
-                    this.getWidth() - this.theme.getCover().getIconWidth(),
-                    this.getHeight() - this.theme.getCover().getIconHeight(),
-                    this
-                );
-            }
-        }
+        background.paint(g, this, this.theme);
+    }
+
+    @Override
+    public void removeNotify() {
+        background.invalidate();
+        super.removeNotify();
     }
 
     /**
@@ -528,65 +575,143 @@ public class Desktop extends JDesktopPane implements IView, ClipboardOwner {
         closeAllFrames();
     }
 
+    /**
+     * Saves desktop data in the current format. The file is not written again if the data
+     * has not changed since the desktop was loaded or saved.
+     */
     public void save() throws IOException {
 
         if (getName() == null) {
             setName(DESKTOP_NAME_DEFAULT);
         }
 
-        File file = ServiceLocator
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(bytes)) {
+            saveData(outputStream);
+        }
+        byte[] data = bytes.toByteArray();
+
+        Path file = getDataFile(getPath());
+        if (file.equals(savedFile) && Arrays.equals(data, savedData) && Files.exists(file)) {
+            return;
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), DESKTOP_DAT, null);
+        try {
+            Files.write(temp, data);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        savedData = data;
+        savedFile = file;
+    }
+
+    private void saveData(DataOutput outputStream) throws IOException {
+
+        outputStream.writeInt(FORMAT_MAGIC);
+        outputStream.writeShort(FORMAT_VERSION);
+
+        outputStream.writeUTF(getName());
+        outputStream.writeInt(getBackground().getRGB());
+        outputStream.writeInt(this.theme.getSecondaryBackground().getRGB());
+        outputStream.writeBoolean(this.theme.isGradientFill());
+        outputStream.writeBoolean(isOpaque());
+        outputStream.writeInt(this.theme.getHpos());
+        outputStream.writeInt(this.theme.getHstep());
+        outputStream.writeInt(this.theme.getRenderMode());
+        outputStream.writeInt(this.theme.getVpos());
+        outputStream.writeInt(this.theme.getVstep());
+        outputStream.writeBoolean(this.theme.isCoverVisible());
+        outputStream.writeUTF(Objects.requireNonNullElse(this.theme.getPathToImage(), ""));
+        outputStream.writeBoolean(getDragMode() == JDesktopPane.OUTLINE_DRAG_MODE);
+
+        outputStream.writeInt(this.shortcutsLayer.getShortcuts().size());
+        DesktopIconStore icons = getIconStore();
+        for (DesktopShortcut desktopShortcut : this.shortcutsLayer.getShortcuts()) {
+            desktopShortcut.save(outputStream, icons);
+        }
+    }
+
+    /**
+     * Get the data file of the desktop saved under the path.
+     *
+     * @param path the path of the desktop data relative to the user profile
+     * @return the file
+     * @throws IOException if the user profile directory cannot be created
+     */
+    public static Path getDataFile(String path) throws IOException {
+        return ServiceLocator
             .getInstance()
             .getProfilesManager()
             .ensureUserHomePath()
-            .resolve(getPath())
-            .toFile();
+            .resolve(path)
+            .resolve(DESKTOP_DAT);
+    }
 
-        if (!file.exists()) {
-            if (!file.mkdirs()) {
-                log.severe("Can't create directories, not saving: " + file.getAbsolutePath());
-                return;
+    /**
+     * Delete the icons of the store which no desktop saved in the user profile refers to.
+     *
+     * @throws IOException if a desktop or the store cannot be read, no icons are deleted then
+     */
+    public static void deleteUnusedIcons() throws IOException {
+        Path home = ServiceLocator
+            .getInstance()
+            .getProfilesManager()
+            .ensureUserHomePath();
+
+        Set<String> used = new HashSet<>();
+        try (Stream<Path> files = Files.find(home, DESKTOPS_DEPTH, (file, attributes)
+            -> attributes.isRegularFile() && file.getFileName().toString().equals(DESKTOP_DAT))) {
+            for (Path file : files.toList()) {
+                used.addAll(readIconHashes(file));
             }
         }
+        getIconStore().retainAll(used);
+    }
 
-        file = ServiceLocator
+    /**
+     * Read the hashes of the shortcut icons from the desktop data, the fields are written by
+     * {@link #saveData(DataOutput)}. Desktops of previous versions keep the icons in the data.
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static Set<String> readIconHashes(Path file) throws IOException {
+        Set<String> hashes = new HashSet<>();
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            input.mark(2);
+            byte[] signature = input.readNBytes(2);
+            input.reset();
+            if (!isSerialized(signature)) {
+                DataInputStream dataStream = new DataInputStream(input);
+                readHeader(dataStream);
+                dataStream.readUTF();
+                // colors, gradient, opacity, five layout values of the theme and cover visibility
+                dataStream.skipNBytes(2 * Integer.BYTES + 2 + 5 * Integer.BYTES + 1);
+                dataStream.readUTF();
+                dataStream.readBoolean();
+
+                int size = dataStream.readInt();
+                for (int i = 0; i < size; i++) {
+                    String hash = DesktopShortcut.readIcon(dataStream);
+                    if (!hash.isEmpty()) {
+                        hashes.add(hash);
+                    }
+                }
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Get the icon store shared by all desktops of the user profile.
+     */
+    private static DesktopIconStore getIconStore() throws IOException {
+        return DesktopIconStore.of(ServiceLocator
             .getInstance()
             .getProfilesManager()
             .ensureUserHomePath()
-            .resolve(getPath())
-            .resolve(DESKTOP_DAT)
-            .toFile();
-
-        try (FileOutputStream outputFile = new FileOutputStream(file);
-             ObjectOutputStream outputStream = new ObjectOutputStream(outputFile)) {
-
-            outputStream.writeUTF(getName());
-
-            outputStream.writeInt(getBackground().getRed());
-            outputStream.writeInt(getBackground().getGreen());
-            outputStream.writeInt(getBackground().getBlue());
-
-            outputStream.writeInt(this.theme.getSecondaryBackground().getRed());
-            outputStream.writeInt(this.theme.getSecondaryBackground().getGreen());
-            outputStream.writeInt(this.theme.getSecondaryBackground().getBlue());
-
-            outputStream.writeBoolean(this.theme.isGradientFill());
-            outputStream.writeBoolean(isOpaque());
-            outputStream.writeInt(this.theme.getHpos());
-            outputStream.writeInt(this.theme.getHstep());
-            outputStream.writeInt(this.theme.getRenderMode());
-            outputStream.writeInt(this.theme.getVpos());
-            outputStream.writeInt(this.theme.getVstep());
-            outputStream.writeBoolean(this.theme.isCoverVisible());
-            outputStream.writeInt(this.shortcutsLayer.getShortcuts().size());
-
-            for (DesktopShortcut desktopShortcut : this.shortcutsLayer.getShortcuts()) {
-                desktopShortcut.save(outputStream);
-            }
-
-            outputStream.writeUTF(Objects.requireNonNullElse(this.theme.getPathToImage(), ""));
-            outputStream.writeBoolean(getDragMode() == JDesktopPane.OUTLINE_DRAG_MODE);
-            outputStream.flush();
-        }
+            .resolve(DesktopIconStore.ICONS_DIRECTORY));
     }
 
     public void update() {
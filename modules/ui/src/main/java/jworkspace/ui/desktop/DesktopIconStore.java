@@ -0,0 +1,244 @@
+package jworkspace.ui.desktop;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+
+/**
+ * Content addressed store of desktop shortcut icons.
+ * <p>
+ * Every distinct image is kept once, as a PNG file named by the SHA-256 hash of its size and pixels,
+ * and shortcuts of all desktops refer to their icons by the hash. Icons read from the store are shared
+ * by all shortcuts referring to them while they are softly reachable, and the hashes of stored icons
+ * are remembered, so an icon is encoded and written only the first time it is saved. Icons no saved
+ * desktop refers to are deleted with {@link #retainAll(Set)}.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+public class DesktopIconStore {
+
+    /**
+     * Directory of the store in the user profile
+     */
+    public static final String ICONS_DIRECTORY = "icons";
+
+    private static final String EXTENSION = ".png";
+
+    private static final String FORMAT = "png";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private static final Map<Path, DesktopIconStore> STORES = new ConcurrentHashMap<>();
+
+    /**
+     * Component to paint icons which are not images
+     */
+    private static final Component PAINTER = new JLabel();
+
+    private final Path directory;
+
+    /**
+     * Hashes of the icons stored or read, by the icon identity
+     */
+    private final Map<Icon, String> hashes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Icons read or stored, by the hash, released when memory is low
+     */
+    private final Map<String, SoftReference<ImageIcon>> icons = new ConcurrentHashMap<>();
+
+    public DesktopIconStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the store shared by all desktops using the directory.
+     *
+     * @param directory the store directory
+     * @return the store
+     */
+    public static DesktopIconStore of(Path directory) {
+        return STORES.computeIfAbsent(directory.toAbsolutePath().normalize(), DesktopIconStore::new);
+    }
+
+    /**
+     * Store the icon unless an equal image is stored already.
+     *
+     * @param icon the icon to store
+     * @return the hash of the icon, or an empty string if the icon has no image
+     * @throws IOException if the icon cannot be written
+     */
+    public String put(Icon icon) throws IOException {
+        if (icon == null || icon.getIconWidth() <= 0 || icon.getIconHeight() <= 0) {
+            return "";
+        }
+        String hash = hashes.get(icon);
+        if (hash != null) {
+            return hash;
+        }
+
+        BufferedImage image = toImage(icon);
+        hash = hash(image);
+        Path file = directory.resolve(hash + EXTENSION);
+        if (!Files.exists(file)) {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, hash, null);
+            try {
+                if (!ImageIO.write(image, FORMAT, temp.toFile())) {
+                    throw new IOException("No image writer for the icon format");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        hashes.put(icon, hash);
+        if (icon instanceof ImageIcon imageIcon && cached(hash) == null) {
+            icons.put(hash, new SoftReference<>(imageIcon));
+        }
+        return hash;
+    }
+
+    /**
+     * Get the icon by its hash.
+     *
+     * @param hash the hash returned by {@link #put(Icon)}
+     * @return the icon, the same for all callers while it is in memory
+     * @throws IOException if the icon is not in the store or cannot be read
+     */
+    public ImageIcon get(String hash) throws IOException {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IOException("Invalid icon hash: " + hash);
+        }
+        ImageIcon icon = cached(hash);
+        if (icon == null) {
+            Path file = directory.resolve(hash + EXTENSION);
+            BufferedImage image = ImageIO.read(file.toFile());
+            if (image == null) {
+                throw new IOException("Unsupported icon format: " + file);
+            }
+            icon = new ImageIcon(image);
+            icons.put(hash, new SoftReference<>(icon));
+            hashes.put(icon, hash);
+        }
+        return icon;
+    }
+
+    /**
+     * Delete the icons with other hashes from the store.
+     *
+     * @param used the hashes of icons referred to by all saved desktops
+     * @throws IOException if the store directory cannot be read
+     */
+    public void retainAll(Set<String> used) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        icons.keySet().retainAll(used);
+        synchronized (hashes) {
+            hashes.values().retainAll(used);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String hash = name.substring(0, name.length() - EXTENSION.length());
+                if (HASH.matcher(hash).matches() && !used.contains(hash)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private ImageIcon cached(String hash) {
+        SoftReference<ImageIcon> reference = icons.get(hash);
+        return reference != null ? reference.get() : null;
+    }
+
+    private static BufferedImage toImage(Icon icon) {
+        if (icon instanceof ImageIcon imageIcon && imageIcon.getImage() instanceof BufferedImage buffered
+            && buffered.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return buffered;
+        }
+        BufferedImage image = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(),
+            BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            icon.paintIcon(PAINTER, g, 0, 0);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Hash the size and the pixels, so equal images have equal hashes regardless of the PNG encoding.
+     */
+    private static String hash(BufferedImage image) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        int width = image.getWidth();
+        ByteBuffer row = ByteBuffer.allocate(Math.max(width, 2) * Integer.BYTES);
+        row.putInt(width).putInt(image.getHeight());
+        digest.update(row.array(), 0, 2 * Integer.BYTES);
+
+        int[] pixels = new int[width];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, pixels, 0, width);
+            row.clear();
+            row.asIntBuffer().put(pixels);
+            digest.update(row.array(), 0, width * Integer.BYTES);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
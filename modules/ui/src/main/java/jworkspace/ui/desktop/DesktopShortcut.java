@@ -30,10 +30,12 @@ import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.image.RGBImageFilter;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.swing.BorderFactory;
@@ -47,12 +49,14 @@ import jworkspace.ui.WorkspaceGUI;
 import jworkspace.ui.api.IDesktop;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.java.Log;
 
 /**
  * Represents a desktop shortcut component that includes an icon and associated text.
  * This class supports selection toggling, exclusive selection, and drag-and-drop functionality.
  * It extends {@link JComponent} to allow customization of its appearance and behavior.
  */
+@Log
 public class DesktopShortcut extends JComponent {
 
     private static final int DESKTOP_ICON_PREFERRED_SIZE = 96;
@@ -70,6 +74,13 @@ public class DesktopShortcut extends JComponent {
     @Setter
     private Supplier<Boolean> selectionProvider;
 
+    /**
+     * Notified when the shortcut is moved or resized, to keep the index of the shortcuts layer current
+     */
+    @Getter
+    @Setter
+    private Consumer<DesktopShortcut> boundsListener;
+
     @Getter
     @Setter
     private String commandLine = "";
@@ -109,7 +120,18 @@ public class DesktopShortcut extends JComponent {
 
     // Selection API
     public void setSelected(boolean selected) {
-        this.selected = selected; repaint();
+        if (this.selected != selected) {
+            this.selected = selected;
+            repaint();
+        }
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+        if (boundsListener != null) {
+            boundsListener.accept(this);
+        }
     }
 
     @SuppressWarnings("checkstyle:MagicNumber")
@@ -149,6 +171,62 @@ public class DesktopShortcut extends JComponent {
         iconLabel.setIcon(icon);
     }
 
+    /**
+     * Read the shortcut saved by {@link #save(DataOutput, DesktopIconStore)}. A missing icon
+     * is replaced by the default one.
+     *
+     * @param input the desktop data
+     * @param icons the store of icons
+     * @throws IOException if the shortcut cannot be read
+     */
+    public void load(DataInput input, DesktopIconStore icons) throws IOException {
+
+        setText(input.readUTF());
+        setCommandLine(input.readUTF());
+        setToolTipText((getCommandLine() == null || getCommandLine().isEmpty()) ? getText() : getCommandLine());
+        setWorkingDirectory(input.readUTF());
+        setMode(input.readInt());
+        setLocation(input.readInt(), input.readInt());
+        setComments(input.readUTF());
+
+        String icon = input.readUTF();
+        if (!icon.isEmpty()) {
+            try {
+                setIcon(icons.get(icon));
+            } catch (IOException e) {
+                log.warning("Can't read the icon of " + getText() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read only the hash of the icon of the shortcut saved by {@link #save(DataOutput, DesktopIconStore)}.
+     *
+     * @param input the desktop data
+     * @return the hash of the icon, or an empty string if the shortcut has no icon
+     * @throws IOException if the shortcut cannot be read
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    static String readIcon(DataInput input) throws IOException {
+        // text, command line and working directory
+        for (int i = 0; i < 3; i++) {
+            input.readUTF();
+        }
+        // mode and location
+        for (int i = 0; i < 3; i++) {
+            input.readInt();
+        }
+        input.readUTF();
+        return input.readUTF();
+    }
+
+    /**
+     * Read the shortcut from the desktop data written with Java serialization by previous versions.
+     *
+     * @param dataStream the desktop data
+     * @throws IOException            if the shortcut cannot be read
+     * @throws ClassNotFoundException if the icon cannot be deserialized
+     */
     public void load(ObjectInputStream dataStream) throws IOException, ClassNotFoundException {
 
         setText(dataStream.readUTF());
@@ -165,15 +243,22 @@ public class DesktopShortcut extends JComponent {
         }
     }
 
-    public void save(ObjectOutputStream outputStream) throws IOException {
-        outputStream.writeUTF(getText());
-        outputStream.writeUTF(commandLine);
-        outputStream.writeUTF(workingDirectory);
-        outputStream.writeInt(mode);
-        outputStream.writeInt(getX());
-        outputStream.writeInt(getY());
-        outputStream.writeUTF(comments);
-        outputStream.writeObject(getIcon());
+    /**
+     * Write the shortcut, the icon is kept in the store and referred to by its hash.
+     *
+     * @param output the desktop data
+     * @param icons  the store of icons
+     * @throws IOException if the shortcut or its icon cannot be written
+     */
+    public void save(DataOutput output, DesktopIconStore icons) throws IOException {
+        output.writeUTF(getText());
+        output.writeUTF(commandLine);
+        output.writeUTF(workingDirectory);
+        output.writeInt(mode);
+        output.writeInt(getX());
+        output.writeInt(getY());
+        output.writeUTF(comments);
+        output.writeUTF(icons.put(getIcon()));
     }
 
     static class BrightnessReducer extends RGBImageFilter implements Serializable {
@@ -35,13 +35,12 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
-import java.io.IOException;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -50,6 +49,7 @@ import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import javax.swing.plaf.metal.MetalButtonUI;
 
@@ -69,6 +69,7 @@ import jworkspace.ui.api.PropertiesPanel;
 import jworkspace.ui.config.DesktopServiceLocator;
 import jworkspace.ui.desktop.Desktop;
 import jworkspace.ui.desktop.IDesktopActions;
+import jworkspace.ui.util.ThumbnailCache;
 import jworkspace.ui.widgets.ClassCache;
 import jworkspace.ui.widgets.ImageRenderer;
 import lombok.extern.java.Log;
@@ -87,6 +88,10 @@ public class DesktopBackgroundPanel extends KPanel implements ActionListener, Pr
     private static final String DESKTOP_BG_PANEL_TOP_RIGHT_CORNER = "DesktopBgPanel.top_Right_Corner";
     private static final String DESKTOP_BG_PANEL_BOTTOM_LEFT_CORNER = "DesktopBgPanel.bottom_Left_Corner";
     private static final String DESKTOP_BG_PANEL_BOTTOM_RIGHT_CORNER = "DesktopBgPanel.bottom_Right_Corner";
+    /**
+     * Size of the previews of chosen wallpapers, enough for the monitor picture
+     */
+    private static final int PREVIEW_SIZE = 256;
     /**
      * Path to image
      */
@@ -128,9 +133,18 @@ public class DesktopBackgroundPanel extends KPanel implements ActionListener, Pr
      */
     private boolean gradientFill;
     /**
-     * Image icon - desktop wallpaper candidate.
+     * Image shown in the monitor - the current wallpaper or a preview of the candidate.
+     */
+    private Image coverImage;
+    /**
+     * Size of the wallpaper shown in the monitor
+     */
+    private int coverWidth;
+    private int coverHeight;
+    /**
+     * Whether another wallpaper has been chosen, to be loaded by the desktop.
      */
-    private ImageIcon cover;
+    private boolean coverChanged;
     /**
      * Color of desktop.
      */
@@ -156,7 +170,13 @@ public class DesktopBackgroundPanel extends KPanel implements ActionListener, Pr
 
         bgColor = desktop.getBackground();
         bgColor2 = desktop.getTheme().getSecondaryBackground();
-        cover = desktop.getTheme().getCover();
+        // the wallpaper may still be decoded in the background, then the monitor shows none
+        ImageIcon cover = desktop.getTheme().getCover();
+        if (cover != null) {
+            coverImage = cover.getImage();
+            coverWidth = cover.getIconWidth();
+            coverHeight = cover.getIconHeight();
+        }
         coverVisible = desktop.getTheme().isCoverVisible();
         renderMode = desktop.getTheme().getRenderMode();
         gradientFill = desktop.getTheme().isGradientFill();
@@ -177,7 +197,11 @@ public class DesktopBackgroundPanel extends KPanel implements ActionListener, Pr
     public boolean syncData() {
         desktop.getTheme().setRenderMode(renderMode);
         desktop.setName(tName.getText());
-        desktop.getTheme().setCover(pathToImage);
+        // the wallpaper is decoded in full only now, the panel shows a preview; an unchanged
+        // wallpaper is left to the desktop, which may still be decoding it
+        if (coverChanged) {
+            desktop.loadBackgroundImage(pathToImage);
+        }
         desktop.getTheme().setGradientFill(gradient.isSelected());
         desktop.getTheme().setCoverVisible(coverVisibleCheckbox.isSelected());
         desktop.setBackground(bgColor);
@@ -205,19 +229,21 @@ public class DesktopBackgroundPanel extends KPanel implements ActionListener, Pr
                 File imf = fch.getSelectedFile();
                 if (imf != null) {
                     String testPath = imf.getAbsolutePath();
-                    ImageIcon testCover;
-                    try {
-                        testCover = new ImageIcon(ImageIO.read(imf));
-
-                        if (testCover.getIconHeight() != -1 && testCover.getIconWidth() != -1) {
+                    ThumbnailCache.getDefault().load(imf, PREVIEW_SIZE).whenComplete((preview, error) ->
+                        SwingUtilities.invokeLater(() -> {
+                            if (error != null) {
+                                log.severe("Can't load desktop wallpaper: " + error.getMessage());
+                                return;
+                            }
                             pathToImage = testPath;
-                            cover = testCover;
+                            coverImage = preview.image();
+                            coverWidth = preview.width();
+                            coverHeight = preview.height();
+                            coverChanged = true;
                             pathField.setText(testPath);
                             repaint();
-                        }
-                    } catch (IOException e) {
-                        log.severe("Can't load desktop wallpaper: " + e.getMessage());
-                    }
+                        })
+                    );
                 }
                 break;
             case "comboBoxChanged":
@@ -507,47 +533,47 @@ public class DesktopBackgroundPanel extends KPanel implements ActionListener, Pr
                 g2.setPaint(new GradientPaint(0, 0, bgColor, 0, picHeight, bgColor2));
                 g2.fill(new Rectangle(0, 0, picWidth, picHeight));
             }
-            if (cover != null && coverVisible) {
+            if (coverImage != null && coverVisible) {
                 if (renderMode == CENTER_IMAGE) {
-                    g.drawImage(cover.getImage(),
-                        (picWidth - (int) (cover.getIconWidth() * picXScale)) / 2,
-                        (picHeight - (int) (cover.getIconHeight() * picYScale)) / 2,
-                        (int) (cover.getIconWidth() * picXScale),
-                        (int) (cover.getIconHeight() * picYScale),
+                    g.drawImage(coverImage,
+                        (picWidth - (int) (coverWidth * picXScale)) / 2,
+                        (picHeight - (int) (coverHeight * picYScale)) / 2,
+                        (int) (coverWidth * picXScale),
+                        (int) (coverHeight * picYScale),
                         this);
                 } else if (renderMode == STRETCH_IMAGE) {
-                    g.drawImage(cover.getImage(), 0, 0, picWidth, picHeight, this);
+                    g.drawImage(coverImage, 0, 0, picWidth, picHeight, this);
                 } else if (renderMode == TILE_IMAGE) {
                     int x = 0, y = 0;
                     while (x < picWidth) {
                         while (y < picHeight) {
-                            g.drawImage(cover.getImage(), x, y,
-                                (int) (cover.getIconWidth() * picXScale),
-                                (int) (cover.getIconHeight() * picYScale), this);
-                            y += (int) (cover.getIconHeight() * picYScale);
+                            g.drawImage(coverImage, x, y,
+                                (int) (coverWidth * picXScale),
+                                (int) (coverHeight * picYScale), this);
+                            y += (int) (coverHeight * picYScale);
                         }
-                        x += (int) (cover.getIconWidth() * picXScale);
+                        x += (int) (coverWidth * picXScale);
                         y = 0;
                     }
                 } else if (renderMode == TOP_LEFT_CORNER_IMAGE) {
-                    g.drawImage(cover.getImage(), 0, 0,
-                        (int) (cover.getIconWidth() * picXScale),
-                        (int) (cover.getIconHeight() * picYScale), this);
+                    g.drawImage(coverImage, 0, 0,
+                        (int) (coverWidth * picXScale),
+                        (int) (coverHeight * picYScale), this);
                 } else if (renderMode == TOP_RIGHT_CORNER_IMAGE) {
-                    g.drawImage(cover.getImage(),
-                        picWidth - (int) (cover.getIconWidth() * picXScale), 0,
-                        (int) (cover.getIconWidth() * picXScale),
-                        (int) (cover.getIconHeight() * picYScale), this);
+                    g.drawImage(coverImage,
+                        picWidth - (int) (coverWidth * picXScale), 0,
+                        (int) (coverWidth * picXScale),
+                        (int) (coverHeight * picYScale), this);
                 } else if (renderMode == BOTTOM_LEFT_CORNER_IMAGE) {
-                    g.drawImage(cover.getImage(), 0,
-                        picHeight - (int) (cover.getIconHeight() * picYScale),
-                        (int) (cover.getIconWidth() * picXScale),
-                        (int) (cover.getIconHeight() * picYScale), this);
+                    g.drawImage(coverImage, 0,
+                        picHeight - (int) (coverHeight * picYScale),
+                        (int) (coverWidth * picXScale),
+                        (int) (coverHeight * picYScale), this);
                 } else if (renderMode == BOTTOM_RIGHT_CORNER_IMAGE) {
-                    g.drawImage(cover.getImage(), picWidth - (int) (cover.getIconWidth() * picXScale),
-                        picHeight - (int) (cover.getIconHeight() * picYScale),
-                        (int) (cover.getIconWidth() * picXScale),
-                        (int) (cover.getIconHeight() * picYScale), this);
+                    g.drawImage(coverImage, picWidth - (int) (coverWidth * picXScale),
+                        picHeight - (int) (coverHeight * picYScale),
+                        (int) (coverWidth * picXScale),
+                        (int) (coverHeight * picYScale), this);
                 }
             }
         }
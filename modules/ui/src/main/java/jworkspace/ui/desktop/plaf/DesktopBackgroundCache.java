@@ -0,0 +1,292 @@
+package jworkspace.ui.desktop.plaf;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+
+/**
+ * Cache of the desktop background: the plain or gradient fill and the wallpaper, rendered
+ * together into one image of the desktop size.
+ * <p>
+ * The image is drawn with a single call on every repaint, while the wallpaper is scaled, tiled
+ * or positioned only when the desktop size, the screen scale, the render mode or any of the theme
+ * settings change. The image is compatible with the screen of the desktop, so it can be kept
+ * in video memory, and has the resolution of the device on scaled displays.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+public class DesktopBackgroundCache {
+
+    /**
+     * Decodes wallpapers, off the event dispatch thread
+     */
+    private static final Executor LOADER = task -> Thread.ofVirtual().name("wallpaper-loader").start(task);
+
+    /**
+     * Maximum downscale factor of a single bilinear step
+     */
+    private static final int MAX_STEP_SCALE = 2;
+
+    private BufferedImage image;
+
+    private Key key;
+
+    /**
+     * Paint the background of the desktop, rendering it again only if the desktop or the theme have changed.
+     *
+     * @param g       the graphics of the desktop
+     * @param desktop the desktop component
+     * @param theme   the desktop theme
+     */
+    public void paint(Graphics g, JComponent desktop, DesktopTheme theme) {
+        Key current = Key.of(desktop, theme);
+        if (current.isEmpty()) {
+            invalidate();
+            return;
+        }
+        if (image == null || !current.equals(key)) {
+            invalidate();
+            image = render(current, desktop.getGraphicsConfiguration());
+            key = current;
+        }
+        g.drawImage(image, 0, 0, current.width(), current.height(), null);
+    }
+
+    /**
+     * Discard the rendered background, to free the memory while the desktop is not shown.
+     */
+    public void invalidate() {
+        if (image != null) {
+            image.flush();
+        }
+        image = null;
+        key = null;
+    }
+
+    /**
+     * Check whether the rendered background is kept.
+     *
+     * @return true if the background is rendered
+     */
+    public boolean isRendered() {
+        return image != null;
+    }
+
+    /**
+     * Read a wallpaper off the event dispatch thread and convert it into an image compatible with the screen.
+     *
+     * @param file the image file
+     * @return the future image, completed exceptionally if the file cannot be read or is not an image
+     */
+    public static CompletableFuture<BufferedImage> readImage(File file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                BufferedImage decoded = ImageIO.read(file);
+                if (decoded == null) {
+                    throw new IOException("Unsupported image format: " + file.getAbsolutePath());
+                }
+                return toCompatibleImage(decoded, defaultConfiguration());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, LOADER);
+    }
+
+    private static BufferedImage render(Key key, GraphicsConfiguration gc) {
+
+        int deviceWidth = (int) Math.ceil(key.width() * key.scaleX());
+        int deviceHeight = (int) Math.ceil(key.height() * key.scaleY());
+        BufferedImage rendered = createImage(gc, deviceWidth, deviceHeight,
+            key.opaque() ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+
+        Graphics2D g2 = rendered.createGraphics();
+        try {
+            g2.scale(key.scaleX(), key.scaleY());
+            if (key.gradientFill()) {
+                g2.setPaint(new GradientPaint(0, 0, key.background(), 0, key.height(), key.secondaryBackground()));
+                g2.fillRect(0, 0, key.width(), key.height());
+            } else if (key.opaque()) {
+                g2.setColor(key.background());
+                g2.fillRect(0, 0, key.width(), key.height());
+            }
+            if (key.cover() != null) {
+                paintCover(g2, key);
+            }
+        } finally {
+            g2.dispose();
+        }
+        return rendered;
+    }
+
+    /**
+     * Draw the wallpaper in one of the render modes.
+     */
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private static void paintCover(Graphics2D g2, Key key) {
+
+        Image cover = key.cover();
+        int imgW = cover.getWidth(null);
+        int imgH = cover.getHeight(null);
+        int width = key.width();
+        int height = key.height();
+
+        switch (key.renderMode()) {
+            case DesktopTheme.CENTER_IMAGE -> g2.drawImage(cover, (width - imgW) / 2, (height - imgH) / 2, null);
+            case DesktopTheme.STRETCH_IMAGE -> {
+                // Fill the desktop entirely while keeping the aspect ratio, centering the image
+                double scale = Math.max((double) width / imgW, (double) height / imgH);
+                int targetW = (int) (imgW * scale);
+                int targetH = (int) (imgH * scale);
+                Image scaled = downscale(cover,
+                    (int) Math.ceil(targetW * key.scaleX()), (int) Math.ceil(targetH * key.scaleY()));
+
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g2.drawImage(scaled, (width - targetW) / 2, (height - targetH) / 2, targetW, targetH, null);
+            }
+            case DesktopTheme.TILE_IMAGE -> {
+                g2.setPaint(new TexturePaint(toCompatibleImage(cover, null), new Rectangle(0, 0, imgW, imgH)));
+                g2.fillRect(0, 0, width, height);
+            }
+            case DesktopTheme.TOP_LEFT_CORNER_IMAGE -> g2.drawImage(cover, 0, 0, null);
+            case DesktopTheme.BOTTOM_LEFT_CORNER_IMAGE -> g2.drawImage(cover, 0, height - imgH, null);
+            case DesktopTheme.TOP_RIGHT_CORNER_IMAGE -> g2.drawImage(cover, width - imgW, 0, null);
+            case DesktopTheme.BOTTOM_RIGHT_CORNER_IMAGE -> g2.drawImage(cover, width - imgW, height - imgH, null);
+            default -> {
+                // unknown modes are rejected by the theme
+            }
+        }
+    }
+
+    /**
+     * Halve the image until it is at most twice as large as the target, as a single bilinear step
+     * skips source pixels and produces aliasing for large wallpapers on smaller screens.
+     */
+    private static Image downscale(Image source, int targetW, int targetH) {
+        Image current = source;
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        while (w > targetW * MAX_STEP_SCALE || h > targetH * MAX_STEP_SCALE) {
+            w = Math.max(targetW, w / 2);
+            h = Math.max(targetH, h / 2);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = step.createGraphics();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g2.dispose();
+            }
+            current = step;
+        }
+        return current;
+    }
+
+    private static BufferedImage toCompatibleImage(Image source, GraphicsConfiguration gc) {
+        if (source instanceof BufferedImage buffered && (gc == null
+            || buffered.getColorModel().equals(gc.getColorModel(buffered.getTransparency())))) {
+            return buffered;
+        }
+        int transparency = source instanceof BufferedImage buffered
+            ? buffered.getTransparency() : Transparency.TRANSLUCENT;
+        BufferedImage compatible = createImage(gc, source.getWidth(null), source.getHeight(null), transparency);
+        Graphics2D g2 = compatible.createGraphics();
+        try {
+            g2.drawImage(source, 0, 0, null);
+        } finally {
+            g2.dispose();
+        }
+        return compatible;
+    }
+
+    private static BufferedImage createImage(GraphicsConfiguration gc, int width, int height, int transparency) {
+        if (gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+            ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    /**
+     * Everything the rendered background depends on, the images are compared by identity
+     */
+    private record Key(int width, int height, double scaleX, double scaleY, boolean opaque, boolean gradientFill,
+                       Color background, Color secondaryBackground, Image cover, int renderMode) {
+
+        static Key of(JComponent desktop, DesktopTheme theme) {
+
+            GraphicsConfiguration gc = desktop.getGraphicsConfiguration();
+            AffineTransform transform = gc != null ? gc.getDefaultTransform() : new AffineTransform();
+
+            boolean opaque = desktop.isOpaque();
+            boolean gradientFill = opaque && theme.isGradientFill();
+            ImageIcon icon = theme.getCover();
+            Image cover = icon != null && theme.isCoverVisible() && icon.getIconWidth() > 0 && icon.getIconHeight() > 0
+                ? icon.getImage() : null;
+
+            return new Key(desktop.getWidth(), desktop.getHeight(), transform.getScaleX(), transform.getScaleY(),
+                opaque, gradientFill,
+                opaque ? desktop.getBackground() : null,
+                gradientFill ? theme.getSecondaryBackground() : null,
+                cover, cover != null ? theme.getRenderMode() : 0);
+        }
+
+        /**
+         * Nothing to render over the plain background painted by the look and feel
+         */
+        boolean isEmpty() {
+            return width <= 0 || height <= 0 || !gradientFill && cover == null;
+        }
+    }
+}
@@ -164,7 +164,6 @@ public class DesktopShortcutNavigator {
         }
         shortcutsLayer.addToSelection(s);
         s.scrollRectToVisible(s.getBounds());
-        shortcutsLayer.repaint();
     }
 
     private class NavigateAction extends AbstractAction {
@@ -205,7 +204,6 @@ public class DesktopShortcutNavigator {
                 }
                 shortcutsLayer.addToSelection(current);
                 current.scrollRectToVisible(current.getBounds());
-                shortcutsLayer.repaint();
                 return; // done
             }
 
@@ -219,7 +217,6 @@ public class DesktopShortcutNavigator {
                 }
                 shortcutsLayer.addToSelection(target);
                 target.scrollRectToVisible(target.getBounds());
-                shortcutsLayer.repaint();
             }
         }
 
@@ -97,12 +97,12 @@ public class DesktopShortcutSelector extends JComponent {
                 return;
             }
 
-            Component c = shortcutsLayer.getComponentAt(e.getPoint());
-            if (c instanceof DesktopShortcut shortcut) {
+            DesktopShortcut shortcut = shortcutsLayer.getShortcutAt(e.getX(), e.getY());
+            if (shortcut != null) {
 
                 if (SwingUtilities.isLeftMouseButton(e) && e.getClickCount() == 2) {
 
-                    if (!shortcutsLayer.getSelectedShortcuts().contains(shortcut)) {
+                    if (!shortcutsLayer.isSelected(shortcut)) {
                         shortcutsLayer.clearSelection();
                         shortcutsLayer.addToSelection(shortcut);
                     }
@@ -127,7 +127,7 @@ public class DesktopShortcutSelector extends JComponent {
 
                 if (e.isControlDown()) {
                     // Toggle selection
-                    if (shortcutsLayer.getSelectedShortcuts().contains(shortcut)) {
+                    if (shortcutsLayer.isSelected(shortcut)) {
                         shortcutsLayer.removeFromSelection(shortcut);
                     } else {
                         shortcutsLayer.addToSelection(shortcut);
@@ -135,7 +135,7 @@ public class DesktopShortcutSelector extends JComponent {
                 } else {
                     // If the shortcut ISN'T selected, clear everything and select just this one.
                     // If it IS already selected, do nothing (keep the group selected for dragging).
-                    if (!shortcutsLayer.getSelectedShortcuts().contains(shortcut)) {
+                    if (!shortcutsLayer.isSelected(shortcut)) {
                         shortcutsLayer.clearSelection();
                         shortcutsLayer.addToSelection(shortcut);
                     }
@@ -156,7 +156,6 @@ public class DesktopShortcutSelector extends JComponent {
                 selectionRect = new Rectangle(bandStart);
                 draggingIcons = false;
             }
-            repaint();
         }
 
         @SuppressWarnings("checkstyle:NestedIfDepth")
@@ -173,46 +172,50 @@ public class DesktopShortcutSelector extends JComponent {
                     int dx = e.getX() - dragStart.x;
                     int dy = e.getY() - dragStart.y;
 
+                    // moved shortcuts repaint their old and new bounds themselves
                     for (Map.Entry<DesktopShortcut, Point> entry : initialPositions.entrySet()) {
                         DesktopShortcut s = entry.getKey();
                         Point startPos = entry.getValue();
                         s.setLocation(startPos.x + dx, startPos.y + dy);
                     }
                 } else if (bandStart != null) {
+                    Rectangle dirty = new Rectangle(selectionRect);
                     selectionRect.setBounds(
                         Math.min(bandStart.x, e.getX()),
                         Math.min(bandStart.y, e.getY()),
                         Math.abs(bandStart.x - e.getX()),
                         Math.abs(bandStart.y - e.getY())
                     );
-
-                    for (DesktopShortcut s : shortcutsLayer.getShortcuts()) {
-                        boolean inside = selectionRect.intersects(s.getBounds());
-                        if (inside) {
-                            shortcutsLayer.addToSelection(s);
-                        } else {
-                            shortcutsLayer.removeFromSelection(s);
-                        }
-                    }
+                    shortcutsLayer.setSelection(shortcutsLayer.getShortcutsIn(selectionRect));
+                    dirty.add(selectionRect);
+                    repaintBand(dirty);
                 }
-                repaint();
             }
         }
 
         @Override
         public void mouseReleased(MouseEvent e) {
             if (SwingUtilities.isLeftMouseButton(e)) {
+                if (selectionRect != null) {
+                    repaintBand(selectionRect);
+                }
                 dragStart = null;
                 bandStart = null;
                 initialPositions.clear();
                 selectionRect = null;
                 draggingIcons = false;
-
-                repaint();
             }
         }
     }
 
+    /**
+     * Repaint the area of the rubber band, including its outline drawn to the right and bottom edges.
+     */
+    @SuppressWarnings("checkstyle:InnerTypeLast")
+    private void repaintBand(Rectangle band) {
+        repaint(band.x, band.y, band.width + 1, band.height + 1);
+    }
+
     @SuppressWarnings({"checkstyle:MagicNumber", "checkstyle:InnerTypeLast"})
     @Override
     protected void paintComponent(Graphics g) {
@@ -232,7 +235,7 @@ public class DesktopShortcutSelector extends JComponent {
             return true;
         }
 
-        Component c = shortcutsLayer.getComponentAt(x, y);
-        return (c == shortcutsLayer || c instanceof DesktopShortcut);
+        // shortcuts are within the layer, so any point of the layer is either on a shortcut or on the layer
+        return shortcutsLayer.contains(x, y);
     }
 }
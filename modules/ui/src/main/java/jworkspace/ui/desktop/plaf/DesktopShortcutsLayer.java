@@ -25,14 +25,20 @@ package jworkspace.ui.desktop.plaf;
   ----------------------------------------------------------------------------
 */
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.hyperrealm.kiwi.ui.KPanel;
 
@@ -58,6 +64,10 @@ import lombok.Getter;
  * This class supports multiple selection modes, including toggling individual shortcut
  * selections and enabling exclusive selection for a single shortcut. Shortcuts are
  * interactable and designed to mimic the behavior of desktop icons.
+ * <p>
+ * Shortcut bounds are indexed by a {@link ShortcutGrid}, so hit tests and rubber band selection
+ * look only at the shortcuts near the point or the band. Selection changes repaint only the
+ * shortcuts whose state has changed.
  */
 public class DesktopShortcutsLayer extends KPanel {
 
@@ -66,9 +76,14 @@ public class DesktopShortcutsLayer extends KPanel {
 
     private static final Clipboard CLIPBOARD = new Clipboard("Desktop clipboard");
 
-    private final List<DesktopShortcut> shortcuts = new ArrayList<>();
+    private final Set<DesktopShortcut> shortcuts = new LinkedHashSet<>();
+
+    /**
+     * Selected shortcuts in the order of selection
+     */
+    private final Set<DesktopShortcut> selected = new LinkedHashSet<>();
 
-    private final List<DesktopShortcut> selected = new ArrayList<>();
+    private final ShortcutGrid grid = new ShortcutGrid();
 
     @Getter
     private final DesktopShortcutActions desktopShortcutActions;
@@ -90,6 +105,8 @@ public class DesktopShortcutsLayer extends KPanel {
         shortcuts.add(s);
         add(s);
 
+        // the grid follows the shortcut from now on, including the bounds set below
+        s.setBoundsListener(grid::put);
         if (location != null) {
             s.setBounds(location.x, location.y, s.getPreferredSize().width, s.getPreferredSize().height);
         } else {
@@ -104,35 +121,72 @@ public class DesktopShortcutsLayer extends KPanel {
     }
 
     private void toggleSelection(DesktopShortcut s) {
-        if (selected.contains(s)) {
-            selected.remove(s);
+        if (selected.remove(s)) {
             s.setSelected(false);
         } else {
-            selected.add(s);
-            s.setSelected(true);
+            addToSelection(s);
         }
-        repaint();
     }
 
     private void selectOnly(DesktopShortcut s) {
         clearSelection();
-        selected.add(s);
-        s.setSelected(true);
-        repaint();
+        addToSelection(s);
     }
 
     public void clearSelection() {
-        for (DesktopShortcut s : new ArrayList<>(selected)) {
+        for (DesktopShortcut s : selected) {
             s.setSelected(false);
         }
         selected.clear();
-        repaint();
     }
 
     public void addToSelection(DesktopShortcut s) {
-        if (!selected.contains(s)) {
-            selected.add(s); s.setSelected(true);
+        if (selected.add(s)) {
+            s.setSelected(true);
+        }
+    }
+
+    /**
+     * Select exactly the given shortcuts, changing only the shortcuts which are not in both the
+     * current and the new selection.
+     *
+     * @param shortcuts the shortcuts to select
+     */
+    public void setSelection(Collection<DesktopShortcut> shortcuts) {
+        Set<DesktopShortcut> target = new HashSet<>(shortcuts);
+        for (Iterator<DesktopShortcut> iterator = selected.iterator(); iterator.hasNext();) {
+            DesktopShortcut s = iterator.next();
+            if (!target.contains(s)) {
+                iterator.remove();
+                s.setSelected(false);
+            }
         }
+        shortcuts.forEach(this::addToSelection);
+    }
+
+    public boolean isSelected(DesktopShortcut s) {
+        return selected.contains(s);
+    }
+
+    /**
+     * Find the topmost shortcut at the point.
+     *
+     * @param x the x coordinate in this layer
+     * @param y the y coordinate in this layer
+     * @return the shortcut or null
+     */
+    public DesktopShortcut getShortcutAt(int x, int y) {
+        return grid.at(x, y);
+    }
+
+    /**
+     * Find the shortcuts intersecting the area.
+     *
+     * @param area the area in this layer
+     * @return the shortcuts in no particular order
+     */
+    public List<DesktopShortcut> getShortcutsIn(Rectangle area) {
+        return grid.query(area);
     }
 
     public List<DesktopShortcut> getShortcuts() {
@@ -153,6 +207,8 @@ public class DesktopShortcutsLayer extends KPanel {
         removeFromSelection(s);
         remove(s); // remove from parent
         shortcuts.remove(s); // remove from the shortcut list
+        s.setBoundsListener(null);
+        grid.remove(s);
         revalidate();
         repaint();
     }
@@ -161,8 +217,6 @@ public class DesktopShortcutsLayer extends KPanel {
         for (DesktopShortcut s : new ArrayList<>(getSelectedShortcuts())) {
             removeShortcut(s);
         }
-        clearSelection();
-        repaint();
     }
 
     @SuppressWarnings("checkstyle:MagicNumber")
@@ -183,11 +237,7 @@ public class DesktopShortcutsLayer extends KPanel {
     }
 
     public void selectAllShortcuts() {
-        clearSelection();
-        for (DesktopShortcut s : getShortcuts()) {
-            addToSelection(s);
-        }
-        repaint();
+        shortcuts.forEach(this::addToSelection);
     }
 
     public void cutSelection() {
@@ -76,7 +76,7 @@ public class DesktopTheme {
     @SuppressWarnings("checkstyle:MagicNumber")
     private transient int vstep = 50;
     /**
-     * Image icon - desktop wallpaper.
+     * Image icon - desktop wallpaper, decoded from the path to image by the desktop.
      */
     private ImageIcon cover = null;
     /**
@@ -108,35 +108,6 @@ public class DesktopTheme {
         this.coverVisible = !this.coverVisible;
     }
 
-    /**
-     * Returns background image of current desktop
-     */
-    public ImageIcon getCover() {
-        if (cover == null) {
-            cover = loadCover();
-        }
-        return cover;
-    }
-
-    /**
-     * Sets cover image for desktop
-     */
-    public void setCover(String path) {
-        pathToImage = path;
-        this.cover = loadCover();
-    }
-
-    public void setCover(ImageIcon cover) {
-        this.cover = cover;
-    }
-
-    private ImageIcon loadCover() {
-        if (pathToImage != null) {
-            cover = new ImageIcon(pathToImage);
-        }
-        return cover;
-    }
-
     /**
      * Set render mode
      */
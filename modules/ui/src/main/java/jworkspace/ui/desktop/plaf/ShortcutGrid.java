@@ -0,0 +1,180 @@
+package jworkspace.ui.desktop.plaf;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import jworkspace.ui.desktop.DesktopShortcut;
+
+/**
+ * Uniform grid over the bounds of desktop shortcuts, to find the shortcuts at a point or in
+ * a rectangle without testing every shortcut on the desktop.
+ * <p>
+ * A shortcut is registered in every cell its bounds overlap. Cells are larger than shortcuts,
+ * so a shortcut is in one to four cells, and a cell holds a few shortcuts unless they overlap.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+class ShortcutGrid {
+
+    /**
+     * Cell width and height in pixels
+     */
+    static final int CELL_SIZE = 128;
+
+    private static final long CELL_MASK = 0xFFFFFFFFL;
+
+    private final Map<Long, List<DesktopShortcut>> cells = new HashMap<>();
+
+    private final Map<DesktopShortcut, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Number of shortcuts ever added, to order them as the layer paints them
+     */
+    private long added;
+
+    /**
+     * Add the shortcut or update it after its bounds have changed.
+     *
+     * @param shortcut the shortcut
+     */
+    void put(DesktopShortcut shortcut) {
+        Entry previous = entries.get(shortcut);
+        Rectangle bounds = shortcut.getBounds();
+        if (previous != null) {
+            if (previous.bounds().equals(bounds)) {
+                return;
+            }
+            removeFromCells(shortcut, previous.bounds());
+        }
+        entries.put(shortcut, new Entry(bounds, previous != null ? previous.order() : added++));
+        forEachCell(bounds, cell -> cells.computeIfAbsent(cell, key -> new ArrayList<>(2)).add(shortcut));
+    }
+
+    /**
+     * Remove the shortcut.
+     *
+     * @param shortcut the shortcut
+     */
+    void remove(DesktopShortcut shortcut) {
+        Entry entry = entries.remove(shortcut);
+        if (entry != null) {
+            removeFromCells(shortcut, entry.bounds());
+        }
+    }
+
+    /**
+     * Find the shortcuts intersecting the area, in no particular order.
+     *
+     * @param area the area
+     * @return the shortcuts
+     */
+    List<DesktopShortcut> query(Rectangle area) {
+        if (area.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<DesktopShortcut> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        forEachCell(area, cell -> {
+            for (DesktopShortcut shortcut : cells.getOrDefault(cell, Collections.emptyList())) {
+                if (area.intersects(entries.get(shortcut).bounds())) {
+                    found.add(shortcut);
+                }
+            }
+        });
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Find the topmost shortcut containing the point. Shortcuts added first are painted on top.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the shortcut or null
+     */
+    DesktopShortcut at(int x, int y) {
+        DesktopShortcut top = null;
+        long topOrder = Long.MAX_VALUE;
+        for (DesktopShortcut shortcut : cells.getOrDefault(cell(x, y), Collections.emptyList())) {
+            Entry entry = entries.get(shortcut);
+            if (entry.bounds().contains(x, y) && entry.order() < topOrder) {
+                top = shortcut;
+                topOrder = entry.order();
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Get the number of shortcuts in the grid.
+     *
+     * @return the number of shortcuts
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private void removeFromCells(DesktopShortcut shortcut, Rectangle bounds) {
+        forEachCell(bounds, cell -> {
+            List<DesktopShortcut> list = cells.get(cell);
+            if (list != null && list.remove(shortcut) && list.isEmpty()) {
+                cells.remove(cell);
+            }
+        });
+    }
+
+    private static void forEachCell(Rectangle bounds, LongConsumer action) {
+        int firstColumn = Math.floorDiv(bounds.x, CELL_SIZE);
+        int firstRow = Math.floorDiv(bounds.y, CELL_SIZE);
+        int lastColumn = Math.floorDiv(bounds.x + Math.max(bounds.width - 1, 0), CELL_SIZE);
+        int lastRow = Math.floorDiv(bounds.y + Math.max(bounds.height - 1, 0), CELL_SIZE);
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                action.accept(key(column, row));
+            }
+        }
+    }
+
+    private static long cell(int x, int y) {
+        return key(Math.floorDiv(x, CELL_SIZE), Math.floorDiv(y, CELL_SIZE));
+    }
+
+    private static long key(int column, int row) {
+        return (long) column << Integer.SIZE | row & CELL_MASK;
+    }
+
+    /**
+     * Bounds of a shortcut as indexed, and its paint order
+     */
+    private record Entry(Rectangle bounds, long order) {}
+}
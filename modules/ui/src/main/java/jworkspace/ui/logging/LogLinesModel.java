@@ -0,0 +1,156 @@
+package jworkspace.ui.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * Bounded list model of log lines, kept in a ring buffer.
+ *
+ * <p>Lines are added in batches at either end. When the model is full, lines appended at the end
+ * evict the oldest lines and lines prepended at the start evict the newest ones, so the model is
+ * a window of a fixed size over a longer log. Every batch fires one removal and one addition event
+ * at most.</p>
+ *
+ * <p>Must be used from the Event Dispatch Thread.</p>
+ */
+final class LogLinesModel extends AbstractListModel<String> {
+
+    private final String[] lines;
+
+    /** Index of the first line in the ring */
+    private int head;
+
+    private int size;
+
+    /** Length of the longest line added since the last clear */
+    private int maxLength;
+
+    LogLinesModel(int capacity) {
+        this.lines = new String[Math.max(1, capacity)];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return lines[(head + index) % lines.length];
+    }
+
+    int getCapacity() {
+        return lines.length;
+    }
+
+    int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Adds the lines after the last line, evicting the oldest lines if the model is full.
+     *
+     * @param batch lines to add
+     * @return number of lines evicted from the start
+     */
+    int append(List<String> batch) {
+        List<String> added = batch.size() > lines.length
+            ? batch.subList(batch.size() - lines.length, batch.size())
+            : batch;
+        if (added.isEmpty()) {
+            return 0;
+        }
+        int evicted = Math.max(0, size + added.size() - lines.length);
+        if (evicted > 0) {
+            head = (head + evicted) % lines.length;
+            size -= evicted;
+            fireIntervalRemoved(this, 0, evicted - 1);
+        }
+        for (String line : added) {
+            lines[(head + size++) % lines.length] = line;
+            maxLength = Math.max(maxLength, line.length());
+        }
+        fireIntervalAdded(this, size - added.size(), size - 1);
+        return evicted;
+    }
+
+    /**
+     * Adds the lines before the first line, evicting the newest lines if the model is full.
+     *
+     * @param batch lines to add, in the log order
+     * @return number of lines evicted from the end
+     */
+    int prepend(List<String> batch) {
+        List<String> added = batch.size() > lines.length
+            ? batch.subList(batch.size() - lines.length, batch.size())
+            : batch;
+        if (added.isEmpty()) {
+            return 0;
+        }
+        int evicted = Math.max(0, size + added.size() - lines.length);
+        if (evicted > 0) {
+            size -= evicted;
+            fireIntervalRemoved(this, size, size + evicted - 1);
+        }
+        for (int i = added.size() - 1; i >= 0; i--) {
+            head = (head - 1 + lines.length) % lines.length;
+            lines[head] = added.get(i);
+            maxLength = Math.max(maxLength, lines[head].length());
+            size++;
+        }
+        fireIntervalAdded(this, 0, added.size() - 1);
+        return evicted;
+    }
+
+    /**
+     * @return copy of all lines in the model
+     */
+    List<String> getLines() {
+        List<String> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            copy.add(getElementAt(i));
+        }
+        return copy;
+    }
+
+    void clear() {
+        int removed = size;
+        Arrays.fill(lines, null);
+        head = 0;
+        size = 0;
+        maxLength = 0;
+        if (removed > 0) {
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+    }
+}
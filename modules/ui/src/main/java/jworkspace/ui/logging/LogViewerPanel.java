@@ -25,43 +25,44 @@ package jworkspace.ui.logging;
   ----------------------------------------------------------------------------
 */
 
-import java.awt.Adjustable;
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Insets;
-import java.awt.event.AdjustmentListener;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.AdjustmentEvent;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
+import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JFileChooser;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
-import javax.swing.JTextPane;
 import javax.swing.JToolBar;
+import javax.swing.ListSelectionModel;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
-import javax.swing.text.AbstractDocument;
-import javax.swing.text.AttributeSet;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.BoxView;
-import javax.swing.text.ComponentView;
-import javax.swing.text.Element;
-import javax.swing.text.IconView;
-import javax.swing.text.LabelView;
-import javax.swing.text.ParagraphView;
-import javax.swing.text.SimpleAttributeSet;
-import javax.swing.text.StyleConstants;
-import javax.swing.text.StyledDocument;
-import javax.swing.text.StyledEditorKit;
-import javax.swing.text.View;
-import javax.swing.text.ViewFactory;
 
+import jworkspace.runtime.logging.LogSeverity;
 import jworkspace.runtime.logging.LogStreamProvider;
 
 /**
@@ -69,46 +70,126 @@ import jworkspace.runtime.logging.LogStreamProvider;
  *
  * <p>Features:</p>
  * <ul>
- *   <li>Push-based updates (no timers)</li>
- *   <li>Colored log levels (INFO / WARN / ERROR)</li>
- *   <li>Append-only document updates</li>
+ *   <li>Push-based updates, coalesced into one EDT update per frame</li>
+ *   <li>Only visible rows are rendered, colored by their log level (INFO / WARN / ERROR)</li>
+ *   <li>Bounded number of lines in memory, older history is paged in on scroll</li>
  *   <li>Auto-scroll unless user scrolls up</li>
  *   <li>Clear / Copy All / Save actions</li>
  * </ul>
+ *
+ * <p>The viewer keeps a window of at most {@link #MAX_LINES} lines of the log. When switched to
+ * a log, it shows the last {@link #PAGE_LINES} lines and follows the new ones. Scrolling to the top
+ * pages in older lines from the log provider, and once the window is full, its newest lines are
+ * dropped and the live updates are paused until the user scrolls back to the bottom.</p>
+ *
+ * <p>Live updates of a log provider only signal that the log has grown: the new lines are read
+ * from the provider by their line numbers, so lines skipped by a slow delivery are shown too and
+ * the viewer stays aligned with the log. The log is read in background, one read at a time.</p>
  */
 public final class LogViewerPanel extends JPanel {
 
+    /**
+     * Number of lines fetched from the log history at once
+     */
+    static final int PAGE_LINES = 1000;
+
+    /**
+     * Maximum number of lines held by the viewer
+     */
+    static final int MAX_LINES = 20_000;
+
+    /**
+     * Delay of coalesced appends, about one frame
+     */
+    private static final int FRAME_MILLIS = 16;
+
+    private static final int CELL_GAP = 4;
+
+    private static final EmptyBorder CELL_BORDER = new EmptyBorder(0, CELL_GAP, 0, CELL_GAP);
+
+    /**
+     * Distance from the bottom in pixels, within which the viewer keeps scrolling to new lines
+     */
+    private static final int AUTO_SCROLL_THRESHOLD = 5;
+
+    private static final String TAB = "    ";
+
+    private static final Executor READER = task -> Thread.ofVirtual().name("log-viewer-reader").start(task);
+
     private LogStreamProvider currentProvider = null;
-    private final Consumer<String> liveStreamListener = this::appendRawChunkFromStream;
+    private final Consumer<String> liveStreamListener = this::onLiveChunk;
 
-    private final int preferredWidth;
-    private final JTextPane textPane;
-    private final StyledDocument document;
+    private final LogLinesModel model = new LogLinesModel(MAX_LINES);
+    private final JList<String> list;
+    private final JScrollPane scrollPane;
+
+    /**
+     * Chunks of text appended manually from any thread and not yet shown
+     */
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Whether the log of the provider has grown since the last flush
+     */
+    private final AtomicBoolean liveChanged = new AtomicBoolean();
+    private final Timer flushTimer;
+
+    /**
+     * Incomplete last line of the received chunks, EDT only
+     */
+    private final StringBuilder carry = new StringBuilder();
+
+    /**
+     * Log line numbers of the first line in the viewer, of the line after the last one,
+     * and of the first line that can be paged in after the viewer is cleared. EDT only.
+     */
+    private long firstLine;
+    private long endLine;
+    private long floorLine;
+
+    /**
+     * Whether the viewer ends at the end of the log and appends live lines
+     */
+    private boolean following = true;
 
     private boolean autoScroll = true;
 
-    private final AttributeSet infoStyle;
-    private final AttributeSet warnStyle;
-    private final AttributeSet errorStyle;
+    private boolean pagingScheduled;
+
+    /**
+     * Incremented when the viewer is reset, so reads started before are dropped. EDT only.
+     */
+    private long generation;
+
+    /**
+     * Whether a read of the log is running, and whether the new lines have to be read after it. EDT only.
+     */
+    private boolean reading;
+    private boolean syncRequested;
+
+    private final Color infoColor;
+    private final Color warnColor;
+    private final Color errorColor;
 
     @SuppressWarnings("checkstyle:MagicNumber")
     public LogViewerPanel(int preferredWidth) {
         super(new BorderLayout());
-        this.preferredWidth = preferredWidth;
 
         // Core visual styles configuration
-        infoStyle = createStyle(Color.BLACK, false);
-        warnStyle = createStyle(new Color(255, 140, 0), false);
-        errorStyle = createStyle(Color.RED, true);
+        infoColor = Color.BLACK;
+        warnColor = new Color(255, 140, 0);
+        errorColor = Color.RED;
 
-        // Controlled initialization order prevents field reference leaks
-        this.textPane = createTextPaneInstance();
-        this.document = this.textPane.getStyledDocument();
+        this.list = createListInstance();
+        this.flushTimer = new Timer(FRAME_MILLIS, _ -> flush());
+        this.flushTimer.setRepeats(false);
 
-        JScrollPane scrollPane = new JScrollPane(this.textPane);
-        scrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        this.scrollPane = new JScrollPane(this.list);
+        scrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setBorder(new EmptyBorder(new Insets(0, 0, 0, 0)));
-        installAutoScrollDetection(scrollPane);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(list.getFixedCellHeight());
+        installScrollDetection(scrollPane);
 
         add(createToolbar(), BorderLayout.NORTH);
         add(scrollPane, BorderLayout.CENTER);
@@ -116,16 +197,15 @@ public final class LogViewerPanel extends JPanel {
         setPreferredSize(new Dimension(preferredWidth, 200));
     }
 
-    private JTextPane createTextPaneInstance() {
-        JTextPane pane = new JTextPane() {
-            @Override
-            public boolean getScrollableTracksViewportWidth() {
-                return getParent() != null && getParent().getWidth() >= preferredWidth;
-            }
-        };
-        pane.setEditable(false);
-        pane.setEditorKit(new WrapEditorKit());
-        return pane;
+    private JList<String> createListInstance() {
+        JList<String> view = new JList<>(model);
+        view.setFont(new Font(Font.MONOSPACED, Font.PLAIN, view.getFont().getSize()));
+        // Fixed cell sizes let the list lay out and paint the visible rows only
+        view.setFixedCellHeight(view.getFontMetrics(view.getFont()).getHeight());
+        view.setFixedCellWidth(1);
+        view.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        view.setCellRenderer(new SeverityRenderer());
+        return view;
     }
 
     /**
@@ -142,61 +222,218 @@ public final class LogViewerPanel extends JPanel {
         // on the invoking thread before SwingUtilities can run.
         this.currentProvider = newProvider;
 
-        // Clear and set up the new stream asynchronously on the EDT safely
+        // Listen before the history is read, the lines written meanwhile are read with the next update
+        if (newProvider != null) {
+            newProvider.setStreamListener(this.liveStreamListener);
+        }
+
+        // Clear and fetch only the last page of the history, older pages are fetched on scroll
         SwingUtilities.invokeLater(() -> {
-            try {
-                // Wipe previous records safely
-                document.remove(0, document.getLength());
-            } catch (BadLocationException ignored) {}
-
-            // Use the instance field reference to prevent Garbage Collection drops
-            if (this.currentProvider != null) {
-                String history = this.currentProvider.getLogs();
-                if (history != null && !history.isEmpty()) {
-                    appendRawChunk(history);
-                }
-                // Bind the live stream to our raw layout consumer wrapper
-                this.currentProvider.setStreamListener(this.liveStreamListener);
-            }
+            resetView(0);
+            read(provider -> {
+                long from = Math.max(0, provider.getLineCount() - PAGE_LINES);
+                return new Page(from, expandTabs(provider.getLines(from, PAGE_LINES)));
+            }, page -> {
+                model.append(page.lines());
+                firstLine = page.from();
+                endLine = page.from() + page.lines().size();
+                updateCellWidth();
+                scrollToEnd();
+            });
         });
     }
 
     /**
-     * Internal entry point handling real-time asynchronous background stream deliveries safely.
+     * Receives the live stream chunks on the delivery thread, they only mark the log as grown.
+     */
+    private void onLiveChunk(String textChunk) {
+        liveChanged.set(true);
+        scheduleFlush();
+    }
+
+    /**
+     * Internal entry point handling manually appended text from any thread.
      */
     private void appendRawChunkFromStream(String textChunk) {
-        SwingUtilities.invokeLater(() -> appendRawChunk(textChunk));
+        pending.add(textChunk);
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushTimer.restart();
+        }
     }
 
     /**
-     * Inserts text chunks into the text pane and evaluates text styling rules.
+     * Reads the new lines of the provider log, or splits all pending manual chunks into lines,
+     * and shows them in a single model update.
      * Must be called exclusively from inside the Swing Event Dispatch Thread (EDT).
      */
-    private void appendRawChunk(String text) {
-        try {
-            LogSeverity severity = LogSeverityDetector.detect(text);
-            // todo: makes the whole text red
-            AttributeSet style = switch (severity) {
-                case INFO -> infoStyle;
-                case WARNING -> warnStyle;
-                case ERROR -> errorStyle;
-            };
-
-            document.insertString(document.getLength(), text, infoStyle);
-            if (autoScroll) {
-                textPane.setCaretPosition(document.getLength());
+    private void flush() {
+        flushScheduled.set(false);
+
+        if (liveChanged.getAndSet(false) && this.currentProvider != null) {
+            sync();
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (String chunk = pending.poll(); chunk != null; chunk = pending.poll()) {
+            int start = 0;
+            for (int end = chunk.indexOf('\n'); end >= 0; end = chunk.indexOf('\n', start)) {
+                carry.append(chunk, start, end > start && chunk.charAt(end - 1) == '\r' ? end - 1 : end);
+                lines.add(expandTabs(carry.toString()));
+                carry.setLength(0);
+                start = end + 1;
             }
-        } catch (BadLocationException ignored) {
-            /* Should not occur during append-only actions */
+            carry.append(chunk, start, chunk.length());
+        }
+
+        // A viewer with a provider shows the lines of its log only
+        if (lines.isEmpty() || this.currentProvider != null || !following) {
+            return;
+        }
+        appendNewest(new Page(endLine, lines));
+    }
+
+    /**
+     * Reads the lines written to the log after the last line in the viewer, once the running read is done.
+     * Live lines received while older history is shown are paged in from the log on scroll.
+     */
+    private void sync() {
+        syncRequested = false;
+        if (!following) {
+            return;
         }
+        long from = endLine;
+        boolean started = read(provider -> {
+            long lineCount = provider.getLineCount();
+            // Lines which would be evicted at once are not read
+            long first = Math.max(from, lineCount - MAX_LINES);
+            return new Page(first, expandTabs(provider.getLines(first, (int) Math.max(0, lineCount - first))));
+        }, this::appendNewest);
+        syncRequested = !started && reading;
     }
 
     /**
-     * Public method to append completed individual log messages manually.
-     * Safe to invoke from any background execution thread.
+     * Appends the newest lines of the log, if the viewer still follows it.
+     */
+    private void appendNewest(Page page) {
+        if (!following) {
+            return;
+        }
+        if (page.from() > endLine) {
+            // The lines in between would be evicted anyway
+            model.clear();
+            firstLine = page.from();
+            endLine = page.from();
+        }
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        int value = scrollBar.getValue();
+        int evicted = model.append(page.lines());
+        firstLine += evicted;
+        endLine += page.lines().size();
+        updateCellWidth();
+        if (autoScroll) {
+            scrollToEnd();
+        } else if (evicted > 0) {
+            // Keep the rows the user is reading in place
+            scrollPane.validate();
+            scrollBar.setValue(value - evicted * list.getFixedCellHeight());
+        }
+    }
+
+    /**
+     * Fetches the page of the log before the first line in the viewer.
+     */
+    private void pageOlder() {
+        long from = Math.max(floorLine, firstLine - PAGE_LINES);
+        int count = (int) (firstLine - from);
+        read(provider -> new Page(from, expandTabs(provider.getLines(from, count))), page -> {
+            List<String> older = page.lines();
+            if (older.isEmpty() || page.from() + older.size() != firstLine) {
+                return;
+            }
+            JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+            int value = scrollBar.getValue();
+            int evicted = model.prepend(older);
+            firstLine -= older.size();
+            if (evicted > 0) {
+                endLine -= evicted;
+                following = false;
+                autoScroll = false;
+            }
+            updateCellWidth();
+            scrollPane.validate();
+            scrollBar.setValue(value + older.size() * list.getFixedCellHeight());
+        });
+    }
+
+    /**
+     * Fetches the page of the log after the last line in the viewer, and follows the live lines
+     * again if it reaches the end of the log.
+     */
+    private void pageNewer() {
+        long from = endLine;
+        read(provider -> new Page(from, expandTabs(provider.getLines(from, PAGE_LINES))), page -> {
+            List<String> newer = page.lines();
+            if (following || page.from() != endLine) {
+                return;
+            }
+            JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+            int value = scrollBar.getValue();
+            int evicted = model.append(newer);
+            firstLine += evicted;
+            endLine += newer.size();
+            if (newer.size() < PAGE_LINES) {
+                // Lines written after this page are read right away
+                following = true;
+                syncRequested = true;
+            }
+            updateCellWidth();
+            scrollPane.validate();
+            scrollBar.setValue(value - evicted * list.getFixedCellHeight());
+        });
+    }
+
+    /**
+     * Reads the log of the current provider in background and applies the result on the EDT,
+     * unless the viewer has been reset meanwhile. Only one read runs at a time, the new lines
+     * and the pages are checked again after it.
+     *
+     * @return whether the read is started
+     */
+    private boolean read(Function<LogStreamProvider, Page> reader, Consumer<Page> apply) {
+        LogStreamProvider provider = this.currentProvider;
+        if (provider == null || reading) {
+            return false;
+        }
+        reading = true;
+        long started = generation;
+        CompletableFuture.supplyAsync(() -> reader.apply(provider), READER)
+            .whenComplete((page, error) -> SwingUtilities.invokeLater(() -> {
+                if (started != generation) {
+                    return;
+                }
+                reading = false;
+                if (page != null) {
+                    apply.accept(page);
+                }
+                if (syncRequested) {
+                    sync();
+                } else {
+                    checkPaging();
+                }
+            }));
+        return true;
+    }
+
+    /**
+     * Public method to append completed individual log messages manually, to a viewer
+     * without a log provider. Safe to invoke from any background execution thread.
      */
     public void append(String message) {
-        SwingUtilities.invokeLater(() -> appendRawChunk(message + "\n"));
+        appendRawChunkFromStream(message + "\n");
     }
 
     /**
@@ -204,21 +441,65 @@ public final class LogViewerPanel extends JPanel {
      */
     public void clear() {
         SwingUtilities.invokeLater(() -> {
-            try {
-                document.remove(0, document.getLength());
-            } catch (BadLocationException ignored) {}
+            resetView(endLine);
+            // Lines written before and not shown yet are cleared too
+            read(provider -> new Page(provider.getLineCount(), List.of()), page -> resetView(page.from()));
         });
     }
 
     /**
-     * Appends a collection of completed lines sequentially.
+     * Appends a collection of completed lines sequentially, to a viewer without a log provider.
      */
     public void appendAll(Iterable<String> lines) {
+        StringBuilder chunk = new StringBuilder();
         for (String line : lines) {
-            append(line);
+            chunk.append(line).append('\n');
+        }
+        if (!chunk.isEmpty()) {
+            appendRawChunkFromStream(chunk.toString());
+        }
+    }
+
+    /**
+     * Removes all lines from the viewer, the lines before the given log line are not paged in anymore.
+     */
+    private void resetView(long line) {
+        generation++;
+        reading = false;
+        syncRequested = false;
+        pending.clear();
+        carry.setLength(0);
+        model.clear();
+        firstLine = line;
+        endLine = line;
+        floorLine = line;
+        following = true;
+        autoScroll = true;
+        updateCellWidth();
+    }
+
+    private void updateCellWidth() {
+        int width = model.getMaxLength() * list.getFontMetrics(list.getFont()).charWidth('m') + 2 * CELL_GAP;
+        if (width != list.getFixedCellWidth()) {
+            list.setFixedCellWidth(width);
         }
     }
 
+    private void scrollToEnd() {
+        if (model.getSize() > 0) {
+            scrollPane.validate();
+            list.ensureIndexIsVisible(model.getSize() - 1);
+        }
+    }
+
+    private static String expandTabs(String line) {
+        return line.indexOf('\t') < 0 ? line : line.replace("\t", TAB);
+    }
+
+    private static List<String> expandTabs(List<String> lines) {
+        return lines.stream().map(LogViewerPanel::expandTabs).toList();
+    }
+
     private JToolBar createToolbar() {
         JToolBar tb = new JToolBar();
         tb.setFloatable(false);
@@ -239,18 +520,22 @@ public final class LogViewerPanel extends JPanel {
     }
 
     private void copyAll() {
-        textPane.selectAll();
-        textPane.copy();
-        textPane.select(0, 0);
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(
+            new StringSelection(String.join("\n", model.getLines())), null
+        );
     }
 
+    /**
+     * Saves the whole log of the provider, or the lines in the viewer if there is no provider.
+     */
     private void save() {
         JFileChooser fc = new JFileChooser();
         if (fc.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            LogStreamProvider provider = this.currentProvider;
             try {
                 Files.writeString(
                     fc.getSelectedFile().toPath(),
-                    textPane.getText(),
+                    provider != null ? provider.getLogs() : String.join("\n", model.getLines()),
                     StandardCharsets.UTF_8
                 );
             } catch (IOException ex) {
@@ -264,59 +549,92 @@ public final class LogViewerPanel extends JPanel {
         }
     }
 
-    @SuppressWarnings("checkstyle:MagicNumber")
-    private void installAutoScrollDetection(JScrollPane scrollPane) {
-        AdjustmentListener l = e -> {
-            Adjustable sb = e.getAdjustable();
-            int bottom = sb.getMaximum() - sb.getVisibleAmount();
-            autoScroll = sb.getValue() >= bottom - 5;
-        };
-        scrollPane.getVerticalScrollBar().addAdjustmentListener(l);
+    private void installScrollDetection(JScrollPane scrollPane) {
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(this::onScroll);
     }
 
-    private static AttributeSet createStyle(Color color, boolean bold) {
-        SimpleAttributeSet s = new SimpleAttributeSet();
-        StyleConstants.setForeground(s, color);
-        StyleConstants.setBold(s, bold);
-        return s;
+    private void onScroll(AdjustmentEvent e) {
+        JScrollBar sb = (JScrollBar) e.getAdjustable();
+        int bottom = sb.getMaximum() - sb.getVisibleAmount();
+        autoScroll = following && sb.getValue() >= bottom - AUTO_SCROLL_THRESHOLD;
+
+        // Page only once the user has stopped dragging
+        if (!e.getValueIsAdjusting() && !pagingScheduled && getPagingDirection(sb) != 0) {
+            pagingScheduled = true;
+            SwingUtilities.invokeLater(() -> {
+                pagingScheduled = false;
+                checkPaging();
+            });
+        }
     }
 
-    // WrapEditorKit inner classes remain here unchanged...
-    private static class WrapEditorKit extends StyledEditorKit {
-        @Override
-        public ViewFactory getViewFactory() {
-            return new WrapColumnFactory();
+    /**
+     * Pages in the older or the newer lines if the viewer is scrolled to the top or to the bottom.
+     */
+    private void checkPaging() {
+        JScrollBar sb = scrollPane.getVerticalScrollBar();
+        if (sb.getValueIsAdjusting()) {
+            return;
         }
+        int direction = getPagingDirection(sb);
+        if (direction < 0) {
+            pageOlder();
+        } else if (direction > 0) {
+            pageNewer();
+        }
+    }
 
-        private static class WrapColumnFactory implements ViewFactory {
-            @SuppressWarnings({"checkstyle:MissingSwitchDefault", "checkstyle:ReturnCount"})
-            @Override
-            public View create(Element elem) {
-                String kind = elem.getName();
-                if (kind != null) {
-                    switch (kind) {
-                        case AbstractDocument.ContentElementName:
-                            return new LabelView(elem);
-                        case AbstractDocument.ParagraphElementName:
-                            return new ParagraphView(elem) {
-                                @Override
-                                public float getMinimumSpan(int axis) {
-                                    if (axis == View.X_AXIS) {
-                                        return 0;
-                                    }
-                                    return super.getMinimumSpan(axis);
-                                }
-                            };
-                        case AbstractDocument.SectionElementName:
-                            return new BoxView(elem, View.Y_AXIS);
-                        case StyleConstants.ComponentElementName:
-                            return new ComponentView(elem);
-                        case StyleConstants.IconElementName:
-                            return new IconView(elem);
-                    }
+    /**
+     * @return -1 to page in older lines, 1 to page in newer lines, 0 if there is nothing to page in
+     */
+    private int getPagingDirection(JScrollBar sb) {
+        int bottom = sb.getMaximum() - sb.getVisibleAmount();
+        int direction = 0;
+        // Page only if the rows overflow the viewport
+        if (this.currentProvider != null && bottom > sb.getMinimum()) {
+            if (sb.getValue() <= sb.getMinimum() && firstLine > floorLine) {
+                direction = -1;
+            } else if (sb.getValue() >= bottom && !following) {
+                direction = 1;
+            }
+        }
+        return direction;
+    }
+
+    /**
+     * Renders a line in the color of its severity, detected for the visible lines only.
+     */
+    private final class SeverityRenderer extends DefaultListCellRenderer {
+
+        private Font boldFont;
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> view, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(view, value, index, isSelected, false);
+            setBorder(CELL_BORDER);
+
+            LogSeverity severity = LogSeverity.detect((String) value);
+            if (!isSelected) {
+                setForeground(switch (severity) {
+                    case INFO -> infoColor;
+                    case WARNING -> warnColor;
+                    case ERROR -> errorColor;
+                });
+            }
+            if (severity == LogSeverity.ERROR) {
+                if (boldFont == null) {
+                    boldFont = view.getFont().deriveFont(Font.BOLD);
                 }
-                return new LabelView(elem);
+                setFont(boldFont);
             }
+            return this;
         }
     }
+
+    /**
+     * Lines read from the log, starting with the given line number
+     */
+    private record Page(long from, List<String> lines) {
+    }
 }
@@ -24,7 +24,6 @@ package jworkspace.ui.plugins;
    anton.troshin@gmail.com
   ----------------------------------------------------------------------------
 */
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -194,8 +193,8 @@ public class ShellsLoader extends Task {
      * <p>
      * Steps:
      * <ul>
-     *     <li>Create a new instance of the plugin.</li>
-     *     <li>If it implements {@link IShell}, call {@code load()}.</li>
+     *     <li>Get the plugin object from the shared plugin bootstrap, which creates and loads it
+     *     with its dependencies, as for the first use of any plugin.</li>
      *     <li>Add any shell buttons to the main control panel.</li>
      *     <li>If it is a {@link DefaultCompoundView}, attach a UIManager listener to track look-and-feel changes.</li>
      * </ul>
@@ -205,14 +204,11 @@ public class ShellsLoader extends Task {
      */
     private void installPlugin(Plugin plugin) throws PluginException {
 
-        Object obj = plugin.newInstance();
+        Object obj = ServiceLocator.getPluginObject(plugin);
+        if (obj == null) {
+            throw new PluginException("Shell " + plugin.getName() + " is not loaded");
+        }
         if (obj instanceof IShell shell) {
-            try {
-                shell.load(); // Load user specific info
-            } catch (IOException ex) {
-                log.warning("> System error: Shell cannot be loaded: " + ex);
-            }
-
             // Retrieve shell buttons and add them to the main control panel
             MainFrame mainFrame = DesktopServiceLocator.getInstance().getWorkspaceGUI().getFrame();
             CButton[] buttons = shell.getButtons();
@@ -27,17 +27,11 @@ package jworkspace.ui.resources;
 */
 
 import java.awt.BorderLayout;
-import java.awt.Component;
-import java.awt.Container;
 import java.awt.Dialog;
 import java.awt.Dimension;
-import java.awt.FlowLayout;
-import java.awt.Image;
+import java.awt.GraphicsConfiguration;
 import java.awt.Rectangle;
-import java.awt.event.ComponentAdapter;
-import java.awt.event.ComponentEvent;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -46,6 +40,11 @@ import java.nio.file.LinkOption;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
 
 import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
@@ -55,7 +54,6 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.Scrollable;
 import javax.swing.SwingUtilities;
-import javax.swing.border.Border;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
@@ -63,7 +61,10 @@ import com.hyperrealm.kiwi.runtime.Task;
 import com.hyperrealm.kiwi.ui.KPanel;
 import com.hyperrealm.kiwi.ui.dialog.ProgressDialog;
 
+import jworkspace.ui.util.ImagePreview;
+import jworkspace.ui.util.ImageResource;
 import jworkspace.ui.util.ResourceScanner;
+import jworkspace.ui.util.ThumbnailCache;
 import lombok.Getter;
 import lombok.extern.java.Log;
 
@@ -72,25 +73,31 @@ import lombok.extern.java.Log;
 @SuppressWarnings("MagicNumber")
 public class ResourceExplorerPanel extends KPanel implements Scrollable {
 
-    private static final Dimension THUMBNAIL_DIMENSION;
-    private static final Border UNSELECTED_THUMBNAIL_BORDER;
-    private static final Border SELECTED_THUMBNAIL_BORDER;
-
-    static {
-        UNSELECTED_THUMBNAIL_BORDER = BorderFactory.createRaisedBevelBorder();
-        SELECTED_THUMBNAIL_BORDER = BorderFactory.createLoweredBevelBorder();
-        THUMBNAIL_DIMENSION = new Dimension(96, 96);
-    }
+    /**
+     * Side of the square the thumbnail images fit in on screens scaled by 150% and more
+     */
+    private static final int HIDPI_THUMBNAIL_SIZE = 96;
+    /**
+     * Screen scale from which the larger thumbnail images are read
+     */
+    private static final double HIDPI_SCALE = 1.5;
+    /**
+     * Number of thumbnails added to the grid at once
+     */
+    private static final int BATCH_SIZE = 64;
+    /**
+     * Size of the scroll pane viewport the dialogs are laid out for
+     */
+    private static final Dimension VIEWPORT_SIZE = new Dimension(450, 300);
 
     @Getter
     private String path = null;
 
     private final Dialog parent;
     private final JTextField searchField;
-    private final JPanel gridContainer;
-    private final List<Thumbnail> list = new ArrayList<>();
+    private final ThumbnailGridModel model = new ThumbnailGridModel();
+    private final ThumbnailGrid grid = new ThumbnailGrid(model);
     private final ResourceScanner scanner = new ResourceScanner();
-    private int setWidth = 450;
     private ProgressDialog pr = null;
 
     ResourceExplorerPanel(Dialog parent) {
@@ -117,48 +124,13 @@ public class ResourceExplorerPanel extends KPanel implements Scrollable {
         searchPanel.add(new JLabel("Search: "), BorderLayout.WEST);
         searchPanel.add(searchField, BorderLayout.CENTER);
         add(searchPanel, BorderLayout.NORTH);
-
-        gridContainer = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 5));
-        add(gridContainer, BorderLayout.CENTER);
-
-        addComponentListener(new ComponentAdapter() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-                setWidth = getSize().width;
-                setPreferredDimension();
-            }
-        });
-        setPreferredDimension();
-    }
-
-    private void setPreferredDimension() {
-        int w = setWidth;
-        int h;
-        int componentCount = gridContainer.getComponentCount();
-        if (componentCount > 0 && gridContainer.isVisible()) {
-            Component lastcomponent = gridContainer.getComponent(componentCount - 1);
-            h = lastcomponent.getLocation().y
-                + THUMBNAIL_DIMENSION.height
-                + 5
-                + searchField.getParent().getPreferredSize().height;
-        } else {
-            h = 300;
-        }
-        setPreferredSize(new Dimension(w, h));
-        revalidate();
+        add(grid, BorderLayout.CENTER);
     }
 
     private void filterThumbnails() {
-        String query = searchField.getText().trim().toLowerCase();
-        gridContainer.removeAll();
-        for (Thumbnail thumb : list) {
-            if (query.isEmpty() || thumb.getDisplayName().toLowerCase().contains(query)) {
-                gridContainer.add(thumb);
-            }
+        if (model.setQuery(searchField.getText())) {
+            grid.modelChanged();
         }
-        gridContainer.revalidate();
-        gridContainer.repaint();
-        setPreferredDimension();
     }
 
     public boolean getScrollableTracksViewportWidth() {
@@ -168,20 +140,26 @@ public class ResourceExplorerPanel extends KPanel implements Scrollable {
         return false;
     }
     public Dimension getPreferredScrollableViewportSize() {
-        return getPreferredSize();
+        return VIEWPORT_SIZE;
     }
     public int getScrollableBlockIncrement(Rectangle r, int o, int d) {
         return r.height / 2;
     }
     public int getScrollableUnitIncrement(Rectangle r, int o, int d) {
-        return (96 + 5) / 2;
+        return (ThumbnailGrid.CELL_SIZE + ThumbnailGrid.GAP) / 2;
     }
 
+    /**
+     * Read the full images of the selected thumbnails.
+     *
+     * @return the images, without the ones which can't be read any more
+     */
     synchronized ImageIcon[] getSelectedImages() {
         List<ImageIcon> icons = new ArrayList<>();
-        for (Thumbnail tt : list) {
-            if (tt.isSelected()) {
-                icons.add(tt.doGetIcon());
+        for (ImageResource resource : model.getSelectedResources()) {
+            ImageIcon icon = readImage(resource);
+            if (icon != null) {
+                icons.add(icon);
             }
         }
         return icons.toArray(new ImageIcon[0]);
@@ -190,9 +168,8 @@ public class ResourceExplorerPanel extends KPanel implements Scrollable {
     public void setPath(String path) {
         this.path = path;
         searchField.setText("");
-        gridContainer.removeAll();
-        list.clear();
-        revalidate();
+        model.clear();
+        grid.modelChanged();
 
         pr = new ProgressDialog(parent, "Loading...", true);
         pr.setLocation(
@@ -200,132 +177,132 @@ public class ResourceExplorerPanel extends KPanel implements Scrollable {
             parent.getY() + (parent.getHeight() - pr.getHeight()) / 2
         );
 
-        Loader loader = new Loader();
+        Loader loader = new Loader(getThumbnailSize());
         pr.track(loader);
-        setPreferredDimension();
     }
 
-    private void loadAndRegisterThumbnail(InputStream is, String filename) throws IOException {
-        Image image = ImageIO.read(is);
-        if (image != null) {
-            ImageIcon imageIcon = new ImageIcon(image);
-            if (imageIcon.getIconHeight() != -1 && imageIcon.getIconWidth() != -1) {
-                SwingUtilities.invokeLater(() -> {
-                    Thumbnail thumb = new Thumbnail(filename);
-                    thumb.doSetIcon(imageIcon);
-                    list.add(thumb);
-                    gridContainer.add(thumb);
-                    gridContainer.revalidate();
-                });
-            }
-        }
+    /**
+     * Get the side of the thumbnail images, 64 pixels or 96 pixels for a scaled screen
+     * to paint them sharp in the same grid.
+     */
+    private int getThumbnailSize() {
+        GraphicsConfiguration configuration = parent.getGraphicsConfiguration();
+        return configuration != null && configuration.getDefaultTransform().getScaleX() >= HIDPI_SCALE
+            ? HIDPI_THUMBNAIL_SIZE : ThumbnailGrid.THUMBNAIL_SIZE;
     }
 
-    private void deselectAll() {
-        for (Thumbnail thumbnail : list) {
-            thumbnail.setSelected(false);
+    /**
+     * Read the thumbnail image of a resource from the cache or from the image, on a decoding thread.
+     */
+    private static BufferedImage readThumbnail(ImageResource resource, int size) {
+        try {
+            ImagePreview preview = ThumbnailCache.getDefault().get(resource, size);
+            return preview != null ? preview.image() : null;
+        } catch (IOException ex) {
+            log.log(Level.FINE, "Cannot read image " + resource.uri(), ex);
+            return null;
         }
     }
 
-    static class Thumbnail extends JLabel {
-        @Getter private final String displayName;
-        @Getter private boolean selected = false;
-        private ImageIcon imageIcon = null;
-
-        private Thumbnail(String name) {
-            super();
-            this.displayName = name;
-            setText(name);
-            setPreferredSize(THUMBNAIL_DIMENSION);
-            setSelected(false);
-            setVerticalTextPosition(BOTTOM);
-            setHorizontalTextPosition(CENTER);
-            setHorizontalAlignment(JLabel.CENTER);
-            addMouseListener(new MouseAdapter() {
-                @SuppressWarnings("checkstyle:ReturnCount")
-                public void mouseClicked(MouseEvent e) {
-                    Container c = getParent();
-                    if (c == null) {
-                        return;
-                    }
-                    if (!(c instanceof ResourceExplorerPanel) && c.getParent() instanceof ResourceExplorerPanel) {
-                        c = c.getParent();
-                    }
-                    if (!(c instanceof ResourceExplorerPanel tp)) {
-                        return;
-                    }
-
-                    if (e.getClickCount() == 1) {
-                        if (!e.isControlDown()) {
-                            tp.deselectAll();
-                        }
-                        setSelected(!isSelected());
-                        revalidate();
-                    }
-                }
-            });
+    /**
+     * Read the full image, which is not kept by the grid.
+     *
+     * @return the image, or null if it can't be read
+     */
+    private static ImageIcon readImage(ImageResource resource) {
+        try (InputStream is = resource.openStream()) {
+            BufferedImage image = ImageIO.read(is);
+            return image != null ? new ImageIcon(image) : null;
+        } catch (IOException ex) {
+            log.log(Level.WARNING, "Cannot read image " + resource.uri(), ex);
+            return null;
         }
+    }
 
-        public void setSelected(boolean b) {
-            selected = b;
-            setBorder(selected ? SELECTED_THUMBNAIL_BORDER : UNSELECTED_THUMBNAIL_BORDER);
+    private void addThumbnails(List<Decoded> batch) {
+        for (Decoded decoded : batch) {
+            model.add(decoded.resource(), decoded.image());
         }
+        grid.modelChanged();
+    }
 
-        void doSetIcon(ImageIcon i) {
-            imageIcon = i;
-            Image img = i.getImage();
-            int h = i.getIconHeight();
-            int w = i.getIconWidth();
-
-            if (w > h && w > 64) {
-                img = img.getScaledInstance(64, -1, Image.SCALE_FAST);
-            } else if (w < h && h > 64) {
-                img = img.getScaledInstance(-1, 64, Image.SCALE_FAST);
-            }
+    private record Decoded(ImageResource resource, BufferedImage image) {}
 
-            setIcon(new ImageIcon(img));
-            revalidate();
-        }
+    class Loader extends Task {
 
-        ImageIcon doGetIcon() {
-            return imageIcon;
-        }
-    }
+        private final int size;
 
-    class Loader extends Task {
-        private Loader() {
+        private Loader(int size) {
             super();
+            this.size = size;
             addProgressObserver(pr);
         }
 
         public void run() {
+            List<ImageResource> resources = new ArrayList<>(
+                scanner.listClasspathFolder(ResourceExplorerPanel.this.path)
+            );
+            File file = getFile();
+            if (file != null) {
+                resources.addAll(scanner.listFile(file));
+            }
 
-            scanner.scanClasspathFolder(
-                ResourceExplorerPanel.this.path,
-                ResourceExplorerPanel.this::loadAndRegisterThumbnail
+            ExecutorService decoders = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("thumbnail-decoder-", 0).daemon().factory()
             );
+            try {
+                List<Future<BufferedImage>> images = new ArrayList<>(resources.size());
+                for (ImageResource resource : resources) {
+                    images.add(decoders.submit(() -> readThumbnail(resource, size)));
+                }
+                collect(resources, images);
+            } finally {
+                decoders.shutdownNow();
+            }
 
+            pr.setProgress(100);
+        }
 
-            File file = getFile();
-            if (file != null) {
-                scanner.scanFile(file,
-                    (progress, _) -> pr.setProgress(Math.round(progress)),
-                    ResourceExplorerPanel.this::loadAndRegisterThumbnail
-                );
-
-                SwingUtilities.invokeLater(() -> {
-                    gridContainer.revalidate();
-                    gridContainer.repaint();
-                    setPreferredDimension();
-                });
-                pr.setProgress(100);
+        /**
+         * Add the thumbnails to the grid in the order of the resources, a batch at a time.
+         */
+        @SuppressWarnings("checkstyle:MagicNumber")
+        private void collect(List<ImageResource> resources, List<Future<BufferedImage>> images) {
+            List<Decoded> batch = new ArrayList<>(BATCH_SIZE);
+            try {
+                for (int i = 0; i < images.size(); i++) {
+                    BufferedImage image = decoded(resources.get(i), images.get(i));
+                    if (image != null) {
+                        batch.add(new Decoded(resources.get(i), image));
+                    }
+                    if (batch.size() == BATCH_SIZE) {
+                        List<Decoded> ready = batch;
+                        SwingUtilities.invokeLater(() -> addThumbnails(ready));
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                    pr.setProgress((i + 1) * 100 / images.size());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
             }
+            List<Decoded> ready = batch;
+            SwingUtilities.invokeLater(() -> addThumbnails(ready));
+        }
 
+        private BufferedImage decoded(ImageResource resource, Future<BufferedImage> image)
+            throws InterruptedException {
+            try {
+                return image.get();
+            } catch (ExecutionException ex) {
+                // a broken image fails in the decoder, skip it
+                log.log(Level.FINE, "Cannot read image " + resource.uri(), ex.getCause());
+                return null;
+            }
         }
 
         private File getFile() {
             if (path == null || !Files.exists(Paths.get(path), LinkOption.NOFOLLOW_LINKS)) {
-                pr.setProgress(100);
                 return null;
             }
             return new File(path);
@@ -0,0 +1,233 @@
+package jworkspace.ui.resources;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+import javax.swing.BorderFactory;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.ToolTipManager;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+
+/**
+ * Grid of thumbnails painted from a {@link ThumbnailGridModel}. There are no components per thumbnail:
+ * only the cells in the clip are painted, and clicks and tool tips find their cell by arithmetic.
+ */
+final class ThumbnailGrid extends JComponent {
+
+    /**
+     * Side of a cell
+     */
+    static final int CELL_SIZE = 96;
+
+    /**
+     * Side of the square a thumbnail is painted in, the image may have more pixels for a scaled screen
+     */
+    static final int THUMBNAIL_SIZE = 64;
+
+    /**
+     * Space between the cells and around them
+     */
+    static final int GAP = 5;
+
+    private static final int TEXT_GAP = 2;
+
+    private static final int DEFAULT_COLUMNS = 4;
+
+    private static final Border UNSELECTED_BORDER = BorderFactory.createRaisedBevelBorder();
+
+    private static final Border SELECTED_BORDER = BorderFactory.createLoweredBevelBorder();
+
+    private final ThumbnailGridModel model;
+
+    private int columns = DEFAULT_COLUMNS;
+
+    ThumbnailGrid(ThumbnailGridModel model) {
+        this.model = model;
+        setOpaque(true);
+        setBackground(UIManager.getColor("Panel.background"));
+        setFont(UIManager.getFont("Label.font"));
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                int fit = columnsFor(getWidth());
+                if (fit != columns) {
+                    columns = fit;
+                    revalidate();
+                    repaint();
+                }
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (SwingUtilities.isLeftMouseButton(e) && e.getClickCount() == 1) {
+                    select(cellAt(e.getX(), e.getY()), e.isControlDown());
+                }
+            }
+        });
+    }
+
+    /**
+     * Lay out and paint the grid again after images were added or the filter has changed.
+     */
+    void modelChanged() {
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        int rows = (model.getShownCount() + columns - 1) / columns;
+        return new Dimension(GAP + columns * (CELL_SIZE + GAP), GAP + rows * (CELL_SIZE + GAP));
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int position = cellAt(e.getX(), e.getY());
+        return position < 0 ? null : model.getResource(model.getShown(position)).name();
+    }
+
+    /**
+     * Find the cell at a point.
+     *
+     * @return the position of the cell, or -1 if the point is between the cells or after the last one
+     */
+    int cellAt(int x, int y) {
+        if (x < GAP || y < GAP) {
+            return -1;
+        }
+        int column = (x - GAP) / (CELL_SIZE + GAP);
+        int position = (y - GAP) / (CELL_SIZE + GAP) * columns + column;
+        boolean inside = column < columns && position < model.getShownCount() && cellBounds(position).contains(x, y);
+        return inside ? position : -1;
+    }
+
+    Rectangle cellBounds(int position) {
+        int row = position / columns;
+        int column = position % columns;
+        return new Rectangle(GAP + column * (CELL_SIZE + GAP), GAP + row * (CELL_SIZE + GAP), CELL_SIZE, CELL_SIZE);
+    }
+
+    private void select(int position, boolean add) {
+        if (!add) {
+            model.clearSelection();
+            repaint();
+        }
+        if (position >= 0) {
+            int index = model.getShown(position);
+            model.setSelected(index, !model.isSelected(index));
+            repaint(cellBounds(position));
+        }
+    }
+
+    private static int columnsFor(int width) {
+        return width <= 0 ? DEFAULT_COLUMNS : Math.max(1, (width - GAP) / (CELL_SIZE + GAP));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setFont(getFont());
+            g2.setColor(getForeground());
+
+            int firstRow = Math.max(0, (clip.y - GAP) / (CELL_SIZE + GAP));
+            int lastRow = (clip.y + clip.height - GAP) / (CELL_SIZE + GAP);
+            int first = firstRow * columns;
+            int last = Math.min(model.getShownCount() - 1, (lastRow + 1) * columns - 1);
+            for (int position = first; position <= last; position++) {
+                Rectangle cell = cellBounds(position);
+                if (cell.intersects(clip)) {
+                    paintCell(g2, cell, model.getShown(position));
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Paint a cell the way a label with the image above the centered name would look.
+     */
+    private void paintCell(Graphics2D g, Rectangle cell, int index) {
+        Border border = model.isSelected(index) ? SELECTED_BORDER : UNSELECTED_BORDER;
+        border.paintBorder(this, g, cell.x, cell.y, cell.width, cell.height);
+
+        FontMetrics metrics = g.getFontMetrics();
+        String name = fit(model.getResource(index).name(), metrics, cell.width - 2 * GAP);
+        BufferedImage image = model.getImage(index);
+        double scale = Math.min(1, (double) THUMBNAIL_SIZE / Math.max(image.getWidth(), image.getHeight()));
+        int width = (int) Math.round(image.getWidth() * scale);
+        int imageHeight = (int) Math.round(image.getHeight() * scale);
+        int height = imageHeight + TEXT_GAP + metrics.getHeight();
+        int y = cell.y + (cell.height - height) / 2;
+
+        g.drawImage(image, cell.x + (cell.width - width) / 2, y, width, imageHeight, null);
+        g.drawString(name, cell.x + (cell.width - metrics.stringWidth(name)) / 2,
+            y + imageHeight + TEXT_GAP + metrics.getAscent());
+    }
+
+    /**
+     * Cut the text to the width, ending it with an ellipsis.
+     */
+    private static String fit(String text, FontMetrics metrics, int width) {
+        if (metrics.stringWidth(text) <= width) {
+            return text;
+        }
+        String ellipsis = "...";
+        int end = text.length();
+        while (end > 0 && metrics.stringWidth(text.substring(0, end)) + metrics.stringWidth(ellipsis) > width) {
+            end--;
+        }
+        return text.substring(0, end) + ellipsis;
+    }
+}
@@ -0,0 +1,194 @@
+package jworkspace.ui.resources;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import jworkspace.ui.util.ImageResource;
+
+/**
+ * Model of the thumbnail grid: the images in the order they were found, the positions of those matching
+ * the name filter and the selection.
+ *
+ * <p>The lower case names are kept as an index for the filter. A filter narrowing the previous one, as
+ * when a character is typed, is checked only against the images shown, and images added later are checked
+ * as they come. Selected images are kept in a bitset by their index, so the selection survives filtering.</p>
+ *
+ * <p>Must be used from the Event Dispatch Thread.</p>
+ */
+final class ThumbnailGridModel {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<ImageResource> resources = new ArrayList<>();
+
+    private final List<BufferedImage> images = new ArrayList<>();
+
+    /** Lower case names searched by the filter */
+    private final List<String> names = new ArrayList<>();
+
+    /** Indexes of the images matching the filter, in the order of the images */
+    private int[] shown = new int[0];
+
+    private int shownCount;
+
+    private String query = "";
+
+    private final BitSet selected = new BitSet();
+
+    int getSize() {
+        return resources.size();
+    }
+
+    /**
+     * Add an image after the others, showing it if its name matches the filter.
+     *
+     * @param resource the image location
+     * @param image    the thumbnail
+     * @return the index of the image
+     */
+    int add(ImageResource resource, BufferedImage image) {
+        int index = resources.size();
+        String name = resource.name().toLowerCase(Locale.ROOT);
+        resources.add(resource);
+        images.add(image);
+        names.add(name);
+        if (name.contains(query)) {
+            show(index);
+        }
+        return index;
+    }
+
+    void clear() {
+        resources.clear();
+        images.clear();
+        names.clear();
+        shownCount = 0;
+        selected.clear();
+    }
+
+    /**
+     * Show only the images with names containing the text, ignoring case.
+     *
+     * @param text the text to look for, all images are shown if it is blank
+     * @return true if the filter has changed
+     */
+    boolean setQuery(String text) {
+        String next = text.strip().toLowerCase(Locale.ROOT);
+        if (next.equals(query)) {
+            return false;
+        }
+        if (next.contains(query)) {
+            // every name matching the narrower filter is shown already
+            int kept = 0;
+            for (int i = 0; i < shownCount; i++) {
+                if (names.get(shown[i]).contains(next)) {
+                    shown[kept++] = shown[i];
+                }
+            }
+            shownCount = kept;
+        } else {
+            shownCount = 0;
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).contains(next)) {
+                    show(i);
+                }
+            }
+        }
+        query = next;
+        return true;
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    /**
+     * Get the number of images matching the filter.
+     *
+     * @return the number of the cells in the grid
+     */
+    int getShownCount() {
+        return shownCount;
+    }
+
+    /**
+     * Get the image shown in a cell.
+     *
+     * @param position the position of the cell
+     * @return the index of the image
+     */
+    int getShown(int position) {
+        if (position < 0 || position >= shownCount) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        return shown[position];
+    }
+
+    ImageResource getResource(int index) {
+        return resources.get(index);
+    }
+
+    BufferedImage getImage(int index) {
+        return images.get(index);
+    }
+
+    boolean isSelected(int index) {
+        return selected.get(index);
+    }
+
+    void setSelected(int index, boolean value) {
+        selected.set(index, value);
+    }
+
+    void clearSelection() {
+        selected.clear();
+    }
+
+    /**
+     * Get the selected images, including the ones hidden by the filter.
+     *
+     * @return the image locations in the order of the images
+     */
+    List<ImageResource> getSelectedResources() {
+        List<ImageResource> result = new ArrayList<>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            result.add(resources.get(i));
+        }
+        return result;
+    }
+
+    private void show(int index) {
+        if (shownCount == shown.length) {
+            shown = Arrays.copyOf(shown, Math.max(INITIAL_CAPACITY, shown.length * 2));
+        }
+        shown[shownCount++] = index;
+    }
+}
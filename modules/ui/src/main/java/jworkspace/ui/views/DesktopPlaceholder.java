@@ -0,0 +1,127 @@
+package jworkspace.ui.views;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import javax.swing.JComponent;
+import javax.swing.JMenu;
+
+import jworkspace.ui.api.IView;
+import jworkspace.ui.api.PropertiesPanel;
+import jworkspace.ui.desktop.Desktop;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Saved desktop which is not loaded yet. The placeholder holds only the desktop title and the path
+ * of its data, the views manager replaces it with the desktop when it is shown for the first time.
+ * <p>
+ * If the desktops are renumbered before the desktop is loaded, its data is copied to the new path
+ * on save, as is.
+ * </p>
+ *
+ * @author Anton Troshin
+ */
+class DesktopPlaceholder extends JComponent implements IView {
+
+    /**
+     * Path the desktop data is saved under
+     */
+    private String savedPath;
+
+    @Getter
+    @Setter
+    private String path;
+
+    DesktopPlaceholder(String path) throws IOException {
+        this.savedPath = path;
+        this.path = path;
+        setName(Desktop.readName(path));
+    }
+
+    /**
+     * Load the desktop from its saved data.
+     *
+     * @return the desktop with the current path
+     * @throws IOException if the desktop cannot be loaded
+     */
+    Desktop materialize() throws IOException {
+        Desktop desktop = new Desktop();
+        desktop.setPath(savedPath);
+        desktop.load();
+        desktop.setPath(path);
+        return desktop;
+    }
+
+    @Override
+    public void save() throws IOException {
+        if (path.equals(savedPath)) {
+            return;
+        }
+        Path target = Desktop.getDataFile(path);
+        Files.createDirectories(target.getParent());
+        Files.copy(Desktop.getDataFile(savedPath), target, StandardCopyOption.REPLACE_EXISTING);
+        savedPath = path;
+    }
+
+    @Override
+    public void load() {}
+
+    @Override
+    public void reset() {}
+
+    @Override
+    public void activated(boolean flag) {}
+
+    @Override
+    public void create() {}
+
+    @Override
+    public PropertiesPanel[] getOptionPanels() {
+        return new PropertiesPanel[]{};
+    }
+
+    @Override
+    public JMenu[] getMenu() {
+        return new JMenu[]{};
+    }
+
+    @Override
+    public boolean isModified() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnique() {
+        return false;
+    }
+
+    @Override
+    public void update() {}
+}
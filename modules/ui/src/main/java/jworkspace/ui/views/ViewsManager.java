@@ -37,6 +37,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -58,6 +59,7 @@ import javax.swing.JPanel;
 import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JScrollPane;
 import javax.swing.KeyStroke;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
 
@@ -93,6 +95,19 @@ public class ViewsManager extends AbstractViewsManager {
      * The prefix for view
      */
     private static final String VIEW = "view_";
+    /**
+     * System property to load the saved desktops in the background after startup,
+     * otherwise each desktop is loaded when it is shown for the first time
+     */
+    public static final String PREFETCH_DESKTOPS_PROPERTY = "jworkspace.desktops.prefetch";
+    /**
+     * Delay before the first desktop is loaded in the background, in milliseconds
+     */
+    private static final int PREFETCH_INITIAL_DELAY = 3000;
+    /**
+     * Delay between the desktops loaded in the background, in milliseconds
+     */
+    private static final int PREFETCH_DELAY = 250;
     /*
      * Actions list
      */
@@ -402,7 +417,7 @@ public class ViewsManager extends AbstractViewsManager {
     public IView[] getAllViews() {
         IView[] all = new IView[views.size()];
         for (int i = 0; i < all.length; i++) {
-            all[i] = views.get(i);
+            all[i] = materialize(i);
         }
         return all;
     }
@@ -441,6 +456,7 @@ public class ViewsManager extends AbstractViewsManager {
         } else if (index > views.size() - 1) {
             localIndex = views.size() - 1;
         }
+        materialize(localIndex);
 
         /*
          * Notify component that it became inactive.
@@ -514,10 +530,10 @@ public class ViewsManager extends AbstractViewsManager {
      * Finds desktop by title.
      */
     public Desktop getDesktop(String title) {
-        for (IView view : views) {
-            if (((Component) view).getName().equals(title)
-                && view instanceof Desktop) {
-                return (Desktop) view;
+        for (int i = 0; i < views.size(); i++) {
+            if (((Component) views.get(i)).getName().equals(title)
+                && materialize(i) instanceof Desktop desktop) {
+                return desktop;
             }
         }
 
@@ -530,13 +546,51 @@ public class ViewsManager extends AbstractViewsManager {
     public Desktop getDesktopAt(int i) {
 
         if (i > 0 && i <= views.size() - 1) {
-            if (views.get(i) instanceof Desktop) {
+            if (materialize(i) instanceof Desktop) {
                 return (Desktop) views.get(i);
             }
         }
         return null;
     }
 
+    /**
+     * Replace the placeholder of a saved desktop with the desktop, loading it.
+     * If the desktop cannot be loaded, the placeholder is kept, so its data is saved as is.
+     *
+     * @param index the view index
+     * @return the view at the index
+     */
+    private IView materialize(int index) {
+        if (views.get(index) instanceof DesktopPlaceholder placeholder) {
+            try {
+                Desktop desktop = placeholder.materialize();
+                views.set(index, desktop);
+                UIManager.addPropertyChangeListener(new UISwitchListener(desktop));
+            } catch (IOException e) {
+                WorkspaceError.exception(WorkspaceResourceAnchor.getString("ViewsManager.load.failed"), e);
+            }
+        }
+        return views.get(index);
+    }
+
+    /**
+     * Load the saved desktops one by one on the event dispatch thread, while it is idle between the timer events.
+     */
+    private void prefetchDesktops() {
+        Timer timer = new Timer(PREFETCH_DELAY, null);
+        timer.addActionListener(e -> {
+            for (int i = 0; i < views.size(); i++) {
+                if (views.get(i) instanceof DesktopPlaceholder) {
+                    materialize(i);
+                    return;
+                }
+            }
+            timer.stop();
+        });
+        timer.setInitialDelay(PREFETCH_INITIAL_DELAY);
+        timer.start();
+    }
+
     /**
      * Safely returns header panel.
      */
@@ -850,18 +904,27 @@ public class ViewsManager extends AbstractViewsManager {
                     // get desktop data path
                     String viewSavePath = getPath() + File.separator + VIEW + i;
 
-                    // load a desktop
-                    Desktop desktop = new Desktop();
-                    desktop.setPath(viewSavePath);
-                    desktop.load();
-
-                    // add desktop to the layout
-                    addDesktop(desktop, false);
+                    if (i == 0) {
+                        // load the desktop to show
+                        Desktop desktop = new Desktop();
+                        desktop.setPath(viewSavePath);
+                        desktop.load();
+
+                        // add desktop to the layout
+                        addDesktop(desktop, false);
+                    } else {
+                        // other desktops are loaded when shown
+                        views.add(new DesktopPlaceholder(viewSavePath));
+                    }
                 }
 
                 // Add header panel
                 setCurrentView(0); // todo save current view number
                 add(getHeaderPanel(), getHeaderPanel().getOrientation());
+
+                if (Boolean.getBoolean(PREFETCH_DESKTOPS_PROPERTY)) {
+                    prefetchDesktops();
+                }
             } else {
                 create();
             }
@@ -877,35 +940,20 @@ public class ViewsManager extends AbstractViewsManager {
     }
 
     /**
-     * Writes down configuration on disk.
+     * Writes down configuration on disk. Desktops write their data only if it has changed,
+     * directories of removed desktops and icons no saved desktop refers to are deleted.
      */
     public void save() throws IOException {
 
-        File file = ServiceLocator
+        Path root = ServiceLocator
             .getInstance()
             .getProfilesManager()
             .ensureUserHomePath()
-            .resolve(getPath())
-            .toFile();
+            .resolve(getPath());
 
-        if (!file.exists()) {
-            if (!file.mkdirs()) {
-                log.severe("Can't create directories, not saving: " + file.getAbsolutePath());
-                return;
-            }
-        } else {
-            KiwiUtils.deleteTree(file);
-        }
-
-        file = ServiceLocator
-            .getInstance()
-            .getProfilesManager()
-            .ensureUserHomePath()
-            .resolve(getPath())
-            .resolve(DESKTOP_CONFIG)
-            .toFile();
+        Files.createDirectories(root);
 
-        try (FileOutputStream outputFile = new FileOutputStream(file);
+        try (FileOutputStream outputFile = new FileOutputStream(root.resolve(DESKTOP_CONFIG).toFile());
             DataOutputStream outputStream = new DataOutputStream(outputFile)) {
 
             outputStream.writeBoolean(getHeaderPanel().isVisible());
@@ -914,28 +962,37 @@ public class ViewsManager extends AbstractViewsManager {
             int counter = 0;
 
             for (IView view : views) {
-                if (view instanceof Desktop) {
-
-                    File viewSavePath = Paths.get(getPath(), VIEW + counter).toFile();
-
-                    Path file1 = ServiceLocator
-                        .getInstance()
-                        .getProfilesManager()
-                        .ensureUserHomePath()
-                        .resolve(getPath())
-                        .resolve(VIEW)
-                        .resolve(String.valueOf(counter));
-
-                    if (!Files.exists(file1)) {
-                        Files.createDirectories(file1);
-                    }
-
-                    view.setPath(viewSavePath.toPath().toString());
+                // desktops not shown yet are renumbered as well, to copy their data
+                if (view instanceof Desktop || view instanceof DesktopPlaceholder) {
+                    view.setPath(Paths.get(getPath(), VIEW + counter).toString());
                     counter++;
                 }
                 view.save();
             }
             outputStream.writeInt(counter);
+
+            deleteRemovedViews(root, counter);
+        }
+
+        try {
+            Desktop.deleteUnusedIcons();
+        } catch (IOException e) {
+            log.warning("Can't delete unused desktop icons: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the directories of views numbered from the count on.
+     */
+    private static void deleteRemovedViews(Path root, int count) throws IOException {
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(root, VIEW + "*")) {
+            for (Path directory : directories) {
+                String number = directory.getFileName().toString().substring(VIEW.length());
+                if (Files.isDirectory(directory) && number.matches("\\d{1,9}") && Integer.parseInt(number) >= count) {
+                    KiwiUtils.deleteTree(directory.toFile());
+                    Files.deleteIfExists(directory);
+                }
+            }
         }
     }
 
@@ -0,0 +1,143 @@
+package jworkspace.ui.desktop;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Anton Troshin
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class DesktopIconStoreTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testEqualImagesAreStoredOnce() throws IOException {
+        DesktopIconStore store = new DesktopIconStore(folder.resolve(DesktopIconStore.ICONS_DIRECTORY));
+
+        String red = store.put(new ImageIcon(square(Color.RED, BufferedImage.TYPE_INT_ARGB)));
+        // the same pixels in another image type
+        String sameRed = store.put(new ImageIcon(square(Color.RED, BufferedImage.TYPE_3BYTE_BGR)));
+        String blue = store.put(new ImageIcon(square(Color.BLUE, BufferedImage.TYPE_INT_ARGB)));
+
+        Assertions.assertEquals(red, sameRed);
+        Assertions.assertNotEquals(red, blue);
+        Assertions.assertEquals(2, countIcons());
+        Assertions.assertEquals("", store.put(null));
+
+        // a new store reads the icons from the disk, once for all shortcuts
+        DesktopIconStore other = new DesktopIconStore(folder.resolve(DesktopIconStore.ICONS_DIRECTORY));
+        ImageIcon icon = other.get(blue);
+        Assertions.assertSame(icon, other.get(blue));
+        Assertions.assertEquals(Color.BLUE.getRGB(), ((BufferedImage) icon.getImage()).getRGB(3, 3));
+        Assertions.assertEquals(blue, other.put(icon));
+
+        Assertions.assertThrows(IOException.class, () -> other.get("../" + blue));
+        Assertions.assertThrows(IOException.class, () -> other.get(blue.replace(blue.charAt(0), 'x')));
+    }
+
+    @Test
+    public void testShortcutsReferToIcons() throws IOException {
+        DesktopIconStore store = new DesktopIconStore(folder.resolve(DesktopIconStore.ICONS_DIRECTORY));
+        ImageIcon icon = new ImageIcon(square(Color.GREEN, BufferedImage.TYPE_INT_ARGB));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (int i = 0; i < 100; i++) {
+                DesktopShortcut shortcut = new DesktopShortcut(icon, "Shortcut " + i);
+                shortcut.setCommandLine("run " + i);
+                shortcut.setLocation(i, 2 * i);
+                shortcut.save(output, store);
+            }
+        }
+        Assertions.assertEquals(1, countIcons());
+
+        DesktopIconStore other = new DesktopIconStore(folder.resolve(DesktopIconStore.ICONS_DIRECTORY));
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            DesktopShortcut first = new DesktopShortcut(icon, "");
+            first.load(input, other);
+            DesktopShortcut second = new DesktopShortcut(icon, "");
+            second.load(input, other);
+
+            Assertions.assertEquals("Shortcut 1", second.getText());
+            Assertions.assertEquals("run 1", second.getCommandLine());
+            Assertions.assertEquals(2, second.getY());
+            Assertions.assertNotSame(icon, first.getIcon());
+            Assertions.assertSame(first.getIcon(), second.getIcon());
+        }
+    }
+
+    @Test
+    public void testUnusedIconsAreDeleted() throws IOException {
+        DesktopIconStore store = new DesktopIconStore(folder.resolve(DesktopIconStore.ICONS_DIRECTORY));
+        ImageIcon blueIcon = new ImageIcon(square(Color.BLUE, BufferedImage.TYPE_INT_ARGB));
+
+        String red = store.put(new ImageIcon(square(Color.RED, BufferedImage.TYPE_INT_ARGB)));
+        String blue = store.put(blueIcon);
+
+        store.retainAll(Set.of(red));
+        Assertions.assertEquals(1, countIcons());
+        Assertions.assertThrows(IOException.class, () -> store.get(blue));
+
+        // the icon is written again when a desktop refers to it
+        Assertions.assertEquals(blue, store.put(blueIcon));
+        Assertions.assertEquals(2, countIcons());
+        Assertions.assertNotNull(store.get(blue));
+    }
+
+    private long countIcons() throws IOException {
+        try (Stream<Path> files = Files.list(folder.resolve(DesktopIconStore.ICONS_DIRECTORY))) {
+            return files.count();
+        }
+    }
+
+    private static BufferedImage square(Color color, int type) {
+        BufferedImage image = new BufferedImage(16, 16, type);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 16, 16);
+        g.dispose();
+        return image;
+    }
+}
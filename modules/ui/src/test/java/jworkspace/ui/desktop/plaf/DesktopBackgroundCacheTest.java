@@ -0,0 +1,166 @@
+package jworkspace.ui.desktop.plaf;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Anton Troshin
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class DesktopBackgroundCacheTest {
+
+    @TempDir
+    File folder;
+
+    @Test
+    public void testGradientIsRenderedAgainOnThemeChange() {
+        JPanel desktop = desktop(100, 100);
+        DesktopTheme theme = new DesktopTheme();
+        DesktopBackgroundCache cache = new DesktopBackgroundCache();
+
+        BufferedImage screen = paint(cache, desktop, theme);
+        Assertions.assertFalse(cache.isRendered());
+        Assertions.assertEquals(Color.RED.getRGB(), screen.getRGB(50, 50));
+
+        theme.setGradientFill(true);
+        theme.setSecondaryBackground(Color.BLUE);
+        screen = paint(cache, desktop, theme);
+        Assertions.assertTrue(cache.isRendered());
+        assertNear(Color.RED, screen.getRGB(50, 0));
+        assertNear(Color.BLUE, screen.getRGB(50, 99));
+
+        theme.setSecondaryBackground(Color.GREEN);
+        screen = paint(cache, desktop, theme);
+        assertNear(Color.GREEN, screen.getRGB(50, 99));
+
+        theme.switchGradientFill();
+        paint(cache, desktop, theme);
+        Assertions.assertFalse(cache.isRendered());
+    }
+
+    @Test
+    public void testWallpaperFollowsDesktopSize() {
+        JPanel desktop = desktop(40, 20);
+        DesktopTheme theme = new DesktopTheme();
+        theme.setCover(new ImageIcon(split(10, 10)));
+        theme.setRenderMode(DesktopTheme.STRETCH_IMAGE);
+        DesktopBackgroundCache cache = new DesktopBackgroundCache();
+
+        // The image fills the desktop keeping the aspect ratio, so the middle of it is shown
+        BufferedImage screen = paint(cache, desktop, theme);
+        Assertions.assertEquals(Color.WHITE.getRGB(), screen.getRGB(5, 10));
+        Assertions.assertEquals(Color.BLACK.getRGB(), screen.getRGB(35, 10));
+
+        desktop.setSize(100, 100);
+        screen = paint(cache, desktop, theme);
+        Assertions.assertEquals(Color.WHITE.getRGB(), screen.getRGB(10, 90));
+        Assertions.assertEquals(Color.BLACK.getRGB(), screen.getRGB(90, 90));
+
+        theme.setRenderMode(DesktopTheme.TILE_IMAGE);
+        screen = paint(cache, desktop, theme);
+        Assertions.assertEquals(Color.WHITE.getRGB(), screen.getRGB(92, 95));
+        Assertions.assertEquals(Color.BLACK.getRGB(), screen.getRGB(97, 95));
+
+        theme.setRenderMode(DesktopTheme.BOTTOM_RIGHT_CORNER_IMAGE);
+        screen = paint(cache, desktop, theme);
+        Assertions.assertEquals(Color.RED.getRGB(), screen.getRGB(50, 50));
+        Assertions.assertEquals(Color.WHITE.getRGB(), screen.getRGB(92, 95));
+
+        theme.switchCoverVisible();
+        paint(cache, desktop, theme);
+        Assertions.assertFalse(cache.isRendered());
+    }
+
+    @Test
+    public void testReadImage() throws IOException, ExecutionException, InterruptedException {
+        File file = new File(folder, "wallpaper.png");
+        ImageIO.write(split(8, 4), "png", file);
+
+        BufferedImage image = DesktopBackgroundCache.readImage(file).get();
+        Assertions.assertEquals(8, image.getWidth());
+        Assertions.assertEquals(Color.BLACK.getRGB(), image.getRGB(7, 3));
+
+        File text = new File(folder, "wallpaper.txt");
+        Files.writeString(text.toPath(), "not an image");
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+            () -> DesktopBackgroundCache.readImage(text).get());
+        Assertions.assertTrue(e.getCause().getMessage().contains("Unsupported image format"));
+    }
+
+    private static void assertNear(Color expected, int rgb) {
+        Color actual = new Color(rgb);
+        int distance = Math.abs(expected.getRed() - actual.getRed()) + Math.abs(expected.getGreen() - actual.getGreen())
+            + Math.abs(expected.getBlue() - actual.getBlue());
+        Assertions.assertTrue(distance < 16, "Expected " + expected + " but was " + actual);
+    }
+
+    private static JPanel desktop(int width, int height) {
+        JPanel desktop = new JPanel();
+        desktop.setOpaque(true);
+        desktop.setBackground(Color.RED);
+        desktop.setSize(width, height);
+        return desktop;
+    }
+
+    /**
+     * Image with the white left half and the black right half
+     */
+    private static BufferedImage split(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width / 2, height);
+        g.setColor(Color.BLACK);
+        g.fillRect(width / 2, 0, width - width / 2, height);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage paint(DesktopBackgroundCache cache, JPanel desktop, DesktopTheme theme) {
+        BufferedImage screen = new BufferedImage(desktop.getWidth(), desktop.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = screen.createGraphics();
+        // the plain background painted by the look and feel
+        g.setColor(desktop.getBackground());
+        g.fillRect(0, 0, desktop.getWidth(), desktop.getHeight());
+        cache.paint(g, desktop, theme);
+        g.dispose();
+        return screen;
+    }
+}
@@ -0,0 +1,92 @@
+package jworkspace.ui.desktop.plaf;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import jworkspace.ui.desktop.DesktopShortcut;
+
+/**
+ * @author Anton Troshin
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public class ShortcutGridTest {
+
+    private static final ImageIcon ICON = new ImageIcon(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+
+    @Test
+    public void testQueryMatchesLinearScan() {
+        ShortcutGrid grid = new ShortcutGrid();
+        List<DesktopShortcut> shortcuts = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            DesktopShortcut shortcut = shortcut(grid, (i % 20) * 90 - 200, (i / 20) * 90 - 100);
+            shortcuts.add(shortcut);
+        }
+
+        for (Rectangle band : List.of(new Rectangle(0, 0, 300, 200), new Rectangle(-250, -150, 10, 10),
+            new Rectangle(1000, 1000, 5000, 5000), new Rectangle(95, 95, 0, 0))) {
+            List<DesktopShortcut> expected = shortcuts.stream().filter(s -> band.intersects(s.getBounds())).toList();
+            List<DesktopShortcut> found = grid.query(band);
+            Assertions.assertEquals(expected.size(), found.size(), band.toString());
+            Assertions.assertTrue(found.containsAll(expected));
+        }
+    }
+
+    @Test
+    public void testGridFollowsShortcuts() {
+        ShortcutGrid grid = new ShortcutGrid();
+        DesktopShortcut first = shortcut(grid, 10, 10);
+        DesktopShortcut second = shortcut(grid, 50, 50);
+
+        // overlapping shortcuts, the first one added is on top
+        Assertions.assertSame(first, grid.at(60, 60));
+        Assertions.assertSame(second, grid.at(140, 140));
+        Assertions.assertNull(grid.at(5, 5));
+
+        first.setLocation(1000, -1000);
+        Assertions.assertSame(second, grid.at(60, 60));
+        Assertions.assertSame(first, grid.at(1001, -999));
+        Assertions.assertEquals(List.of(first), grid.query(new Rectangle(900, -1100, 200, 200)));
+
+        grid.remove(first);
+        Assertions.assertNull(grid.at(1001, -999));
+        Assertions.assertEquals(1, grid.size());
+    }
+
+    private static DesktopShortcut shortcut(ShortcutGrid grid, int x, int y) {
+        DesktopShortcut shortcut = new DesktopShortcut(ICON, "");
+        shortcut.setBoundsListener(grid::put);
+        shortcut.setBounds(x, y, shortcut.getPreferredSize().width, shortcut.getPreferredSize().height);
+        return shortcut;
+    }
+}
@@ -0,0 +1,104 @@
+package jworkspace.ui.logging;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Anton Troshin
+ */
+public class LogLinesModelTest {
+
+    private static List<String> lines(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "line " + i).toList();
+    }
+
+    @Test
+    public void testAppendEvictsOldestLines() {
+        LogLinesModel model = new LogLinesModel(5);
+        List<String> events = new ArrayList<>();
+        model.addListDataListener(new Recorder(events));
+
+        Assertions.assertEquals(0, model.append(lines(0, 3)));
+        Assertions.assertEquals(3, model.append(lines(3, 6)) + model.append(lines(6, 8)));
+
+        Assertions.assertEquals(lines(3, 8), model.getLines());
+        Assertions.assertEquals("line 3", model.getElementAt(0));
+        // One removal and one addition per batch at most
+        Assertions.assertEquals(List.of("added 0-2", "removed 0-0", "added 2-4", "removed 0-1", "added 3-4"), events);
+    }
+
+    @Test
+    public void testPrependEvictsNewestLines() {
+        LogLinesModel model = new LogLinesModel(5);
+        model.append(lines(10, 14));
+
+        Assertions.assertEquals(2, model.prepend(lines(7, 10)));
+        Assertions.assertEquals(lines(7, 12), model.getLines());
+
+        // A batch larger than the model keeps the lines adjacent to the current ones
+        Assertions.assertEquals(5, model.prepend(lines(0, 7)));
+        Assertions.assertEquals(lines(2, 7), model.getLines());
+        Assertions.assertEquals(model.getCapacity(), model.getSize());
+    }
+
+    @Test
+    public void testClear() {
+        LogLinesModel model = new LogLinesModel(3);
+        model.append(List.of("a very long line", "b"));
+        Assertions.assertEquals("a very long line".length(), model.getMaxLength());
+
+        model.clear();
+        Assertions.assertEquals(0, model.getSize());
+        Assertions.assertEquals(0, model.getMaxLength());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> model.getElementAt(0));
+    }
+
+    private record Recorder(List<String> events) implements ListDataListener {
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+            events.add("changed");
+        }
+    }
+}
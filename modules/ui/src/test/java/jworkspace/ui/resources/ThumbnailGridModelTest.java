@@ -0,0 +1,108 @@
+package jworkspace.ui.resources;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.awt.image.BufferedImage;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import jworkspace.ui.util.ImageResource;
+
+/**
+ * @author Anton Troshin
+ */
+public class ThumbnailGridModelTest {
+
+    private static final BufferedImage IMAGE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private static ThumbnailGridModel model(String... names) {
+        ThumbnailGridModel model = new ThumbnailGridModel();
+        for (String name : names) {
+            model.add(new ImageResource(name, URI.create("file:///images/" + name), 1, 1), IMAGE);
+        }
+        return model;
+    }
+
+    private static List<String> shown(ThumbnailGridModel model) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < model.getShownCount(); i++) {
+            names.add(model.getResource(model.getShown(i)).name());
+        }
+        return names;
+    }
+
+    @Test
+    public void testFilterNarrowsAndWidens() {
+        ThumbnailGridModel model = model("Sky.png", "sea.jpg", "Stone.png", "tree.gif");
+        Assertions.assertEquals(List.of("Sky.png", "sea.jpg", "Stone.png", "tree.gif"), shown(model));
+
+        Assertions.assertTrue(model.setQuery("S"));
+        Assertions.assertEquals(List.of("Sky.png", "sea.jpg", "Stone.png"), shown(model));
+        Assertions.assertTrue(model.setQuery("st"));
+        Assertions.assertEquals(List.of("Stone.png"), shown(model));
+        Assertions.assertFalse(model.setQuery(" ST "));
+
+        Assertions.assertTrue(model.setQuery("e"));
+        Assertions.assertEquals(List.of("sea.jpg", "Stone.png", "tree.gif"), shown(model));
+        Assertions.assertTrue(model.setQuery(""));
+        Assertions.assertEquals(4, model.getShownCount());
+    }
+
+    @Test
+    public void testImagesAddedAfterFilterAreFiltered() {
+        ThumbnailGridModel model = model("a.png", "b.png");
+        model.setQuery("png");
+        model.setQuery("b");
+        model.add(new ImageResource("abc.png", URI.create("file:///images/abc.png"), 1, 1), IMAGE);
+        model.add(new ImageResource("c.png", URI.create("file:///images/c.png"), 1, 1), IMAGE);
+
+        Assertions.assertEquals(List.of("b.png", "abc.png"), shown(model));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> model.getShown(2));
+    }
+
+    @Test
+    public void testSelectionSurvivesFilter() {
+        ThumbnailGridModel model = model("one.png", "two.png", "three.png");
+        model.setSelected(0, true);
+        model.setSelected(2, true);
+        model.setQuery("two");
+
+        Assertions.assertEquals(List.of("one.png", "three.png"),
+            model.getSelectedResources().stream().map(ImageResource::name).toList());
+
+        model.clearSelection();
+        Assertions.assertTrue(model.getSelectedResources().isEmpty());
+
+        model.setSelected(1, true);
+        model.clear();
+        Assertions.assertEquals(0, model.getSize());
+        Assertions.assertEquals(0, model.getShownCount());
+        Assertions.assertTrue(model.getSelectedResources().isEmpty());
+    }
+}
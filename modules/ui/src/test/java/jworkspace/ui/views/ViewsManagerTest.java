@@ -0,0 +1,84 @@
+package jworkspace.ui.views;
+/* ----------------------------------------------------------------------------
+   Java Workspace
+   Copyright (C) 2026 Anton Troshin
+
+   This file is part of Java Workspace.
+
+   This application is free software; you can redistribute it and/or
+   modify it under the terms of the GNU Library General Public
+   License as published by the Free Software Foundation; either
+   version 2 of the License, or (at your option) any later version.
+
+   This application is distributed in the hope that it will be useful,
+   but WITHOUT ANY WARRANTY; without even the implied warranty of
+   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+   Library General Public License for more details.
+
+   You should have received a copy of the GNU Library General Public
+   License along with this application; if not, write to the Free
+   Software Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+
+   The author may be contacted at:
+
+   anton.troshin@gmail.com
+  ----------------------------------------------------------------------------
+*/
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jworkspace.config.ServiceLocator;
+import jworkspace.ui.desktop.Desktop;
+
+/**
+ * @author Anton Troshin
+ */
+public class ViewsManagerTest {
+
+    private static final String DESKTOPS = "desktops";
+
+    @TempDir
+    Path folder;
+
+    @BeforeEach
+    public void setUp() {
+        ServiceLocator.getInstance().getProfilesManager().setBasePath(folder);
+    }
+
+    @Test
+    public void testUnshownDesktopsAreSaved() throws IOException {
+        ViewsManager manager = new ViewsManager();
+        manager.setPath(DESKTOPS);
+        manager.setDesktopList(List.of(new Desktop("A"), new Desktop("B"), new Desktop("C")));
+        manager.save();
+
+        // desktops B and C are not shown before the save
+        ViewsManager loaded = load();
+        Assertions.assertArrayEquals(new String[] {"A", "B", "C"}, loaded.getNames());
+        loaded.save();
+
+        ViewsManager reloaded = load();
+        Assertions.assertArrayEquals(new String[] {"A", "B", "C"}, reloaded.getNames());
+
+        // desktop C is renumbered while not shown
+        reloaded.removeCurrentView();
+        reloaded.save();
+
+        ViewsManager renumbered = load();
+        Assertions.assertArrayEquals(new String[] {"B", "C"}, renumbered.getNames());
+        Assertions.assertEquals("C", renumbered.getDesktopAt(1).getName());
+    }
+
+    private static ViewsManager load() throws IOException {
+        ViewsManager manager = new ViewsManager();
+        manager.setPath(DESKTOPS);
+        manager.load();
+        return manager;
+    }
+}